@@ -47,6 +47,12 @@ public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
         UUID getSubjectUuid();
     }
 
+    interface TeacherTimeslotProjection {
+        Long getStaffId();
+
+        Long getTimeslotId();
+    }
+
     interface SubjectScheduledPeriodsProjection {
         UUID getSubjectId();
 
@@ -310,4 +316,19 @@ public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
             @Param("dayOfWeek") Short dayOfWeek,
             @Param("windowStart") LocalTime windowStart,
             @Param("windowEnd") LocalTime windowEnd);
+
+    /**
+     * (staff, timeslot) pairs a teacher is timetabled for on a given day — the busy-period
+     * source for the proxy availability index.
+     */
+    @Query("""
+            SELECT DISTINCT st.id AS staffId, ts.id AS timeslotId
+            FROM Schedule s
+            JOIN s.teacher td
+            JOIN td.staff st
+            JOIN s.timeslot ts
+            WHERE s.isActive = true
+              AND ts.dayOfWeek = :dayOfWeek
+            """)
+    List<TeacherTimeslotProjection> findTeacherTimeslotsByDayOfWeek(@Param("dayOfWeek") Short dayOfWeek);
 }
@@ -0,0 +1,54 @@
+package com.project.edusync.ams.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Materialized attendance counters per student, refreshed in the transaction of every mark, edit or delete and
+ * rolled forward nightly. Window and year counts are as of {@link #asOfDate}; a row from an earlier day is stale
+ * and readers fall back to live aggregation.
+ */
+@Entity
+@Table(name = "student_attendance_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentAttendanceStats {
+
+    /** Days in the rolling window, ending on {@link #asOfDate} inclusive. */
+    public static final int WINDOW_DAYS = 30;
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    /** Absence marks since the latest non-absence mark, counting marked days only. */
+    @Column(name = "absence_streak", nullable = false)
+    private int absenceStreak;
+
+    @Column(name = "last_marked_date")
+    private LocalDate lastMarkedDate;
+
+    @Column(name = "as_of_date", nullable = false)
+    private LocalDate asOfDate;
+
+    @Column(name = "window_present", nullable = false)
+    private int windowPresent;
+
+    @Column(name = "window_total", nullable = false)
+    private int windowTotal;
+
+    @Column(name = "year_present", nullable = false)
+    private int yearPresent;
+
+    @Column(name = "year_total", nullable = false)
+    private int yearTotal;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
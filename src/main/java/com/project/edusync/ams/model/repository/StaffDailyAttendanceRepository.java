@@ -140,6 +140,14 @@ public interface StaffDailyAttendanceRepository extends JpaRepository<StaffDaily
             """)
     long countDistinctAbsentStaffByDate(@Param("date") LocalDate date);
 
+    @Query("""
+            SELECT DISTINCT sda.staffId
+            FROM StaffDailyAttendance sda
+            WHERE sda.attendanceDate = :date
+              AND sda.attendanceType.isAbsenceMark = true
+            """)
+    List<Long> findDistinctAbsentStaffIdsByDate(@Param("date") LocalDate date);
+
     @Query("""
             SELECT COUNT(DISTINCT sda.staffId)
             FROM StaffDailyAttendance sda, Staff st
@@ -0,0 +1,90 @@
+package com.project.edusync.ams.model.repository;
+
+import com.project.edusync.ams.model.entity.StudentAttendanceStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface StudentAttendanceStatsRepository extends JpaRepository<StudentAttendanceStats, Long> {
+
+    String MARKS = """
+        WITH marks AS (
+            SELECT d.student_id, d.attendance_date,
+                   COALESCE(t.is_present_mark, false) AS is_present,
+                   COALESCE(t.is_absence_mark, false) AS is_absent
+            FROM student_daily_attendance d
+            JOIN attendance_types t ON t.id = d.type_id
+            WHERE d.attendance_date <= :asOf
+        """;
+
+    String UPSERT_FROM_MARKS = """
+        ),
+        attended AS (
+            SELECT student_id, MAX(attendance_date) FILTER (WHERE NOT is_absent) AS last_attended
+            FROM marks
+            GROUP BY student_id
+        )
+        INSERT INTO student_attendance_stats (student_id, absence_streak, last_marked_date, as_of_date,
+                                              window_present, window_total, year_present, year_total, updated_at)
+        SELECT m.student_id,
+               COUNT(*) FILTER (WHERE m.is_absent AND (a.last_attended IS NULL OR m.attendance_date > a.last_attended)),
+               MAX(m.attendance_date),
+               :asOf,
+               COUNT(*) FILTER (WHERE m.is_present AND m.attendance_date >= :windowStart),
+               COUNT(*) FILTER (WHERE m.attendance_date >= :windowStart),
+               COUNT(*) FILTER (WHERE m.is_present AND m.attendance_date >= :yearStart),
+               COUNT(*) FILTER (WHERE m.attendance_date >= :yearStart),
+               now()
+        FROM marks m
+        JOIN attended a ON a.student_id = m.student_id
+        GROUP BY m.student_id
+        ON CONFLICT (student_id) DO UPDATE
+        SET absence_streak   = EXCLUDED.absence_streak,
+            last_marked_date = EXCLUDED.last_marked_date,
+            as_of_date       = EXCLUDED.as_of_date,
+            window_present   = EXCLUDED.window_present,
+            window_total     = EXCLUDED.window_total,
+            year_present     = EXCLUDED.year_present,
+            year_total       = EXCLUDED.year_total,
+            updated_at       = EXCLUDED.updated_at
+        """;
+
+    String UPSERT_FOR_STUDENTS = MARKS + " AND d.student_id IN (:studentIds)\n" + UPSERT_FROM_MARKS;
+
+    String UPSERT_ALL = MARKS + UPSERT_FROM_MARKS;
+
+    List<StudentAttendanceStats> findByStudentIdInAndAsOfDate(Collection<Long> studentIds, LocalDate asOfDate);
+
+    /** Recomputes the listed students from their full history, so backdated edits land in the right streak. */
+    @Modifying
+    @Query(value = UPSERT_FOR_STUDENTS, nativeQuery = true)
+    int upsertForStudents(@Param("studentIds") Collection<Long> studentIds,
+                          @Param("asOf") LocalDate asOf,
+                          @Param("windowStart") LocalDate windowStart,
+                          @Param("yearStart") LocalDate yearStart);
+
+    @Modifying
+    @Query(value = UPSERT_ALL, nativeQuery = true)
+    int upsertAll(@Param("asOf") LocalDate asOf,
+                  @Param("windowStart") LocalDate windowStart,
+                  @Param("yearStart") LocalDate yearStart);
+
+    /** Drops rows for students whose last remaining mark was deleted. */
+    @Modifying
+    @Query(value = """
+        DELETE FROM student_attendance_stats s
+        WHERE s.student_id IN (:studentIds)
+          AND NOT EXISTS (SELECT 1 FROM student_daily_attendance d
+                          WHERE d.student_id = s.student_id AND d.attendance_date <= :asOf)
+        """, nativeQuery = true)
+    int deleteUnmarked(@Param("studentIds") Collection<Long> studentIds, @Param("asOf") LocalDate asOf);
+
+    @Modifying
+    @Query(value = "DELETE FROM student_attendance_stats WHERE as_of_date < :asOf", nativeQuery = true)
+    int deleteOlderThan(@Param("asOf") LocalDate asOf);
+}
@@ -0,0 +1,19 @@
+package com.project.edusync.ams.model.service;
+
+import com.project.edusync.ams.model.entity.StudentAttendanceStats;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+
+public interface StudentAttendanceStatsService {
+
+    /**
+     * Recomputes streak and window counters for these students as of today. Call from the transaction that
+     * changed their attendance, so the counters commit or roll back with it.
+     */
+    void refresh(Collection<Long> studentIds);
+
+    /** Rows computed for {@code asOf}, keyed by student id; students without a current row are absent. */
+    Map<Long, StudentAttendanceStats> findCurrent(Collection<Long> studentIds, LocalDate asOf);
+}
@@ -12,6 +12,7 @@ import com.project.edusync.ams.model.repository.AbsenceDocumentationRepository;
 import com.project.edusync.ams.model.repository.AttendanceTypeRepository;
 import com.project.edusync.ams.model.repository.StudentDailyAttendanceRepository;
 import com.project.edusync.ams.model.service.AbsenceDocumentationService;
+import com.project.edusync.ams.model.service.StudentAttendanceStatsService;
 import com.project.edusync.iam.repository.UserRepository;
 import com.project.edusync.uis.repository.StaffRepository;
 import jakarta.transaction.Transactional;
@@ -21,6 +22,7 @@ import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -40,6 +42,7 @@ public class AbsenceDocumentationServiceImpl implements AbsenceDocumentationServ
     private final AttendanceTypeRepository attendanceTypeRepo;
     private final UserRepository userRepository;
     private final StaffRepository staffRepository;
+    private final StudentAttendanceStatsService attendanceStatsService;
 
     @Override
     @Transactional
@@ -106,6 +109,7 @@ public class AbsenceDocumentationServiceImpl implements AbsenceDocumentationServ
         StudentDailyAttendance attendance = doc.getAttendance();
         attendance.setAttendanceType(excusedType);
         attendanceRepo.save(attendance);
+        attendanceStatsService.refresh(List.of(attendance.getStudentId()));
 
         // Update documentation
         doc.setApprovalStatus(ApprovalStatus.APPROVED);
@@ -8,6 +8,9 @@ import com.project.edusync.ams.model.repository.AttendanceTypeRepository;
 import com.project.edusync.ams.model.repository.LateClockInRequestRepository;
 import com.project.edusync.ams.model.repository.StaffDailyAttendanceRepository;
 import com.project.edusync.ams.model.repository.StaffShiftMappingRepository;
+import com.project.edusync.common.scheduling.LeasedJob;
+import com.project.edusync.common.scheduling.ScheduledJobCoordinator;
+import com.project.edusync.common.scheduling.ScheduledJobDefinition;
 import com.project.edusync.hrms.model.enums.DayType;
 import com.project.edusync.hrms.model.enums.LeaveApplicationStatus;
 import com.project.edusync.hrms.repository.AcademicCalendarEventRepository;
@@ -16,10 +19,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
@@ -28,7 +31,15 @@ import java.util.Set;
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class AttendanceCronJobs {
+public class AttendanceCronJobs implements LeasedJob {
+
+    private static final String END_OF_DAY_CRON = "0 30 23 * * ?";
+
+    /** Missed closes are caught up until the next morning; the business date comes from the fire, not the clock. */
+    private static final ScheduledJobDefinition END_OF_DAY = ScheduledJobDefinition
+            .of("attendance-end-of-day", END_OF_DAY_CRON, Duration.ofHours(1))
+            .withCatchUp(Duration.ofHours(10))
+            .inTransaction();
 
     private static final Set<DayType> NON_WORKING_DAY_TYPES = EnumSet.of(DayType.HOLIDAY, DayType.VACATION);
 
@@ -38,6 +49,7 @@ public class AttendanceCronJobs {
     private final AttendanceTypeRepository attendanceTypeRepository;
     private final AcademicCalendarEventRepository academicCalendarEventRepository;
     private final LateClockInRequestRepository lateClockInRequestRepository;
+    private final ScheduledJobCoordinator jobCoordinator;
 
     /**
      * Nightly batch processor to resolve End-of-Day Attendance exceptions.
@@ -47,16 +59,31 @@ public class AttendanceCronJobs {
      * 1. Auto-mark ABSENT for staff with no check-in.
      * 2. Flag missing out-punch records.
      * 3. Create LateClockInRequest entries for staff who clocked in beyond maxLateThreshold.
+     * <p>
+     * Runs on one node per night via {@link ScheduledJobCoordinator}; see {@link #execute}.
      */
-    @Scheduled(cron = "0 30 23 * * ?")
-    @Transactional
+    @Scheduled(cron = END_OF_DAY_CRON)
     public void processEndOfDayAttendance() {
-        log.info("CronJob: Starting End of Day Staff Attendance checks.");
-        LocalDate today = LocalDate.now();
+        jobCoordinator.trigger(this);
+    }
+
+    @Override
+    public ScheduledJobDefinition definition() {
+        return END_OF_DAY;
+    }
+
+    @Override
+    public int execute(LocalDateTime scheduledFor) {
+        return processEndOfDayAttendance(scheduledFor.toLocalDate());
+    }
+
+    int processEndOfDayAttendance(LocalDate today) {
+        log.info("CronJob: Starting End of Day Staff Attendance checks for {}.", today);
+        int touched = 0;
 
         if (academicCalendarEventRepository.existsByDateAndDayTypeInAndAppliesToStaffTrueAndIsActiveTrue(today, NON_WORKING_DAY_TYPES)) {
             log.info("CronJob: Skipping End of Day Staff Attendance checks due to holiday/vacation calendar event on {}.", today);
-            return;
+            return touched;
         }
 
         // Retrieve the standard 'Absent' Attendance Type via predefined ShortCode (often 'A')
@@ -64,7 +91,7 @@ public class AttendanceCronJobs {
 
         if (absentTypeOpt.isEmpty()) {
             log.error("CronJob: Missing AttendanceType with shortCode 'A'. Cannot auto-mark absentees.");
-            return;
+            return touched;
         }
 
         AttendanceType absentType = absentTypeOpt.get();
@@ -105,6 +132,7 @@ public class AttendanceCronJobs {
                 absentRecord.setNotes("SYSTEM WARNING: Auto-marked as Absent for not checking in.");
                 
                 staffDailyAttendanceRepository.save(absentRecord);
+                touched++;
                 log.info("CronJob: Auto-marked StaffId {} as Absent.", staffId);
 
             } else {
@@ -126,24 +154,28 @@ public class AttendanceCronJobs {
                         
                         record.setNotes(newNotes);
                         staffDailyAttendanceRepository.save(record);
+                        touched++;
                         log.info("CronJob: Flagged StaffId {} for missing checkout.", staffId);
                     }
                 }
 
                 // 3c. Late Clock-In Review Queue
                 // If clocked-in AND beyond the shift's maxLateThreshold → create LateClockInRequest.
-                flagLateClockIn(staffId, today, record, mapping);
+                if (flagLateClockIn(staffId, today, record, mapping)) {
+                    touched++;
+                }
             }
         }
         
-        log.info("CronJob: Finished End of Day Staff Attendance checks.");
+        log.info("CronJob: Finished End of Day Staff Attendance checks for {}: {} records touched.", today, touched);
+        return touched;
     }
 
     // ── Helpers ─────────────────────────────────────────────────────────────────
 
-    private void flagLateClockIn(Long staffId, LocalDate date,
-                                  StaffDailyAttendance record, StaffShiftMapping mapping) {
-        if (record.getTimeIn() == null || mapping.getShift() == null) return;
+    private boolean flagLateClockIn(Long staffId, LocalDate date,
+                                     StaffDailyAttendance record, StaffShiftMapping mapping) {
+        if (record.getTimeIn() == null || mapping.getShift() == null) return false;
 
         var shift = mapping.getShift();
         int grace = shift.getGraceMinutes() != null ? shift.getGraceMinutes() : 0;
@@ -159,8 +191,8 @@ public class AttendanceCronJobs {
         if (minutesLate < 0) minutesLate += 1440;
         minutesLate = Math.max(0, minutesLate - grace);
 
-        if (minutesLate <= maxLate) return; // Not late enough to warrant review
-        if (lateClockInRequestRepository.existsByStaffIdAndAttendanceDate(staffId, date)) return; // Already logged
+        if (minutesLate <= maxLate) return false; // Not late enough to warrant review
+        if (lateClockInRequestRepository.existsByStaffIdAndAttendanceDate(staffId, date)) return false; // Already logged
 
         var lateReq = new com.project.edusync.ams.model.entity.LateClockInRequest();
         lateReq.setStaffId(staffId);
@@ -172,5 +204,6 @@ public class AttendanceCronJobs {
 
         log.info("CronJob: Created LateClockInRequest for StaffId {} — {} min late on {}.",
                 staffId, minutesLate, date);
+        return true;
     }
 }
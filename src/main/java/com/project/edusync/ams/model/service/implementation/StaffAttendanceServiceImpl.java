@@ -22,6 +22,7 @@ import com.project.edusync.uis.repository.StaffRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -38,6 +39,7 @@ import com.project.edusync.hrms.repository.LeaveApplicationRepository;
 import com.project.edusync.hrms.repository.AcademicCalendarEventRepository;
 import com.project.edusync.hrms.model.enums.DayType;
 import com.project.edusync.hrms.model.enums.LeaveApplicationStatus;
+import com.project.edusync.hrms.service.event.StaffAvailabilityChangedEvent;
 import com.project.edusync.ams.model.repository.StaffShiftMappingRepository;
 import com.project.edusync.ams.model.entity.StaffShiftMapping;
 import com.project.edusync.ams.model.entity.ShiftDefinition;
@@ -59,6 +61,7 @@ public class StaffAttendanceServiceImpl implements StaffAttendanceService {
     private final StaffShiftMappingRepository staffShiftMappingRepository;
     private final ShiftDefinitionRepository shiftDefinitionRepository;
     private final AcademicCalendarEventRepository academicCalendarEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /* -------------------------------------------------------------
      * CREATE / UPSERT
@@ -125,6 +128,7 @@ public class StaffAttendanceServiceImpl implements StaffAttendanceService {
         applyEarlyClockOutFlag(e.getStaffId(), req.getAttendanceDate(), req.getTimeOut(), e);
 
         StaffDailyAttendance saved = repo.save(e);
+        eventPublisher.publishEvent(StaffAvailabilityChangedEvent.on(saved.getAttendanceDate()));
         return toDto(saved);
     }
 
@@ -189,6 +193,10 @@ public class StaffAttendanceServiceImpl implements StaffAttendanceService {
             saved.add(repo.save(e));
         }
 
+        saved.stream()
+                .map(StaffDailyAttendance::getAttendanceDate)
+                .distinct()
+                .forEach(date -> eventPublisher.publishEvent(StaffAvailabilityChangedEvent.on(date)));
         return saved.stream().map(this::toDto).toList();
     }
 
@@ -421,7 +429,9 @@ public class StaffAttendanceServiceImpl implements StaffAttendanceService {
         e.setGeoVerified(geoFenceValidator.validateAndResolveGeoVerified(req, performedBy, e.getStaffId()));
         applyEarlyClockOutFlag(e.getStaffId(), req.getAttendanceDate(), req.getTimeOut(), e);
 
-        return toDto(repo.save(e));
+        StaffDailyAttendance saved = repo.save(e);
+        eventPublisher.publishEvent(StaffAvailabilityChangedEvent.on(saved.getAttendanceDate()));
+        return toDto(saved);
     }
 
     /* -------------------------------------------------------------
@@ -434,6 +444,7 @@ public class StaffAttendanceServiceImpl implements StaffAttendanceService {
                 .orElseThrow(() -> new AttendanceRecordNotFoundException("Record not found: " + recordUuid));
         attendanceEditWindowService.enforceForAttendanceDate(e.getAttendanceDate());
         repo.delete(e);
+        eventPublisher.publishEvent(StaffAvailabilityChangedEvent.on(e.getAttendanceDate()));
     }
 
     @Override
@@ -906,6 +917,9 @@ public class StaffAttendanceServiceImpl implements StaffAttendanceService {
         }
 
         log.info("markAllAs({}): marked {} staff for date {}", shortCode, count, date);
+        if (count > 0) {
+            eventPublisher.publishEvent(StaffAvailabilityChangedEvent.on(date));
+        }
         return count;
     }
 }
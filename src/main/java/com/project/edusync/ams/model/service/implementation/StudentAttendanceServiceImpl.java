@@ -20,6 +20,9 @@ import com.project.edusync.ams.model.repository.StudentDailyAttendanceRepository
 import com.project.edusync.ams.model.repository.AbsenceDocumentationRepository;
 import com.project.edusync.ams.model.service.StudentAttendanceService;
 import com.project.edusync.ams.model.service.AttendanceEditWindowService;
+import com.project.edusync.ams.model.service.StudentAttendanceStatsService;
+import com.project.edusync.common.cache.CacheTagIndex;
+import com.project.edusync.common.cache.CacheTags;
 import com.project.edusync.em.model.repository.ExamScheduleRepository;
 import com.project.edusync.hrms.model.enums.DayType;
 import com.project.edusync.hrms.repository.AcademicCalendarEventRepository;
@@ -28,7 +31,6 @@ import com.project.edusync.uis.repository.StudentRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -63,10 +65,11 @@ public class StudentAttendanceServiceImpl implements StudentAttendanceService {
     private final SectionRepository sectionRepository;
     private final AcademicCalendarEventRepository academicCalendarEventRepository;
     private final ExamScheduleRepository examScheduleRepository;
+    private final CacheTagIndex cacheTagIndex;
+    private final StudentAttendanceStatsService attendanceStatsService;
 
     @Override
     @Transactional
-    @CacheEvict(value = {"dashboard", "dashboardOverview"}, allEntries = true)
     public List<StudentAttendanceResponseDTO> markAttendanceBatch(List<StudentAttendanceRequestDTO> requests, Long performedByStaffId) {
         if (requests == null || requests.isEmpty()) {
             return Collections.emptyList();
@@ -105,6 +108,7 @@ public class StudentAttendanceServiceImpl implements StudentAttendanceService {
         }
 
         List<StudentDailyAttendance> savedEntities = new ArrayList<>(requests.size());
+        Set<Long> changedStudentIds = new HashSet<>();
 
         for (StudentAttendanceRequestDTO req : requests) {
             // Row-level validation
@@ -151,7 +155,11 @@ public class StudentAttendanceServiceImpl implements StudentAttendanceService {
 
             StudentDailyAttendance saved = studentRepo.save(entity);
             savedEntities.add(saved);
+            changedStudentIds.add(resolvedStudentId);
         }
+        attendanceStatsService.refresh(changedStudentIds);
+        // Unchanged rows were skipped above, so only students whose day actually changed lose their dashboards.
+        invalidateAttendanceCaches(changedStudentIds);
 
         // Map to response DTOs
         return savedEntities.stream()
@@ -239,7 +247,6 @@ public class StudentAttendanceServiceImpl implements StudentAttendanceService {
 
     @Override
     @Transactional
-    @CacheEvict(value = {"dashboard", "dashboardOverview"}, allEntries = true)
     public StudentAttendanceResponseDTO updateAttendance(UUID recordUuid, StudentAttendanceRequestDTO req, Long performedByStaffId) {
         StudentDailyAttendance existing = studentRepo.findByUuid(recordUuid)
                 .orElseThrow(() -> new AttendanceRecordNotFoundException("Attendance record not found with uuid: " + recordUuid));
@@ -266,12 +273,13 @@ public class StudentAttendanceServiceImpl implements StudentAttendanceService {
         if (performedByStaffId != null) existing.setTakenByStaffId(performedByStaffId);
 
         StudentDailyAttendance saved = studentRepo.save(existing);
+        attendanceStatsService.refresh(List.of(existing.getStudentId()));
+        invalidateAttendanceCaches(List.of(existing.getStudentId()));
         return toResponseDto(saved);
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = {"dashboard", "dashboardOverview"}, allEntries = true)
     public void deleteAttendance(UUID recordUuid, Long performedByStaffId) {
         StudentDailyAttendance existing = studentRepo.findByUuid(recordUuid)
                 .orElseThrow(() -> new AttendanceRecordNotFoundException("Attendance record not found with uuid: " + recordUuid));
@@ -292,6 +300,23 @@ public class StudentAttendanceServiceImpl implements StudentAttendanceService {
         } catch (Exception ex) {
             throw new AttendanceProcessingException("Failed to delete attendance record: " + ex.getMessage());
         }
+        attendanceStatsService.refresh(List.of(existing.getStudentId()));
+        invalidateAttendanceCaches(List.of(existing.getStudentId()));
+    }
+
+    /**
+     * Evicts what an attendance change makes stale: the students' own dashboards and the teacher dashboards of
+     * their sections, which count the section's marks.
+     */
+    private void invalidateAttendanceCaches(Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        List<String> tags = new ArrayList<>();
+        studentIds.forEach(studentId -> tags.add(CacheTags.student(studentId)));
+        studentRepository.findSectionIdsByStudentIds(studentIds)
+                .forEach(sectionId -> tags.add(CacheTags.section(sectionId)));
+        cacheTagIndex.invalidate(tags);
     }
 
     @Override
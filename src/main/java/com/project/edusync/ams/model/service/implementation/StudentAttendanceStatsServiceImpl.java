@@ -0,0 +1,96 @@
+package com.project.edusync.ams.model.service.implementation;
+
+import com.project.edusync.ams.model.entity.StudentAttendanceStats;
+import com.project.edusync.ams.model.repository.StudentAttendanceStatsRepository;
+import com.project.edusync.ams.model.service.StudentAttendanceStatsService;
+import com.project.edusync.common.scheduling.LeasedJob;
+import com.project.edusync.common.scheduling.ScheduledJobCoordinator;
+import com.project.edusync.common.scheduling.ScheduledJobDefinition;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains {@link StudentAttendanceStats}. Writers refresh only the students they touched; the nightly rollover
+ * recomputes every student for the new day, since the rolling window moves even when nobody is marked.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StudentAttendanceStatsServiceImpl implements StudentAttendanceStatsService, LeasedJob {
+
+    private static final String ROLLOVER_CRON = "0 5 0 * * ?";
+
+    private static final ScheduledJobDefinition ROLLOVER = ScheduledJobDefinition
+            .of("student-attendance-stats-rollover", ROLLOVER_CRON, Duration.ofMinutes(30))
+            .withCatchUp(Duration.ofHours(12))
+            .inTransaction();
+
+    private final StudentAttendanceStatsRepository statsRepository;
+    private final ScheduledJobCoordinator jobCoordinator;
+
+    @Override
+    @Transactional
+    public void refresh(Collection<Long> studentIds) {
+        if (studentIds == null || studentIds.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = Set.copyOf(studentIds);
+        LocalDate today = LocalDate.now();
+        statsRepository.upsertForStudents(ids, today, windowStart(today), yearStart(today));
+        statsRepository.deleteUnmarked(ids, today);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, StudentAttendanceStats> findCurrent(Collection<Long> studentIds, LocalDate asOf) {
+        if (studentIds == null || studentIds.isEmpty()) {
+            return Map.of();
+        }
+        return statsRepository.findByStudentIdInAndAsOfDate(studentIds, asOf).stream()
+                .collect(Collectors.toMap(StudentAttendanceStats::getStudentId, Function.identity()));
+    }
+
+    @Scheduled(cron = ROLLOVER_CRON)
+    public void rollOver() {
+        jobCoordinator.trigger(this);
+    }
+
+    @Override
+    public ScheduledJobDefinition definition() {
+        return ROLLOVER;
+    }
+
+    /**
+     * Rolls every row forward to the current day. A catch-up run also targets today rather than the missed fire:
+     * the counters are only ever read for today, and writers have already refreshed some rows for it.
+     */
+    @Override
+    public int execute(LocalDateTime scheduledFor) {
+        LocalDate day = LocalDate.now();
+        int upserted = statsRepository.upsertAll(day, windowStart(day), yearStart(day));
+        int dropped = statsRepository.deleteOlderThan(day);
+        log.info("Student attendance stats rolled over to {}: {} students, {} stale rows dropped", day, upserted, dropped);
+        return upserted + dropped;
+    }
+
+    private static LocalDate windowStart(LocalDate asOf) {
+        return asOf.minusDays(StudentAttendanceStats.WINDOW_DAYS - 1L);
+    }
+
+    /** Same year boundary as the teacher dashboard's year-to-date figures. */
+    private static LocalDate yearStart(LocalDate asOf) {
+        return asOf.withDayOfYear(1);
+    }
+}
@@ -0,0 +1,115 @@
+package com.project.edusync.common.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Shared plumbing for {@link RefreshAheadCache}: Redis leases that make a cache load single-flight
+ * across nodes, the background executor for refresh-ahead, and per-cache hit/miss/load metrics.
+ */
+@Slf4j
+public class CacheLoadCoordinator {
+
+    /** Returned when Redis cannot be reached; the caller loads without a lease rather than failing. */
+    static final String NO_LEASE = "";
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class
+    );
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Executor refreshExecutor;
+    private final String leaseKeyPrefix;
+
+    public CacheLoadCoordinator(StringRedisTemplate stringRedisTemplate,
+                                MeterRegistry meterRegistry,
+                                TransactionTemplate readOnlyTransactionTemplate,
+                                Executor refreshExecutor,
+                                String leaseKeyPrefix) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.readOnlyTransactionTemplate = readOnlyTransactionTemplate;
+        this.refreshExecutor = refreshExecutor;
+        this.leaseKeyPrefix = leaseKeyPrefix;
+    }
+
+    /**
+     * @return a lease token when acquired, {@link #NO_LEASE} if Redis is unavailable, or {@code null}
+     * when another node currently holds the lease.
+     */
+    String tryAcquireLease(String cacheName, String key, Duration lease) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = stringRedisTemplate.opsForValue().setIfAbsent(leaseKey(cacheName, key), token, lease);
+            return Boolean.TRUE.equals(acquired) ? token : null;
+        } catch (RuntimeException ex) {
+            log.warn("Cache lease unavailable for cache='{}' key='{}'; loading without cross-node guard. Cause: {}",
+                    cacheName, key, ex.getMessage());
+            return NO_LEASE;
+        }
+    }
+
+    void releaseLease(String cacheName, String key, String token) {
+        if (token == null || token.isEmpty()) {
+            return;
+        }
+        try {
+            stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey(cacheName, key)), token);
+        } catch (RuntimeException ex) {
+            // The lease expires on its own; a failed release only delays the next loader.
+            log.warn("Cache lease release failed for cache='{}' key='{}'. Cause: {}", cacheName, key, ex.getMessage());
+        }
+    }
+
+    <T> T loadInReadOnlyTransaction(String cacheName, String mode, Supplier<T> loader) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return readOnlyTransactionTemplate.execute(status -> loader.get());
+        } finally {
+            sample.stop(Timer.builder("edusync.cache.load")
+                    .description("Time spent computing a cache value")
+                    .tag("cache", cacheName)
+                    .tag("mode", mode)
+                    .register(meterRegistry));
+        }
+    }
+
+    void submitRefresh(Runnable refresh) {
+        refreshExecutor.execute(refresh);
+    }
+
+    void recordHit(String cacheName) {
+        counter(cacheName, "hit").increment();
+    }
+
+    void recordMiss(String cacheName) {
+        counter(cacheName, "miss").increment();
+    }
+
+    private Counter counter(String cacheName, String result) {
+        return Counter.builder("edusync.cache.gets")
+                .description("Cache lookups by outcome")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private String leaseKey(String cacheName, String key) {
+        return leaseKeyPrefix + cacheName + ":" + key;
+    }
+}
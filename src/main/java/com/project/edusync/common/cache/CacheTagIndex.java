@@ -0,0 +1,254 @@
+package com.project.edusync.common.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Dependency index for cache entries: each cached value is tagged with the domain ids it was built from
+ * ({@link CacheTags}), and writes evict by tag instead of clearing whole caches.
+ * <p>
+ * Tags are Redis sets of {@code cacheName|key} members. Reads register tags on a cache miss (inside the
+ * {@code @Cacheable} method body, before reading the rows the tags name); writes call {@link #invalidate}
+ * and the matching entries are evicted after the surrounding transaction commits. Tag sets outlive every
+ * tagged cache TTL, so a stale member only costs a no-op evict.
+ * <p>
+ * An invalidate can land between {@link #tag} and the cache put, when there is nothing to evict yet. Each
+ * invalidate therefore also bumps a per-tag generation: {@link #tag} remembers the generations it saw, and
+ * the cache decorator calls {@link #afterPut} once the value is stored, which evicts it again if any of
+ * them moved.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheTagIndex {
+
+    private static final Duration TAG_TTL = Duration.ofHours(2);
+    private static final String MEMBER_SEPARATOR = "|";
+    /** Loads that tagged but never reached a put (the method threw) are dropped past this many per thread. */
+    private static final int MAX_PENDING_PUTS = 32;
+
+    /** KEYS are (tag set, tag generation) pairs; ARGV[1] is the generation TTL in seconds. */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> DRAIN_SCRIPT = new DefaultRedisScript<>(
+            "local members = {} "
+                    + "for i = 1, #KEYS, 2 do "
+                    + "  for _, member in ipairs(redis.call('SMEMBERS', KEYS[i])) do table.insert(members, member) end "
+                    + "  redis.call('DEL', KEYS[i]) "
+                    + "  redis.call('INCR', KEYS[i + 1]) "
+                    + "  redis.call('EXPIRE', KEYS[i + 1], ARGV[1]) "
+                    + "end "
+                    + "return members",
+            List.class
+    );
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final CacheManager cacheManager;
+
+    @Value("${app.cache.version:v2}")
+    private String cacheVersion;
+
+    /** Tag generations seen by {@link #tag} on this thread, per {@code cacheName|key}, until the put. */
+    private final ThreadLocal<Map<String, Map<String, String>>> pendingPuts = ThreadLocal.withInitial(HashMap::new);
+
+    public void tag(String cacheName, Object key, String... tags) {
+        tag(cacheName, key, Arrays.asList(tags));
+    }
+
+    public void tag(String cacheName, Object key, Collection<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return;
+        }
+        String member = member(cacheName, key);
+        List<String> distinctTags = List.copyOf(new LinkedHashSet<>(tags));
+        long ttlSeconds = TAG_TTL.toSeconds();
+        Map<String, Map<String, String>> pending = pendingPuts.get();
+        pending.remove(member);
+        List<Object> replies;
+        try {
+            // Generations are read before the member is added, so an invalidate between the two still shows.
+            replies = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                for (String tag : distinctTags) {
+                    redis.get(generationKey(tag));
+                }
+                for (String tag : distinctTags) {
+                    String tagKey = tagKey(tag);
+                    redis.sAdd(tagKey, member);
+                    redis.expire(tagKey, ttlSeconds);
+                }
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            // Untagged entries still expire with their cache TTL; never fail a read over the index.
+            log.warn("Cache tag registration failed for cache='{}' key='{}' tags={}. Cause: {}",
+                    cacheName, key, tags, ex.getMessage());
+            return;
+        }
+        Map<String, String> generations = new HashMap<>();
+        for (int i = 0; i < distinctTags.size(); i++) {
+            generations.put(distinctTags.get(i), (String) replies.get(i));
+        }
+        if (pending.size() >= MAX_PENDING_PUTS) {
+            pending.clear();
+        }
+        pending.put(member, generations);
+    }
+
+    /**
+     * Called by the cache decorator once {@code key} is stored in {@code cache}. Evicts the value again when
+     * one of the tags registered for it was invalidated after {@link #tag} ran, since the value may have been
+     * built from rows that write replaced.
+     */
+    void afterPut(Cache cache, Object key) {
+        Map<String, String> seen = pendingPuts.get().remove(member(cache.getName(), key));
+        if (seen == null) {
+            return;
+        }
+        boolean moved;
+        try {
+            moved = generationsMoved(seen);
+        } catch (RuntimeException ex) {
+            log.warn("Cache tag generation check failed for cache='{}' key='{}'; evicting. Cause: {}",
+                    cache.getName(), key, ex.getMessage());
+            moved = true;
+        }
+        if (moved) {
+            cache.evict(key);
+            log.debug("Evicted cache='{}' key='{}': its tags were invalidated while it loaded", cache.getName(), key);
+        }
+    }
+
+    private boolean generationsMoved(Map<String, String> seen) {
+        List<String> tags = List.copyOf(seen.keySet());
+        List<String> current = stringRedisTemplate.opsForValue()
+                .multiGet(tags.stream().map(this::generationKey).toList());
+        if (current == null) {
+            return true;
+        }
+        for (int i = 0; i < tags.size(); i++) {
+            if (!Objects.equals(seen.get(tags.get(i)), current.get(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void invalidate(String... tags) {
+        invalidate(Arrays.asList(tags));
+    }
+
+    /**
+     * Evicts every entry tagged with any of {@code tags}; deferred until after commit when called
+     * inside a transaction so readers cannot re-cache pre-commit state.
+     */
+    public void invalidate(Collection<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return;
+        }
+        Set<String> distinctTags = new LinkedHashSet<>(tags);
+        afterCommit(() -> evictTagged(distinctTags));
+    }
+
+    /**
+     * Key-based counterpart of {@link #invalidate} for caches whose keys are already known to the writer.
+     */
+    public void evict(String cacheName, Collection<?> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return;
+        }
+        List<Object> distinctKeys = List.copyOf(new LinkedHashSet<>(keys));
+        afterCommit(() -> {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache == null) {
+                return;
+            }
+            for (Object key : distinctKeys) {
+                try {
+                    cache.evict(key);
+                } catch (RuntimeException ex) {
+                    log.warn("Cache evict failed for cache='{}' key='{}'. Cause: {}", cacheName, key, ex.getMessage());
+                }
+            }
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void evictTagged(Set<String> tags) {
+        List<String> members;
+        try {
+            members = stringRedisTemplate.execute(DRAIN_SCRIPT,
+                    tags.stream().flatMap(tag -> Stream.of(tagKey(tag), generationKey(tag))).toList(),
+                    String.valueOf(TAG_TTL.toSeconds()));
+        } catch (RuntimeException ex) {
+            log.warn("Cache tag invalidation failed for tags={}. Entries expire with their TTL. Cause: {}",
+                    tags, ex.getMessage());
+            return;
+        }
+        if (members == null) {
+            return;
+        }
+        for (String member : members) {
+            int separator = member.indexOf(MEMBER_SEPARATOR);
+            if (separator <= 0) {
+                continue;
+            }
+            Cache cache = cacheManager.getCache(member.substring(0, separator));
+            if (cache == null) {
+                continue;
+            }
+            try {
+                cache.evict(member.substring(separator + 1));
+            } catch (RuntimeException ex) {
+                log.warn("Cache evict failed for member='{}'. Cause: {}", member, ex.getMessage());
+            }
+        }
+        log.debug("Invalidated {} cache entries for tags={}", members.size(), tags);
+    }
+
+    private String tagKey(String tag) {
+        return "edusync:" + cacheVersion + ":cache:tag:" + tag;
+    }
+
+    private String generationKey(String tag) {
+        return tagKey(tag) + ":gen";
+    }
+
+    private static String member(String cacheName, Object key) {
+        return cacheName + MEMBER_SEPARATOR + TwoTierCache.localKey(key);
+    }
+}
@@ -0,0 +1,31 @@
+package com.project.edusync.common.cache;
+
+/**
+ * Canonical tag names for {@link CacheTagIndex}. A tag names the domain row a cached value was built
+ * from, so a write to that row can evict exactly the entries that depend on it.
+ */
+public final class CacheTags {
+
+    private CacheTags() {
+    }
+
+    public static String student(Long studentId) {
+        return "student:" + studentId;
+    }
+
+    public static String section(Long sectionId) {
+        return "section:" + sectionId;
+    }
+
+    public static String staff(Long staffId) {
+        return "staff:" + staffId;
+    }
+
+    public static String examSchedule(Long examScheduleId) {
+        return "examSchedule:" + examScheduleId;
+    }
+
+    public static String evaluationResult(Long resultId) {
+        return "evaluationResult:" + resultId;
+    }
+}
@@ -0,0 +1,269 @@
+package com.project.edusync.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Stampede guard for expensive single-key caches (used with {@code @Cacheable(sync = true)}).
+ * <ul>
+ *     <li>Misses are single-flight: one loader per key per node, and one node per key via a Redis lease.
+ *     Other callers wait for the winner's value instead of re-running the aggregation.</li>
+ *     <li>Hits older than {@code refresh-after} trigger one background reload while the current value
+ *     is still served, so popular keys are normally replaced before the Redis TTL expires them.</li>
+ * </ul>
+ * Errors talking to the underlying cache are logged and treated as misses; the sync cache path
+ * bypasses {@code CacheErrorHandler}, so this decorator has to be resilient on its own.
+ */
+@Slf4j
+public class RefreshAheadCache implements Cache {
+
+    private static final long LEASE_POLL_MILLIS = 100;
+
+    private final Cache delegate;
+    private final TwoTierCacheProperties.Spec spec;
+    private final CacheLoadCoordinator coordinator;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    RefreshAheadCache(Cache delegate, TwoTierCacheProperties.Spec spec, CacheLoadCoordinator coordinator) {
+        this.delegate = delegate;
+        this.spec = spec;
+        this.coordinator = coordinator;
+    }
+
+    Cache getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        RefreshAheadEntry entry = read(key);
+        if (entry == null) {
+            coordinator.recordMiss(getName());
+            return null;
+        }
+        coordinator.recordHit(getName());
+        return new SimpleValueWrapper(entry.getValue());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String flightKey = TwoTierCache.localKey(key);
+        RefreshAheadEntry entry = read(key);
+        if (entry != null) {
+            coordinator.recordHit(getName());
+            if (entry.refreshDue(System.currentTimeMillis())) {
+                scheduleRefresh(key, flightKey, valueLoader);
+            }
+            return (T) entry.getValue();
+        }
+        coordinator.recordMiss(getName());
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            return (T) awaitFlight(existing, key, valueLoader);
+        }
+        try {
+            Object value = loadAcrossNodes(key, flightKey, valueLoader);
+            flight.complete(value);
+            return (T) value;
+        } catch (RuntimeException ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            delegate.evict(key);
+            return;
+        }
+        delegate.put(key, envelope(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, envelope(value));
+        if (existing != null && existing.get() instanceof RefreshAheadEntry entry) {
+            return new SimpleValueWrapper(entry.getValue());
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private Object loadAcrossNodes(Object key, String flightKey, Callable<?> valueLoader) {
+        long waitUntil = System.currentTimeMillis() + spec.getLockWait().toMillis();
+        while (true) {
+            String lease = coordinator.tryAcquireLease(getName(), flightKey, spec.getLockLease());
+            if (lease != null) {
+                try {
+                    RefreshAheadEntry filled = read(key);
+                    return filled != null ? filled.getValue() : loadAndStore(key, valueLoader, "sync");
+                } finally {
+                    coordinator.releaseLease(getName(), flightKey, lease);
+                }
+            }
+
+            sleepQuietly();
+            RefreshAheadEntry filled = read(key);
+            if (filled != null) {
+                return filled.getValue();
+            }
+            if (System.currentTimeMillis() >= waitUntil) {
+                log.warn("Gave up waiting {} for cache='{}' key='{}' lease holder; loading locally",
+                        spec.getLockWait(), getName(), flightKey);
+                return loadAndStore(key, valueLoader, "sync");
+            }
+        }
+    }
+
+    private void scheduleRefresh(Object key, String flightKey, Callable<?> valueLoader) {
+        if (!refreshing.add(flightKey)) {
+            return;
+        }
+        try {
+            coordinator.submitRefresh(() -> {
+                try {
+                    refresh(key, flightKey, valueLoader);
+                } catch (RuntimeException ex) {
+                    log.warn("Refresh-ahead failed for cache='{}' key='{}'; current value stays until TTL. Cause: {}",
+                            getName(), flightKey, ex.getMessage());
+                } finally {
+                    refreshing.remove(flightKey);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            refreshing.remove(flightKey);
+            log.debug("Refresh-ahead skipped for cache='{}' key='{}': executor saturated", getName(), flightKey);
+        }
+    }
+
+    private void refresh(Object key, String flightKey, Callable<?> valueLoader) {
+        String lease = coordinator.tryAcquireLease(getName(), flightKey, spec.getLockLease());
+        if (lease == null) {
+            return; // another node is already refreshing this key
+        }
+        try {
+            RefreshAheadEntry current = read(key);
+            if (current != null && !current.refreshDue(System.currentTimeMillis())) {
+                return;
+            }
+            loadAndStore(key, valueLoader, "refresh");
+        } finally {
+            coordinator.releaseLease(getName(), flightKey, lease);
+        }
+    }
+
+    private Object loadAndStore(Object key, Callable<?> valueLoader, String mode) {
+        Object value = coordinator.loadInReadOnlyTransaction(getName(), mode, () -> {
+            try {
+                return valueLoader.call();
+            } catch (RuntimeException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new ValueRetrievalException(key, valueLoader, ex);
+            }
+        });
+        if (value != null) {
+            try {
+                delegate.put(key, envelope(value));
+            } catch (RuntimeException ex) {
+                log.warn("Cache put failed for cache='{}' key='{}'. Continuing without cache write. Cause: {}",
+                        getName(), key, ex.getMessage());
+            }
+        }
+        return value;
+    }
+
+    private RefreshAheadEntry read(Object key) {
+        try {
+            ValueWrapper wrapper = delegate.get(key);
+            // Values written before this decorator was enabled are not enveloped; treat them as misses.
+            return wrapper != null && wrapper.get() instanceof RefreshAheadEntry entry ? entry : null;
+        } catch (RuntimeException ex) {
+            log.warn("Cache get failed for cache='{}' key='{}'. Treating as miss. Cause: {}",
+                    getName(), key, ex.getMessage());
+            return null;
+        }
+    }
+
+    private RefreshAheadEntry envelope(Object value) {
+        long now = System.currentTimeMillis();
+        long refreshAt = spec.getRefreshAfter() == null ? Long.MAX_VALUE : now + spec.getRefreshAfter().toMillis();
+        return new RefreshAheadEntry(value, now, refreshAt);
+    }
+
+    private Object awaitFlight(CompletableFuture<Object> flight, Object key, Callable<?> valueLoader) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ValueRetrievalException(key, valueLoader, ex.getCause());
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(LEASE_POLL_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for cache lease", ex);
+        }
+    }
+}
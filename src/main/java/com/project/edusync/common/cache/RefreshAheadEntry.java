@@ -0,0 +1,25 @@
+package com.project.edusync.common.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Envelope stored by {@link RefreshAheadCache} so that every node can tell how old a shared entry is.
+ * Deliberately non-final: the Redis serializer only writes type hints for non-final classes.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshAheadEntry {
+
+    private Object value;
+    private long loadedAt;
+    private long refreshAt;
+
+    boolean refreshDue(long nowMillis) {
+        return nowMillis >= refreshAt;
+    }
+}
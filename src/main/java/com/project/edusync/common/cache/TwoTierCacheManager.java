@@ -0,0 +1,157 @@
+package com.project.edusync.common.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Decorates the Redis {@link CacheManager} with a per-node Caffeine tier for caches listed in
+ * {@link TwoTierCacheProperties}. Puts and evictions are fanned out over Redis pub/sub so every
+ * node drops its stale L1 entry; the short L1 TTL bounds staleness if a message is missed.
+ * Single-flight caches are further wrapped in a {@link RefreshAheadCache}. When a {@link CacheTagIndex} is
+ * supplied, every cache is finally wrapped in a {@link TaggedCache} so tagged puts are re-checked.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+    private final CacheManager remoteCacheManager;
+    private final TwoTierCacheProperties properties;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String invalidationChannel;
+    private final CacheLoadCoordinator cacheLoadCoordinator;
+    private final Supplier<CacheTagIndex> cacheTagIndex;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheManager remoteCacheManager,
+                               TwoTierCacheProperties properties,
+                               StringRedisTemplate stringRedisTemplate,
+                               ObjectMapper objectMapper,
+                               String invalidationChannel,
+                               CacheLoadCoordinator cacheLoadCoordinator) {
+        this(remoteCacheManager, properties, stringRedisTemplate, objectMapper, invalidationChannel,
+                cacheLoadCoordinator, null);
+    }
+
+    /**
+     * {@code cacheTagIndex} is looked up on each put rather than injected, since the index itself depends on
+     * this manager.
+     */
+    public TwoTierCacheManager(CacheManager remoteCacheManager,
+                               TwoTierCacheProperties properties,
+                               StringRedisTemplate stringRedisTemplate,
+                               ObjectMapper objectMapper,
+                               String invalidationChannel,
+                               CacheLoadCoordinator cacheLoadCoordinator,
+                               Supplier<CacheTagIndex> cacheTagIndex) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.properties = properties;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.invalidationChannel = invalidationChannel;
+        this.cacheLoadCoordinator = cacheLoadCoordinator;
+        this.cacheTagIndex = cacheTagIndex;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::decorate);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoteCacheManager.getCacheNames();
+    }
+
+    public String getInvalidationChannel() {
+        return invalidationChannel;
+    }
+
+    private Cache decorate(String name) {
+        Cache remote = remoteCacheManager.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+        Cache cache = decorateTiers(name, remote);
+        return cacheTagIndex != null ? new TaggedCache(cache, cacheTagIndex) : cache;
+    }
+
+    private Cache decorateTiers(String name, Cache remote) {
+        TwoTierCacheProperties.Spec spec = properties.getCaches().get(name);
+        if (!properties.isEnabled() || spec == null) {
+            return remote;
+        }
+        Cache cache = remote;
+        if (spec.getMaxSize() > 0) {
+            log.info("L1 cache enabled for cache='{}' maxSize={} ttl={}", name, spec.getMaxSize(), spec.getTtl());
+            cache = new TwoTierCache(remote, Caffeine.newBuilder()
+                    .maximumSize(spec.getMaxSize())
+                    .expireAfterWrite(spec.getTtl())
+                    .build(), this);
+        }
+        if (spec.isSingleFlight()) {
+            log.info("Single-flight loading enabled for cache='{}' refreshAfter={}", name, spec.getRefreshAfter());
+            cache = new RefreshAheadCache(cache, spec, cacheLoadCoordinator);
+        }
+        return cache;
+    }
+
+    void publishInvalidation(String cacheName, String localKey) {
+        try {
+            String payload = objectMapper.writeValueAsString(new InvalidationMessage(nodeId, cacheName, localKey));
+            stringRedisTemplate.convertAndSend(invalidationChannel, payload);
+        } catch (JsonProcessingException | RuntimeException ex) {
+            // Peers fall back to their L1 TTL; never fail the write path over a lost broadcast.
+            log.warn("L1 invalidation broadcast failed for cache='{}' key='{}'. Cause: {}",
+                    cacheName, localKey, ex.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        InvalidationMessage invalidation;
+        try {
+            invalidation = objectMapper.readValue(message.getBody(), InvalidationMessage.class);
+        } catch (IOException ex) {
+            log.warn("Ignoring malformed L1 invalidation message. Cause: {}", ex.getMessage());
+            return;
+        }
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        Cache cache = caches.get(invalidation.cacheName());
+        if (cache instanceof TaggedCache taggedCache) {
+            cache = taggedCache.getDelegate();
+        }
+        if (cache instanceof RefreshAheadCache refreshAheadCache) {
+            cache = refreshAheadCache.getDelegate();
+        }
+        if (cache instanceof TwoTierCache twoTierCache) {
+            if (invalidation.key() == null) {
+                twoTierCache.clearLocal();
+            } else {
+                twoTierCache.evictLocal(invalidation.key());
+            }
+        }
+    }
+
+    /**
+     * A {@code null} key clears the whole L1 cache on receiving nodes.
+     */
+    record InvalidationMessage(String origin, String cacheName, String key) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.project.edusync.common.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-cache tuning for the layers wrapped around the Redis caches.
+ * Caches without an entry here, or with {@code max-size: 0}, get no node-local (L1) tier;
+ * {@code single-flight} caches additionally get stampede protection and refresh-ahead.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.cache.two-tier")
+public class TwoTierCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Keyed by cache name (see {@link com.project.edusync.common.config.CacheNames}).
+     * Use bracket notation in YAML so mixed-case names bind verbatim.
+     */
+    private Map<String, Spec> caches = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Spec {
+        private long maxSize = 0;
+        private Duration ttl = Duration.ofSeconds(30);
+        private ValueFormat format = ValueFormat.JSON;
+
+        /** Guard misses with a cross-node lease; only effective with {@code @Cacheable(sync = true)}. */
+        private boolean singleFlight = false;
+        /** Age after which a hit schedules a background reload; {@code null} disables refresh-ahead. */
+        private Duration refreshAfter;
+        private Duration lockLease = Duration.ofSeconds(30);
+        /** How long waiters poll for the lease holder's value before loading themselves. */
+        private Duration lockWait = Duration.ofSeconds(10);
+    }
+
+    public enum ValueFormat {
+        /** Jackson JSON with default typing (current on-the-wire format). */
+        JSON,
+        /** Jackson Smile: same type handling, binary encoding for large values. */
+        BINARY
+    }
+}
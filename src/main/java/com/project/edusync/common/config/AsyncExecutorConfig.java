@@ -5,6 +5,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
@@ -33,5 +34,53 @@ public class AsyncExecutorConfig {
         executor.initialize();
         return executor;
     }
-}
 
+    @Bean(name = "cacheRefreshExecutor")
+    public Executor cacheRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("cache-refresh-");
+        // Default AbortPolicy: a rejected refresh is simply skipped and retried on the next hit.
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Bulk invoicing runs. Only one is live at a time, so a single worker is enough.
+     */
+    @Bean(name = "invoiceRunExecutor")
+    public Executor invoiceRunExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(10);
+        executor.setThreadNamePrefix("invoice-run-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Bulk scholarship award runs, apart from {@link #invoiceRunExecutor()}: a run queued behind a long invoice run
+     * would commit no chunk and be failed as stale before it started.
+     */
+    @Bean(name = "scholarshipRunExecutor")
+    public Executor scholarshipRunExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(10);
+        executor.setThreadNamePrefix("scholarship-run-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * One virtual thread per SSE drain; writes to slow sockets park instead of pinning platform threads.
+     */
+    @Bean(name = "dashboardSseExecutor")
+    public Executor dashboardSseExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dashboard-sse-", 0).factory());
+    }
+}
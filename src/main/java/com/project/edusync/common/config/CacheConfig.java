@@ -1,25 +1,43 @@
 package com.project.edusync.common.config;
 
+import com.project.edusync.common.cache.CacheLoadCoordinator;
+import com.project.edusync.common.cache.CacheTagIndex;
+import com.project.edusync.common.cache.TwoTierCacheManager;
+import com.project.edusync.common.cache.TwoTierCacheProperties;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.Cache;
 import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.cache.interceptor.SimpleCacheErrorHandler;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
 
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
 
@@ -36,16 +54,8 @@ public class CacheConfig {
         String prefix = "edusync:" + cacheVersion + ":";
         log.info("Redis cache namespace version: {} (prefix={})", cacheVersion, prefix);
 
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        objectMapper.activateDefaultTyping(
-                LaissezFaireSubTypeValidator.instance,
-                ObjectMapper.DefaultTyping.NON_FINAL,
-                JsonTypeInfo.As.PROPERTY
-        );
-        GenericJackson2JsonRedisSerializer.registerNullValueSerializer(objectMapper, "@class");
-        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+        GenericJackson2JsonRedisSerializer serializer =
+                new GenericJackson2JsonRedisSerializer(cacheObjectMapper(new JsonFactory()));
 
         return RedisCacheConfiguration.defaultCacheConfig()
                 .prefixCacheNameWith(prefix)
@@ -56,6 +66,85 @@ public class CacheConfig {
                 );
     }
 
+    /**
+     * Redis stays the shared source of truth; caches configured under {@code app.cache.two-tier.caches}
+     * additionally get a node-local Caffeine tier so hot dashboard reads skip the network and Jackson.
+     */
+    @Bean
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                           ObjectProvider<RedisCacheManagerBuilderCustomizer> customizers,
+                                           TwoTierCacheProperties twoTierCacheProperties,
+                                           StringRedisTemplate stringRedisTemplate,
+                                           ObjectMapper objectMapper,
+                                           RedisMessageListenerContainer redisMessageListenerContainer,
+                                           CacheLoadCoordinator cacheLoadCoordinator,
+                                           ObjectProvider<CacheTagIndex> cacheTagIndex) {
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(redisCacheConfiguration());
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        applyBinaryValueFormats(builder, twoTierCacheProperties);
+
+        RedisCacheManager redisCacheManager = builder.build();
+        redisCacheManager.afterPropertiesSet();
+
+        TwoTierCacheManager cacheManager = new TwoTierCacheManager(
+                redisCacheManager,
+                twoTierCacheProperties,
+                stringRedisTemplate,
+                objectMapper,
+                "edusync:" + cacheVersion + ":cache:l1-invalidation",
+                cacheLoadCoordinator,
+                cacheTagIndex::getIfAvailable
+        );
+        redisMessageListenerContainer.addMessageListener(cacheManager, new ChannelTopic(cacheManager.getInvalidationChannel()));
+        return cacheManager;
+    }
+
+    @Bean
+    public CacheLoadCoordinator cacheLoadCoordinator(StringRedisTemplate stringRedisTemplate,
+                                                     MeterRegistry meterRegistry,
+                                                     PlatformTransactionManager transactionManager,
+                                                     @Qualifier("cacheRefreshExecutor") Executor cacheRefreshExecutor) {
+        TransactionTemplate readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+        return new CacheLoadCoordinator(
+                stringRedisTemplate,
+                meterRegistry,
+                readOnlyTransactionTemplate,
+                cacheRefreshExecutor,
+                "edusync:" + cacheVersion + ":cache:lease:"
+        );
+    }
+
+    private void applyBinaryValueFormats(RedisCacheManager.RedisCacheManagerBuilder builder,
+                                         TwoTierCacheProperties twoTierCacheProperties) {
+        RedisSerializationContext.SerializationPair<Object> binaryValues = RedisSerializationContext.SerializationPair
+                .fromSerializer(new GenericJackson2JsonRedisSerializer(cacheObjectMapper(new SmileFactory())));
+
+        for (Map.Entry<String, TwoTierCacheProperties.Spec> entry : twoTierCacheProperties.getCaches().entrySet()) {
+            if (entry.getValue().getFormat() != TwoTierCacheProperties.ValueFormat.BINARY) {
+                continue;
+            }
+            RedisCacheConfiguration base = builder.getCacheConfigurationFor(entry.getKey())
+                    .orElseGet(this::redisCacheConfiguration);
+            builder.withCacheConfiguration(entry.getKey(), base.serializeValuesWith(binaryValues));
+            log.info("Redis cache '{}' stores values in binary (Smile) format", entry.getKey());
+        }
+    }
+
+    private ObjectMapper cacheObjectMapper(JsonFactory jsonFactory) {
+        ObjectMapper objectMapper = new ObjectMapper(jsonFactory);
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.activateDefaultTyping(
+                LaissezFaireSubTypeValidator.instance,
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY
+        );
+        GenericJackson2JsonRedisSerializer.registerNullValueSerializer(objectMapper, "@class");
+        return objectMapper;
+    }
+
     @Bean
     public CacheErrorHandler cacheErrorHandler() {
         return new SimpleCacheErrorHandler() {
@@ -131,10 +220,6 @@ public class CacheConfig {
                 .withCacheConfiguration(
                         CacheNames.HRMS_DASHBOARD_SUMMARY,
                         redisCacheConfiguration().entryTtl(Duration.ofMinutes(2))
-                )
-                .withCacheConfiguration(
-                        CacheNames.FINANCE_DASHBOARD_SUMMARY,
-                        redisCacheConfiguration().entryTtl(Duration.ofMinutes(2))
                 );
     }
 }
@@ -4,6 +4,7 @@ import com.project.edusync.adm.model.entity.AcademicClass;
 import com.project.edusync.adm.model.entity.Section;
 import com.project.edusync.adm.repository.AcademicClassRepository;
 import com.project.edusync.adm.repository.SectionRepository;
+import com.project.edusync.common.security.PermissionVersionService;
 import com.project.edusync.common.settings.model.entity.AppSetting;
 import com.project.edusync.common.settings.model.enums.SettingGroup;
 import com.project.edusync.common.settings.model.enums.SettingType;
@@ -54,6 +55,7 @@ public class DataSeeder implements ApplicationRunner {
     private final PasswordEncoder passwordEncoder;
     private final Environment environment; // 1. Inject the Spring Environment
     private final JdbcTemplate jdbcTemplate;
+    private final PermissionVersionService permissionVersionService;
 
     private static final Map<String, List<String>> ROLE_PERMISSION_BLUEPRINT = buildRolePermissionBlueprint();
     private static final Map<String, List<String>> CLASS_SECTION_BLUEPRINT = buildClassSectionBlueprint();
@@ -176,6 +178,7 @@ public class DataSeeder implements ApplicationRunner {
             permissionByName.put(permission.getName(), permission);
         }
 
+        boolean anyRoleChanged = false;
         for (Map.Entry<String, List<String>> entry : ROLE_PERMISSION_BLUEPRINT.entrySet()) {
             String roleName = entry.getKey();
             Role role = rolesByName.get(roleName);
@@ -201,10 +204,15 @@ public class DataSeeder implements ApplicationRunner {
 
             if (changed) {
                 roleRepository.save(role);
+                anyRoleChanged = true;
             }
             log.info("Role {} now has {} permissions (added {})", roleName, afterCount, (afterCount - beforeCount));
         }
 
+        if (anyRoleChanged) {
+            // Tokens issued before this deploy carry the old authorities; force them back to the database path.
+            permissionVersionService.bumpAll();
+        }
         log.info("Ensured {} permissions and completed role-permission mapping.", permissionByName.size());
     }
 
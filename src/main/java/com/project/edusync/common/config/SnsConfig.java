@@ -1,9 +1,11 @@
 package com.project.edusync.common.config;
 
+import com.project.edusync.notifications.config.NotificationSnsProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sns.SnsClientBuilder;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
@@ -15,20 +17,21 @@ import java.net.URI;
 public class SnsConfig {
 
     @Bean
-    public SnsClient snsClient() {
-        return SnsClient.builder()
-                .region(Region.US_EAST_1)
-                .endpointOverride(
-                        URI.create("http://localhost:4566")
-                )
-                .credentialsProvider(
-                        StaticCredentialsProvider.create(
-                                AwsBasicCredentials.create(
-                                        "test",
-                                        "test"
-                                )
-                        )
-                )
-                .build();
+    public SnsClient snsClient(NotificationSnsProperties properties) {
+        SnsClientBuilder builder = SnsClient.builder()
+                .region(Region.of(properties.getRegion()));
+        if (properties.getEndpoint() != null && !properties.getEndpoint().isBlank()) {
+            // localstack and other emulators: fixed endpoint and throwaway credentials
+            builder.endpointOverride(URI.create(properties.getEndpoint()))
+                    .credentialsProvider(
+                            StaticCredentialsProvider.create(
+                                    AwsBasicCredentials.create(
+                                            properties.getAccessKey(),
+                                            properties.getSecretKey()
+                                    )
+                            )
+                    );
+        }
+        return builder.build();
     }
 }
@@ -0,0 +1,25 @@
+package com.project.edusync.common.scheduling;
+
+import java.time.LocalDateTime;
+
+/**
+ * A scheduled job that must run on exactly one node per fire.
+ *
+ * <p>The job's {@code @Scheduled} method only calls {@link ScheduledJobCoordinator#trigger(LeasedJob)}; the
+ * coordinator claims the fire, runs {@link #execute} on the winning node and records the run. Transaction
+ * boundaries are the job's own, unless its definition opts into {@link ScheduledJobDefinition#inTransaction()}.
+ * Jobs with a catch-up window are also re-run for fires that no node completed.</p>
+ */
+public interface LeasedJob {
+
+    ScheduledJobDefinition definition();
+
+    /**
+     * Does the work for one fire. Called inside a transaction only when the definition asks for one.
+     *
+     * @param scheduledFor the fire time being served; catch-up runs pass a fire in the past, so date-based
+     *                     jobs must derive their business date from it rather than from the clock
+     * @return rows created or updated, for the run history
+     */
+    int execute(LocalDateTime scheduledFor);
+}
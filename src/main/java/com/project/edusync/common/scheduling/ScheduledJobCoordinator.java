@@ -0,0 +1,255 @@
+package com.project.edusync.common.scheduling;
+
+import com.project.edusync.common.scheduling.model.JobRunOutcome;
+import com.project.edusync.common.scheduling.model.ScheduledJobRun;
+import com.project.edusync.common.scheduling.repository.ScheduledJobRunRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs each {@link LeasedJob} fire on exactly one node and keeps a run history.
+ * <ul>
+ *     <li>A fire is claimed with a Redis {@code SET NX} on {@code job + fire time}. The key is kept for the
+ *     job's lease after a successful run, so a node whose trigger fires late cannot run the same fire again;
+ *     it is released when the run fails so catch-up can retry.</li>
+ *     <li>The coordinator owns only the claim. A job sets its own transaction boundaries unless its definition
+ *     asks for {@link ScheduledJobDefinition#inTransaction() one transaction per fire}.</li>
+ *     <li>Each run is recorded in {@code scheduled_job_runs} with duration, rows touched and outcome. Idle
+ *     runs of frequent jobs are only counted in metrics.</li>
+ *     <li>Jobs with a catch-up window are re-run for their latest fire when no run of it succeeded, e.g.
+ *     because every node was down or the run failed. Retries stop after
+ *     {@link ScheduledJobProperties#getMaxCatchUpAttempts()} failures.</li>
+ * </ul>
+ * If Redis cannot be reached the fire is skipped rather than risking duplicate work; catch-up covers jobs that
+ * cannot afford to miss a fire.
+ */
+@Slf4j
+@Component
+public class ScheduledJobCoordinator {
+
+    /** Returned when leasing is disabled; the run proceeds without a cross-node claim. */
+    private static final String NO_LEASE = "";
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class
+    );
+
+    private final ScheduledJobProperties properties;
+    private final ScheduledJobRunRepository runRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<LeasedJob> jobs;
+    private final String nodeId = resolveNodeId();
+
+    public ScheduledJobCoordinator(ScheduledJobProperties properties,
+                                   ScheduledJobRunRepository runRepository,
+                                   StringRedisTemplate stringRedisTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   ObjectProvider<LeasedJob> jobs) {
+        this.properties = properties;
+        this.runRepository = runRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.jobs = jobs;
+    }
+
+    /**
+     * Entry point for a job's {@code @Scheduled} method. Resolves the fire being served and runs it if this node
+     * wins the claim. A trigger that arrives more than one lease after its fire is treated as stale and skipped.
+     */
+    public void trigger(LeasedJob job) {
+        ScheduledJobDefinition definition = job.definition();
+        ZonedDateTime fire = latestFire(definition, ZonedDateTime.now(), definition.lease());
+        if (fire == null) {
+            skipped(definition, "stale");
+            return;
+        }
+        run(job, fire.toLocalDateTime(), false);
+    }
+
+    @Scheduled(fixedDelayString = "${app.scheduling.catch-up-interval:PT10M}", initialDelayString = "PT1M")
+    public void catchUpMissedRuns() {
+        ZonedDateTime now = ZonedDateTime.now();
+        for (LeasedJob job : jobs) {
+            ScheduledJobDefinition definition = job.definition();
+            if (!definition.catchUpEnabled()) {
+                continue;
+            }
+            ZonedDateTime fire = latestFire(definition, now, definition.catchUpWindow());
+            // Within the lease the regular trigger still owns the fire.
+            if (fire == null || fire.plus(definition.lease()).isAfter(now)) {
+                continue;
+            }
+            LocalDateTime scheduledFor = fire.toLocalDateTime();
+            try {
+                if (runRepository.existsByJobNameAndScheduledForAndOutcome(definition.name(), scheduledFor, JobRunOutcome.SUCCEEDED)) {
+                    continue;
+                }
+                long failures = runRepository.countByJobNameAndScheduledForAndOutcome(
+                        definition.name(), scheduledFor, JobRunOutcome.FAILED);
+                if (failures >= properties.getMaxCatchUpAttempts()) {
+                    log.warn("Scheduled job '{}' fire {} failed {} times; not retrying", definition.name(), scheduledFor, failures);
+                    continue;
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Catch-up check failed for job '{}'. Cause: {}", definition.name(), ex.getMessage());
+                continue;
+            }
+            log.info("Scheduled job '{}' has no successful run for {}; catching up", definition.name(), scheduledFor);
+            run(job, scheduledFor, true);
+        }
+    }
+
+    /** Purges old run history. Idempotent and cheap, so every node may run it. */
+    @Scheduled(cron = "0 15 3 * * ?")
+    public void purgeHistory() {
+        int deleted = runRepository.deleteStartedBefore(LocalDateTime.now().minus(properties.getHistoryRetention()));
+        if (deleted > 0) {
+            log.info("Purged {} scheduled job runs older than {}", deleted, properties.getHistoryRetention());
+        }
+    }
+
+    private void run(LeasedJob job, LocalDateTime scheduledFor, boolean catchUp) {
+        ScheduledJobDefinition definition = job.definition();
+        String leaseKey = properties.getLeaseKeyPrefix() + definition.name() + ":" + scheduledFor;
+        String token = tryAcquire(definition, leaseKey);
+        if (token == null) {
+            return;
+        }
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        int rows = 0;
+        JobRunOutcome outcome = JobRunOutcome.SUCCEEDED;
+        String error = null;
+        try {
+            if (definition.transactional()) {
+                Integer touched = transactionTemplate.execute(status -> job.execute(scheduledFor));
+                rows = touched != null ? touched : 0;
+            } else {
+                rows = job.execute(scheduledFor);
+            }
+        } catch (RuntimeException ex) {
+            outcome = JobRunOutcome.FAILED;
+            error = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+            release(leaseKey, token);
+            log.error("Scheduled job '{}' failed for {}", definition.name(), scheduledFor, ex);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        Timer.builder("edusync.jobs.run")
+                .description("Scheduled job executions on the lease holder")
+                .tag("job", definition.name())
+                .tag("outcome", outcome.name())
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (outcome == JobRunOutcome.SUCCEEDED && rows == 0 && !definition.recordIdleRuns() && !catchUp) {
+            return;
+        }
+        ScheduledJobRun run = ScheduledJobRun.builder()
+                .jobName(definition.name())
+                .scheduledFor(scheduledFor)
+                .nodeId(nodeId)
+                .startedAt(startedAt)
+                .finishedAt(LocalDateTime.now())
+                .durationMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .rowsTouched(rows)
+                .outcome(outcome)
+                .catchUp(catchUp)
+                .errorMessage(error != null && error.length() > 1000 ? error.substring(0, 1000) : error)
+                .build();
+        try {
+            runRepository.save(run);
+        } catch (RuntimeException ex) {
+            log.warn("Could not record run of job '{}' for {}. Cause: {}", definition.name(), scheduledFor, ex.getMessage());
+        }
+    }
+
+    /**
+     * @return a lease token when this node owns the fire, {@link #NO_LEASE} when leasing is disabled, or
+     * {@code null} when another node owns it or Redis is unavailable.
+     */
+    private String tryAcquire(ScheduledJobDefinition definition, String leaseKey) {
+        if (!properties.isLeasingEnabled()) {
+            return NO_LEASE;
+        }
+        String token = nodeId + ":" + UUID.randomUUID();
+        try {
+            Boolean acquired = stringRedisTemplate.opsForValue().setIfAbsent(leaseKey, token, definition.lease());
+            if (Boolean.TRUE.equals(acquired)) {
+                return token;
+            }
+            skipped(definition, "held");
+            return null;
+        } catch (RuntimeException ex) {
+            log.warn("Job lease unavailable for '{}'; skipping this fire. Cause: {}", definition.name(), ex.getMessage());
+            skipped(definition, "lease-unavailable");
+            return null;
+        }
+    }
+
+    private void release(String leaseKey, String token) {
+        if (token.isEmpty()) {
+            return;
+        }
+        try {
+            stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey), token);
+        } catch (RuntimeException ex) {
+            // The lease expires on its own; catch-up simply waits for it.
+            log.warn("Job lease release failed for key '{}'. Cause: {}", leaseKey, ex.getMessage());
+        }
+    }
+
+    private void skipped(ScheduledJobDefinition definition, String reason) {
+        meterRegistry.counter("edusync.jobs.skipped", "job", definition.name(), "reason", reason).increment();
+    }
+
+    /** Most recent fire at or before {@code now} and no older than {@code lookback}, or {@code null}. */
+    static ZonedDateTime latestFire(ScheduledJobDefinition definition, ZonedDateTime now, Duration lookback) {
+        CronExpression cron = CronExpression.parse(definition.cron());
+        // CronExpression.next is exclusive; step back a second so a fire exactly at the window start counts.
+        ZonedDateTime fire = cron.next(now.minus(lookback).minusSeconds(1));
+        if (fire == null || fire.isAfter(now)) {
+            return null;
+        }
+        ZonedDateTime next;
+        while ((next = cron.next(fire)) != null && !next.isAfter(now)) {
+            fire = next;
+        }
+        return fire;
+    }
+
+    private static String resolveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            host = "unknown";
+        }
+        return host + "-" + ProcessHandle.current().pid();
+    }
+}
@@ -0,0 +1,49 @@
+package com.project.edusync.common.scheduling;
+
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.Duration;
+
+/**
+ * Static description of a {@link LeasedJob}.
+ *
+ * @param name           stable identifier used for the lease key, run history and metrics
+ * @param cron           the same expression as the job's {@code @Scheduled} trigger
+ * @param lease          how long one fire stays claimed; must be shorter than the interval between fires and
+ *                       longer than the job's worst-case run time
+ * @param catchUpWindow  how far back a missed fire is still worth running; {@link Duration#ZERO} disables catch-up
+ * @param recordIdleRuns whether successful runs that touched no rows are written to the run history
+ * @param transactional  whether the coordinator runs the whole fire in one transaction; off by default, so each
+ *                       job commits at its own boundaries and one failing item does not undo the rest
+ */
+public record ScheduledJobDefinition(
+        String name,
+        String cron,
+        Duration lease,
+        Duration catchUpWindow,
+        boolean recordIdleRuns,
+        boolean transactional
+) {
+
+    public ScheduledJobDefinition {
+        CronExpression.parse(cron);
+    }
+
+    public static ScheduledJobDefinition of(String name, String cron, Duration lease) {
+        return new ScheduledJobDefinition(name, cron, lease, Duration.ZERO, false, false);
+    }
+
+    /** Runs a missed fire on the next catch-up pass if it is still within {@code window}; implies full history. */
+    public ScheduledJobDefinition withCatchUp(Duration window) {
+        return new ScheduledJobDefinition(name, cron, lease, window, true, transactional);
+    }
+
+    /** Runs each fire in one transaction, for short jobs whose work must commit or roll back as a whole. */
+    public ScheduledJobDefinition inTransaction() {
+        return new ScheduledJobDefinition(name, cron, lease, catchUpWindow, recordIdleRuns, true);
+    }
+
+    public boolean catchUpEnabled() {
+        return catchUpWindow.isPositive();
+    }
+}
@@ -0,0 +1,32 @@
+package com.project.edusync.common.scheduling;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cluster coordination for {@link LeasedJob}s ({@link ScheduledJobCoordinator}).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.scheduling")
+public class ScheduledJobProperties {
+
+    /** When false every node runs every job, as a single-node deployment would. */
+    private boolean leasingEnabled = true;
+
+    private String leaseKeyPrefix = "edusync:jobs:lease:";
+
+    /** How often each node looks for missed runs of jobs that declare a catch-up window. */
+    private Duration catchUpInterval = Duration.ofMinutes(10);
+
+    /** Failed attempts after which a missed run is left for an operator instead of being retried. */
+    private int maxCatchUpAttempts = 3;
+
+    /** Run history older than this is purged nightly. */
+    private Duration historyRetention = Duration.ofDays(30);
+}
@@ -0,0 +1,6 @@
+package com.project.edusync.common.scheduling.model;
+
+public enum JobRunOutcome {
+    SUCCEEDED,
+    FAILED
+}
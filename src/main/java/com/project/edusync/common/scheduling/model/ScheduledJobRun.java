@@ -0,0 +1,58 @@
+package com.project.edusync.common.scheduling.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One execution of a {@link com.project.edusync.common.scheduling.LeasedJob} on the node that won the lease.
+ * Catch-up runs carry the original {@code scheduledFor}, so a fire's full history sits on one index.
+ */
+@Entity
+@Table(name = "scheduled_job_runs",
+        indexes = @Index(name = "idx_scheduled_job_runs_job_scheduled", columnList = "job_name, scheduled_for"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledJobRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    @Column(name = "scheduled_for", nullable = false)
+    private LocalDateTime scheduledFor;
+
+    @Column(name = "node_id", nullable = false, length = 100)
+    private String nodeId;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at", nullable = false)
+    private LocalDateTime finishedAt;
+
+    @Column(name = "duration_ms", nullable = false)
+    private long durationMs;
+
+    @Column(name = "rows_touched", nullable = false)
+    private int rowsTouched;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "outcome", nullable = false, length = 20)
+    private JobRunOutcome outcome;
+
+    @Column(name = "catch_up", nullable = false)
+    private boolean catchUp;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+}
@@ -0,0 +1,23 @@
+package com.project.edusync.common.scheduling.repository;
+
+import com.project.edusync.common.scheduling.model.JobRunOutcome;
+import com.project.edusync.common.scheduling.model.ScheduledJobRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface ScheduledJobRunRepository extends JpaRepository<ScheduledJobRun, Long> {
+
+    boolean existsByJobNameAndScheduledForAndOutcome(String jobName, LocalDateTime scheduledFor, JobRunOutcome outcome);
+
+    long countByJobNameAndScheduledForAndOutcome(String jobName, LocalDateTime scheduledFor, JobRunOutcome outcome);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ScheduledJobRun r WHERE r.startedAt < :cutoff")
+    int deleteStartedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,5 +1,8 @@
 package com.project.edusync.common.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.project.edusync.common.exception.iam.InsufficientAuthenticationException;
 import com.project.edusync.iam.model.entity.Permission;
 import com.project.edusync.iam.model.entity.Role;
@@ -25,8 +28,13 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +47,9 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AuthUtil {
 
+    static final String PERMISSION_EPOCH_CLAIM = "perm_epoch";
+    static final String PERMISSION_VERSION_CLAIM = "perm_version";
+
     /**
      * Retrieves the full User entity of the currently authenticated user.
      *
@@ -63,6 +74,11 @@ public class AuthUtil {
             return user;
         }
 
+        if (principal instanceof TokenPrincipal tokenPrincipal) {
+            log.trace("Loading user entity for stateless principal: {}", tokenPrincipal.getUsername());
+            return tokenPrincipal.loadUser();
+        }
+
         if ("anonymousUser".equals(principal)) {
             log.warn("Authentication check failed: User is anonymous.");
             throw new InsufficientAuthenticationException("User is anonymous.");
@@ -84,6 +100,10 @@ public class AuthUtil {
      */
     public Long getCurrentUserId() {
         log.trace("Retrieving user ID for current user.");
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof TokenPrincipal tokenPrincipal) {
+            return tokenPrincipal.getId();
+        }
         return getCurrentUser().getId();
     }
 
@@ -133,11 +153,23 @@ public class AuthUtil {
     @Value("${app.jwt.refresh-expirationTime}")
     private long jwtRefreshExpirationTime;
 
+    /** Upper bound on distinct access tokens whose verified claims are kept in memory. */
+    @Value("${app.jwt.claims-cache-size:10000}")
+    private long claimsCacheSize = 10_000;
+
     private SecretKey _signingKey;
 
+    /** Verified claims keyed by SHA-256 of the token; entries expire at the token's own {@code exp}. */
+    private Cache<String, VerifiedClaims> verifiedClaimsCache;
+
     @PostConstruct
     public void init() {
         this._signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.verifiedClaimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheSize)
+                .expireAfter(Expiry.creating((String key, VerifiedClaims claims) ->
+                        Duration.between(Instant.now(), claims.expiresAt())))
+                .build();
         log.info("JWT signing key initialized successfully.");
     }
 
@@ -160,6 +192,15 @@ public class AuthUtil {
      * Generates a short-lived Access Token containing authorities and context claims.
      */
     public String generateAccessToken(String username, Set<Role> roles, Long userId, Long academicYearId) {
+        return generateAccessToken(username, roles, userId, academicYearId, null);
+    }
+
+    /**
+     * Generates an Access Token that also carries the user's {@link PermissionVersion}, which lets
+     * {@link StatelessPrincipalResolver} trust its authorities without a database lookup while the version is current.
+     */
+    public String generateAccessToken(String username, Set<Role> roles, Long userId, Long academicYearId,
+                                      PermissionVersion permissionVersion) {
         log.trace("Generating access token for user: {}", username);
 
         // Include role + permission authorities so method-level checks can use either.
@@ -184,6 +225,10 @@ public class AuthUtil {
         claims.put("authorities", authorityStrings);
         claims.put("user_id", userId);
         claims.put("academic_year_id", academicYearId);
+        if (permissionVersion != null) {
+            claims.put(PERMISSION_EPOCH_CLAIM, permissionVersion.epoch());
+            claims.put(PERMISSION_VERSION_CLAIM, permissionVersion.user());
+        }
 
         // 3. Build the token
         String token = Jwts.builder()
@@ -210,12 +255,39 @@ public class AuthUtil {
                 .getPayload();
     }
 
+    /**
+     * Verifies the token once and returns its claims. Repeat calls with the same token are served from memory
+     * until the token expires, skipping signature verification and JSON parsing; tokens that fail verification
+     * are never cached, so the usual jjwt exceptions are thrown on every attempt.
+     */
+    public VerifiedClaims verify(String token) {
+        String key = tokenHash(token);
+        VerifiedClaims cached = verifiedClaimsCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        VerifiedClaims claims = VerifiedClaims.from(getAllClaimsFromToken(token));
+        if (claims.expiresAt() != null && claims.expiresAt().isAfter(Instant.now())) {
+            verifiedClaimsCache.put(key, claims);
+        }
+        return claims;
+    }
+
+    private static String tokenHash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     /**
      * Extracts the username (subject) from the token.
      */
     public String getUsernameFromToken(String token) {
         log.trace("Extracting username from token.");
-        String username = getAllClaimsFromToken(token).getSubject();
+        String username = verify(token).username();
         log.trace("Extracted username '{}' from token.", username);
         return username;
     }
@@ -225,10 +297,7 @@ public class AuthUtil {
      */
     public List<GrantedAuthority> getAuthoritiesFromToken(String token) {
         log.trace("Extracting authorities from token.");
-        Claims claims = getAllClaimsFromToken(token);
-
-        @SuppressWarnings("unchecked")
-        List<String> authorities = (List<String>) claims.get("authorities");
+        List<String> authorities = verify(token).authorities();
 
         if (authorities == null || authorities.isEmpty()) {
             log.trace("No 'authorities' claim found in token or claim is empty.");
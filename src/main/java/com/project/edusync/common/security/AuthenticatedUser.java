@@ -0,0 +1,13 @@
+package com.project.edusync.common.security;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Principal placed in the security context by {@link JWTFilter}: either the loaded
+ * {@link com.project.edusync.iam.model.entity.User} entity or a {@link TokenPrincipal} built from the token alone.
+ * Bind {@code @AuthenticationPrincipal AuthenticatedUser} in controllers that may be served statelessly.
+ */
+public interface AuthenticatedUser extends UserDetails {
+
+    Long getId();
+}
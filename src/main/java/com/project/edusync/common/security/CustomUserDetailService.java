@@ -31,4 +31,12 @@ public class CustomUserDetailService implements UserDetailsService {
                 .map(User.class::cast)
                 .orElseThrow(() -> new ResourceNotFoundException("UserDetails not found user : " + key)));
     }
+
+    public void evict(String username) {
+        userDetailsCache.invalidate(username);
+    }
+
+    public void evictAll() {
+        userDetailsCache.invalidateAll();
+    }
 }
@@ -34,6 +34,7 @@ public class JWTFilter extends OncePerRequestFilter {
     // 1. We ONLY need AuthUtil. We do not need UserRepository.
     private final AuthUtil authUtil;
     private final CustomUserDetailService customUserDetailService;
+    private final StatelessPrincipalResolver statelessPrincipalResolver;
 
     // We also do not need ObjectMapper. Error handling is
     // delegated to the JwtAuthenticationEntryPoint.
@@ -58,12 +59,12 @@ public class JWTFilter extends OncePerRequestFilter {
             filterChain.doFilter(request, response);
             return;
         }
-        String username = null;
+        VerifiedClaims claims;
 
         try {
-            // Extract username from token. Authorities are resolved from DB-backed UserDetails
-            // to avoid 403s caused by stale tokens after role/permission changes.
-            username = authUtil.getUsernameFromToken(token);
+            // Verify and parse the token once (cached per token until it expires). Authorities are resolved
+            // from DB-backed UserDetails to avoid 403s caused by stale tokens after role/permission changes.
+            claims = authUtil.verify(token);
 
         } catch (ExpiredJwtException e) {
             log.warn("JWT token has expired: {}", e.getMessage());
@@ -81,9 +82,15 @@ public class JWTFilter extends OncePerRequestFilter {
         }
 
         // 3. Check if username was found and context is not set
+        String username = claims.username();
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            UserDetails userDetails = customUserDetailService.loadUserByUsername(username);
+            // Opt-in endpoints trust the token's authorities while its permission version is current;
+            // everything else (and any stale token) loads the user.
+            UserDetails userDetails = statelessPrincipalResolver.resolve(request, claims);
+            if (userDetails == null) {
+                userDetails = customUserDetailService.loadUserByUsername(username);
+            }
             Collection<? extends GrantedAuthority> authorities = userDetails.getAuthorities();
 
             // 4. Create the authentication token
@@ -95,8 +102,8 @@ public class JWTFilter extends OncePerRequestFilter {
 
             // Claims are passed as authentication details so AuthUtil can safely access them later.
             Map<String, Object> details = new HashMap<>();
-            details.put("user_id", authUtil.getClaimValueFromToken(token, "user_id"));
-            details.put("academic_year_id", authUtil.getClaimValueFromToken(token, "academic_year_id"));
+            details.put("user_id", claims.userId());
+            details.put("academic_year_id", claims.academicYearId());
             authToken.setDetails(details);
 
             // 5. Set the Authentication in SecurityContextHolder
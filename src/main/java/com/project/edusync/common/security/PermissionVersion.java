@@ -0,0 +1,8 @@
+package com.project.edusync.common.security;
+
+/**
+ * Permission snapshot version carried in an access token: the global RBAC epoch (bumped when a role's
+ * permissions change) and the user's own counter (bumped when their roles or active flag change).
+ */
+public record PermissionVersion(long epoch, long user) {
+}
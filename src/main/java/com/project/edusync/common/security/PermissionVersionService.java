@@ -0,0 +1,107 @@
+package com.project.edusync.common.security;
+
+import com.project.edusync.iam.model.entity.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Redis-held permission version counters backing stateless authentication. Access tokens embed the
+ * {@link PermissionVersion} current at issue time; a token is only trusted without a database lookup while
+ * both counters still match. Counters are created when a token is stamped and seeded from the wall clock rather
+ * than zero, so counters recreated after a Redis flush never repeat a value an older token was stamped with.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PermissionVersionService {
+
+    private static final String EPOCH_KEY = "edusync:auth:perm-version:epoch";
+    private static final String USER_KEY_PREFIX = "edusync:auth:perm-version:user:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final CustomUserDetailService customUserDetailService;
+
+    /**
+     * Version to embed in a newly issued token, or {@code null} when Redis is unavailable (the token then
+     * always takes the database path).
+     */
+    public PermissionVersion stamp(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        try {
+            String seed = String.valueOf(System.currentTimeMillis());
+            stringRedisTemplate.opsForValue().setIfAbsent(EPOCH_KEY, seed);
+            stringRedisTemplate.opsForValue().setIfAbsent(userKey(userId), seed);
+            return current(userId).orElse(null);
+        } catch (RuntimeException ex) {
+            log.warn("Permission version stamp failed for userId={}. Cause: {}", userId, ex.getMessage());
+            return null;
+        }
+    }
+
+    /** Both counters in one round trip; empty when either is missing or Redis is unavailable. */
+    public Optional<PermissionVersion> current(Long userId) {
+        try {
+            List<String> values = stringRedisTemplate.opsForValue().multiGet(List.of(EPOCH_KEY, userKey(userId)));
+            if (values == null || values.size() != 2 || values.get(0) == null || values.get(1) == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new PermissionVersion(Long.parseLong(values.get(0)), Long.parseLong(values.get(1))));
+        } catch (RuntimeException ex) {
+            log.warn("Permission version lookup failed for userId={}. Cause: {}", userId, ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /** Call when a user's roles or active flag change; outstanding tokens fall back to the database path. */
+    public void bumpUser(User user) {
+        Long userId = user.getId();
+        String username = user.getUsername();
+        afterCommit(() -> {
+            customUserDetailService.evict(username);
+            increment(userKey(userId));
+        });
+    }
+
+    /** Call when a role's permissions change; affects every user, so it bumps the global epoch. */
+    public void bumpAll() {
+        afterCommit(() -> {
+            customUserDetailService.evictAll();
+            increment(EPOCH_KEY);
+        });
+    }
+
+    private void increment(String key) {
+        try {
+            stringRedisTemplate.opsForValue().increment(key);
+        } catch (RuntimeException ex) {
+            // Tokens keep their snapshot until expiry; log loudly so the failed revocation is visible.
+            log.error("Permission version bump failed for key={}. Cause: {}", key, ex.getMessage());
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static String userKey(Long userId) {
+        return USER_KEY_PREFIX + userId;
+    }
+}
@@ -0,0 +1,29 @@
+package com.project.edusync.common.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Opt-in stateless authentication ({@link StatelessPrincipalResolver}). Only list endpoints that read the
+ * caller through {@link AuthUtil#getCurrentUserId()} or {@code @AuthenticationPrincipal AuthenticatedUser};
+ * handlers binding {@code @AuthenticationPrincipal User} receive {@code null} on stateless requests.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.security.stateless-principal")
+public class StatelessPrincipalProperties {
+
+    private boolean enabled = false;
+
+    /** Ant patterns matched against the request URI. */
+    private List<String> paths = new ArrayList<>(List.of("/**/dashboard/**", "/**/ams/records/**"));
+
+    /** Restrict stateless authentication to GET/HEAD requests. */
+    private boolean safeMethodsOnly = true;
+}
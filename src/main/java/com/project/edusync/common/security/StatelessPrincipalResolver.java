@@ -0,0 +1,57 @@
+package com.project.edusync.common.security;
+
+import com.project.edusync.iam.model.entity.User;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+
+/**
+ * Decides whether a request may authenticate from its token alone. Eligible requests (see
+ * {@link StatelessPrincipalProperties}) get a {@link TokenPrincipal} built from the token's embedded authorities
+ * when its {@link PermissionVersion} still matches Redis; everything else returns {@code null} and takes the
+ * regular {@link CustomUserDetailService} path.
+ */
+@Component
+@RequiredArgsConstructor
+public class StatelessPrincipalResolver {
+
+    private final StatelessPrincipalProperties properties;
+    private final PermissionVersionService permissionVersionService;
+    private final CustomUserDetailService customUserDetailService;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public TokenPrincipal resolve(HttpServletRequest request, VerifiedClaims claims) {
+        if (!properties.isEnabled()
+                || claims.userId() == null
+                || claims.permissionVersion() == null
+                || !isEligible(request)) {
+            return null;
+        }
+        boolean current = permissionVersionService.current(claims.userId())
+                .map(claims.permissionVersion()::equals)
+                .orElse(false);
+        if (!current) {
+            return null;
+        }
+        List<SimpleGrantedAuthority> authorities = claims.authorities().stream()
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+        String username = claims.username();
+        return new TokenPrincipal(claims.userId(), username, authorities,
+                () -> (User) customUserDetailService.loadUserByUsername(username));
+    }
+
+    private boolean isEligible(HttpServletRequest request) {
+        if (properties.isSafeMethodsOnly()
+                && !"GET".equalsIgnoreCase(request.getMethod())
+                && !"HEAD".equalsIgnoreCase(request.getMethod())) {
+            return false;
+        }
+        String path = request.getRequestURI();
+        return path != null && properties.getPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+}
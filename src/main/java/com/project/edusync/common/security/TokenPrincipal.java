@@ -0,0 +1,43 @@
+package com.project.edusync.common.security;
+
+import com.project.edusync.iam.model.entity.User;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Principal built from a token whose permission snapshot is still current, so the request authenticates
+ * without loading the user. {@link AuthUtil#getCurrentUser()} still works: the entity is loaded on first use.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class TokenPrincipal implements AuthenticatedUser {
+
+    private final Long id;
+    private final String username;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    @Getter(AccessLevel.NONE)
+    private final Supplier<User> userLoader;
+
+    @Getter(AccessLevel.NONE)
+    private volatile User user;
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    User loadUser() {
+        User loaded = user;
+        if (loaded == null) {
+            loaded = userLoader.get();
+            user = loaded;
+        }
+        return loaded;
+    }
+}
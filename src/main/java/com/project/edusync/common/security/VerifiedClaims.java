@@ -0,0 +1,45 @@
+package com.project.edusync.common.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims of an access token whose signature and expiry have already been checked by {@link AuthUtil#verify}.
+ * Immutable, so one instance can be shared by every request that presents the same token.
+ */
+public record VerifiedClaims(
+        String username,
+        Long userId,
+        Long academicYearId,
+        List<String> authorities,
+        PermissionVersion permissionVersion,
+        Instant expiresAt
+) {
+
+    static VerifiedClaims from(Claims claims) {
+        Object rawAuthorities = claims.get("authorities");
+        List<String> authorities = rawAuthorities instanceof List<?> list
+                ? list.stream().map(String::valueOf).toList()
+                : List.of();
+        return new VerifiedClaims(
+                claims.getSubject(),
+                toLong(claims.get("user_id")),
+                toLong(claims.get("academic_year_id")),
+                authorities,
+                permissionVersion(claims),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+        );
+    }
+
+    private static PermissionVersion permissionVersion(Claims claims) {
+        Long epoch = toLong(claims.get(AuthUtil.PERMISSION_EPOCH_CLAIM));
+        Long user = toLong(claims.get(AuthUtil.PERMISSION_VERSION_CLAIM));
+        return epoch != null && user != null ? new PermissionVersion(epoch, user) : null;
+    }
+
+    private static Long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+}
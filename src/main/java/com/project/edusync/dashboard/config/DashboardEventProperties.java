@@ -0,0 +1,35 @@
+package com.project.edusync.dashboard.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Tuning for the dashboard SSE hub ({@link com.project.edusync.dashboard.service.DashboardEventHub}).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.dashboard.events")
+public class DashboardEventProperties {
+
+    /** Pending events per subscriber; a client that falls this far behind is disconnected and replays on reconnect. */
+    private int queueCapacity = 256;
+
+    /** Comment frame sent to every subscriber; keeps proxies from closing idle streams. */
+    private Duration heartbeatInterval = Duration.ofSeconds(20);
+
+    /** Subscribers with no successful write for this long are evicted. */
+    private Duration idleTimeout = Duration.ofSeconds(75);
+
+    /** Hard lifetime of one stream; EventSource reconnects transparently with Last-Event-ID. */
+    private Duration emitterTimeout = Duration.ofMinutes(30);
+
+    /** Upper bound on events replayed after Last-Event-ID; must stay below {@link #queueCapacity}. */
+    private int replayLimit = 100;
+
+    private String channel = "edusync:dashboard:events";
+}
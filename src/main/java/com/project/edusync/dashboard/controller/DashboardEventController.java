@@ -1,12 +1,15 @@
 package com.project.edusync.dashboard.controller;
 
+import com.project.edusync.common.exception.EdusyncException;
+import com.project.edusync.common.security.AuthenticatedUser;
 import com.project.edusync.dashboard.dto.DashboardEventDTO;
 import com.project.edusync.dashboard.service.DashboardEventService;
-import com.project.edusync.iam.model.entity.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
@@ -15,7 +18,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("${api.url}/auth/dashboard")
@@ -25,35 +30,49 @@ public class DashboardEventController {
     private final DashboardEventService service;
 
     @GetMapping(value = "/events/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public SseEmitter streamEvents(@AuthenticationPrincipal User user, HttpServletResponse response) {
+    public SseEmitter streamEvents(@AuthenticationPrincipal AuthenticatedUser user,
+                                   @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                   HttpServletResponse response) {
         response.setHeader("X-Accel-Buffering", "no");
         response.setHeader("Cache-Control", "no-cache, no-transform");
-        return service.register();
+        AuthenticatedUser current = requireUser(user);
+        Set<String> authorities = current.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+        return service.register(current.getId(), authorities, lastEventId);
     }
 
     @GetMapping("/events")
     public ResponseEntity<Page<DashboardEventDTO>> getEvents(
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "50") int size,
             @RequestParam(required = false) Instant since,
             @RequestParam(required = false) String type) {
             
-        return ResponseEntity.ok(service.getEvents(page, size, since, type));
+        return ResponseEntity.ok(service.getEvents(requireUser(user).getId(), page, size, since, type));
     }
 
     @PatchMapping("/events/read")
     public ResponseEntity<Void> markAsRead(
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestBody List<UUID> eventIds) {
             
-        service.markAsRead(eventIds);
+        service.markAsRead(requireUser(user).getId(), eventIds);
         return ResponseEntity.ok().build();
     }
 
     @GetMapping("/events/unread-count")
-    public ResponseEntity<Map<String, Integer>> getUnreadCount(@AuthenticationPrincipal User user) {
-        int count = service.getUnreadCount();
+    public ResponseEntity<Map<String, Integer>> getUnreadCount(@AuthenticationPrincipal AuthenticatedUser user) {
+        int count = service.getUnreadCount(requireUser(user).getId());
         return ResponseEntity.ok(Map.of("unreadCount", count));
     }
+
+    /** The base path is outside the authenticated matchers (stream accepts a query token), so check here. */
+    private AuthenticatedUser requireUser(AuthenticatedUser user) {
+        if (user == null) {
+            throw new EdusyncException("Authentication required", HttpStatus.UNAUTHORIZED);
+        }
+        return user;
+    }
 }
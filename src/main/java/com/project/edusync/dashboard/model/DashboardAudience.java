@@ -0,0 +1,23 @@
+package com.project.edusync.dashboard.model;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Role audiences for {@link DashboardEvent#getAudienceRoles()}. Events pushed without an audience go to
+ * {@link #ADMINS}.
+ */
+public final class DashboardAudience {
+
+    public static final Set<String> ADMINS = Set.of("ROLE_SUPER_ADMIN", "ROLE_SCHOOL_ADMIN", "ROLE_ADMIN");
+    public static final Set<String> FINANCE = with(ADMINS, "ROLE_FINANCE_ADMIN");
+    public static final Set<String> HRMS = with(ADMINS, "ROLE_HR_ADMIN");
+
+    private DashboardAudience() {
+    }
+
+    private static Set<String> with(Set<String> base, String... roles) {
+        return Stream.concat(base.stream(), Stream.of(roles)).collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -10,6 +10,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 
@@ -40,9 +41,19 @@ public class DashboardEvent {
     @Column(name = "action_url", length = 500)
     private String actionUrl;
 
+    /** Legacy shared flag; per-user read state lives in {@link DashboardEventRecipient}. */
     @Column(name = "is_read")
     private Boolean isRead;
 
+    /** Role names (e.g. {@code ROLE_FINANCE_ADMIN}) that receive this event; see {@link DashboardAudience}. */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "audience_roles", columnDefinition = "jsonb")
+    private Set<String> audienceRoles;
+
+    /** When set, the event goes to this user only and {@link #audienceRoles} is ignored. */
+    @Column(name = "audience_user_id")
+    private Long audienceUserId;
+
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(columnDefinition = "jsonb")
     private Map<String, Object> metadata;
@@ -0,0 +1,44 @@
+package com.project.edusync.dashboard.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-user inbox row for a {@link DashboardEvent}. Rows are fanned out when the event is pushed and carry
+ * that user's read state; {@code createdAt} is copied from the event so listings stay on one index.
+ */
+@Entity
+@Table(name = "dashboard_event_recipients",
+        uniqueConstraints = @UniqueConstraint(name = "uk_dashboard_event_recipient", columnNames = {"event_id", "user_id"}),
+        indexes = @Index(name = "idx_dashboard_event_recipients_user_created", columnList = "user_id, created_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardEventRecipient {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "event_id", nullable = false)
+    private DashboardEvent event;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "is_read", nullable = false)
+    private boolean read;
+
+    @Column(name = "read_at")
+    private LocalDateTime readAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
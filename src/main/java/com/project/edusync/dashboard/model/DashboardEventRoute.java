@@ -0,0 +1,21 @@
+package com.project.edusync.dashboard.model;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Routing key carried with a live event: an explicit user, otherwise any holder of one of {@code roles}.
+ */
+public record DashboardEventRoute(Set<String> roles, Long userId) {
+
+    public static DashboardEventRoute of(DashboardEvent event) {
+        return new DashboardEventRoute(event.getAudienceRoles(), event.getAudienceUserId());
+    }
+
+    public boolean matches(Long subscriberUserId, Collection<String> subscriberAuthorities) {
+        if (userId != null) {
+            return userId.equals(subscriberUserId);
+        }
+        return roles != null && roles.stream().anyMatch(subscriberAuthorities::contains);
+    }
+}
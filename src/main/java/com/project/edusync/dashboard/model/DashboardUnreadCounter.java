@@ -0,0 +1,29 @@
+package com.project.edusync.dashboard.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Materialized unread badge per user, maintained incrementally on push and mark-as-read.
+ */
+@Entity
+@Table(name = "dashboard_unread_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardUnreadCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "unread_count", nullable = false)
+    private int unreadCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
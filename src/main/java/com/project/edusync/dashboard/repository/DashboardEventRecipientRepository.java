@@ -0,0 +1,79 @@
+package com.project.edusync.dashboard.repository;
+
+import com.project.edusync.dashboard.model.DashboardEventRecipient;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface DashboardEventRecipientRepository extends JpaRepository<DashboardEventRecipient, Long> {
+
+    @EntityGraph(attributePaths = "event")
+    Page<DashboardEventRecipient> findByUserIdAndCreatedAtAfterOrderByCreatedAtDesc(Long userId, LocalDateTime after, Pageable pageable);
+
+    @EntityGraph(attributePaths = "event")
+    Page<DashboardEventRecipient> findByUserIdAndEvent_TypeAndCreatedAtAfterOrderByCreatedAtDesc(Long userId, String type, LocalDateTime after, Pageable pageable);
+
+    Optional<DashboardEventRecipient> findByUserIdAndEvent_Id(Long userId, UUID eventId);
+
+    /**
+     * Replay window for a reconnecting stream, oldest first. Keyed on {@code (createdAt, id)} of the last inbox row the
+     * client saw, so events sharing its timestamp are neither skipped nor sent twice.
+     */
+    @EntityGraph(attributePaths = "event")
+    @Query("""
+        SELECT r FROM DashboardEventRecipient r
+        WHERE r.userId = :userId
+          AND (r.createdAt > :createdAt OR (r.createdAt = :createdAt AND r.id > :id))
+        ORDER BY r.createdAt ASC, r.id ASC
+        """)
+    List<DashboardEventRecipient> findReplayAfter(@Param("userId") Long userId,
+                                                  @Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("id") Long id,
+                                                  Pageable pageable);
+
+    /**
+     * Fans an event out to every active holder of one of {@code roles}. Returns the number of inbox rows created.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO dashboard_event_recipients (event_id, user_id, is_read, created_at)
+        SELECT DISTINCT :eventId, u.id, false, :createdAt
+        FROM users u
+        JOIN user_roles ur ON ur.id = u.id
+        JOIN roles r ON r.id = ur.role_id
+        WHERE u.is_active = true AND r.name IN (:roles)
+        ON CONFLICT (event_id, user_id) DO NOTHING
+        """, nativeQuery = true)
+    int fanOutToRoles(@Param("eventId") UUID eventId,
+                      @Param("createdAt") LocalDateTime createdAt,
+                      @Param("roles") Collection<String> roles);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO dashboard_event_recipients (event_id, user_id, is_read, created_at)
+        VALUES (:eventId, :userId, false, :createdAt)
+        ON CONFLICT (event_id, user_id) DO NOTHING
+        """, nativeQuery = true)
+    int fanOutToUser(@Param("eventId") UUID eventId,
+                     @Param("createdAt") LocalDateTime createdAt,
+                     @Param("userId") Long userId);
+
+    /** Single-statement mark-as-read; only rows that were unread are counted, so the badge can be decremented by the result. */
+    @Modifying
+    @Query("""
+        UPDATE DashboardEventRecipient r
+        SET r.read = true, r.readAt = :readAt
+        WHERE r.userId = :userId AND r.event.id IN :eventIds AND r.read = false
+        """)
+    int markRead(@Param("userId") Long userId, @Param("eventIds") Collection<UUID> eventIds, @Param("readAt") LocalDateTime readAt);
+}
@@ -0,0 +1,34 @@
+package com.project.edusync.dashboard.repository;
+
+import com.project.edusync.dashboard.model.DashboardUnreadCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface DashboardUnreadCounterRepository extends JpaRepository<DashboardUnreadCounter, Long> {
+
+    @Query("SELECT c.unreadCount FROM DashboardUnreadCounter c WHERE c.userId = :userId")
+    Optional<Integer> findUnreadCount(@Param("userId") Long userId);
+
+    /** Adds one unread event for every recipient of {@code eventId}, creating counters on first use. */
+    @Modifying
+    @Query(value = """
+        INSERT INTO dashboard_unread_counters (user_id, unread_count, updated_at)
+        SELECT r.user_id, 1, now() FROM dashboard_event_recipients r WHERE r.event_id = :eventId
+        ON CONFLICT (user_id) DO UPDATE
+        SET unread_count = dashboard_unread_counters.unread_count + 1, updated_at = now()
+        """, nativeQuery = true)
+    int incrementForEvent(@Param("eventId") UUID eventId);
+
+    @Modifying
+    @Query(value = """
+        UPDATE dashboard_unread_counters
+        SET unread_count = GREATEST(unread_count - :delta, 0), updated_at = now()
+        WHERE user_id = :userId
+        """, nativeQuery = true)
+    int decrement(@Param("userId") Long userId, @Param("delta") int delta);
+}
@@ -0,0 +1,301 @@
+package com.project.edusync.dashboard.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.edusync.dashboard.config.DashboardEventProperties;
+import com.project.edusync.dashboard.dto.DashboardEventDTO;
+import com.project.edusync.dashboard.model.DashboardEventRoute;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Fan-out hub for dashboard SSE streams.
+ * <ul>
+ *     <li>Each subscriber owns a bounded queue drained by a virtual thread, so publishers only enqueue and a
+ *     slow browser can never stall a writer. Subscribers that overflow or stop accepting writes are
+ *     disconnected; EventSource reconnects with {@code Last-Event-ID} and catches up from the database.</li>
+ *     <li>Events are delivered locally and broadcast over Redis pub/sub; peers deliver to their own
+ *     subscribers and ignore messages they originated.</li>
+ *     <li>Each event carries a {@link DashboardEventRoute}; subscribers only receive events routed to
+ *     their user id or one of their authorities.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class DashboardEventHub implements MessageListener {
+
+    static final String EVENT_NAME = "dashboard-event";
+
+    private final DashboardEventProperties properties;
+    private final Executor senderExecutor;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+
+    public DashboardEventHub(DashboardEventProperties properties,
+                             @Qualifier("dashboardSseExecutor") Executor senderExecutor,
+                             StringRedisTemplate stringRedisTemplate,
+                             ObjectMapper objectMapper,
+                             RedisMessageListenerContainer listenerContainer,
+                             MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.senderExecutor = senderExecutor;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.listenerContainer = listenerContainer;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(properties.getChannel()));
+        meterRegistry.gauge("edusync.dashboard.sse.subscribers", subscribers, ConcurrentMap::size);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.values().forEach(subscriber -> subscriber.close("shutdown"));
+    }
+
+    /**
+     * Opens a stream. {@code replay} is evaluated after the subscriber is registered, so an event
+     * committed in between is either replayed or delivered live, and sent only once.
+     */
+    public SseEmitter subscribe(Long userId, Set<String> authorities, Supplier<List<DashboardEventDTO>> replay) {
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(UUID.randomUUID().toString(), userId, Set.copyOf(authorities),
+                emitter, properties.getQueueCapacity());
+        emitter.onCompletion(() -> subscribers.remove(subscriber.id));
+        emitter.onTimeout(() -> subscriber.close("timeout"));
+        emitter.onError(ex -> subscriber.close("error"));
+        subscribers.put(subscriber.id, subscriber);
+
+        List<DashboardEventDTO> missed;
+        try {
+            missed = replay.get();
+        } catch (RuntimeException ex) {
+            log.warn("Dashboard event replay failed; stream starts from live events. Cause: {}", ex.getMessage());
+            missed = List.of();
+        }
+        subscriber.prime(missed);
+        return emitter;
+    }
+
+    /** Delivers to local subscribers and peers. Call after the event's transaction has committed. */
+    public void publish(DashboardEventDTO event, DashboardEventRoute route) {
+        deliverLocally(event, route);
+        try {
+            senderExecutor.execute(() -> broadcast(event, route));
+        } catch (RejectedExecutionException ex) {
+            log.warn("Dashboard event broadcast skipped for id={}: executor rejected", event.id());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        HubMessage hubMessage;
+        try {
+            hubMessage = objectMapper.readValue(message.getBody(), HubMessage.class);
+        } catch (IOException ex) {
+            log.warn("Ignoring malformed dashboard event message. Cause: {}", ex.getMessage());
+            return;
+        }
+        if (!nodeId.equals(hubMessage.origin()) && hubMessage.event() != null && hubMessage.route() != null) {
+            deliverLocally(hubMessage.event(), hubMessage.route());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.events.heartbeat-interval:PT20S}")
+    public void heartbeat() {
+        long idleCutoff = System.currentTimeMillis() - properties.getIdleTimeout().toMillis();
+        for (Subscriber subscriber : subscribers.values()) {
+            if (subscriber.lastWriteAt < idleCutoff) {
+                subscriber.close("idle");
+            } else {
+                subscriber.enqueue(Outbound.HEARTBEAT);
+            }
+        }
+    }
+
+    /** Seam for tests, which observe frames without a servlet container. */
+    SseEmitter newEmitter() {
+        return new SseEmitter(properties.getEmitterTimeout().toMillis());
+    }
+
+    private void deliverLocally(DashboardEventDTO event, DashboardEventRoute route) {
+        Outbound outbound = Outbound.of(event);
+        for (Subscriber subscriber : subscribers.values()) {
+            if (route.matches(subscriber.userId, subscriber.authorities)) {
+                subscriber.enqueue(outbound);
+            }
+        }
+    }
+
+    private void broadcast(DashboardEventDTO event, DashboardEventRoute route) {
+        try {
+            String payload = objectMapper.writeValueAsString(new HubMessage(nodeId, event, route));
+            stringRedisTemplate.convertAndSend(properties.getChannel(), payload);
+        } catch (JsonProcessingException | RuntimeException ex) {
+            // Clients on other nodes pick the event up from the database on their next reconnect.
+            log.warn("Dashboard event broadcast failed for id={}. Cause: {}", event.id(), ex.getMessage());
+        }
+    }
+
+    private Counter evictions(String reason) {
+        return meterRegistry.counter("edusync.dashboard.sse.evictions", "reason", reason);
+    }
+
+    record HubMessage(String origin, DashboardEventDTO event, DashboardEventRoute route) {
+    }
+
+    /** Queue element; {@code SseEventBuilder} is single-use, so frames are built at send time. */
+    record Outbound(String id, String name, Object data, boolean replayed) {
+
+        static final Outbound HEARTBEAT = new Outbound(null, null, null, false);
+
+        static Outbound of(DashboardEventDTO event) {
+            return new Outbound(String.valueOf(event.id()), EVENT_NAME, event, false);
+        }
+
+        static Outbound replay(DashboardEventDTO event) {
+            return new Outbound(String.valueOf(event.id()), EVENT_NAME, event, true);
+        }
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (this == HEARTBEAT) {
+                return SseEmitter.event().comment("ping");
+            }
+            SseEmitter.SseEventBuilder builder = SseEmitter.event().name(name).data(data);
+            return id == null ? builder : builder.id(id);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final String id;
+        private final Long userId;
+        private final Set<String> authorities;
+        private final SseEmitter emitter;
+        private final BlockingDeque<Outbound> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final Set<String> replayedIds = ConcurrentHashMap.newKeySet();
+        private volatile boolean ready;
+        private volatile boolean closed;
+        private volatile long lastWriteAt = System.currentTimeMillis();
+
+        private Subscriber(String id, Long userId, Set<String> authorities, SseEmitter emitter, int capacity) {
+            this.id = id;
+            this.userId = userId;
+            this.authorities = authorities;
+            this.emitter = emitter;
+            this.queue = new LinkedBlockingDeque<>(capacity);
+        }
+
+        /** Puts the handshake and replayed events ahead of anything queued live, then starts draining. */
+        private void prime(List<DashboardEventDTO> missed) {
+            int limit = Math.min(missed.size(), Math.max(queue.remainingCapacity() - 1, 0));
+            for (int i = limit - 1; i >= 0; i--) {
+                DashboardEventDTO event = missed.get(i);
+                replayedIds.add(String.valueOf(event.id()));
+                queue.offerFirst(Outbound.replay(event));
+            }
+            if (!queue.offerFirst(new Outbound(null, "init", "connected", false))) {
+                close("overflow");
+                return;
+            }
+            ready = true;
+            scheduleDrain();
+        }
+
+        private void enqueue(Outbound outbound) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offerLast(outbound)) {
+                close("overflow");
+                return;
+            }
+            if (ready) {
+                scheduleDrain();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                senderExecutor.execute(this::drain);
+            } catch (RejectedExecutionException ex) {
+                draining.set(false);
+                close("rejected");
+            }
+        }
+
+        private void drain() {
+            try {
+                Outbound next;
+                while (!closed && (next = queue.pollFirst()) != null) {
+                    if (!next.replayed() && next.id() != null && replayedIds.remove(next.id())) {
+                        continue; // already sent during replay
+                    }
+                    emitter.send(next.toEvent());
+                    lastWriteAt = System.currentTimeMillis();
+                }
+            } catch (IOException | IllegalStateException ex) {
+                close("error");
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An enqueue may have lost the race with the flag reset above.
+            if (!closed && !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void close(String reason) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            subscribers.remove(id);
+            queue.clear();
+            evictions(reason).increment();
+            log.debug("Dashboard SSE subscriber {} closed: {}", id, reason);
+            try {
+                emitter.complete();
+            } catch (RuntimeException ignored) {
+                // Emitter already completed by the container.
+            }
+        }
+    }
+}
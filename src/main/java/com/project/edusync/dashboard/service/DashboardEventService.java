@@ -1,8 +1,14 @@
 package com.project.edusync.dashboard.service;
 
+import com.project.edusync.dashboard.config.DashboardEventProperties;
 import com.project.edusync.dashboard.dto.DashboardEventDTO;
+import com.project.edusync.dashboard.model.DashboardAudience;
 import com.project.edusync.dashboard.model.DashboardEvent;
+import com.project.edusync.dashboard.model.DashboardEventRecipient;
+import com.project.edusync.dashboard.model.DashboardEventRoute;
+import com.project.edusync.dashboard.repository.DashboardEventRecipientRepository;
 import com.project.edusync.dashboard.repository.DashboardEventRepository;
+import com.project.edusync.dashboard.repository.DashboardUnreadCounterRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -10,16 +16,17 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 @Service
 @RequiredArgsConstructor
@@ -27,79 +34,109 @@ import java.util.concurrent.CopyOnWriteArrayList;
 public class DashboardEventService {
 
     private final DashboardEventRepository repository;
-    
-    // In-memory store of active EventSource connections
-    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
-
-    public SseEmitter register() {
-        SseEmitter emitter = new SseEmitter(Long.MAX_VALUE); // infinite timeout
-
-        emitters.add(emitter);
-
-        emitter.onCompletion(() -> removeEmitter(emitter));
-        emitter.onTimeout(() -> removeEmitter(emitter));
-        emitter.onError((e) -> removeEmitter(emitter));
+    private final DashboardEventRecipientRepository recipientRepository;
+    private final DashboardUnreadCounterRepository unreadCounterRepository;
+    private final DashboardEventHub hub;
+    private final DashboardEventProperties properties;
+
+    /**
+     * Opens a dashboard stream that only carries events routed to this user or one of their roles. When the
+     * browser reconnects with {@code Last-Event-ID}, the user's newer events are replayed first.
+     */
+    public SseEmitter register(Long userId, Set<String> authorities, String lastEventId) {
+        return hub.subscribe(userId, authorities, () -> findEventsAfter(userId, lastEventId));
+    }
 
-        // Send an initial ping to ensure connection works
-        try {
-            emitter.send(SseEmitter.event().name("init").data("connected"));
-        } catch (Exception e) {
-            removeEmitter(emitter);
+    /**
+     * Persists the event, fans it out to its recipients' inboxes and unread counters, and hands it to the hub
+     * once the surrounding transaction commits, so streams never show events that were rolled back and slow
+     * clients never hold the writer's transaction open. Events without an audience go to
+     * {@link DashboardAudience#ADMINS}.
+     */
+    @Transactional
+    public void pushEvent(DashboardEvent event) {
+        if (event.getAudienceUserId() == null && (event.getAudienceRoles() == null || event.getAudienceRoles().isEmpty())) {
+            event.setAudienceRoles(DashboardAudience.ADMINS);
         }
+        DashboardEvent savedEvent = repository.saveAndFlush(event);
 
-        return emitter;
-    }
+        int recipients = savedEvent.getAudienceUserId() != null
+                ? recipientRepository.fanOutToUser(savedEvent.getId(), savedEvent.getCreatedAt(), savedEvent.getAudienceUserId())
+                : recipientRepository.fanOutToRoles(savedEvent.getId(), savedEvent.getCreatedAt(), savedEvent.getAudienceRoles());
+        if (recipients > 0) {
+            unreadCounterRepository.incrementForEvent(savedEvent.getId());
+        }
 
-    private void removeEmitter(SseEmitter emitter) {
-        emitters.remove(emitter);
+        DashboardEventDTO dto = mapToDTO(savedEvent, false);
+        DashboardEventRoute route = DashboardEventRoute.of(savedEvent);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    hub.publish(dto, route);
+                }
+            });
+        } else {
+            hub.publish(dto, route);
+        }
     }
 
-    @Transactional
-    public void pushEvent(DashboardEvent event) {
-        DashboardEvent savedEvent = repository.save(event);
-        DashboardEventDTO dto = mapToDTO(savedEvent);
-
-        if (!emitters.isEmpty()) {
-            for (SseEmitter emitter : emitters) {
-                try {
-                    emitter.send(SseEmitter.event()
-                            .id(savedEvent.getId().toString())
-                            .name("dashboard-event")
-                            .data(dto));
-                } catch (Exception e) {
-                    // removing broken emitters
-                    emitters.remove(emitter);
-                }
-            }
+    private List<DashboardEventDTO> findEventsAfter(Long userId, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of();
+        }
+        UUID lastId;
+        try {
+            lastId = UUID.fromString(lastEventId.trim());
+        } catch (IllegalArgumentException ex) {
+            log.debug("Ignoring malformed Last-Event-ID '{}'", lastEventId);
+            return List.of();
         }
+        return recipientRepository.findByUserIdAndEvent_Id(userId, lastId)
+                .map(last -> recipientRepository.findReplayAfter(userId, last.getCreatedAt(), last.getId(),
+                        PageRequest.of(0, properties.getReplayLimit())))
+                .orElse(List.of())
+                .stream()
+                .map(this::mapToDTO)
+                .toList();
     }
 
-    public Page<DashboardEventDTO> getEvents(int page, int size, Instant since, String type) {
+    @Transactional(readOnly = true)
+    public Page<DashboardEventDTO> getEvents(Long userId, int page, int size, Instant since, String type) {
         Pageable pageable = PageRequest.of(page, size);
         LocalDateTime after = since != null ? LocalDateTime.ofInstant(since, ZoneOffset.UTC) : LocalDateTime.of(2000, 1, 1, 0, 0);
 
-        Page<DashboardEvent> eventsPage;
+        Page<DashboardEventRecipient> inboxPage;
         if (type != null && !type.isBlank()) {
-            eventsPage = repository.findByTypeAndCreatedAtAfterOrderByCreatedAtDesc(type, after, pageable);
+            inboxPage = recipientRepository.findByUserIdAndEvent_TypeAndCreatedAtAfterOrderByCreatedAtDesc(userId, type, after, pageable);
         } else {
-            eventsPage = repository.findByCreatedAtAfterOrderByCreatedAtDesc(after, pageable);
+            inboxPage = recipientRepository.findByUserIdAndCreatedAtAfterOrderByCreatedAtDesc(userId, after, pageable);
         }
-        
-        return eventsPage.map(this::mapToDTO);
+
+        return inboxPage.map(this::mapToDTO);
     }
 
     @Transactional
-    public void markAsRead(List<UUID> eventIds) {
-        List<DashboardEvent> events = repository.findAllById(eventIds);
-        events.forEach(e -> e.setIsRead(true));
-        repository.saveAll(events);
+    public void markAsRead(Long userId, Collection<UUID> eventIds) {
+        if (eventIds == null || eventIds.isEmpty()) {
+            return;
+        }
+        int updated = recipientRepository.markRead(userId, eventIds, LocalDateTime.now());
+        if (updated > 0) {
+            unreadCounterRepository.decrement(userId, updated);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public int getUnreadCount(Long userId) {
+        return unreadCounterRepository.findUnreadCount(userId).orElse(0);
     }
 
-    public int getUnreadCount() {
-        return repository.countUnread();
+    private DashboardEventDTO mapToDTO(DashboardEventRecipient recipient) {
+        return mapToDTO(recipient.getEvent(), recipient.isRead());
     }
 
-    private DashboardEventDTO mapToDTO(DashboardEvent event) {
+    private DashboardEventDTO mapToDTO(DashboardEvent event, boolean read) {
         return new DashboardEventDTO(
                 event.getId(),
                 event.getType(),
@@ -107,7 +144,7 @@ public class DashboardEventService {
                 event.getTitle(),
                 event.getMessage(),
                 event.getActionUrl(),
-                event.getIsRead(),
+                read,
                 event.getMetadata(),
                 event.getCreatedAt()
         );
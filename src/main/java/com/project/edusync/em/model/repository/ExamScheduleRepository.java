@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -142,4 +143,19 @@ List<ExamSchedule> findUpcomingForSection(@Param("sectionId") Long sectionId,
 								   @Param("examDate") LocalDate examDate,
 								   @Param("timeslotId") Long timeslotId,
 								   @Param("excludeScheduleId") Long excludeScheduleId);
+
+	/**
+	 * Schedules whose exam window overlaps the given one on the same day; their room
+	 * availability depends on every allocation made inside that window.
+	 */
+	@Query("""
+			SELECT es.id
+			FROM ExamSchedule es
+			WHERE es.examDate = :examDate
+			  AND es.timeslot.startTime < :endTime
+			  AND es.timeslot.endTime > :startTime
+			""")
+	List<Long> findIdsOverlapping(@Param("examDate") LocalDate examDate,
+								  @Param("startTime") LocalTime startTime,
+								  @Param("endTime") LocalTime endTime);
 }
@@ -1,5 +1,6 @@
 package com.project.edusync.em.model.repository;
 
+import com.project.edusync.em.model.entity.ExamSchedule;
 import com.project.edusync.em.model.entity.Seat;
 import com.project.edusync.em.model.entity.SeatAllocation;
 import com.project.edusync.em.model.enums.ExamAttendanceStatus;
@@ -546,4 +547,11 @@ public interface SeatAllocationRepository extends JpaRepository<SeatAllocation,
                  sa.examSchedule.id ASC
         """)
     List<ExamControllerStudentSeatProjection> findExamControllerStudentRowsByExamId(@Param("examId") Long examId);
+
+    @Query("""
+        SELECT es FROM ExamSchedule es
+        JOIN FETCH es.timeslot
+        WHERE es.id IN (SELECT sa.examSchedule.id FROM SeatAllocation sa WHERE sa.id IN :ids)
+        """)
+    List<ExamSchedule> findDistinctExamSchedulesByIdIn(@Param("ids") Collection<Long> ids);
 }
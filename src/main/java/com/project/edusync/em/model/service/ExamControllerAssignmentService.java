@@ -2,6 +2,7 @@ package com.project.edusync.em.model.service;
 
 import com.project.edusync.common.exception.ResourceNotFoundException;
 import com.project.edusync.common.security.AuthUtil;
+import com.project.edusync.common.security.PermissionVersionService;
 import com.project.edusync.em.model.dto.request.ExamControllerAssignmentRequestDTO;
 import com.project.edusync.em.model.dto.response.ExamControllerAssignmentResponseDTO;
 import com.project.edusync.em.model.entity.Exam;
@@ -30,6 +31,7 @@ public class ExamControllerAssignmentService {
     private final ExamControllerAssignmentRepository assignmentRepository;
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
+    private final PermissionVersionService permissionVersionService;
 
     @Transactional
     public ExamControllerAssignmentResponseDTO assignController(ExamControllerAssignmentRequestDTO requestDTO) {
@@ -48,6 +50,7 @@ public class ExamControllerAssignmentService {
         if (!alreadyHasRole) {
             mappedUser.getRoles().add(examControllerRole);
             userRepository.save(mappedUser);
+            permissionVersionService.bumpUser(mappedUser);
         }
 
         ExamControllerAssignment assignment = assignmentRepository.findByExamIdAndActiveTrue(requestDTO.getExamId())
@@ -64,6 +67,7 @@ public class ExamControllerAssignmentService {
                 User previousUser = resolveStaffUser(previousStaff, previousStaff.getId());
                 previousUser.getRoles().removeIf(role -> EXAM_CONTROLLER_ROLE.equals(role.getName()));
                 userRepository.save(previousUser);
+                permissionVersionService.bumpUser(previousUser);
             }
             assignment.setChangeCount(assignment.getChangeCount() + 1);
         } else if (assignment.getId() == null) {
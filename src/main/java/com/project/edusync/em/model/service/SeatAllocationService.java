@@ -3,6 +3,7 @@ package com.project.edusync.em.model.service;
 import com.project.edusync.adm.exception.ResourceNotFoundException;
 import com.project.edusync.adm.model.entity.Room;
 import com.project.edusync.adm.repository.RoomRepository;
+import com.project.edusync.common.cache.CacheTagIndex;
 import com.project.edusync.common.config.CacheNames;
 import com.project.edusync.common.exception.BadRequestException;
 import com.project.edusync.common.settings.service.AppSettingService;
@@ -22,7 +23,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -44,6 +44,7 @@ public class SeatAllocationService {
     private final StudentRepository studentRepository;
     private final PdfGenerationService pdfGenerationService;
     private final AppSettingService appSettingService;
+    private final CacheTagIndex cacheTagIndex;
 
     private static final int BATCH_SIZE = 50;
 
@@ -346,10 +347,7 @@ public class SeatAllocationService {
     // ════════════════════════════════════════════════════════════════
 
     @Transactional
-    @Caching(evict = {
-        @CacheEvict(value = CacheNames.ROOM_AVAILABILITY, key = "#dto.examScheduleId"),
-        @CacheEvict(value = CacheNames.SEATING_PLAN_PDF, allEntries = true)
-    })
+    @CacheEvict(value = CacheNames.SEATING_PLAN_PDF, allEntries = true)
     public SeatAllocationResponseDTO allocateSingleSeat(SingleSeatAllocationRequestDTO dto) {
         ExamSchedule schedule = fetchSchedule(dto.getExamScheduleId());
         LocalDateTime start = deriveStartTime(schedule);
@@ -397,7 +395,9 @@ public class SeatAllocationService {
         allocation.setEndTime(end);
         allocation.setPositionIndex(positionIndex);
 
-        return toResponse(allocationRepository.save(allocation));
+        SeatAllocation saved = allocationRepository.save(allocation);
+        evictOverlappingAvailability(List.of(schedule));
+        return toResponse(saved);
     }
 
     // ════════════════════════════════════════════════════════════════
@@ -414,10 +414,7 @@ public class SeatAllocationService {
     // ════════════════════════════════════════════════════════════════
 
     @Transactional
-    @Caching(evict = {
-        @CacheEvict(value = CacheNames.ROOM_AVAILABILITY, key = "#dto.examScheduleId"),
-        @CacheEvict(value = CacheNames.SEATING_PLAN_PDF, allEntries = true)
-    })
+    @CacheEvict(value = CacheNames.SEATING_PLAN_PDF, allEntries = true)
     public List<SeatAllocationResponseDTO> bulkAllocate(BulkSeatAllocationRequestDTO dto) {
         ExamSchedule schedule = fetchSchedule(dto.getExamScheduleId());
         Room room = roomRepository.findActiveById(dto.getRoomId())
@@ -532,6 +529,7 @@ public class SeatAllocationService {
             allocationRepository.flush();
         }
 
+        evictOverlappingAvailability(List.of(schedule));
         return saved.stream().map(this::toResponse).collect(Collectors.toList());
     }
 
@@ -714,23 +712,40 @@ public class SeatAllocationService {
     // ════════════════════════════════════════════════════════════════
 
     @Transactional
-    @CacheEvict(value = {CacheNames.ROOM_AVAILABILITY, CacheNames.SEATING_PLAN_PDF}, allEntries = true)
+    @CacheEvict(value = CacheNames.SEATING_PLAN_PDF, allEntries = true)
     public void deleteAllocation(Long allocationId) {
         if (!allocationRepository.existsById(allocationId)) {
             throw new ResourceNotFoundException("SeatAllocation not found with id: " + allocationId);
         }
+        List<ExamSchedule> schedules = allocationRepository.findDistinctExamSchedulesByIdIn(List.of(allocationId));
         allocationRepository.deleteById(allocationId);
+        evictOverlappingAvailability(schedules);
     }
 
     @Transactional
-    @CacheEvict(value = {CacheNames.ROOM_AVAILABILITY, CacheNames.SEATING_PLAN_PDF}, allEntries = true)
+    @CacheEvict(value = CacheNames.SEATING_PLAN_PDF, allEntries = true)
     public void bulkDeleteAllocations(List<Long> allocationIds) {
         if (allocationIds == null || allocationIds.isEmpty()) return;
+        List<ExamSchedule> schedules = allocationRepository.findDistinctExamSchedulesByIdIn(allocationIds);
         allocationRepository.deleteAllByIdInBatch(allocationIds);
+        evictOverlappingAvailability(schedules);
     }
 
     // ── Private helpers ──────────────────────────────────────────
 
+    /**
+     * Room availability is cached per schedule but counts every allocation in an overlapping
+     * window, so a change to one schedule's seats evicts all schedules sharing its time slot.
+     */
+    private void evictOverlappingAvailability(Collection<ExamSchedule> schedules) {
+        Set<Long> scheduleIds = new HashSet<>();
+        for (ExamSchedule schedule : schedules) {
+            scheduleIds.addAll(examScheduleRepository.findIdsOverlapping(schedule.getExamDate(),
+                    schedule.getTimeslot().getStartTime(), schedule.getTimeslot().getEndTime()));
+        }
+        cacheTagIndex.evict(CacheNames.ROOM_AVAILABILITY, scheduleIds);
+    }
+
     /**
      * Finds the smallest positionIndex in [0, maxPerSeat) that is not yet occupied.
      */
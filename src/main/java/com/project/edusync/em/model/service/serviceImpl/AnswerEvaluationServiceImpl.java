@@ -1,5 +1,7 @@
 package com.project.edusync.em.model.service.serviceImpl;
 
+import com.project.edusync.common.cache.CacheTagIndex;
+import com.project.edusync.common.cache.CacheTags;
 import com.project.edusync.common.exception.emException.EdusyncException;
 import com.project.edusync.common.security.AuthUtil;
 import com.project.edusync.common.config.CacheNames;
@@ -37,7 +39,6 @@ import org.springframework.beans.factory.annotation.Value;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
 import com.project.edusync.uis.config.MediaUploadProperties;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
@@ -46,6 +47,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -94,6 +96,7 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
     private final EvaluationAuditService evaluationAuditService;
     private final EvaluationDraftStoreService evaluationDraftStoreService;
     private final PdfGenerationService pdfGenerationService;
+    private final CacheTagIndex cacheTagIndex;
 
     @Value("${app.evaluation.storage.private-dir:uploads-private/answer-sheets}")
     private String privateStorageDir;
@@ -228,6 +231,7 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
         Staff teacher = getCurrentTeacher();
         ensureTeacherAssigned(scheduleId, teacher.getId());
         ExamSchedule schedule = getSchedule(scheduleId);
+        cacheTagIndex.tag(CacheNames.SCHEDULE_STUDENTS, scheduleId + ":" + currentCacheUser(), CacheTags.examSchedule(scheduleId));
 
         List<Student> students = schedule.getSection() != null
                 ? studentRepository.findBySectionIdOrderByRollNoAsc(schedule.getSection().getId())
@@ -289,7 +293,6 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
     }
 
     @Override
-    @CacheEvict(value = CacheNames.SCHEDULE_STUDENTS, allEntries = true)
     public AnswerSheetUploadResponseDTO uploadAnswerSheet(Long scheduleId, UUID studentId, MultipartFile file) {
         Staff teacher = getCurrentTeacher();
         ensureTeacherCanUpload(scheduleId, teacher.getId());
@@ -346,6 +349,7 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
         metadata.put("answerSheetStatus", saved.getStatus().name());
         evaluationAuditService.record(EvaluationAuditEventType.ANSWER_SHEET_UPLOADED, teacher, null, saved, null, metadata);
         String signedUrl = generateSignedFileUrl(saved.getId());
+        cacheTagIndex.invalidate(CacheTags.examSchedule(scheduleId));
         log.info("Answer sheet uploaded: answerSheetId={}, scheduleId={}, studentId={}", saved.getId(), scheduleId, student.getId());
 
         return AnswerSheetUploadResponseDTO.builder()
@@ -357,7 +361,6 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
     }
 
     @Override
-    @CacheEvict(value = CacheNames.SCHEDULE_STUDENTS, allEntries = true)
     public AnswerSheetImageGroupResponseDTO uploadAnswerSheetImages(Long scheduleId,
                                                                      UUID studentId,
                                                                      List<MultipartFile> files,
@@ -412,6 +415,7 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
         metadata.put("studentId", student.getId());
         metadata.put("uploadedPages", resolvedPages.size());
         evaluationAuditService.record(EvaluationAuditEventType.ANSWER_SHEET_UPLOADED, teacher, null, savedSheet, null, metadata);
+        cacheTagIndex.invalidate(CacheTags.examSchedule(scheduleId));
         return toImageGroupResponse(savedSheet);
     }
 
@@ -429,7 +433,6 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
     }
 
     @Override
-    @CacheEvict(value = CacheNames.SCHEDULE_STUDENTS, allEntries = true)
     public AnswerSheetImageGroupResponseDTO completeImageUpload(Long scheduleId, UUID studentId) {
         Staff teacher = getCurrentTeacher();
         ensureTeacherCanUpload(scheduleId, teacher.getId());
@@ -465,6 +468,7 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
         metadata.put("studentId", student.getId());
         metadata.put("uploadedPages", imageCount);
         evaluationAuditService.record(EvaluationAuditEventType.ANSWER_SHEET_UPLOAD_COMPLETED, teacher, null, saved, null, metadata);
+        cacheTagIndex.invalidate(CacheTags.examSchedule(scheduleId));
         return toImageGroupResponse(saved);
     }
 
@@ -556,7 +560,6 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
     }
 
     @Override
-    @CacheEvict(value = {CacheNames.SCHEDULE_STUDENTS, CacheNames.STUDENT_EVALUATION_RESULTS}, allEntries = true)
     public EvaluationResultResponseDTO saveDraftMarks(Long answerSheetId, SaveEvaluationMarksRequestDTO requestDTO) {
         Object lock = draftSaveLocks.computeIfAbsent(answerSheetId, key -> new Object());
         synchronized (lock) {
@@ -680,6 +683,7 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
             metadata.put("questionCount", normalizedMarks.size());
             metadata.put("status", saved.getStatus().name());
             evaluationAuditService.record(EvaluationAuditEventType.DRAFT_MARKS_SAVED, teacher, null, answerSheet, saved, metadata);
+            invalidateEvaluationCaches(List.of(saved));
             log.info("Draft marks saved: answerSheetId={}, totalMarks={}", answerSheetId, saved.getTotalMarks());
 
             return toEvaluationResultResponse(saved);
@@ -687,7 +691,6 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
     }
 
     @Override
-    @CacheEvict(value = {CacheNames.SCHEDULE_STUDENTS, CacheNames.STUDENT_EVALUATION_RESULTS}, allEntries = true)
     public EvaluationResultResponseDTO submitMarks(Long answerSheetId) {
         Staff teacher = getCurrentTeacher();
         AnswerSheet answerSheet = getAnswerSheetForEvaluator(answerSheetId, teacher.getId());
@@ -718,6 +721,7 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
         metadata.put("totalMarks", saved.getTotalMarks());
         metadata.put("status", saved.getStatus().name());
         evaluationAuditService.record(EvaluationAuditEventType.MARKS_SUBMITTED, teacher, null, answerSheet, saved, metadata);
+        invalidateEvaluationCaches(List.of(saved));
         log.info("Evaluation submitted: answerSheetId={}, totalMarks={}", answerSheetId, saved.getTotalMarks());
 
         return toEvaluationResultResponse(saved);
@@ -741,7 +745,6 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
     }
 
     @Override
-    @CacheEvict(value = {CacheNames.SCHEDULE_STUDENTS, CacheNames.STUDENT_EVALUATION_RESULTS}, allEntries = true)
     public EvaluationResultResponseDTO approveResult(Long resultId) {
         requireAdmin();
         EvaluationResult result = getResultForAdmin(resultId);
@@ -759,11 +762,11 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
         metadata.put("status", saved.getStatus().name());
         metadata.put("approvedBy", saved.getApprovedBy() != null ? saved.getApprovedBy().getUsername() : null);
         evaluationAuditService.record(EvaluationAuditEventType.MARKS_APPROVED, null, null, saved.getAnswerSheet(), saved, metadata);
+        invalidateEvaluationCaches(List.of(saved));
         return toEvaluationResultResponse(saved);
     }
 
     @Override
-    @CacheEvict(value = {CacheNames.SCHEDULE_STUDENTS, CacheNames.STUDENT_EVALUATION_RESULTS}, allEntries = true)
     public EvaluationResultResponseDTO rejectResult(Long resultId) {
         requireAdmin();
         EvaluationResult result = getResultForAdmin(resultId);
@@ -785,11 +788,11 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
         metadata.put("resultId", saved.getId());
         metadata.put("status", saved.getStatus().name());
         evaluationAuditService.record(EvaluationAuditEventType.MARKS_REJECTED, null, null, answerSheet, saved, metadata);
+        invalidateEvaluationCaches(List.of(saved));
         return toEvaluationResultResponse(saved);
     }
 
     @Override
-    @CacheEvict(value = {CacheNames.SCHEDULE_STUDENTS, CacheNames.STUDENT_EVALUATION_RESULTS}, allEntries = true)
     public EvaluationResultResponseDTO publishResult(Long resultId) {
         requireAdmin();
         EvaluationResult result = getResultForAdmin(resultId);
@@ -817,11 +820,11 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
         metadata.put("status", saved.getStatus().name());
         metadata.put("publishedAt", saved.getPublishedAt() != null ? saved.getPublishedAt().toString() : null);
         evaluationAuditService.record(EvaluationAuditEventType.MARKS_PUBLISHED, null, null, answerSheet, saved, metadata);
+        invalidateEvaluationCaches(List.of(saved));
         return toEvaluationResultResponse(saved);
     }
 
     @Override
-    @CacheEvict(value = {CacheNames.SCHEDULE_STUDENTS, CacheNames.STUDENT_EVALUATION_RESULTS}, allEntries = true)
     public int publishResultsBulk(List<Long> resultIds) {
         requireAdmin();
         if (resultIds == null || resultIds.isEmpty()) return 0;
@@ -856,6 +859,7 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
             metadata.put("bulk", true);
             evaluationAuditService.record(EvaluationAuditEventType.MARKS_PUBLISHED, null, null, saved.getAnswerSheet(), saved, metadata);
         }
+        invalidateEvaluationCaches(savedResults);
         return savedResults.size();
     }
 
@@ -927,7 +931,6 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
 
     @Override
     @Transactional
-    @CacheEvict(value = {CacheNames.SCHEDULE_STUDENTS, CacheNames.STUDENT_EVALUATION_RESULTS}, allEntries = true)
     public int approveClassResults(UUID classId, UUID examId) {
         requireAdmin();
         ClassResultSummaryResponseDTO summary = getClassResultSummary(classId, examId);
@@ -953,12 +956,12 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
             result.setApprovedBy(currentUser);
         }
         evaluationResultRepository.saveAll(results);
+        invalidateEvaluationCaches(results);
         return results.size();
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = {CacheNames.SCHEDULE_STUDENTS, CacheNames.STUDENT_EVALUATION_RESULTS}, allEntries = true)
     public int publishClassResults(UUID classId, UUID examId) {
         requireAdmin();
         List<ExamSchedule> allSchedules = examScheduleRepository.findByExamUuid(examId);
@@ -1011,7 +1014,9 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
     @Cacheable(value = CacheNames.STUDENT_EVALUATION_RESULTS,
             key = "#resultId + ':' + T(org.springframework.security.core.context.SecurityContextHolder).getContext().getAuthentication().getName()")
     public StudentResultDetailResponseDTO getStudentPublishedResult(Long resultId) {
-        return toStudentResultDetailResponse(getPublishedResultForCurrentStudent(resultId));
+        EvaluationResult result = getPublishedResultForCurrentStudent(resultId);
+        cacheTagIndex.tag(CacheNames.STUDENT_EVALUATION_RESULTS, resultId + ":" + currentCacheUser(), CacheTags.evaluationResult(resultId));
+        return toStudentResultDetailResponse(result);
     }
 
     @Override
@@ -1539,6 +1544,21 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
                 .orElseThrow(() -> new EdusyncException("EVAL-404", "Evaluation result not found", HttpStatus.NOT_FOUND));
     }
 
+    /** Cache-key suffix; mirrors the SpEL used by the per-user {@code @Cacheable} reads above. */
+    private String currentCacheUser() {
+        return SecurityContextHolder.getContext().getAuthentication().getName();
+    }
+
+    /** Evicts the cached result details and the schedule student lists these results appear in. */
+    private void invalidateEvaluationCaches(Collection<EvaluationResult> results) {
+        Set<String> tags = new LinkedHashSet<>();
+        for (EvaluationResult result : results) {
+            tags.add(CacheTags.evaluationResult(result.getId()));
+            tags.add(CacheTags.examSchedule(result.getAnswerSheet().getExamSchedule().getId()));
+        }
+        cacheTagIndex.invalidate(tags);
+    }
+
     private EvaluationResult getPublishedResultForCurrentStudent(Long resultId) {
         Student student = getCurrentStudent();
         return evaluationResultRepository
@@ -0,0 +1,32 @@
+package com.project.edusync.finance.budget;
+
+import com.project.edusync.finance.model.enums.BudgetStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * A budget's headroom at the moment a spending document is raised against it.
+ * {@code available} is allocated minus spent minus open commitments, before {@code requested}.
+ */
+public record BudgetCheckResult(
+    Long budgetId,
+    BudgetStatus status,
+    BigDecimal allocated,
+    BigDecimal spent,
+    BigDecimal committed,
+    BigDecimal requested,
+    BigDecimal available
+) {
+
+    public boolean approved() {
+        return status == BudgetStatus.APPROVED;
+    }
+
+    public boolean withinBudget() {
+        return approved() && requested.compareTo(available) <= 0;
+    }
+
+    public BigDecimal shortfall() {
+        return requested.subtract(available).max(BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,76 @@
+package com.project.edusync.finance.budget;
+
+import com.project.edusync.common.exception.EdusyncException;
+import com.project.edusync.finance.config.BudgetControlProperties;
+import com.project.edusync.finance.model.entity.Budget;
+import com.project.edusync.finance.model.entity.PurchaseOrder;
+import com.project.edusync.finance.repository.BudgetRepository;
+import com.project.edusync.finance.repository.PurchaseOrderRepository;
+import com.project.edusync.finance.service.implementation.FinanceAuditServiceImpl;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Checks a purchase order against its reference budget before the order is committed.
+ *
+ * <p>Must run inside the caller's transaction, after the order's totals are final. The budget row stays locked
+ * until that transaction ends, so two orders drawing on the same budget cannot both pass on the same headroom.
+ * Headroom comes from the counters {@link BudgetLedger} keeps and one sum over the budget's unbilled orders; no
+ * ledger lines are read.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BudgetControl {
+
+    private static final String AUDIT_ACTION = "BUDGET_OVERRUN";
+
+    private final BudgetRepository budgetRepository;
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final FinanceAuditServiceImpl financeAuditService;
+    private final BudgetControlProperties properties;
+
+    /**
+     * Applies the configured mode to a saved purchase order that references a budget: refuses it when over budget
+     * in {@code HARD} mode, records the overrun in {@code SOFT} mode.
+     *
+     * @return the check, or {@code null} when the order has no budget or checks are off
+     */
+    public BudgetCheckResult enforce(PurchaseOrder po) {
+        if (po.getReferenceBudget() == null || properties.getMode() == BudgetControlProperties.Mode.OFF) {
+            return null;
+        }
+        BudgetCheckResult check = check(po.getReferenceBudget().getId(), po.getId(), po.getTotalAmount());
+        if (check.withinBudget()) {
+            return check;
+        }
+        String reason = check.approved()
+                ? "exceeds the available budget of " + check.available() + " by " + check.shortfall()
+                : "draws on a budget that is " + check.status() + ", not APPROVED";
+        String message = "Purchase order " + po.getPoNumber() + " for " + check.requested() + " " + reason + ".";
+        if (properties.getMode() == BudgetControlProperties.Mode.HARD) {
+            throw new EdusyncException(message, HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+        log.warn(message);
+        financeAuditService.logAction(AUDIT_ACTION, "PurchaseOrder", po.getId(), message, po.getSchoolId());
+        return check;
+    }
+
+    /**
+     * Locks the budget and measures {@code amount} against it. {@code excludeOrderId}, when set, is left out of
+     * the open commitments so a saved order is not counted against itself.
+     */
+    public BudgetCheckResult check(Long budgetId, Long excludeOrderId, BigDecimal amount) {
+        Budget budget = budgetRepository.findByIdWithLock(budgetId)
+                .orElseThrow(() -> new EntityNotFoundException("Budget not found: " + budgetId));
+        BigDecimal committed = purchaseOrderRepository.sumOpenCommitments(budgetId, excludeOrderId);
+        BigDecimal available = budget.getTotalAllocated().subtract(budget.getTotalSpent()).subtract(committed);
+        return new BudgetCheckResult(budget.getId(), budget.getStatus(), budget.getTotalAllocated(),
+                budget.getTotalSpent(), committed, amount, available);
+    }
+}
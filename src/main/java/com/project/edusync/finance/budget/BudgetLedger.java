@@ -0,0 +1,90 @@
+package com.project.edusync.finance.budget;
+
+import com.project.edusync.finance.config.DocumentNumberingProperties;
+import com.project.edusync.finance.model.entity.Account;
+import com.project.edusync.finance.model.entity.JournalEntry;
+import com.project.edusync.finance.model.entity.JournalLine;
+import com.project.edusync.finance.model.enums.AccountType;
+import com.project.edusync.finance.repository.BudgetLineItemRepository;
+import com.project.edusync.finance.repository.BudgetRepository;
+import com.project.edusync.finance.repository.JournalLineRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps budget line actuals in step with the general ledger.
+ *
+ * <p>Every posting adds its net amount on each account to the lines linked to that account, in the open budgets
+ * of the academic year the entry date falls in. It runs inside the posting transaction, so actuals commit or roll
+ * back with the journal, and budget-vs-actual reads the stored counters instead of summing ledger lines.</p>
+ *
+ * <p>Amounts follow the account's normal balance, as {@link Account#getBalance()} does: debits add to expense
+ * and asset lines, credits to income, liability and equity lines.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BudgetLedger {
+
+    private final BudgetLineItemRepository lineItemRepository;
+    private final BudgetRepository budgetRepository;
+    private final JournalLineRepository journalLineRepository;
+    private final DocumentNumberingProperties numberingProperties;
+
+    /** Adds a posted entry to the actuals of the budget lines linked to its accounts. */
+    public void record(JournalEntry entry) {
+        // Accounts in id order, so concurrent postings lock budget rows in the same order.
+        Map<Long, BigDecimal> deltas = new TreeMap<>();
+        for (JournalLine line : entry.getLines()) {
+            deltas.merge(line.getAccount().getId(), normalAmount(line.getAccount(), line), BigDecimal::add);
+        }
+        String academicYear = academicYear(entry.getEntryDate());
+        deltas.forEach((accountId, delta) -> {
+            if (delta.signum() == 0) return;
+            int lines = lineItemRepository.addToActualAmount(accountId, entry.getSchoolId(), academicYear, delta);
+            if (lines > 0) {
+                budgetRepository.refreshTotalSpent(accountId, entry.getSchoolId(), academicYear);
+                log.debug("Journal {} added {} to {} budget line(s) on account #{} for {}",
+                        entry.getEntryNumber(), delta, lines, accountId, academicYear);
+            }
+        });
+    }
+
+    /**
+     * What has already been posted to the account in the academic year, for a line linked after the fact.
+     * Zero when the year is not in {@code YYYY-YYYY} form.
+     */
+    public BigDecimal actualToDate(Account account, String academicYear) {
+        Integer startYear = startYear(academicYear);
+        if (startYear == null) return BigDecimal.ZERO;
+        LocalDate from = LocalDate.of(startYear, numberingProperties.getFinancialYearStart(), 1);
+        BigDecimal netDebits = journalLineRepository.sumNetDebitsBetween(account.getId(), from, from.plusYears(1).minusDays(1));
+        return isDebitNormal(account) ? netDebits : netDebits.negate();
+    }
+
+    /** Academic year label, e.g. {@code 2026-2027}, of the financial year containing the date. */
+    public String academicYear(LocalDate date) {
+        int startYear = numberingProperties.financialYearOf(date);
+        return startYear + "-" + (startYear + 1);
+    }
+
+    private static Integer startYear(String academicYear) {
+        if (academicYear == null || !academicYear.matches("\\d{4}-\\d{4}")) return null;
+        return Integer.parseInt(academicYear.substring(0, 4));
+    }
+
+    private static BigDecimal normalAmount(Account account, JournalLine line) {
+        BigDecimal netDebit = line.getDebitAmount().subtract(line.getCreditAmount());
+        return isDebitNormal(account) ? netDebit : netDebit.negate();
+    }
+
+    private static boolean isDebitNormal(Account account) {
+        return account.getAccountType() == AccountType.ASSET || account.getAccountType() == AccountType.EXPENSE;
+    }
+}
@@ -0,0 +1,27 @@
+package com.project.edusync.finance.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * How spending documents are checked against the budget they draw from.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.finance.budget-control")
+public class BudgetControlProperties {
+
+    public enum Mode {
+        /** No check. */
+        OFF,
+        /** Over-budget documents are accepted, logged and recorded in the finance audit log. */
+        SOFT,
+        /** Over-budget documents are refused. */
+        HARD
+    }
+
+    private Mode mode = Mode.SOFT;
+}
@@ -0,0 +1,59 @@
+package com.project.edusync.finance.config;
+
+import com.project.edusync.finance.model.enums.DocumentSeries;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Finance document numbering: when the financial year starts, and how each series hands out numbers.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.finance.numbering")
+public class DocumentNumberingProperties {
+
+    private Month financialYearStart = Month.APRIL;
+
+    /** Numbers each node reserves at a time for series without their own setting. */
+    private int defaultBlockSize = 50;
+
+    private Map<DocumentSeries, Series> series = new EnumMap<>(DocumentSeries.class);
+
+    /** Calendar year in which the financial year containing {@code date} starts. */
+    public int financialYearOf(LocalDate date) {
+        int startMonth = financialYearStart.getValue();
+        return date.getMonthValue() >= startMonth ? date.getYear() : date.getYear() - 1;
+    }
+
+    public int blockSize(DocumentSeries documentSeries) {
+        Series settings = series.get(documentSeries);
+        return settings != null && settings.getBlockSize() > 0 ? settings.getBlockSize() : defaultBlockSize;
+    }
+
+    public boolean isGapless(DocumentSeries documentSeries) {
+        Series settings = series.get(documentSeries);
+        return settings != null && settings.isGapless();
+    }
+
+    @Getter
+    @Setter
+    public static class Series {
+
+        /** Overrides {@code default-block-size}; ignored when gapless. */
+        private int blockSize;
+
+        /**
+         * Take each number inside the caller's transaction instead of from a node-local block, so a rollback
+         * leaves no gap. Serializes the series on its sequence row; meant for statutory series only.
+         */
+        private boolean gapless;
+    }
+}
@@ -0,0 +1,71 @@
+package com.project.edusync.finance.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Razorpay webhook ingestion and reconciliation. The API keys themselves stay under {@code app.razorpay.key-*}.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.razorpay")
+public class RazorpayGatewayProperties {
+
+    private Webhook webhook = new Webhook();
+
+    private Reconciliation reconciliation = new Reconciliation();
+
+    @Getter
+    @Setter
+    public static class Webhook {
+
+        /** Webhook secret configured on the Razorpay dashboard; webhooks are refused while it is blank. */
+        private String secret = "";
+
+        /** Worker lanes; all events of one invoice go to the same lane and are applied in order. */
+        private int workers = 4;
+
+        /** Events queued per lane before new ones are left for the retry sweep. */
+        private int queueCapacity = 1000;
+
+        /** How long a freshly recorded event is left to its lane before the retry sweep may take it. */
+        private Duration handoffGrace = Duration.ofMinutes(1);
+
+        private Duration initialBackoff = Duration.ofSeconds(30);
+
+        private Duration maxBackoff = Duration.ofMinutes(30);
+
+        private int maxAttempts = 10;
+
+        /** Delay between retry sweeps. */
+        private Duration sweepInterval = Duration.ofSeconds(30);
+
+        /** Events picked up per retry sweep. */
+        private int sweepBatchSize = 200;
+    }
+
+    @Getter
+    @Setter
+    public static class Reconciliation {
+
+        /** {@code razorpay} asks the Razorpay API; {@code stub} reads {@link #stubFile}, for local testing. */
+        private String feed = "razorpay";
+
+        /** JSON object of order id to payments ({@code id}, {@code status}, {@code amount}) for the stub feed. */
+        private String stubFile = "";
+
+        /** Online payments pending longer than this are checked against the gateway. */
+        private Duration pendingAfter = Duration.ofMinutes(15);
+
+        /** Pending payments whose every gateway attempt failed are marked failed after this long. */
+        private Duration failAfter = Duration.ofHours(24);
+
+        /** Pending payments checked per run. */
+        private int batchSize = 200;
+    }
+}
@@ -0,0 +1,31 @@
+package com.project.edusync.finance.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Batch receipt exports: how many documents are read and rendered at a time, and how large an export may be.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.finance.receipt-export")
+public class ReceiptExportProperties {
+
+    /** Threads rendering PDFs, shared by all exports. */
+    private int renderThreads = 4;
+
+    /** Receipts loaded per keyset page. */
+    private int pageSize = 100;
+
+    /** Exports matching more receipts than this are refused; narrow the filter instead. */
+    private int maxDocuments = 5000;
+
+    /** Exports running at once; further requests are refused until one finishes. */
+    private int maxConcurrentExports = 2;
+
+    /** Scratch directory for merged PDF exports; the system temp directory when blank. */
+    private String tempDir = "";
+}
@@ -0,0 +1,45 @@
+package com.project.edusync.finance.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Fee reminder runs: how invoices are scanned, how messages are batched per channel, and how often a guardian
+ * may be contacted.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.finance.reminders")
+public class ReminderProperties {
+
+    /** {@code log} writes messages to a file or log instead of delivering them; {@code mail} sends e-mail. */
+    private String transport = "log";
+
+    /**
+     * File the {@code log} transport appends to; when blank, lines go to the reminder outbox logger, whose file
+     * ({@code outbox-log-file}) is configured in {@code logback-spring.xml}.
+     */
+    private String outputFile = "";
+
+    /** Invoice rows read per keyset page. */
+    private int pageSize = 1000;
+
+    /** Messages handed to a channel adapter at a time. */
+    private int batchSize = 100;
+
+    /** A guardian is not sent the same template again within this window. */
+    private Duration dedupeWindow = Duration.ofDays(7);
+
+    /** At most this many reminders per guardian, across channels, within {@link #rateWindow}. */
+    private int maxPerGuardian = 2;
+
+    private Duration rateWindow = Duration.ofDays(1);
+
+    /** Language tag for guardians without a primary language. */
+    private String defaultLocale = "en-IN";
+}
@@ -1,8 +1,10 @@
 package com.project.edusync.finance.controller;
 
 import com.project.edusync.finance.dto.dashboard.AdminDashboardSummaryDTO;
+import com.project.edusync.finance.dto.dashboard.FeeCollectionTotalDTO;
 import com.project.edusync.finance.dto.dashboard.ParentDashboardSummaryDTO;
 import com.project.edusync.finance.dto.invoice.InvoiceResponseDTO;
+import com.project.edusync.finance.model.enums.FeeTotalScope;
 import com.project.edusync.finance.service.DashboardService;
 import com.project.edusync.finance.service.InvoiceService;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -33,6 +36,16 @@ public class DashboardController {
         return new ResponseEntity<>(summary, HttpStatus.OK);
     }
 
+    /**
+     * GET /api/v1/finance/dashboard/collections?scope=CLASS
+     * Fee totals broken down by class or section (or the school row).
+     */
+    @GetMapping("/collections")
+    public ResponseEntity<List<FeeCollectionTotalDTO>> getCollectionTotals(
+            @RequestParam(defaultValue = "CLASS") FeeTotalScope scope) {
+        return new ResponseEntity<>(dashboardService.getCollectionTotals(scope), HttpStatus.OK);
+    }
+
     /**
      * NEW: GET /api/v1/finance/parent/dashboard/summary/for-student/{studentId}
      * (TEMPORARY ENDPOINT) Fetches the financial summary for a specific student.
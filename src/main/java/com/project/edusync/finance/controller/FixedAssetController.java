@@ -44,8 +44,9 @@ public class FixedAssetController {
     }
 
     @PostMapping("/depreciate-batch") @PreAuthorize("hasAnyAuthority('finance:assets:write','ROLE_ADMIN', 'ROLE_SCHOOL_ADMIN','ROLE_FINANCE_ADMIN')")
-    public ResponseEntity<List<DepreciationEntryResponseDTO>> depreciationBatch(@RequestParam String financialYear) {
-        return ResponseEntity.ok(assetService.runDepreciationBatch(financialYear, SID));
+    public ResponseEntity<DepreciationRunResultDTO> depreciationBatch(
+            @RequestParam String financialYear, @RequestParam(defaultValue = "false") boolean dryRun) {
+        return ResponseEntity.ok(assetService.runDepreciationBatch(financialYear, SID, dryRun));
     }
 
     @GetMapping("/{id}/depreciation") @PreAuthorize("hasAnyAuthority('finance:assets:read','ROLE_ADMIN', 'ROLE_SCHOOL_ADMIN','ROLE_FINANCE_ADMIN')")
@@ -1,6 +1,9 @@
 package com.project.edusync.finance.controller;
 
+import com.project.edusync.finance.dto.invoice.BulkInvoiceRunRequestDTO;
+import com.project.edusync.finance.dto.invoice.InvoiceGenerationRunDTO;
 import com.project.edusync.finance.dto.invoice.InvoiceResponseDTO;
+import com.project.edusync.finance.service.BulkInvoiceService;
 import com.project.edusync.finance.service.InvoiceService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -17,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
 public class InvoiceController {
 
     private final InvoiceService invoiceService;
+    private final BulkInvoiceService bulkInvoiceService;
 
     /**
      * POST /api/v1/finance/invoices/generate-single/{studentId}
@@ -30,6 +34,37 @@ public class InvoiceController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    /**
+     * POST /api/v1/finance/invoices/generate-bulk
+     * Starts a bulk invoicing run for a class, section and/or fee structure.
+     * The run continues in the background; poll its progress with GET /bulk-runs/{runId}.
+     */
+    @PostMapping("/generate-bulk")
+    public ResponseEntity<InvoiceGenerationRunDTO> generateBulkInvoices(
+            @RequestBody BulkInvoiceRunRequestDTO request) {
+
+        InvoiceGenerationRunDTO response = bulkInvoiceService.startRun(request);
+        return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * GET /api/v1/finance/invoices/bulk-runs/{runId}
+     * Retrieves the progress of a bulk invoicing run.
+     */
+    @GetMapping("/bulk-runs/{runId}")
+    public ResponseEntity<InvoiceGenerationRunDTO> getBulkRun(@PathVariable Long runId) {
+        return new ResponseEntity<>(bulkInvoiceService.getRun(runId), HttpStatus.OK);
+    }
+
+    /**
+     * POST /api/v1/finance/invoices/bulk-runs/{runId}/resume
+     * Resumes a failed or abandoned bulk invoicing run from where it stopped.
+     */
+    @PostMapping("/bulk-runs/{runId}/resume")
+    public ResponseEntity<InvoiceGenerationRunDTO> resumeBulkRun(@PathVariable Long runId) {
+        return new ResponseEntity<>(bulkInvoiceService.resumeRun(runId), HttpStatus.ACCEPTED);
+    }
+
     /**
      * GET /api/v1/finance/invoices
      * Retrieves a paginated list of all student invoices.
@@ -2,13 +2,17 @@ package com.project.edusync.finance.controller;
 
 import com.project.edusync.finance.dto.configuration.LateFeeRuleCreateDTO;
 import com.project.edusync.finance.dto.configuration.LateFeeRuleResponseDTO;
+import com.project.edusync.finance.dto.configuration.LateFeeSweepSummaryDTO;
 import com.project.edusync.finance.service.LateFeeRuleService;
+import com.project.edusync.finance.service.LateFeeSweepService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -17,6 +21,7 @@ import java.util.List;
 public class LateFeeRuleController {
 
     private final LateFeeRuleService lateFeeRuleService;
+    private final LateFeeSweepService lateFeeSweepService;
 
     /**
      * POST /api/v1/finance/late-fee-rules
@@ -52,4 +57,16 @@ public class LateFeeRuleController {
         LateFeeRuleResponseDTO response = lateFeeRuleService.updateLateFeeRule(ruleId, updateDTO);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
+
+    /**
+     * POST /api/v1/finance/late-fee-rules/sweep?asOf=2026-10-19
+     * Runs the nightly late-fee sweep on demand, as of today unless a date is given.
+     */
+    @PostMapping("/sweep")
+    public ResponseEntity<LateFeeSweepSummaryDTO> runSweep(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+
+        LateFeeSweepSummaryDTO summary = lateFeeSweepService.sweep(asOf != null ? asOf : LocalDate.now());
+        return new ResponseEntity<>(summary, HttpStatus.OK);
+    }
 }
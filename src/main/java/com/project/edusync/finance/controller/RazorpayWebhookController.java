@@ -0,0 +1,31 @@
+package com.project.edusync.finance.controller;
+
+import com.project.edusync.finance.service.PaymentWebhookService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Razorpay calls this without a user session; requests are authenticated by their signature instead.
+ */
+@RestController
+@RequestMapping("${api.url}/public/finance/razorpay") // Base path: /api/v1/public/finance/razorpay
+@RequiredArgsConstructor
+public class RazorpayWebhookController {
+
+    private final PaymentWebhookService paymentWebhookService;
+
+    /**
+     * POST /api/v1/public/finance/razorpay/webhook
+     * Records the event and acknowledges it; duplicates are acknowledged too, so Razorpay stops retrying.
+     */
+    @PostMapping("/webhook")
+    public ResponseEntity<Void> receiveWebhook(
+            @RequestBody String payload,
+            @RequestHeader(value = "X-Razorpay-Signature", required = false) String signature,
+            @RequestHeader(value = "X-Razorpay-Event-Id", required = false) String eventId) {
+
+        paymentWebhookService.receiveRazorpayEvent(payload, signature, eventId);
+        return ResponseEntity.ok().build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.project.edusync.finance.controller;
+
+import com.project.edusync.finance.dto.payment.ReceiptExportRequestDTO;
+import com.project.edusync.finance.service.ReceiptExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("${api.url}/auth/finance/receipts") // Base path: /api/v1/finance/receipts
+@RequiredArgsConstructor
+public class ReceiptExportController {
+
+    private final ReceiptExportService receiptExportService;
+
+    /**
+     * GET /api/v1/finance/receipts/export
+     * Downloads all receipts of a class, section or student as a ZIP of PDFs or one merged PDF.
+     * e.g., ?kind=PAYMENT&format=ZIP&classId=4&from=2026-10-01&to=2026-10-31
+     * The response is streamed as receipts are rendered; X-Receipt-Count carries the number of receipts.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyAuthority('finance:reports:read','ROLE_ADMIN', 'ROLE_SCHOOL_ADMIN','ROLE_FINANCE_ADMIN')")
+    public void exportReceipts(ReceiptExportRequestDTO request, HttpServletResponse response) throws IOException {
+
+        long count = receiptExportService.countReceipts(request);
+
+        boolean merged = request.getFormat() == ReceiptExportRequestDTO.Format.PDF;
+        String filename = "receipts-" + request.getKind().name().toLowerCase() + "-" + LocalDate.now()
+                + (merged ? ".pdf" : ".zip");
+
+        response.setContentType(merged ? MediaType.APPLICATION_PDF_VALUE : "application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString());
+        response.setHeader("X-Receipt-Count", String.valueOf(count));
+
+        receiptExportService.exportReceipts(request, response.getOutputStream());
+    }
+}
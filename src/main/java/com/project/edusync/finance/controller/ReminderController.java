@@ -1,11 +1,16 @@
 package com.project.edusync.finance.controller;
 
 import com.project.edusync.finance.dto.reminder.ReminderLogDTO;
+import com.project.edusync.finance.dto.reminder.ReminderRunSummaryDTO;
 import com.project.edusync.finance.dto.reminder.ReminderTemplateCreateDTO;
 import com.project.edusync.finance.dto.reminder.ReminderTemplateDTO;
 import com.project.edusync.finance.service.ReminderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -34,13 +39,13 @@ public class ReminderController {
     }
 
     @PostMapping("/trigger-bulk")
-    public ResponseEntity<Void> triggerBulkReminders() {
-        reminderService.triggerBulkReminders();
-        return ResponseEntity.ok().build();
+    public ResponseEntity<ReminderRunSummaryDTO> triggerBulkReminders() {
+        return ResponseEntity.ok(reminderService.triggerBulkReminders());
     }
 
     @GetMapping("/logs")
-    public ResponseEntity<List<ReminderLogDTO>> getAllLogs() {
-        return ResponseEntity.ok(reminderService.getAllLogs());
+    public ResponseEntity<Page<ReminderLogDTO>> getAllLogs(
+            @PageableDefault(size = 50, sort = "sentAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        return ResponseEntity.ok(reminderService.getAllLogs(pageable));
     }
 }
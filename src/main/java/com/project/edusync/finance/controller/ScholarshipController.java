@@ -1,12 +1,16 @@
 package com.project.edusync.finance.controller;
 
+import com.project.edusync.finance.dto.scholarship.BulkScholarshipAssignmentRequestDTO;
 import com.project.edusync.finance.dto.scholarship.ScholarshipAssignmentCreateDTO;
 import com.project.edusync.finance.dto.scholarship.ScholarshipAssignmentDTO;
 import com.project.edusync.finance.dto.scholarship.ScholarshipTypeCreateDTO;
+import com.project.edusync.finance.dto.scholarship.ScholarshipAwardRunDTO;
 import com.project.edusync.finance.dto.scholarship.ScholarshipTypeDTO;
+import com.project.edusync.finance.service.BulkScholarshipService;
 import com.project.edusync.finance.service.ScholarshipService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,6 +22,7 @@ import java.util.List;
 public class ScholarshipController {
 
     private final ScholarshipService scholarshipService;
+    private final BulkScholarshipService bulkScholarshipService;
 
     @PostMapping("/types")
     public ResponseEntity<ScholarshipTypeDTO> createType(@RequestBody @Valid ScholarshipTypeCreateDTO dto) {
@@ -34,6 +39,26 @@ public class ScholarshipController {
         return ResponseEntity.ok(scholarshipService.assignScholarship(dto));
     }
 
+    /**
+     * Awards a scholarship to every student matching the criteria and re-prices their open invoices.
+     * The run continues in the background; poll its progress with GET /assignments/bulk-runs/{runId}.
+     */
+    @PostMapping("/assignments/bulk")
+    public ResponseEntity<ScholarshipAwardRunDTO> assignBulk(
+            @RequestBody @Valid BulkScholarshipAssignmentRequestDTO dto) {
+        return new ResponseEntity<>(bulkScholarshipService.startRun(dto), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/assignments/bulk-runs/{runId}")
+    public ResponseEntity<ScholarshipAwardRunDTO> getBulkRun(@PathVariable Long runId) {
+        return ResponseEntity.ok(bulkScholarshipService.getRun(runId));
+    }
+
+    @PostMapping("/assignments/bulk-runs/{runId}/resume")
+    public ResponseEntity<ScholarshipAwardRunDTO> resumeBulkRun(@PathVariable Long runId) {
+        return new ResponseEntity<>(bulkScholarshipService.resumeRun(runId), HttpStatus.ACCEPTED);
+    }
+
     @GetMapping("/assignments")
     public ResponseEntity<List<ScholarshipAssignmentDTO>> getAllAssignments() {
         return ResponseEntity.ok(scholarshipService.getAllAssignments());
@@ -0,0 +1,26 @@
+package com.project.edusync.finance.dto.asset;
+
+import com.project.edusync.finance.model.enums.DepreciationMethod;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Outcome of a depreciation run, or what a dry run would post. {@code journalEntryId} is null on a dry run.
+ */
+public record DepreciationRunResultDTO(
+    String financialYear,
+    boolean dryRun,
+    int assetCount,
+    BigDecimal totalAmount,
+    List<CategoryTotal> categories,
+    List<AssetCharge> assets
+) {
+
+    public record CategoryTotal(String assetCategory, int assetCount, BigDecimal totalAmount, Long journalEntryId) {}
+
+    public record AssetCharge(
+        Long assetId, String assetCode, String assetName, String assetCategory, DepreciationMethod method,
+        BigDecimal openingBookValue, BigDecimal depreciationAmount, BigDecimal closingBookValue
+    ) {}
+}
@@ -0,0 +1,25 @@
+package com.project.edusync.finance.dto.configuration;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Outcome of one late-fee sweep: what each active rule charged on the business date.
+ */
+public record LateFeeSweepSummaryDTO(
+    LocalDate asOf,
+    long invoicesCharged,
+    BigDecimal totalCharged,
+    long durationMillis,
+    List<RuleResult> rules
+) {
+
+    public record RuleResult(
+        Integer ruleId,
+        String ruleName,
+        LocalDate dueOnOrBefore,
+        long invoicesCharged,
+        BigDecimal amountCharged
+    ) {}
+}
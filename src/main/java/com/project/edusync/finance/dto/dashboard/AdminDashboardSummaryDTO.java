@@ -12,6 +12,7 @@ import java.math.BigDecimal;
 public class AdminDashboardSummaryDTO {
 
     private BigDecimal totalCollected;      // SUM of all successful Payments
+    private BigDecimal totalRefunded;       // SUM of PROCESSED refunds
     private BigDecimal totalOutstanding;    // SUM of (total - paid) for PENDING/OVERDUE Invoices
     private BigDecimal totalOverdue;        // SUM of (total - paid) for OVERDUE Invoices
     private Long pendingInvoicesCount;  // COUNT of Invoices with PENDING status
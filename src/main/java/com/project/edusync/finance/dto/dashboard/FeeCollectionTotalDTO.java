@@ -0,0 +1,22 @@
+package com.project.edusync.finance.dto.dashboard;
+
+import com.project.edusync.finance.model.enums.FeeTotalScope;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One row of GET /dashboard/collections: the fee position of the school, a class or a section, as kept by the
+ * fee projection.
+ */
+public record FeeCollectionTotalDTO(
+    FeeTotalScope scope,
+    Long scopeId,
+    BigDecimal invoicedAmount,
+    BigDecimal collectedAmount,
+    BigDecimal refundedAmount,
+    BigDecimal outstandingAmount,
+    BigDecimal overdueAmount,
+    long pendingInvoices,
+    LocalDateTime updatedAt
+) {}
@@ -0,0 +1,20 @@
+package com.project.edusync.finance.dto.invoice;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Used for POST /invoices/generate-bulk. At least one of classId, sectionId or feeStructureId is required;
+// issueDate defaults to today and dueDate to 30 days after issue.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkInvoiceRunRequestDTO {
+    private Long classId;
+    private Long sectionId;
+    private Long feeStructureId;
+    private LocalDate issueDate;
+    private LocalDate dueDate;
+}
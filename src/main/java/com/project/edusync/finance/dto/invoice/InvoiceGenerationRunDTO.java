@@ -0,0 +1,35 @@
+package com.project.edusync.finance.dto.invoice;
+
+import com.project.edusync.finance.model.enums.InvoiceRunStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Used for POST /invoices/generate-bulk, GET /invoices/bulk-runs/{runId} and POST /invoices/bulk-runs/{runId}/resume
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceGenerationRunDTO {
+    private Long runId;
+    private Long classId;
+    private Long sectionId;
+    private Long feeStructureId;
+    private LocalDate issueDate;
+    private LocalDate dueDate;
+    private InvoiceRunStatus status;
+    private long totalStudents;
+    private long processedStudents;
+    private long invoicesCreated;
+    private long skippedStudents;
+    private BigDecimal totalBilled;
+    private BigDecimal totalDiscount;
+    private String errorMessage;
+    private String startedBy;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+}
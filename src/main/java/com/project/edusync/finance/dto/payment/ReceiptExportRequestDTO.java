@@ -0,0 +1,29 @@
+package com.project.edusync.finance.dto.payment;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+// Used for GET /receipts/export. At least one of classId, sectionId or studentId is required.
+// Dates filter payment date (PAYMENT) or invoice issue date (INVOICE); 'to' defaults to today and 'from' to the
+// first day of that month.
+@Data
+@NoArgsConstructor
+public class ReceiptExportRequestDTO {
+
+    public enum Kind { PAYMENT, INVOICE }
+
+    public enum Format { ZIP, PDF }
+
+    private Kind kind = Kind.PAYMENT;
+    private Format format = Format.ZIP;
+    private Long classId;
+    private Long sectionId;
+    private Long studentId;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+}
@@ -0,0 +1,21 @@
+package com.project.edusync.finance.dto.reminder;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Outcome of one reminder run. Counts are of consolidated messages (one per guardian and channel) except
+ * {@code invoicesScanned}, which counts invoice-guardian pairs read.
+ */
+public record ReminderRunSummaryDTO(
+    LocalDate asOf,
+    long invoicesScanned,
+    long guardiansMatched,
+    long messagesSent,
+    long messagesFailed,
+    long skippedDuplicate,
+    long skippedRateLimited,
+    long skippedNoContact,
+    Map<String, Long> sentByChannel,
+    long durationMillis
+) {}
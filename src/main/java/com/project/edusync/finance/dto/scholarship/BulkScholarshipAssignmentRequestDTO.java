@@ -0,0 +1,29 @@
+package com.project.edusync.finance.dto.scholarship;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Used for POST /scholarships/assignments/bulk. At least one of classId, sectionId, feeStructureId or studentIds
+// is required and they narrow each other; effectiveFrom defaults to today and open invoices are re-priced unless
+// repriceOpenInvoices is false.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkScholarshipAssignmentRequestDTO {
+    @NotNull
+    private Long scholarshipId;
+    @NotBlank
+    private String reason;
+    private Long classId;
+    private Long sectionId;
+    private Long feeStructureId;
+    private List<Long> studentIds;
+    private LocalDate effectiveFrom;
+    private Boolean repriceOpenInvoices;
+}
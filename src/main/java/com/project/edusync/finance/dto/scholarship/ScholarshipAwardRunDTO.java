@@ -0,0 +1,38 @@
+package com.project.edusync.finance.dto.scholarship;
+
+import com.project.edusync.finance.model.enums.InvoiceRunStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Used for POST /scholarships/assignments/bulk, GET /scholarships/assignments/bulk-runs/{runId}
+// and POST /scholarships/assignments/bulk-runs/{runId}/resume
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScholarshipAwardRunDTO {
+    private Long runId;
+    private Long scholarshipId;
+    private Long classId;
+    private Long sectionId;
+    private Long feeStructureId;
+    private int listedStudents;
+    private LocalDate effectiveFrom;
+    private boolean repriceOpenInvoices;
+    private InvoiceRunStatus status;
+    private long totalStudents;
+    private long processedStudents;
+    private long assignmentsCreated;
+    private long skippedStudents;
+    private long invoicesRepriced;
+    private BigDecimal totalDiscount;
+    private String errorMessage;
+    private String startedBy;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,84 @@
+package com.project.edusync.finance.gateway;
+
+import com.project.edusync.finance.config.RazorpayGatewayProperties;
+import com.project.edusync.finance.repository.PaymentGatewayEventRepository;
+import com.project.edusync.finance.repository.PaymentGatewayEventRepository.DueEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Worker pool for gateway events, split into single-threaded lanes. An event goes to the lane chosen by its
+ * invoice (or order, when no local payment was known at receipt), so events of one invoice are applied one after
+ * another in the order they were recorded, while different invoices proceed in parallel.
+ *
+ * <p>New events are handed over after their transaction commits. A lane that is full leaves the event in the
+ * table; the retry sweep picks up such events, failed ones that are due again, and events recorded by a node that
+ * went down before applying them.</p>
+ */
+@Slf4j
+@Component
+public class GatewayEventDispatcher {
+
+    private final GatewayEventProcessor processor;
+    private final PaymentGatewayEventRepository eventRepository;
+    private final RazorpayGatewayProperties properties;
+    private final ThreadPoolExecutor[] lanes;
+
+    public GatewayEventDispatcher(GatewayEventProcessor processor,
+                                  PaymentGatewayEventRepository eventRepository,
+                                  RazorpayGatewayProperties properties) {
+        this.processor = processor;
+        this.eventRepository = eventRepository;
+        this.properties = properties;
+        RazorpayGatewayProperties.Webhook webhook = properties.getWebhook();
+        this.lanes = new ThreadPoolExecutor[Math.max(1, webhook.getWorkers())];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(Math.max(1, webhook.getQueueCapacity())),
+                    Thread.ofPlatform().name("gateway-events-" + i).factory());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRecorded(GatewayEventRecordedEvent event) {
+        submit(event.eventId(), event.laneKey());
+    }
+
+    @Scheduled(fixedDelayString = "${app.razorpay.webhook.sweep-interval:PT30S}")
+    public void sweep() {
+        List<DueEvent> due = eventRepository.findDue(LocalDateTime.now(), properties.getWebhook().getSweepBatchSize());
+        for (DueEvent event : due) {
+            submit(event.getId(), GatewayEventRecordedEvent.laneKey(event.getInvoiceId(), event.getGatewayOrderId()));
+        }
+        if (!due.isEmpty()) {
+            log.debug("Gateway event sweep resubmitted {} event(s)", due.size());
+        }
+    }
+
+    private void submit(Long eventId, String laneKey) {
+        ThreadPoolExecutor lane = lanes[Math.floorMod(laneKey.hashCode(), lanes.length)];
+        try {
+            lane.execute(() -> processor.process(eventId));
+        } catch (RejectedExecutionException ex) {
+            log.debug("Gateway event {} left for the retry sweep: lane full", eventId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.project.edusync.finance.gateway;
+
+import com.project.edusync.finance.config.RazorpayGatewayProperties;
+import com.project.edusync.finance.model.entity.PaymentGatewayEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Records payment gateway events exactly once per idempotency key. A duplicate delivery is a no-op insert, so
+ * receivers can acknowledge it without looking anything up first.
+ */
+@Repository
+@RequiredArgsConstructor
+public class GatewayEventInbox {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO payment_gateway_events (idempotency_key, source, event_type, gateway_order_id,
+                                                gateway_payment_id, amount_minor, invoice_id, payload, status,
+                                                attempts, next_attempt_at, received_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'RECEIVED', 0, ?, ?)
+            ON CONFLICT (idempotency_key) DO NOTHING
+            RETURNING id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RazorpayGatewayProperties properties;
+
+    /**
+     * Inserts the event unless its idempotency key is already recorded; the caller owns the transaction.
+     *
+     * @return {@code true} if the event is new
+     */
+    public boolean record(PaymentGatewayEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = jdbcTemplate.queryForList(INSERT_SQL, Long.class,
+                event.getIdempotencyKey(),
+                event.getSource(),
+                event.getEventType(),
+                event.getGatewayOrderId(),
+                event.getGatewayPaymentId(),
+                event.getAmountMinor(),
+                event.getInvoiceId(),
+                event.getPayload(),
+                Timestamp.valueOf(now.plus(properties.getWebhook().getHandoffGrace())),
+                Timestamp.valueOf(now));
+        if (ids.isEmpty()) {
+            return false;
+        }
+        eventPublisher.publishEvent(new GatewayEventRecordedEvent(ids.get(0),
+                GatewayEventRecordedEvent.laneKey(event.getInvoiceId(), event.getGatewayOrderId())));
+        return true;
+    }
+}
@@ -0,0 +1,93 @@
+package com.project.edusync.finance.gateway;
+
+import com.project.edusync.finance.config.RazorpayGatewayProperties;
+import com.project.edusync.finance.model.entity.PaymentGatewayEvent;
+import com.project.edusync.finance.model.enums.GatewayEventStatus;
+import com.project.edusync.finance.repository.PaymentGatewayEventRepository;
+import com.project.edusync.finance.service.PaymentService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Applies one recorded gateway event to the local payment, in its own transaction. The event row is locked with
+ * {@code SKIP LOCKED}, so a lane and the retry sweep never apply the same event at once, and settlement itself is
+ * a no-op for a payment that is already settled. A failure is recorded on the row in a separate transaction and
+ * retried with exponential backoff until the event goes {@code DEAD}.
+ */
+@Slf4j
+@Component
+public class GatewayEventProcessor {
+
+    static final Set<String> CAPTURE_EVENTS = Set.of("payment.captured", "order.paid");
+
+    static final String FAILURE_EVENT = "payment.failed";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final PaymentGatewayEventRepository eventRepository;
+    private final PaymentService paymentService;
+    private final RazorpayGatewayProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public GatewayEventProcessor(PaymentGatewayEventRepository eventRepository,
+                                 PaymentService paymentService,
+                                 RazorpayGatewayProperties properties,
+                                 PlatformTransactionManager transactionManager) {
+        this.eventRepository = eventRepository;
+        this.paymentService = paymentService;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void process(Long eventId) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    eventRepository.lockById(eventId).ifPresent(this::apply));
+        } catch (RuntimeException ex) {
+            String error = truncate(ex.getClass().getSimpleName() + ": " + ex.getMessage());
+            log.warn("Gateway event {} failed: {}", eventId, error);
+            transactionTemplate.executeWithoutResult(status -> eventRepository.findById(eventId).ifPresent(event ->
+                    eventRepository.markFailed(eventId, properties.getWebhook().getMaxAttempts(),
+                            LocalDateTime.now().plus(backoff(event.getAttempts() + 1)), error)));
+        }
+    }
+
+    private void apply(PaymentGatewayEvent event) {
+        if (event.getStatus() != GatewayEventStatus.RECEIVED && event.getStatus() != GatewayEventStatus.FAILED) {
+            return;
+        }
+        String type = event.getEventType();
+        String outcome;
+        if (CAPTURE_EVENTS.contains(type)) {
+            outcome = paymentService.settleOnlinePayment(event.getGatewayOrderId(), event.getGatewayPaymentId(),
+                    event.getAmountMinor()) ? null : "No fee payment for order " + event.getGatewayOrderId();
+        } else if (FAILURE_EVENT.equals(type)) {
+            outcome = paymentService.failOnlinePayment(event.getGatewayOrderId(), event.getGatewayPaymentId())
+                    ? null : "No pending fee payment for order " + event.getGatewayOrderId();
+        } else {
+            outcome = "Unhandled event type " + type;
+        }
+        event.setStatus(outcome == null ? GatewayEventStatus.PROCESSED : GatewayEventStatus.IGNORED);
+        event.setLastError(outcome);
+        event.setProcessedAt(LocalDateTime.now());
+        log.debug("Gateway event {} ({}, order {}) {}", event.getId(), type, event.getGatewayOrderId(),
+                outcome == null ? "applied" : "ignored: " + outcome);
+    }
+
+    /** Exponential from the initial backoff, capped. */
+    Duration backoff(int attempts) {
+        RazorpayGatewayProperties.Webhook webhook = properties.getWebhook();
+        Duration delay = webhook.getInitialBackoff().multipliedBy(1L << Math.min(Math.max(attempts - 1, 0), 20));
+        return delay.compareTo(webhook.getMaxBackoff()) > 0 ? webhook.getMaxBackoff() : delay;
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
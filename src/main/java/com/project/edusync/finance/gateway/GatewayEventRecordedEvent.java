@@ -0,0 +1,13 @@
+package com.project.edusync.finance.gateway;
+
+/**
+ * Published when a gateway event is recorded; after commit, {@link GatewayEventDispatcher} hands it to a worker.
+ *
+ * @param laneKey events with the same key are applied one after another, in the order recorded
+ */
+public record GatewayEventRecordedEvent(Long eventId, String laneKey) {
+
+    static String laneKey(Long invoiceId, String gatewayOrderId) {
+        return invoiceId != null ? "invoice:" + invoiceId : "order:" + gatewayOrderId;
+    }
+}
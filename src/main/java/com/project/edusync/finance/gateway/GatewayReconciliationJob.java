@@ -0,0 +1,110 @@
+package com.project.edusync.finance.gateway;
+
+import com.project.edusync.common.scheduling.LeasedJob;
+import com.project.edusync.common.scheduling.ScheduledJobCoordinator;
+import com.project.edusync.common.scheduling.ScheduledJobDefinition;
+import com.project.edusync.finance.config.RazorpayGatewayProperties;
+import com.project.edusync.finance.gateway.PaymentGatewayFeed.GatewayPayment;
+import com.project.edusync.finance.model.entity.Payment;
+import com.project.edusync.finance.model.entity.PaymentGatewayEvent;
+import com.project.edusync.finance.repository.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Compares online payments that have stayed pending against the gateway, for settlements whose webhook and
+ * checkout response were both lost. What it finds is recorded as a gateway event and applied by the same workers
+ * as webhooks, so a late webhook for the same payment changes nothing.
+ *
+ * <p>A payment is only failed when the gateway reports attempts and all of them failed; an order the gateway
+ * knows nothing about is left pending.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GatewayReconciliationJob implements LeasedJob {
+
+    private static final String RECONCILE_CRON = "0 */15 * * * ?";
+
+    private static final ScheduledJobDefinition RECONCILE = ScheduledJobDefinition
+            .of("razorpay-reconciliation", RECONCILE_CRON, Duration.ofMinutes(10));
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentGatewayFeed gatewayFeed;
+    private final GatewayEventInbox eventInbox;
+    private final RazorpayGatewayProperties properties;
+    private final ScheduledJobCoordinator jobCoordinator;
+
+    @Scheduled(cron = RECONCILE_CRON)
+    public void reconcile() {
+        jobCoordinator.trigger(this);
+    }
+
+    @Override
+    public ScheduledJobDefinition definition() {
+        return RECONCILE;
+    }
+
+    @Override
+    public int execute(LocalDateTime scheduledFor) {
+        RazorpayGatewayProperties.Reconciliation settings = properties.getReconciliation();
+        LocalDateTime failBefore = scheduledFor.minus(settings.getFailAfter());
+        List<Payment> pending = paymentRepository.findPendingOnlineBefore(scheduledFor.minus(settings.getPendingAfter()),
+                PageRequest.of(0, Math.max(1, settings.getBatchSize())));
+
+        int recorded = 0;
+        int unreachable = 0;
+        for (Payment payment : pending) {
+            String orderId = payment.getTransactionId();
+            if (orderId == null || orderId.isBlank()) {
+                continue;
+            }
+            List<GatewayPayment> attempts;
+            try {
+                attempts = gatewayFeed.paymentsForOrder(orderId);
+            } catch (RuntimeException ex) {
+                unreachable++;
+                log.warn("Reconciliation could not read order {}: {}", orderId, ex.getMessage());
+                continue;
+            }
+            Optional<GatewayPayment> captured = attempts.stream()
+                    .filter(attempt -> "captured".equalsIgnoreCase(attempt.status()))
+                    .findFirst();
+            PaymentGatewayEvent event = null;
+            if (captured.isPresent()) {
+                event = event(payment, "reconcile:" + captured.get().id(), "payment.captured",
+                        captured.get().id(), captured.get().amountMinor());
+            } else if (!attempts.isEmpty() && payment.getPaymentDate().isBefore(failBefore)
+                    && attempts.stream().allMatch(attempt -> "failed".equalsIgnoreCase(attempt.status()))) {
+                event = event(payment, "reconcile-failed:" + orderId, GatewayEventProcessor.FAILURE_EVENT, null, null);
+            }
+            if (event != null && eventInbox.record(event)) {
+                recorded++;
+            }
+        }
+        log.info("Payment reconciliation: {} pending payment(s) checked, {} event(s) recorded, {} unreachable",
+                pending.size(), recorded, unreachable);
+        return recorded;
+    }
+
+    private static PaymentGatewayEvent event(Payment payment, String key, String type, String gatewayPaymentId,
+                                             Long amountMinor) {
+        return PaymentGatewayEvent.builder()
+                .idempotencyKey(key)
+                .source(PaymentGatewayEvent.SOURCE_RECONCILIATION)
+                .eventType(type)
+                .gatewayOrderId(payment.getTransactionId())
+                .gatewayPaymentId(gatewayPaymentId)
+                .amountMinor(amountMinor)
+                .invoiceId(payment.getInvoice().getId())
+                .build();
+    }
+}
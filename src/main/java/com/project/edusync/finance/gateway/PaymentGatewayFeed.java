@@ -0,0 +1,20 @@
+package com.project.edusync.finance.gateway;
+
+import java.util.List;
+
+/**
+ * The gateway's view of an order, as read by reconciliation.
+ */
+public interface PaymentGatewayFeed {
+
+    /**
+     * @param id          gateway payment id, e.g. {@code pay_...}
+     * @param status      gateway status, e.g. {@code captured}, {@code failed}
+     * @param amountMinor amount in paise
+     */
+    record GatewayPayment(String id, String status, Long amountMinor) {
+    }
+
+    /** Every payment attempt made against the order; empty if the gateway knows none. */
+    List<GatewayPayment> paymentsForOrder(String orderId);
+}
@@ -0,0 +1,40 @@
+package com.project.edusync.finance.gateway;
+
+import com.project.edusync.common.exception.EdusyncException;
+import com.razorpay.Payment;
+import com.razorpay.RazorpayClient;
+import com.razorpay.RazorpayException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Reads order payments from the Razorpay API.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.razorpay.reconciliation", name = "feed", havingValue = "razorpay", matchIfMissing = true)
+public class RazorpayPaymentGatewayFeed implements PaymentGatewayFeed {
+
+    private final RazorpayClient razorpayClient;
+
+    @Override
+    public List<GatewayPayment> paymentsForOrder(String orderId) {
+        try {
+            List<Payment> payments = razorpayClient.orders.fetchPayments(orderId);
+            return payments.stream()
+                    .map(payment -> {
+                        Object amount = payment.get("amount");
+                        return new GatewayPayment(payment.get("id"), payment.get("status"),
+                                amount instanceof Number number ? number.longValue() : null);
+                    })
+                    .toList();
+        } catch (RazorpayException ex) {
+            throw new EdusyncException("Could not fetch payments for order " + orderId + ": " + ex.getMessage(),
+                    HttpStatus.BAD_GATEWAY, ex);
+        }
+    }
+}
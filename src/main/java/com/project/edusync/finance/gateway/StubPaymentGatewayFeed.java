@@ -0,0 +1,47 @@
+package com.project.edusync.finance.gateway;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.edusync.finance.config.RazorpayGatewayProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local stand-in for the gateway: reads {@code app.razorpay.reconciliation.stub-file}, a JSON object of order id
+ * to payment attempts, e.g. {@code {"order_1": [{"id": "pay_1", "status": "captured", "amountMinor": 50000}]}}.
+ * The file is re-read on every call so it can be edited while the application runs.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.razorpay.reconciliation", name = "feed", havingValue = "stub")
+public class StubPaymentGatewayFeed implements PaymentGatewayFeed {
+
+    private static final TypeReference<Map<String, List<GatewayPayment>>> FEED = new TypeReference<>() {
+    };
+
+    private final RazorpayGatewayProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public List<GatewayPayment> paymentsForOrder(String orderId) {
+        String file = properties.getReconciliation().getStubFile();
+        if (file == null || file.isBlank() || !Files.isRegularFile(Path.of(file))) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(Path.of(file).toFile(), FEED).getOrDefault(orderId, List.of());
+        } catch (IOException ex) {
+            log.warn("Could not read gateway stub feed {}: {}", file, ex.getMessage());
+            return List.of();
+        }
+    }
+}
@@ -17,13 +17,14 @@ import java.math.BigDecimal;
  *   - Category: "Research Grants"  → Allocated: ₹50,00,000   | Actual: ₹50,00,000
  *
  * The 'linkedAccount' FK to Account allows GL-driven auto-calculation of actualAmount.
- * If linkedAccount is set, actualAmount is updated whenever a GL entry posts to that account.
+ * If linkedAccount is set, actualAmount is updated whenever a GL entry posts to that account (see BudgetLedger).
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "finance_budget_line_items")
+@Table(name = "finance_budget_line_items",
+       indexes = @Index(name = "idx_finance_budget_line_items_account", columnList = "linked_account_id"))
 public class BudgetLineItem {
 
     @Id
@@ -19,7 +19,9 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "fa_depreciation_entries")
+@Table(name = "fa_depreciation_entries", indexes = {
+        @Index(name = "uq_fa_depreciation_entries_asset_year", columnList = "asset_id, financial_year", unique = true)
+})
 public class DepreciationEntry extends AuditableEntity {
 
     @ManyToOne(fetch = FetchType.LAZY)
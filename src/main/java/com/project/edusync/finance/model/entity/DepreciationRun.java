@@ -0,0 +1,47 @@
+package com.project.edusync.finance.model.entity;
+
+import com.project.edusync.common.model.AuditableEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One asset category's share of a depreciation run.
+ *
+ * Each row carries the single consolidated journal for its category
+ * (Dr Depreciation Expense, Cr Accumulated Depreciation) and is that journal's DEPRECIATION reference;
+ * the per-asset breakdown is in fa_depreciation_entries with the same gl_entry_id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "fa_depreciation_runs", indexes = {
+        @Index(name = "idx_fa_depreciation_runs_year", columnList = "school_id, financial_year")
+})
+public class DepreciationRun extends AuditableEntity {
+
+    @Column(name = "financial_year", nullable = false, length = 10)
+    private String financialYear;
+
+    @Column(name = "asset_category", nullable = false, length = 100)
+    private String assetCategory;
+
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    @Column(name = "asset_count", nullable = false)
+    private Integer assetCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "journal_entry_id")
+    private Long journalEntryId;
+
+    @Column(name = "school_id")
+    private Long schoolId;
+}
@@ -0,0 +1,44 @@
+package com.project.edusync.finance.model.entity;
+
+import com.project.edusync.finance.model.enums.DocumentSeries;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Next unissued number of one document series, per school and financial year. Rows are created and advanced
+ * only by {@link com.project.edusync.finance.repository.DocumentSequenceRepository}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "document_sequences",
+        uniqueConstraints = @UniqueConstraint(name = "uq_document_sequences_key",
+                columnNames = {"school_id", "series", "financial_year"}))
+public class DocumentSequence {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "school_id", nullable = false)
+    private Long schoolId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "series", nullable = false, length = 30)
+    private DocumentSeries series;
+
+    /** Calendar year the financial year starts in, e.g. 2026 for FY 2026-27. */
+    @Column(name = "financial_year", nullable = false)
+    private Integer financialYear;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,59 @@
+package com.project.edusync.finance.model.entity;
+
+import com.project.edusync.finance.model.enums.FeeTotalScope;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running sum of {@link FeeStudentBalance} rows for the school, a class or a section. Each student refresh adds
+ * the difference between the student's new and previous rows, so dashboards read one row instead of aggregating
+ * invoices and payments.
+ */
+@Entity
+@Table(name = "fee_collection_totals",
+       indexes = @Index(name = "uq_fee_collection_totals_scope", columnList = "scope, scope_id", unique = true))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeCollectionTotal {
+
+    /** Scope id of the single SCHOOL row. */
+    public static final Long SCHOOL_ID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", nullable = false, length = 10)
+    private FeeTotalScope scope;
+
+    @Column(name = "scope_id", nullable = false)
+    private Long scopeId;
+
+    @Column(name = "invoiced_amount", nullable = false, precision = 16, scale = 2)
+    private BigDecimal invoicedAmount = BigDecimal.ZERO;
+
+    @Column(name = "collected_amount", nullable = false, precision = 16, scale = 2)
+    private BigDecimal collectedAmount = BigDecimal.ZERO;
+
+    @Column(name = "refunded_amount", nullable = false, precision = 16, scale = 2)
+    private BigDecimal refundedAmount = BigDecimal.ZERO;
+
+    @Column(name = "outstanding_amount", nullable = false, precision = 16, scale = 2)
+    private BigDecimal outstandingAmount = BigDecimal.ZERO;
+
+    @Column(name = "overdue_amount", nullable = false, precision = 16, scale = 2)
+    private BigDecimal overdueAmount = BigDecimal.ZERO;
+
+    @Column(name = "pending_invoices", nullable = false)
+    private long pendingInvoices;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,64 @@
+package com.project.edusync.finance.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A student's fee position, recomputed from their invoices, payments and refunds in the transaction of every
+ * change to them. The class and section columns are where the student's amounts are counted in
+ * {@link FeeCollectionTotal}.
+ */
+@Entity
+@Table(name = "fee_student_balances",
+       indexes = @Index(name = "idx_fee_student_balances_section", columnList = "section_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeStudentBalance {
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    @Column(name = "section_id")
+    private Long sectionId;
+
+    @Column(name = "class_id")
+    private Long classId;
+
+    /** Total of PENDING, OVERDUE and PAID invoices. */
+    @Column(name = "invoiced_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal invoicedAmount = BigDecimal.ZERO;
+
+    /** Successful payments. */
+    @Column(name = "collected_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal collectedAmount = BigDecimal.ZERO;
+
+    /** Processed refunds. */
+    @Column(name = "refunded_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal refundedAmount = BigDecimal.ZERO;
+
+    /** Unpaid balance of PENDING and OVERDUE invoices. */
+    @Column(name = "outstanding_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal outstandingAmount = BigDecimal.ZERO;
+
+    /** Unpaid balance of OVERDUE invoices. */
+    @Column(name = "overdue_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal overdueAmount = BigDecimal.ZERO;
+
+    @Column(name = "pending_invoices", nullable = false)
+    private long pendingInvoices;
+
+    /** Earliest due date of the PENDING and OVERDUE invoices. */
+    @Column(name = "next_due_date")
+    private LocalDate nextDueDate;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -29,7 +29,9 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "fa_fixed_assets")
+@Table(name = "fa_fixed_assets", indexes = {
+        @Index(name = "idx_fa_fixed_assets_school_status", columnList = "school_id, status")
+})
 public class FixedAsset extends AuditableEntity {
 
     /** System-generated: "ASSET-2025-00123". */
@@ -21,7 +21,8 @@ import java.util.List;
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "invoices")
+@Table(name = "invoices",
+        indexes = @Index(name = "idx_invoices_status_due_date", columnList = "status, due_date"))
 public class Invoice extends AuditableEntity {
 
 
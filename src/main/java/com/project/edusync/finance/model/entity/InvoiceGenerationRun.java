@@ -0,0 +1,94 @@
+package com.project.edusync.finance.model.entity;
+
+import com.project.edusync.finance.model.enums.InvoiceRunStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One term-wide invoicing run over the students matched by its scope (class, section and/or fee structure).
+ *
+ * <p>Students are billed in ascending id order; {@code lastStudentId} is committed together with each chunk of
+ * invoices, so a run that dies part-way resumes exactly where it stopped. {@code updatedAt} doubles as the
+ * heartbeat used to tell a live run from an abandoned one.</p>
+ */
+@Entity
+@Table(name = "invoice_generation_runs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceGenerationRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "class_id")
+    private Long classId;
+
+    @Column(name = "section_id")
+    private Long sectionId;
+
+    @Column(name = "fee_structure_id")
+    private Long feeStructureId;
+
+    @Column(name = "issue_date", nullable = false)
+    private LocalDate issueDate;
+
+    @Column(name = "due_date", nullable = false)
+    private LocalDate dueDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private InvoiceRunStatus status;
+
+    @Column(name = "last_student_id", nullable = false)
+    @Builder.Default
+    private Long lastStudentId = 0L;
+
+    @Column(name = "total_students", nullable = false)
+    private long totalStudents;
+
+    @Column(name = "processed_students", nullable = false)
+    private long processedStudents;
+
+    @Column(name = "invoices_created", nullable = false)
+    private long invoicesCreated;
+
+    @Column(name = "skipped_students", nullable = false)
+    private long skippedStudents;
+
+    @Column(name = "total_billed", nullable = false, precision = 14, scale = 2)
+    @Builder.Default
+    private BigDecimal totalBilled = BigDecimal.ZERO;
+
+    @Column(name = "total_discount", nullable = false, precision = 14, scale = 2)
+    @Builder.Default
+    private BigDecimal totalDiscount = BigDecimal.ZERO;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "started_by", length = 100)
+    private String startedBy;
+
+    @CreationTimestamp
+    @Column(name = "started_at", updatable = false)
+    private LocalDateTime startedAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
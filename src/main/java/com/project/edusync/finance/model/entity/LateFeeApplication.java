@@ -0,0 +1,61 @@
+package com.project.edusync.finance.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One late fee charged to an invoice. The unique key on invoice, rule and due date makes a rule apply at most
+ * once per billing period, however often the sweep runs; moving an invoice's due date opens a new period.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "late_fee_applications",
+        uniqueConstraints = @UniqueConstraint(name = "uq_late_fee_applications_period",
+                columnNames = {"invoice_id", "rule_id", "due_date"}))
+public class LateFeeApplication {
+
+    /** Fee charged from the Invoices screen. */
+    public static final String SOURCE_MANUAL = "MANUAL";
+
+    /** Fee charged by the nightly sweep. */
+    public static final String SOURCE_SWEEP = "SWEEP";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "invoice_id", nullable = false)
+    private Long invoiceId;
+
+    @Column(name = "rule_id", nullable = false)
+    private Integer ruleId;
+
+    /** Due date of the invoice when the fee was charged. */
+    @Column(name = "due_date", nullable = false)
+    private LocalDate dueDate;
+
+    @Column(name = "amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    /** Business date the fee was charged for. */
+    @Column(name = "applied_on", nullable = false)
+    private LocalDate appliedOn;
+
+    @Column(name = "source", nullable = false, length = 20)
+    private String source;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
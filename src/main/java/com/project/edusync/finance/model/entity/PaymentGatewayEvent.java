@@ -0,0 +1,87 @@
+package com.project.edusync.finance.model.entity;
+
+import com.project.edusync.finance.model.enums.GatewayEventStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A payment gateway event as received, kept before it is applied so settlements survive restarts and are applied
+ * once. Rows are written only by {@link com.project.edusync.finance.gateway.GatewayEventInbox}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "payment_gateway_events",
+        uniqueConstraints = @UniqueConstraint(name = "uq_payment_gateway_events_key", columnNames = "idempotency_key"),
+        indexes = {
+                @Index(name = "idx_payment_gateway_events_due", columnList = "status, next_attempt_at"),
+                @Index(name = "idx_payment_gateway_events_invoice", columnList = "invoice_id")
+        })
+public class PaymentGatewayEvent {
+
+    /** Razorpay webhook delivery. */
+    public static final String SOURCE_WEBHOOK = "WEBHOOK";
+
+    /** Signed checkout response relayed by the browser. */
+    public static final String SOURCE_CHECKOUT = "CHECKOUT";
+
+    /** Found by comparing pending payments with the gateway. */
+    public static final String SOURCE_RECONCILIATION = "RECONCILIATION";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Gateway event id for webhooks; derived from the gateway payment id for other sources. */
+    @Column(name = "idempotency_key", nullable = false, length = 120)
+    private String idempotencyKey;
+
+    @Column(name = "source", nullable = false, length = 20)
+    private String source;
+
+    @Column(name = "event_type", nullable = false, length = 60)
+    private String eventType;
+
+    @Column(name = "gateway_order_id", length = 100)
+    private String gatewayOrderId;
+
+    @Column(name = "gateway_payment_id", length = 100)
+    private String gatewayPaymentId;
+
+    /** Amount reported by the gateway, in paise. */
+    @Column(name = "amount_minor")
+    private Long amountMinor;
+
+    /** Invoice of the matching local payment, when known at receipt; events of one invoice are applied in order. */
+    @Column(name = "invoice_id")
+    private Long invoiceId;
+
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private GatewayEventStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+}
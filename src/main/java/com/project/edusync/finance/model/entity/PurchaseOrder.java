@@ -27,7 +27,8 @@ import java.util.List;
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "proc_purchase_orders")
+@Table(name = "proc_purchase_orders",
+       indexes = @Index(name = "idx_proc_purchase_orders_budget", columnList = "budget_id"))
 public class PurchaseOrder extends AuditableEntity {
 
     /** Auto-generated human-readable number like "PO-2025-001234". */
@@ -11,7 +11,8 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reminder_logs")
+@Table(name = "reminder_logs",
+        indexes = @Index(name = "idx_reminder_logs_guardian_sent", columnList = "guardian_id, sent_at"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -45,4 +46,20 @@ public class ReminderLog {
     @CreationTimestamp
     @Column(name = "sent_at", updatable = false)
     private LocalDateTime sentAt;
+
+    @Column(name = "guardian_id")
+    private Long guardianId;
+
+    @Column(name = "template_id")
+    private Long templateId;
+
+    /** Shared by the rows of one consolidated message; counts toward the guardian's rate limit once. */
+    @Column(name = "message_key", length = 36)
+    private String messageKey;
+
+    @Column(name = "recipient")
+    private String recipient;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
 }
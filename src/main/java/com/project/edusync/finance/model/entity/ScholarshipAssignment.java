@@ -13,7 +13,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "scholarship_assignments")
+@Table(name = "scholarship_assignments",
+       indexes = @Index(name = "idx_scholarship_assignments_student_type", columnList = "student_id, scholarship_type_id"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,109 @@
+package com.project.edusync.finance.model.entity;
+
+import com.project.edusync.finance.model.enums.InvoiceRunStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * One bulk award of a scholarship type to the students matched by its criteria (class, section, fee structure
+ * and/or an explicit list), re-pricing their open invoices as it goes.
+ *
+ * <p>Like {@link InvoiceGenerationRun}, students are handled in ascending id order and {@code lastStudentId} is
+ * committed with each chunk, so a run that dies part-way resumes where it stopped; {@code updatedAt} is the
+ * heartbeat.</p>
+ */
+@Entity
+@Table(name = "scholarship_award_runs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScholarshipAwardRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "scholarship_type_id", nullable = false)
+    private Long scholarshipTypeId;
+
+    @Column(name = "class_id")
+    private Long classId;
+
+    @Column(name = "section_id")
+    private Long sectionId;
+
+    @Column(name = "fee_structure_id")
+    private Long feeStructureId;
+
+    /** When not empty, only these students are considered (still narrowed by the other criteria). */
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "scholarship_award_run_students", joinColumns = @JoinColumn(name = "run_id"))
+    @Column(name = "student_id", nullable = false)
+    @Builder.Default
+    private Set<Long> studentIds = new HashSet<>();
+
+    @Column(name = "effective_from", nullable = false)
+    private LocalDate effectiveFrom;
+
+    @Column(name = "reason", nullable = false)
+    private String reason;
+
+    @Column(name = "reprice_open_invoices", nullable = false)
+    private boolean repriceOpenInvoices;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private InvoiceRunStatus status;
+
+    @Column(name = "last_student_id", nullable = false)
+    @Builder.Default
+    private Long lastStudentId = 0L;
+
+    @Column(name = "total_students", nullable = false)
+    private long totalStudents;
+
+    @Column(name = "processed_students", nullable = false)
+    private long processedStudents;
+
+    @Column(name = "assignments_created", nullable = false)
+    private long assignmentsCreated;
+
+    @Column(name = "skipped_students", nullable = false)
+    private long skippedStudents;
+
+    @Column(name = "invoices_repriced", nullable = false)
+    private long invoicesRepriced;
+
+    @Column(name = "total_discount", nullable = false, precision = 14, scale = 2)
+    @Builder.Default
+    private BigDecimal totalDiscount = BigDecimal.ZERO;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "started_by", length = 100)
+    private String startedBy;
+
+    @CreationTimestamp
+    @Column(name = "started_at", updatable = false)
+    private LocalDateTime startedAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
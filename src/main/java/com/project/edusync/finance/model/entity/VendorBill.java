@@ -28,7 +28,8 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "proc_vendor_bills")
+@Table(name = "proc_vendor_bills",
+       indexes = @Index(name = "idx_proc_vendor_bills_po", columnList = "purchase_order_id"))
 public class VendorBill extends AuditableEntity {
 
     /** Vendor's own invoice number (must be unique per vendor). */
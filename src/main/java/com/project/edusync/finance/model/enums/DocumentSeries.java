@@ -0,0 +1,23 @@
+package com.project.edusync.finance.model.enums;
+
+/**
+ * Numbered finance document series and the prefix each one's numbers carry.
+ */
+public enum DocumentSeries {
+    INVOICE("INV"),
+    RECEIPT("REC"),
+    JOURNAL("JE"),
+    PURCHASE_ORDER("PO"),
+    GOODS_RECEIPT("GRN"),
+    VENDOR_BILL("BILL");
+
+    private final String prefix;
+
+    DocumentSeries(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+}
@@ -0,0 +1,11 @@
+package com.project.edusync.finance.model.enums;
+
+/**
+ * Level at which fee collection totals are kept. Students carry no school id, so there is one SCHOOL row, with
+ * the default school id.
+ */
+public enum FeeTotalScope {
+    SCHOOL,
+    CLASS,
+    SECTION
+}
@@ -0,0 +1,17 @@
+package com.project.edusync.finance.model.enums;
+
+/**
+ * Processing state of a recorded payment gateway event.
+ */
+public enum GatewayEventStatus {
+    /** Recorded and waiting for a worker. */
+    RECEIVED,
+    /** Applied to the local payment. */
+    PROCESSED,
+    /** Nothing to do: an event type we do not handle, or an order that is not a fee payment. */
+    IGNORED,
+    /** Last attempt failed; retried after {@code next_attempt_at}. */
+    FAILED,
+    /** Out of attempts; needs a look from finance. */
+    DEAD
+}
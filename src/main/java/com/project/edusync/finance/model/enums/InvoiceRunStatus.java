@@ -0,0 +1,11 @@
+package com.project.edusync.finance.model.enums;
+
+/**
+ * Lifecycle of a bulk invoice generation run or bulk scholarship award run.
+ * A RUNNING run whose heartbeat has gone stale, or a FAILED one, can be resumed from its cursor.
+ */
+public enum InvoiceRunStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
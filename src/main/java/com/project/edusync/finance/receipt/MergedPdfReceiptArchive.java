@@ -0,0 +1,53 @@
+package com.project.edusync.finance.receipt;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.multipdf.PDFMergerUtility;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+class MergedPdfReceiptArchive implements ReceiptArchive {
+
+    private final OutputStream out;
+    private final Path directory;
+    private final List<Path> parts = new ArrayList<>();
+
+    MergedPdfReceiptArchive(OutputStream out, Path scratchDir) throws IOException {
+        this.out = out;
+        this.directory = Files.createTempDirectory(scratchDir, "receipt-export-");
+    }
+
+    @Override
+    public void add(String fileName, byte[] pdf) throws IOException {
+        Path part = directory.resolve(String.format("%06d.pdf", parts.size()));
+        Files.write(part, pdf);
+        parts.add(part);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        PDFMergerUtility merger = new PDFMergerUtility();
+        for (Path part : parts) {
+            merger.addSource(part.toFile());
+        }
+        merger.setDestinationStream(out);
+        merger.mergeDocuments(MemoryUsageSetting.setupTempFileOnly().setTempDir(directory.toFile()));
+        out.flush();
+    }
+
+    @Override
+    public void close() {
+        try (var files = Files.list(directory)) {
+            files.forEach(file -> file.toFile().delete());
+            Files.deleteIfExists(directory);
+        } catch (IOException ex) {
+            log.warn("Could not remove receipt export scratch directory {}: {}", directory, ex.getMessage());
+        }
+    }
+}
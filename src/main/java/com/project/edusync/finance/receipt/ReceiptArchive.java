@@ -0,0 +1,31 @@
+package com.project.edusync.finance.receipt;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+/**
+ * Destination of a batch receipt export. Documents are added one at a time, in export order, and are not kept
+ * in memory once added.
+ */
+public interface ReceiptArchive extends Closeable {
+
+    void add(String fileName, byte[] pdf) throws IOException;
+
+    /** Writes whatever remains to the output; the output stream itself is left open. */
+    void finish() throws IOException;
+
+    /** One PDF per receipt in a ZIP, written to {@code out} as each receipt is added. */
+    static ReceiptArchive zip(OutputStream out) {
+        return new ZipReceiptArchive(out);
+    }
+
+    /**
+     * All receipts in one PDF. Receipts are spooled to files under {@code scratchDir} and merged on
+     * {@link #finish()}, with PDFBox buffering in scratch files rather than on the heap.
+     */
+    static ReceiptArchive mergedPdf(OutputStream out, Path scratchDir) throws IOException {
+        return new MergedPdfReceiptArchive(out, scratchDir);
+    }
+}
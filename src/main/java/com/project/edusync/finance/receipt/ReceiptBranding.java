@@ -0,0 +1,31 @@
+package com.project.edusync.finance.receipt;
+
+import java.util.Map;
+
+/**
+ * School settings printed on every receipt, resolved once per request or export rather than once per document.
+ */
+public record ReceiptBranding(
+        String schoolName,
+        String schoolAddress,
+        String schoolPhone,
+        String schoolEmail,
+        String schoolWebsite,
+        String schoolLogoBase64,
+        String signatureBase64,
+        String bankName,
+        String session
+) {
+
+    void applyTo(Map<String, Object> data) {
+        data.put("schoolName", schoolName);
+        data.put("schoolAddress", schoolAddress);
+        data.put("schoolPhone", schoolPhone);
+        data.put("schoolEmail", schoolEmail);
+        data.put("schoolWebsite", schoolWebsite);
+        data.put("schoolLogoBase64", schoolLogoBase64);
+        data.put("signatureBase64", signatureBase64);
+        data.put("bankName", bankName);
+        data.put("session", session);
+    }
+}
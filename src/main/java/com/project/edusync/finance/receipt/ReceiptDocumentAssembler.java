@@ -0,0 +1,139 @@
+package com.project.edusync.finance.receipt;
+
+import com.project.edusync.common.settings.service.AppSettingService;
+import com.project.edusync.finance.model.entity.Invoice;
+import com.project.edusync.finance.model.entity.Payment;
+import com.project.edusync.finance.service.PdfGenerationService;
+import com.project.edusync.finance.utils.NumberToWordsConverter;
+import com.project.edusync.uis.model.entity.Student;
+import com.project.edusync.uis.model.entity.UserProfile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the data for the {@code receipt} template, for single downloads and batch exports alike.
+ *
+ * <p>The entities passed in must have their student, profile, section and class loaded; the returned map holds
+ * only plain values, so it can be rendered on another thread after the persistence context is closed.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class ReceiptDocumentAssembler {
+
+    public static final String TEMPLATE = "receipt";
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final AppSettingService appSettingService;
+    private final PdfGenerationService pdfGenerationService;
+    private final NumberToWordsConverter numberToWordsConverter;
+
+    public ReceiptBranding branding() {
+        // Logo
+        String logoUrl = appSettingService.getValue("school.logo_url", "");
+        String logo = logoUrl != null && !logoUrl.isBlank()
+                ? pdfGenerationService.fetchRemoteImageAsBase64(logoUrl)
+                : pdfGenerationService.loadSchoolLogoBase64();
+
+        // Signature
+        String signatureUrl = appSettingService.getValue("school.signature_url", "");
+        String signature = signatureUrl != null && !signatureUrl.isBlank()
+                ? pdfGenerationService.fetchRemoteImageAsBase64(signatureUrl)
+                : "";
+
+        return new ReceiptBranding(
+                appSettingService.getValue("school.name", "Shiksha Intelligence"),
+                appSettingService.getValue("school.address", "Site No.1, Sector-45, Urban Estate, Gurgaon, Haryana"),
+                appSettingService.getValue("school.phone", ""),
+                appSettingService.getValue("school.email", ""),
+                appSettingService.getValue("school.website", ""),
+                logo,
+                signature,
+                appSettingService.getValue("school.bank_name", "HDFC BANK"),
+                computeAcademicYear());
+    }
+
+    /**
+     * Receipt for one payment: shows the amount paid in this transaction.
+     */
+    public Map<String, Object> paymentReceipt(Payment payment, ReceiptBranding branding) {
+        Invoice invoice = payment.getInvoice();
+        Map<String, Object> data = receiptHeader(payment, payment.getStudent(), branding);
+        data.put("note", "Partial Payment for Invoice #" + invoice.getInvoiceNumber());
+
+        data.put("lineItems", List.of(Map.of(
+            "description", "Partial Fee Payment",
+            "due", payment.getAmountPaid(),
+            "con", BigDecimal.ZERO,
+            "paid", payment.getAmountPaid()
+        )));
+        data.put("totalAmount", payment.getAmountPaid());
+        data.put("totalInWords", inWords(payment.getAmountPaid()));
+        return data;
+    }
+
+    /**
+     * Receipt for a whole invoice, printed with the details of the given payment.
+     */
+    public Map<String, Object> invoiceReceipt(Invoice invoice, Payment payment, ReceiptBranding branding) {
+        Map<String, Object> data = receiptHeader(payment, invoice.getStudent(), branding);
+        data.put("note", "Invoice #" + invoice.getInvoiceNumber());
+        data.put("installmentName", "FEES");
+
+        data.put("lineItems", invoice.getLineItems().stream()
+                .map(li -> Map.of(
+                    "description", li.getDescription(),
+                    "due", li.getAmount(),
+                    "con", BigDecimal.ZERO,
+                    "paid", li.getAmount() // For the main invoice receipt, we show the billable amount
+                )).toList());
+        data.put("totalAmount", invoice.getTotalAmount());
+        data.put("totalInWords", inWords(invoice.getTotalAmount()));
+        return data;
+    }
+
+    private Map<String, Object> receiptHeader(Payment payment, Student student, ReceiptBranding branding) {
+        Map<String, Object> data = new HashMap<>();
+        branding.applyTo(data);
+
+        data.put("receiptNo", payment.getPaymentId().toString());
+        data.put("paymentDate", payment.getPaymentDate().format(DATE_FORMAT));
+        data.put("payMode", payment.getPaymentMethod().toString());
+        data.put("paymentNumber", payment.getTransactionId());
+        data.put("counterNo", "DPS-RECEIPT");
+
+        UserProfile profile = student.getUserProfile();
+        data.put("studentName", profile.getFirstName() + " " + profile.getLastName());
+        data.put("admissionNumber", student.getEnrollmentNumber());
+        data.put("className", student.getSection().getAcademicClass().getName() + " - " + student.getSection().getSectionName());
+        return data;
+    }
+
+    // HALF_UP so that ₹1,000.75 is not truncated to "One Thousand Rupees Only".
+    private String inWords(BigDecimal amount) {
+        return numberToWordsConverter.convertToWords(amount.setScale(0, RoundingMode.HALF_UP).longValue());
+    }
+
+    private String computeAcademicYear() {
+        String startMonthStr = appSettingService.getValue("school.academic_year_start", "APRIL");
+        Month startMonth;
+        try {
+            startMonth = Month.valueOf(startMonthStr.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            startMonth = Month.APRIL;
+        }
+
+        LocalDate now = LocalDate.now();
+        int startYear = now.getMonthValue() >= startMonth.getValue() ? now.getYear() : now.getYear() - 1;
+        return startYear + "-" + (startYear + 1);
+    }
+}
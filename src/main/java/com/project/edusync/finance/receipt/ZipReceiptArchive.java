@@ -0,0 +1,36 @@
+package com.project.edusync.finance.receipt;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+class ZipReceiptArchive implements ReceiptArchive {
+
+    private final ZipOutputStream zip;
+
+    ZipReceiptArchive(OutputStream out) {
+        this.zip = new ZipOutputStream(out);
+        // PDF content streams are already compressed.
+        this.zip.setLevel(Deflater.BEST_SPEED);
+    }
+
+    @Override
+    public void add(String fileName, byte[] pdf) throws IOException {
+        zip.putNextEntry(new ZipEntry(fileName));
+        zip.write(pdf);
+        zip.closeEntry();
+    }
+
+    @Override
+    public void finish() throws IOException {
+        zip.finish();
+        zip.flush();
+    }
+
+    @Override
+    public void close() {
+        // The response stream belongs to the caller.
+    }
+}
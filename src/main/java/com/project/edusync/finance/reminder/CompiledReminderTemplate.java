@@ -0,0 +1,129 @@
+package com.project.edusync.finance.reminder;
+
+import com.project.edusync.finance.model.entity.ReminderTemplate;
+
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A reminder template parsed once for one locale. Subject and body may use {@code {{guardianName}}},
+ * {@code {{studentName}}}, {@code {{invoiceNumber}}}, {@code {{amountDue}}}, {@code {{dueDate}}},
+ * {@code {{daysOverdue}}}, {@code {{invoiceCount}}} and {@code {{invoiceLines}}}; for a guardian with several
+ * invoices the names and numbers are joined, the amount is the total, and the date and days are those of the
+ * oldest invoice. Unknown placeholders are left as written.
+ *
+ * <p>Not thread-safe: the number format is shared across renders.</p>
+ */
+public final class CompiledReminderTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+    private static final Currency CURRENCY = Currency.getInstance("INR");
+
+    private final ReminderTemplate template;
+    private final Locale locale;
+    private final List<Part> subject;
+    private final List<Part> body;
+    private final NumberFormat money;
+    private final DateTimeFormatter dates;
+
+    private CompiledReminderTemplate(ReminderTemplate template, Locale locale) {
+        this.template = template;
+        this.locale = locale;
+        this.subject = parse(template.getSubject());
+        this.body = parse(template.getBody());
+        this.money = NumberFormat.getCurrencyInstance(locale);
+        this.money.setCurrency(CURRENCY);
+        this.dates = DateTimeFormatter.ofLocalizedDate(FormatStyle.MEDIUM).withLocale(locale);
+    }
+
+    public static CompiledReminderTemplate compile(ReminderTemplate template, Locale locale) {
+        return new CompiledReminderTemplate(template, locale);
+    }
+
+    public ReminderTemplate template() {
+        return template;
+    }
+
+    public Locale locale() {
+        return locale;
+    }
+
+    /** Returns the subject and body for one guardian's invoices. */
+    public Rendered render(String guardianName, List<ReminderCandidate> items, LocalDate asOf) {
+        Map<String, String> values = values(guardianName, items, asOf);
+        return new Rendered(fill(subject, values), fill(body, values));
+    }
+
+    private Map<String, String> values(String guardianName, List<ReminderCandidate> items, LocalDate asOf) {
+        ReminderCandidate oldest = items.stream().min(Comparator.comparing(ReminderCandidate::dueDate)).orElseThrow();
+        BigDecimal total = items.stream().map(ReminderCandidate::amountDue).reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        Map<String, String> values = new HashMap<>();
+        values.put("guardianName", guardianName);
+        values.put("studentName", items.stream().map(ReminderCandidate::studentName).distinct()
+                .collect(Collectors.joining(", ")));
+        values.put("invoiceNumber", items.stream().map(ReminderCandidate::invoiceNumber)
+                .collect(Collectors.joining(", ")));
+        values.put("amountDue", money.format(total));
+        values.put("dueDate", dates.format(oldest.dueDate()));
+        values.put("daysOverdue", String.valueOf(Math.max(0, ChronoUnit.DAYS.between(oldest.dueDate(), asOf))));
+        values.put("invoiceCount", String.valueOf(items.size()));
+        values.put("invoiceLines", items.stream()
+                .map(item -> item.studentName() + " - " + item.invoiceNumber() + " - "
+                        + money.format(item.amountDue()) + " (" + dates.format(item.dueDate()) + ")")
+                .collect(Collectors.joining("\n")));
+        return values;
+    }
+
+    private static String fill(List<Part> parts, Map<String, String> values) {
+        StringBuilder text = new StringBuilder();
+        for (Part part : parts) {
+            text.append(part.apply(values));
+        }
+        return text.toString();
+    }
+
+    private static List<Part> parse(String text) {
+        List<Part> parts = new ArrayList<>();
+        if (text == null) {
+            return parts;
+        }
+        int from = 0;
+        while (from < text.length()) {
+            int open = text.indexOf(OPEN, from);
+            int close = open < 0 ? -1 : text.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                String literal = text.substring(from);
+                parts.add(values -> literal);
+                break;
+            }
+            String literal = text.substring(from, open);
+            String raw = text.substring(open, close + CLOSE.length());
+            String name = text.substring(open + OPEN.length(), close).trim();
+            parts.add(values -> literal);
+            parts.add(values -> values.getOrDefault(name, raw));
+            from = close + CLOSE.length();
+        }
+        return parts;
+    }
+
+    private interface Part extends Function<Map<String, String>, String> {
+    }
+
+    public record Rendered(String subject, String body) {
+    }
+}
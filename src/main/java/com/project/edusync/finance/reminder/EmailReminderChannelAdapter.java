@@ -0,0 +1,81 @@
+package com.project.edusync.finance.reminder;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sends {@code EMAIL} reminders through the application's mail server, one SMTP connection per batch.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.finance.reminders", name = "transport", havingValue = "mail")
+public class EmailReminderChannelAdapter implements ReminderChannelAdapter {
+
+    private final JavaMailSender javaMailSender;
+
+    @Value("${spring.mail.from}")
+    private String mailFrom;
+
+    @Override
+    public Set<String> channels() {
+        return Set.of("EMAIL");
+    }
+
+    @Override
+    public Map<String, String> send(String channel, List<ReminderMessage> batch) {
+        Map<String, String> failed = new HashMap<>();
+        Map<MimeMessage, String> keys = new IdentityHashMap<>();
+        List<MimeMessage> mimeMessages = new ArrayList<>(batch.size());
+        for (ReminderMessage message : batch) {
+            try {
+                MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "UTF-8");
+                helper.setFrom(mailFrom);
+                helper.setTo(message.recipient());
+                helper.setSubject(message.subject());
+                helper.setText(message.body(), false);
+                keys.put(mimeMessage, message.messageKey());
+                mimeMessages.add(mimeMessage);
+            } catch (MessagingException ex) {
+                failed.put(message.messageKey(), ex.getMessage());
+            }
+        }
+        if (mimeMessages.isEmpty()) {
+            return failed;
+        }
+        try {
+            javaMailSender.send(mimeMessages.toArray(MimeMessage[]::new));
+        } catch (MailSendException ex) {
+            if (ex.getFailedMessages().isEmpty()) {
+                keys.values().forEach(key -> failed.put(key, ex.getMessage()));
+            }
+            ex.getFailedMessages().forEach((mimeMessage, error) -> {
+                String key = keys.get(mimeMessage);
+                if (key != null) {
+                    failed.put(key, error.getMessage());
+                }
+            });
+        } catch (MailException ex) {
+            log.warn("Reminder e-mail batch of {} failed: {}", mimeMessages.size(), ex.getMessage());
+            keys.values().forEach(key -> failed.put(key, ex.getMessage()));
+        }
+        return failed;
+    }
+}
@@ -0,0 +1,94 @@
+package com.project.edusync.finance.reminder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.edusync.finance.config.ReminderProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Local stand-in for every channel: writes each reminder as one JSON line to {@code app.finance.reminders.output-file},
+ * or through the dedicated {@value #OUTBOX_LOGGER} logger when no file is set, so runs can be checked without a mail
+ * server or SMS gateway. The lines carry guardian contact details, so that logger goes to its own file rather than
+ * the console (see {@code logback-spring.xml}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.finance.reminders", name = "transport", havingValue = "log", matchIfMissing = true)
+public class LoggingReminderChannelAdapter implements ReminderChannelAdapter {
+
+    private static final String OUTBOX_LOGGER = "edusync.finance.reminder-outbox";
+
+    private static final Logger OUTBOX = LoggerFactory.getLogger(OUTBOX_LOGGER);
+
+    private static final Set<String> CHANNELS = Set.of("EMAIL", "SMS", "PUSH");
+
+    private final ReminderProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Set<String> channels() {
+        return CHANNELS;
+    }
+
+    @Override
+    public synchronized Map<String, String> send(String channel, List<ReminderMessage> batch) {
+        List<String> lines = new ArrayList<>(batch.size());
+        Map<String, String> failed = new HashMap<>();
+        for (ReminderMessage message : batch) {
+            try {
+                lines.add(objectMapper.writeValueAsString(toRecord(message)));
+            } catch (JsonProcessingException ex) {
+                failed.put(message.messageKey(), ex.getOriginalMessage());
+            }
+        }
+        String file = properties.getOutputFile();
+        if (file == null || file.isBlank()) {
+            lines.forEach(OUTBOX::info);
+            return failed;
+        }
+        try (Writer writer = Files.newBufferedWriter(Path.of(file), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        } catch (IOException ex) {
+            log.warn("Could not write {} reminder(s) to {}: {}", batch.size(), file, ex.getMessage());
+            batch.forEach(message -> failed.put(message.messageKey(), "Write failed: " + ex.getMessage()));
+        }
+        return failed;
+    }
+
+    private static Map<String, Object> toRecord(ReminderMessage message) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("messageKey", message.messageKey());
+        record.put("channel", message.channel());
+        record.put("guardianId", message.guardianId());
+        record.put("recipient", message.recipient());
+        record.put("locale", message.locale().toLanguageTag());
+        record.put("template", message.templateName());
+        record.put("subject", message.subject());
+        record.put("body", message.body());
+        record.put("invoices", message.items().stream().map(ReminderCandidate::invoiceNumber).toList());
+        return record;
+    }
+}
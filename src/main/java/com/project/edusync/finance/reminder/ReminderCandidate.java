@@ -0,0 +1,22 @@
+package com.project.edusync.finance.reminder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * An open invoice paired with the guardian who should hear about it.
+ */
+public record ReminderCandidate(
+        Long guardianId,
+        String guardianName,
+        String email,
+        String phone,
+        String primaryLanguage,
+        Long studentId,
+        String studentName,
+        Long invoiceId,
+        String invoiceNumber,
+        LocalDate dueDate,
+        BigDecimal amountDue
+) {
+}
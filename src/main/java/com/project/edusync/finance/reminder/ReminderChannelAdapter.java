@@ -0,0 +1,22 @@
+package com.project.edusync.finance.reminder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Delivers reminders over one or more channels. Adapters are picked up as beans; the engine hands each one
+ * batches of at most {@code app.finance.reminders.batch-size} messages for a channel it supports.
+ */
+public interface ReminderChannelAdapter {
+
+    /** Channel names as stored on {@link com.project.edusync.finance.model.entity.ReminderTemplate}, e.g. {@code EMAIL}. */
+    Set<String> channels();
+
+    /**
+     * Sends a batch. Must not throw for individual failures.
+     *
+     * @return error text by {@link ReminderMessage#messageKey()} for messages that were not delivered
+     */
+    Map<String, String> send(String channel, List<ReminderMessage> batch);
+}
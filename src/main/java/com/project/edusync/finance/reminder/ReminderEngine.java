@@ -0,0 +1,380 @@
+package com.project.edusync.finance.reminder;
+
+import com.project.edusync.common.exception.EdusyncException;
+import com.project.edusync.finance.config.ReminderProperties;
+import com.project.edusync.finance.dto.reminder.ReminderRunSummaryDTO;
+import com.project.edusync.finance.model.entity.ReminderLog;
+import com.project.edusync.finance.model.entity.ReminderTemplate;
+import com.project.edusync.finance.repository.ReminderScanRepository;
+import com.project.edusync.finance.repository.ReminderScanRepository.Cursor;
+import com.project.edusync.finance.repository.ReminderScanRepository.SentReminder;
+import com.project.edusync.finance.repository.ReminderTemplateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Runs fee reminders over all open invoices.
+ *
+ * <p>Invoices are read in keyset pages grouped by guardian, each page in its own short read-only transaction.
+ * For every guardian and channel, each invoice is matched to the most escalated active template whose trigger it
+ * has reached, and the guardian gets one message covering all matched invoices, worded by the most escalated of
+ * those templates. Templates are compiled once per template and locale per run. Messages are buffered per
+ * channel and handed to the {@link ReminderChannelAdapter} in batches; log rows are written per batch.</p>
+ *
+ * <p>A guardian is not sent the same template twice within the dedupe window, nor more than the configured number
+ * of reminders within the rate window; both are checked against {@code reminder_logs}.</p>
+ */
+@Slf4j
+@Component
+public class ReminderEngine {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ReminderTemplateRepository templateRepository;
+    private final ReminderScanRepository scanRepository;
+    private final ReminderProperties properties;
+    private final Map<String, ReminderChannelAdapter> adapters;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ReminderEngine(ReminderTemplateRepository templateRepository,
+                          ReminderScanRepository scanRepository,
+                          ReminderProperties properties,
+                          List<ReminderChannelAdapter> adapters,
+                          PlatformTransactionManager transactionManager) {
+        this.templateRepository = templateRepository;
+        this.scanRepository = scanRepository;
+        this.properties = properties;
+        this.adapters = new HashMap<>();
+        for (ReminderChannelAdapter adapter : adapters) {
+            for (String channel : adapter.channels()) {
+                ReminderChannelAdapter previous = this.adapters.putIfAbsent(channel, adapter);
+                if (previous != null) {
+                    throw new IllegalStateException("Reminder channel " + channel + " has two adapters: "
+                            + previous.getClass().getSimpleName() + " and " + adapter.getClass().getSimpleName());
+                }
+            }
+        }
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    public ReminderRunSummaryDTO run(LocalDate asOf) {
+        if (!running.compareAndSet(false, true)) {
+            throw new EdusyncException("A reminder run is already in progress.", HttpStatus.CONFLICT);
+        }
+        try {
+            return execute(asOf);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ReminderRunSummaryDTO execute(LocalDate asOf) {
+        long started = System.currentTimeMillis();
+        Run run = new Run(asOf, LocalDateTime.now());
+
+        List<ReminderTemplate> templates = readTransaction.execute(status -> templateRepository.findByIsActiveTrue());
+        for (ReminderTemplate template : templates == null ? List.<ReminderTemplate>of() : templates) {
+            String channel = normalize(template.getChannel());
+            if (!adapters.containsKey(channel)) {
+                log.warn("Reminder template {} ({}) skipped: no adapter for channel {}",
+                        template.getId(), template.getName(), channel);
+                continue;
+            }
+            run.templatesByChannel.computeIfAbsent(channel, c -> new ArrayList<>()).add(template);
+        }
+        if (run.templatesByChannel.isEmpty()) {
+            return run.summary(started);
+        }
+        // Most escalated first, so the first template an invoice has reached is the one that applies.
+        run.templatesByChannel.values().forEach(list ->
+                list.sort(Comparator.comparingInt(ReminderEngine::threshold).reversed()));
+        int earliest = run.templatesByChannel.values().stream().flatMap(List::stream)
+                .mapToInt(ReminderEngine::threshold).min().orElse(0);
+        LocalDate dueOnOrBefore = asOf.minusDays(earliest);
+
+        int pageSize = Math.max(1, properties.getPageSize());
+        Cursor cursor = Cursor.START;
+        List<ReminderCandidate> carried = new ArrayList<>();
+        while (true) {
+            Cursor after = cursor;
+            List<ReminderCandidate> page = readTransaction.execute(status ->
+                    scanRepository.findCandidates(dueOnOrBefore, after, pageSize));
+            if (page == null) {
+                page = List.of();
+            }
+            run.invoicesScanned += page.size();
+
+            // A guardian's rows are contiguous; the last group of a full page may continue on the next one.
+            List<List<ReminderCandidate>> complete = new ArrayList<>();
+            for (ReminderCandidate candidate : page) {
+                if (!carried.isEmpty() && !carried.get(0).guardianId().equals(candidate.guardianId())) {
+                    complete.add(carried);
+                    carried = new ArrayList<>();
+                }
+                carried.add(candidate);
+            }
+            boolean last = page.size() < pageSize;
+            if (last && !carried.isEmpty()) {
+                complete.add(carried);
+                carried = new ArrayList<>();
+            }
+            plan(run, complete);
+            if (last) {
+                break;
+            }
+            ReminderCandidate tail = page.get(page.size() - 1);
+            cursor = new Cursor(tail.guardianId(), tail.invoiceId());
+        }
+        run.buffers.keySet().forEach(channel -> flush(run, channel));
+
+        ReminderRunSummaryDTO summary = run.summary(started);
+        log.info("Reminder run for {}: {} invoice row(s), {} guardian(s), {} sent, {} failed, {} duplicate, "
+                        + "{} rate-limited, {} without contact, took {} ms",
+                asOf, summary.invoicesScanned(), summary.guardiansMatched(), summary.messagesSent(),
+                summary.messagesFailed(), summary.skippedDuplicate(), summary.skippedRateLimited(),
+                summary.skippedNoContact(), summary.durationMillis());
+        return summary;
+    }
+
+    private void plan(Run run, List<List<ReminderCandidate>> groups) {
+        if (groups.isEmpty()) {
+            return;
+        }
+        Duration lookBack = properties.getDedupeWindow().compareTo(properties.getRateWindow()) > 0
+                ? properties.getDedupeWindow() : properties.getRateWindow();
+        Set<Long> guardianIds = groups.stream().map(group -> group.get(0).guardianId()).collect(Collectors.toSet());
+        List<SentReminder> sent = readTransaction.execute(status ->
+                scanRepository.findSent(guardianIds, run.now.minus(lookBack)));
+        Map<Long, List<SentReminder>> history = sent == null ? Map.of()
+                : sent.stream().collect(Collectors.groupingBy(SentReminder::guardianId));
+
+        for (List<ReminderCandidate> group : groups) {
+            plan(run, group, history.getOrDefault(group.get(0).guardianId(), List.of()));
+        }
+    }
+
+    private void plan(Run run, List<ReminderCandidate> group, List<SentReminder> history) {
+        ReminderCandidate guardian = group.get(0);
+        LocalDateTime rateSince = run.now.minus(properties.getRateWindow());
+        LocalDateTime dedupeSince = run.now.minus(properties.getDedupeWindow());
+        long recent = history.stream().filter(sent -> !sent.sentAt().isBefore(rateSince)).count();
+        boolean matchedAny = false;
+
+        for (Map.Entry<String, List<ReminderTemplate>> entry : run.templatesByChannel.entrySet()) {
+            String channel = entry.getKey();
+            List<ReminderCandidate> matched = new ArrayList<>();
+            ReminderTemplate wording = null;
+            for (ReminderCandidate item : group) {
+                long offset = ChronoUnit.DAYS.between(item.dueDate(), run.asOf);
+                ReminderTemplate reached = entry.getValue().stream()
+                        .filter(template -> threshold(template) <= offset)
+                        .findFirst()
+                        .orElse(null);
+                if (reached != null) {
+                    matched.add(item);
+                    if (wording == null || threshold(reached) > threshold(wording)) {
+                        wording = reached;
+                    }
+                }
+            }
+            if (wording == null) {
+                continue;
+            }
+            matchedAny = true;
+
+            Long templateId = wording.getId();
+            if (history.stream().anyMatch(sent -> templateId.equals(sent.templateId())
+                    && !sent.sentAt().isBefore(dedupeSince))) {
+                run.skippedDuplicate++;
+                continue;
+            }
+            if (recent >= properties.getMaxPerGuardian()) {
+                run.skippedRateLimited++;
+                continue;
+            }
+            String recipient = recipient(channel, guardian);
+            if (recipient == null) {
+                run.skippedNoContact++;
+                continue;
+            }
+
+            Locale locale = run.locale(guardian.primaryLanguage());
+            ReminderTemplate template = wording;
+            CompiledReminderTemplate compiled = run.compiled.computeIfAbsent(new TemplateKey(templateId, locale),
+                    key -> CompiledReminderTemplate.compile(template, locale));
+            CompiledReminderTemplate.Rendered rendered = compiled.render(guardian.guardianName(), matched, run.asOf);
+            recent++;
+
+            List<ReminderMessage> buffer = run.buffers.computeIfAbsent(channel, c -> new ArrayList<>());
+            buffer.add(new ReminderMessage(UUID.randomUUID().toString(), channel, guardian.guardianId(), recipient,
+                    locale, templateId, template.getName(), rendered.subject(), rendered.body(), List.copyOf(matched)));
+            if (buffer.size() >= Math.max(1, properties.getBatchSize())) {
+                flush(run, channel);
+            }
+        }
+        if (matchedAny) {
+            run.guardiansMatched++;
+        }
+    }
+
+    private void flush(Run run, String channel) {
+        List<ReminderMessage> buffer = run.buffers.get(channel);
+        if (buffer == null || buffer.isEmpty()) {
+            return;
+        }
+        List<ReminderMessage> batch = List.copyOf(buffer);
+        buffer.clear();
+
+        Map<String, String> failed;
+        try {
+            failed = adapters.get(channel).send(channel, batch);
+        } catch (RuntimeException ex) {
+            log.warn("Reminder adapter for {} failed on a batch of {}: {}", channel, batch.size(), ex.getMessage());
+            failed = batch.stream().collect(Collectors.toMap(ReminderMessage::messageKey,
+                    message -> String.valueOf(ex.getMessage())));
+        }
+
+        LocalDateTime sentAt = LocalDateTime.now();
+        List<ReminderLog> logs = new ArrayList<>();
+        for (ReminderMessage message : batch) {
+            String error = failed.get(message.messageKey());
+            if (error == null) {
+                run.sent++;
+                run.sentByChannel.merge(channel, 1L, Long::sum);
+            } else {
+                run.failed++;
+            }
+            for (ReminderCandidate item : message.items()) {
+                logs.add(ReminderLog.builder()
+                        .studentId(item.studentId())
+                        .studentName(item.studentName())
+                        .templateName(message.templateName())
+                        .channel(channel)
+                        .invoiceNumber(item.invoiceNumber())
+                        .amountDue(item.amountDue())
+                        .status(error == null ? "SENT" : "FAILED")
+                        .sentAt(sentAt)
+                        .guardianId(message.guardianId())
+                        .templateId(message.templateId())
+                        .messageKey(message.messageKey())
+                        .recipient(message.recipient())
+                        .errorMessage(truncate(error))
+                        .build());
+            }
+        }
+        writeTransaction.executeWithoutResult(status -> scanRepository.insertLogs(logs));
+    }
+
+    /**
+     * Days relative to the due date at which a template starts to apply: negative before the due date.
+     * Unknown trigger types are treated as {@code AFTER_DUE}.
+     */
+    static int threshold(ReminderTemplate template) {
+        int days = template.getTriggerDays() == null ? 0 : Math.abs(template.getTriggerDays());
+        return switch (normalize(template.getTriggerType())) {
+            case "BEFORE_DUE" -> -days;
+            case "ON_DUE" -> 0;
+            default -> days;
+        };
+    }
+
+    private static String recipient(String channel, ReminderCandidate guardian) {
+        String recipient = switch (channel) {
+            case "EMAIL" -> guardian.email();
+            case "SMS" -> guardian.phone();
+            default -> String.valueOf(guardian.guardianId());
+        };
+        return recipient == null || recipient.isBlank() ? null : recipient.trim();
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    private record TemplateKey(Long templateId, Locale locale) {
+    }
+
+    /** State of one run; used by the calling thread only. */
+    private final class Run {
+
+        private final LocalDate asOf;
+        private final LocalDateTime now;
+        private final Map<String, List<ReminderTemplate>> templatesByChannel = new TreeMap<>();
+        private final Map<TemplateKey, CompiledReminderTemplate> compiled = new HashMap<>();
+        private final Map<String, Locale> locales = new HashMap<>();
+        private final Map<String, List<ReminderMessage>> buffers = new LinkedHashMap<>();
+        private final Map<String, Long> sentByChannel = new TreeMap<>();
+        private long invoicesScanned;
+        private long guardiansMatched;
+        private long sent;
+        private long failed;
+        private long skippedDuplicate;
+        private long skippedRateLimited;
+        private long skippedNoContact;
+
+        private Run(LocalDate asOf, LocalDateTime now) {
+            this.asOf = asOf;
+            this.now = now;
+        }
+
+        /** Accepts language tags ({@code hi}, {@code en-IN}) or English language names ({@code Hindi}). */
+        private Locale locale(String primaryLanguage) {
+            String key = primaryLanguage == null ? "" : primaryLanguage.trim();
+            return locales.computeIfAbsent(key, value -> {
+                Locale fallback = Locale.forLanguageTag(properties.getDefaultLocale());
+                if (value.isEmpty()) {
+                    return fallback;
+                }
+                Set<String> languages = Set.of(Locale.getISOLanguages());
+                Locale tagged = Locale.forLanguageTag(value.replace('_', '-'));
+                String language = languages.contains(tagged.getLanguage()) ? tagged.getLanguage() : null;
+                if (language == null) {
+                    language = languages.stream()
+                            .filter(iso -> Locale.of(iso).getDisplayLanguage(Locale.ENGLISH).equalsIgnoreCase(value))
+                            .findFirst()
+                            .orElse(null);
+                }
+                if (language == null) {
+                    return fallback;
+                }
+                String country = language.equals(tagged.getLanguage()) && !tagged.getCountry().isEmpty()
+                        ? tagged.getCountry() : fallback.getCountry();
+                return Locale.of(language, country);
+            });
+        }
+
+        private ReminderRunSummaryDTO summary(long started) {
+            return new ReminderRunSummaryDTO(asOf, invoicesScanned, guardiansMatched, sent, failed, skippedDuplicate,
+                    skippedRateLimited, skippedNoContact, Map.copyOf(sentByChannel),
+                    System.currentTimeMillis() - started);
+        }
+    }
+}
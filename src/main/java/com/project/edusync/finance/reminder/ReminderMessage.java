@@ -0,0 +1,24 @@
+package com.project.edusync.finance.reminder;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * One rendered reminder for one guardian on one channel, covering all of that guardian's matched invoices.
+ *
+ * @param messageKey unique per message; the reminder log rows of its invoices share it
+ * @param recipient  e-mail address for {@code EMAIL}, phone number for {@code SMS}, guardian id otherwise
+ */
+public record ReminderMessage(
+        String messageKey,
+        String channel,
+        Long guardianId,
+        String recipient,
+        Locale locale,
+        Long templateId,
+        String templateName,
+        String subject,
+        String body,
+        List<ReminderCandidate> items
+) {
+}
@@ -20,16 +20,24 @@ public interface BudgetLineItemRepository extends JpaRepository<BudgetLineItem,
     List<BudgetLineItem> findByLinkedAccountId(Long accountId);
 
     /**
-     * Updates the actualAmount for all line items linked to a given COA account
-     * by refreshing it from the current account balance.
-     * Called after every GL posting to that account.
+     * Adds a posting's net amount to the actuals of every line linked to the account in the school's open budgets
+     * for that academic year. The increment happens in the database, so concurrent postings never lose an update;
+     * each line stays locked until the posting commits.
      */
     @Modifying
     @Query("""
         UPDATE BudgetLineItem bli
-        SET bli.actualAmount = :newActual,
-            bli.variance = bli.allocatedAmount - :newActual
+        SET bli.actualAmount = bli.actualAmount + :delta,
+            bli.variance = bli.variance - :delta
         WHERE bli.linkedAccount.id = :accountId
+          AND bli.budget.id IN (
+              SELECT b.id FROM Budget b
+              WHERE b.schoolId = :schoolId
+                AND b.academicYear = :academicYear
+                AND b.status NOT IN ('REJECTED', 'CLOSED'))
     """)
-    int updateActualAmountForAccount(@Param("accountId") Long accountId, @Param("newActual") BigDecimal newActual);
+    int addToActualAmount(@Param("accountId") Long accountId,
+                          @Param("schoolId") Long schoolId,
+                          @Param("academicYear") String academicYear,
+                          @Param("delta") BigDecimal delta);
 }
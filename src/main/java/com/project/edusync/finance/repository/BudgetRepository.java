@@ -2,7 +2,10 @@ package com.project.edusync.finance.repository;
 
 import com.project.edusync.finance.model.entity.Budget;
 import com.project.edusync.finance.model.enums.BudgetStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -41,4 +44,26 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
     /** Summary query: count of budgets per status for the dashboard overview. */
     @Query("SELECT b.status, COUNT(b) FROM Budget b WHERE b.schoolId = :schoolId GROUP BY b.status")
     List<Object[]> countByStatus(@Param("schoolId") Long schoolId);
+
+    /** Locks the budget so concurrent purchase orders are checked against it one at a time. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Budget b WHERE b.id = :id")
+    Optional<Budget> findByIdWithLock(@Param("id") Long id);
+
+    /**
+     * Re-totals {@code totalSpent} from the line actuals of the school's open budgets for the academic year that
+     * have a line linked to the account. Run after {@code BudgetLineItemRepository.addToActualAmount}.
+     */
+    @Modifying
+    @Query("""
+        UPDATE Budget b
+        SET b.totalSpent = (SELECT COALESCE(SUM(l.actualAmount), 0) FROM BudgetLineItem l WHERE l.budget.id = b.id)
+        WHERE b.schoolId = :schoolId
+          AND b.academicYear = :academicYear
+          AND b.status NOT IN ('REJECTED', 'CLOSED')
+          AND b.id IN (SELECT bli.budget.id FROM BudgetLineItem bli WHERE bli.linkedAccount.id = :accountId)
+    """)
+    int refreshTotalSpent(@Param("accountId") Long accountId,
+                          @Param("schoolId") Long schoolId,
+                          @Param("academicYear") String academicYear);
 }
@@ -0,0 +1,143 @@
+package com.project.edusync.finance.repository;
+
+import com.project.edusync.finance.model.enums.DepreciationMethod;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Plain JDBC reads and writes for depreciation runs.
+ *
+ * <p>Eligible assets are read in one query that already excludes assets depreciated for the year; for a posting
+ * run the rows are locked, so two runs for the same year cannot both charge an asset. Entries and book values are
+ * then written in JDBC batches rather than one entity save per asset.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class DepreciationBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    /** The columns a depreciation charge is computed from. */
+    public record DepreciableAsset(Long id,
+                                   String assetCode,
+                                   String name,
+                                   String assetCategory,
+                                   DepreciationMethod method,
+                                   BigDecimal purchaseCost,
+                                   BigDecimal salvageValue,
+                                   Integer usefulLifeYears,
+                                   BigDecimal depreciationRatePct,
+                                   BigDecimal currentBookValue) {
+    }
+
+    /** A computed charge to write for one asset. */
+    public record Charge(Long assetId, BigDecimal openingBookValue, BigDecimal amount, BigDecimal closingBookValue) {
+    }
+
+    private static final String ELIGIBLE_SQL = """
+            SELECT fa.id, fa.asset_code, fa.name, fa.asset_category, fa.depreciation_method, fa.purchase_cost,
+                   fa.salvage_value, fa.useful_life_years, fa.depreciation_rate_pct, fa.current_book_value
+            FROM fa_fixed_assets fa
+            WHERE fa.school_id = ?
+              AND fa.status = 'ACTIVE'
+              AND fa.current_book_value > fa.salvage_value
+              AND NOT EXISTS (SELECT 1 FROM fa_depreciation_entries d
+                              WHERE d.asset_id = fa.id AND d.financial_year = ?)
+            """;
+
+    private static final String INSERT_ENTRY_SQL = """
+            INSERT INTO fa_depreciation_entries (uuid, asset_id, financial_year, depreciation_date, opening_book_value,
+                                                 depreciation_amount, closing_book_value, gl_entry_id, school_id,
+                                                 created_at, updated_at, created_by, updated_by)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String UPDATE_ASSET_SQL = """
+            UPDATE fa_fixed_assets
+            SET accumulated_depreciation = accumulated_depreciation + ?,
+                current_book_value = ?,
+                last_depreciation_date = ?,
+                updated_at = ?,
+                updated_by = ?
+            WHERE id = ?
+            """;
+
+    private static final RowMapper<DepreciableAsset> ASSET_MAPPER = (rs, rowNum) -> new DepreciableAsset(
+            rs.getLong("id"),
+            rs.getString("asset_code"),
+            rs.getString("name"),
+            rs.getString("asset_category"),
+            rs.getString("depreciation_method") == null ? null
+                    : DepreciationMethod.valueOf(rs.getString("depreciation_method")),
+            rs.getBigDecimal("purchase_cost"),
+            rs.getBigDecimal("salvage_value"),
+            rs.getInt("useful_life_years"),
+            rs.getBigDecimal("depreciation_rate_pct"),
+            rs.getBigDecimal("current_book_value"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Active assets not yet depreciated for the year, optionally just one.
+     *
+     * @param lock take row locks ({@code FOR UPDATE}); the caller owns the transaction
+     */
+    public List<DepreciableAsset> findEligible(Long schoolId, String financialYear, Long assetId, boolean lock) {
+        StringBuilder sql = new StringBuilder(ELIGIBLE_SQL);
+        List<Object> args = new ArrayList<>(List.of(schoolId, financialYear));
+        if (assetId != null) {
+            sql.append("  AND fa.id = ?\n");
+            args.add(assetId);
+        }
+        sql.append("ORDER BY fa.id");
+        if (lock) {
+            sql.append(" FOR UPDATE");
+        }
+        return jdbcTemplate.query(sql.toString(), ASSET_MAPPER, args.toArray());
+    }
+
+    public void insertEntries(String financialYear, LocalDate depreciationDate, Long schoolId, Long glEntryId,
+                              String actor, List<Charge> charges) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Date date = Date.valueOf(depreciationDate);
+        jdbcTemplate.batchUpdate(INSERT_ENTRY_SQL, charges, BATCH_SIZE, (ps, charge) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setLong(2, charge.assetId());
+            ps.setString(3, financialYear);
+            ps.setDate(4, date);
+            ps.setBigDecimal(5, charge.openingBookValue());
+            ps.setBigDecimal(6, charge.amount());
+            ps.setBigDecimal(7, charge.closingBookValue());
+            ps.setLong(8, glEntryId);
+            ps.setLong(9, schoolId);
+            ps.setTimestamp(10, now);
+            ps.setTimestamp(11, now);
+            ps.setString(12, actor);
+            ps.setString(13, actor);
+        });
+    }
+
+    public void updateBookValues(LocalDate depreciationDate, String actor, List<Charge> charges) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Date date = Date.valueOf(depreciationDate);
+        jdbcTemplate.batchUpdate(UPDATE_ASSET_SQL, charges, BATCH_SIZE, (ps, charge) -> {
+            ps.setBigDecimal(1, charge.amount());
+            ps.setBigDecimal(2, charge.closingBookValue());
+            ps.setDate(3, date);
+            ps.setTimestamp(4, now);
+            ps.setString(5, actor);
+            ps.setLong(6, charge.assetId());
+        });
+    }
+}
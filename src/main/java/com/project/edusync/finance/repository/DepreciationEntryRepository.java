@@ -8,12 +8,14 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface DepreciationEntryRepository extends JpaRepository<DepreciationEntry, Long> {
     List<DepreciationEntry> findByAssetIdOrderByDepreciationDateDesc(Long assetId);
     List<DepreciationEntry> findBySchoolIdAndFinancialYearOrderByDepreciationDateDesc(Long schoolId, String financialYear);
     boolean existsByAssetIdAndFinancialYear(Long assetId, String financialYear);
+    Optional<DepreciationEntry> findByAssetIdAndFinancialYear(Long assetId, String financialYear);
 
     @Query("SELECT COALESCE(SUM(d.depreciationAmount), 0) FROM DepreciationEntry d WHERE d.schoolId = :schoolId AND d.financialYear = :fy")
     BigDecimal sumDepreciationForYear(@Param("schoolId") Long schoolId, @Param("fy") String fy);
@@ -0,0 +1,9 @@
+package com.project.edusync.finance.repository;
+
+import com.project.edusync.finance.model.entity.DepreciationRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DepreciationRunRepository extends JpaRepository<DepreciationRun, Long> {
+}
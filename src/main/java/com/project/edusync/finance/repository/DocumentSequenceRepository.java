@@ -0,0 +1,36 @@
+package com.project.edusync.finance.repository;
+
+import com.project.edusync.finance.model.enums.DocumentSeries;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Plain JDBC access to {@code document_sequences}. A reservation is a single upsert, so the row lock it takes
+ * lasts only as long as the surrounding transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DocumentSequenceRepository {
+
+    private static final String RESERVE_SQL = """
+            INSERT INTO document_sequences (school_id, series, financial_year, next_value, updated_at)
+            VALUES (?, ?, ?, 1 + ?, now())
+            ON CONFLICT (school_id, series, financial_year)
+            DO UPDATE SET next_value = document_sequences.next_value + EXCLUDED.next_value - 1,
+                          updated_at = now()
+            RETURNING next_value
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reserves {@code count} consecutive numbers, creating the sequence at 1 if needed.
+     *
+     * @return the first reserved number
+     */
+    public long reserve(Long schoolId, DocumentSeries series, int financialYear, int count) {
+        Long next = jdbcTemplate.queryForObject(RESERVE_SQL, Long.class, schoolId, series.name(), financialYear, count);
+        return next - count;
+    }
+}
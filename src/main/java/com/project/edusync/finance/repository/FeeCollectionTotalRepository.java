@@ -0,0 +1,17 @@
+package com.project.edusync.finance.repository;
+
+import com.project.edusync.finance.model.entity.FeeCollectionTotal;
+import com.project.edusync.finance.model.enums.FeeTotalScope;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FeeCollectionTotalRepository extends JpaRepository<FeeCollectionTotal, Long> {
+
+    Optional<FeeCollectionTotal> findByScopeAndScopeId(FeeTotalScope scope, Long scopeId);
+
+    List<FeeCollectionTotal> findByScopeOrderByScopeId(FeeTotalScope scope);
+}
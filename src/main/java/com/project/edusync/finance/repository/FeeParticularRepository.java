@@ -4,8 +4,11 @@ package com.project.edusync.finance.repository;
 import com.project.edusync.finance.model.entity.FeeParticular;
 import com.project.edusync.finance.model.entity.FeeStructure;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -29,4 +32,13 @@ public interface FeeParticularRepository extends JpaRepository<FeeParticular, Lo
      * @return A list of fee particulars.
      */
     List<FeeParticular> findByFeeStructure_Id(Long structureId);
+
+    /**
+     * Finds all fee particulars for several structures at once.
+     *
+     * @param structureIds The IDs of the parent FeeStructures.
+     * @return A list of fee particulars, in id order.
+     */
+    @Query("SELECT p FROM FeeParticular p WHERE p.feeStructure.id IN :structureIds ORDER BY p.particularId")
+    List<FeeParticular> findByFeeStructureIds(@Param("structureIds") Collection<Long> structureIds);
 }
\ No newline at end of file
@@ -0,0 +1,207 @@
+package com.project.edusync.finance.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+/**
+ * Set-based writes for {@code fee_student_balances} and {@code fee_collection_totals}.
+ *
+ * <p>A refresh first makes sure each student has a row and locks it, then recomputes the rows in a second
+ * statement. Under read committed that statement's snapshot is taken after the locks are granted, so it sees every
+ * change committed by an earlier refresh of the same student, and the difference it adds to the totals is exact.
+ * All methods run in the caller's transaction.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class FeeProjectionRepository {
+
+    /** A student's position from source; {@code %s} restricts the students. */
+    private static final String FRESH = """
+            SELECT s.id AS student_id,
+                   s.section_id,
+                   sec.class_id,
+                   COALESCE(inv.invoiced, 0)    AS invoiced_amount,
+                   COALESCE(pay.collected, 0)   AS collected_amount,
+                   COALESCE(ref.refunded, 0)    AS refunded_amount,
+                   COALESCE(inv.outstanding, 0) AS outstanding_amount,
+                   COALESCE(inv.overdue, 0)     AS overdue_amount,
+                   COALESCE(inv.pending, 0)     AS pending_invoices,
+                   inv.next_due_date
+            FROM students s
+            LEFT JOIN sections sec ON sec.id = s.section_id
+            LEFT JOIN LATERAL (
+                SELECT SUM(i.total_amount) FILTER (WHERE i.status IN ('PENDING', 'OVERDUE', 'PAID')) AS invoiced,
+                       SUM(i.total_amount - i.paid_amount) FILTER (WHERE i.status IN ('PENDING', 'OVERDUE')) AS outstanding,
+                       SUM(i.total_amount - i.paid_amount) FILTER (WHERE i.status = 'OVERDUE') AS overdue,
+                       COUNT(*) FILTER (WHERE i.status = 'PENDING') AS pending,
+                       MIN(i.due_date) FILTER (WHERE i.status IN ('PENDING', 'OVERDUE')) AS next_due_date
+                FROM invoices i
+                WHERE i.student_id = s.id
+            ) inv ON true
+            LEFT JOIN LATERAL (
+                SELECT SUM(p.amount_paid) AS collected
+                FROM payments p
+                WHERE p.student_id = s.id AND p.status = 'SUCCESS'
+            ) pay ON true
+            LEFT JOIN LATERAL (
+                SELECT SUM(r.refund_amount) AS refunded
+                FROM refund_records r
+                WHERE r.student_id = s.id AND r.status = 'PROCESSED'
+            ) ref ON true
+            %s
+            """;
+
+    /** Restricts {@link #FRESH} to the {@code studentIds} array. */
+    private static final String SELECTED_STUDENTS = "WHERE s.id = ANY(CAST(:studentIds AS bigint[]))\n";
+
+    private static final String ENSURE_ROWS_SQL = """
+            INSERT INTO fee_student_balances (student_id, section_id, class_id, invoiced_amount, collected_amount,
+                                              refunded_amount, outstanding_amount, overdue_amount, pending_invoices,
+                                              updated_at)
+            SELECT s.id, s.section_id, sec.class_id, 0, 0, 0, 0, 0, 0, now()
+            FROM students s
+            LEFT JOIN sections sec ON sec.id = s.section_id
+            WHERE s.id = ANY(CAST(:studentIds AS bigint[]))
+            ON CONFLICT (student_id) DO NOTHING
+            """;
+
+    private static final String LOCK_ROWS_SQL = """
+            SELECT student_id FROM fee_student_balances
+            WHERE student_id = ANY(CAST(:studentIds AS bigint[]))
+            ORDER BY student_id
+            FOR UPDATE
+            """;
+
+    /**
+     * Writes the fresh rows and adds fresh minus previous to the school, class and section totals. A student who
+     * moved section is taken off the old section's totals and added to the new one's.
+     */
+    private static final String REFRESH_SQL = """
+            WITH fresh AS (
+            %s),
+            previous AS (
+                SELECT b.* FROM fee_student_balances b
+                WHERE b.student_id IN (SELECT student_id FROM fresh)
+            ),
+            saved AS (
+                UPDATE fee_student_balances b
+                SET section_id         = f.section_id,
+                    class_id           = f.class_id,
+                    invoiced_amount    = f.invoiced_amount,
+                    collected_amount   = f.collected_amount,
+                    refunded_amount    = f.refunded_amount,
+                    outstanding_amount = f.outstanding_amount,
+                    overdue_amount     = f.overdue_amount,
+                    pending_invoices   = f.pending_invoices,
+                    next_due_date      = f.next_due_date,
+                    updated_at         = now()
+                FROM fresh f
+                WHERE b.student_id = f.student_id
+            ),
+            delta AS (
+                SELECT section_id, class_id, invoiced_amount, collected_amount, refunded_amount,
+                       outstanding_amount, overdue_amount, pending_invoices
+                FROM fresh
+                UNION ALL
+                SELECT section_id, class_id, -invoiced_amount, -collected_amount, -refunded_amount,
+                       -outstanding_amount, -overdue_amount, -pending_invoices
+                FROM previous
+            )
+            INSERT INTO fee_collection_totals (scope, scope_id, invoiced_amount, collected_amount, refunded_amount,
+                                               outstanding_amount, overdue_amount, pending_invoices, updated_at)
+            SELECT k.scope, k.scope_id, SUM(d.invoiced_amount), SUM(d.collected_amount), SUM(d.refunded_amount),
+                   SUM(d.outstanding_amount), SUM(d.overdue_amount), SUM(d.pending_invoices), now()
+            FROM delta d
+            CROSS JOIN LATERAL (VALUES ('SCHOOL', CAST(:schoolId AS bigint)),
+                                       ('CLASS', d.class_id),
+                                       ('SECTION', d.section_id)) AS k(scope, scope_id)
+            WHERE k.scope_id IS NOT NULL
+            GROUP BY k.scope, k.scope_id
+            ORDER BY k.scope, k.scope_id
+            ON CONFLICT (scope, scope_id) DO UPDATE
+            SET invoiced_amount    = fee_collection_totals.invoiced_amount + EXCLUDED.invoiced_amount,
+                collected_amount   = fee_collection_totals.collected_amount + EXCLUDED.collected_amount,
+                refunded_amount    = fee_collection_totals.refunded_amount + EXCLUDED.refunded_amount,
+                outstanding_amount = fee_collection_totals.outstanding_amount + EXCLUDED.outstanding_amount,
+                overdue_amount     = fee_collection_totals.overdue_amount + EXCLUDED.overdue_amount,
+                pending_invoices   = fee_collection_totals.pending_invoices + EXCLUDED.pending_invoices,
+                updated_at         = EXCLUDED.updated_at
+            """;
+
+    /** Blocks student refreshes, and waits for those in flight, so the rebuild reads a settled state. */
+    private static final String LOCK_TABLE_SQL = "LOCK TABLE fee_student_balances IN SHARE ROW EXCLUSIVE MODE";
+
+    private static final String REBUILD_BALANCES_SQL = """
+            INSERT INTO fee_student_balances (student_id, section_id, class_id, invoiced_amount, collected_amount,
+                                              refunded_amount, outstanding_amount, overdue_amount, pending_invoices,
+                                              next_due_date, updated_at)
+            SELECT f.*, now() FROM (
+            %s) f
+            ON CONFLICT (student_id) DO UPDATE
+            SET section_id         = EXCLUDED.section_id,
+                class_id           = EXCLUDED.class_id,
+                invoiced_amount    = EXCLUDED.invoiced_amount,
+                collected_amount   = EXCLUDED.collected_amount,
+                refunded_amount    = EXCLUDED.refunded_amount,
+                outstanding_amount = EXCLUDED.outstanding_amount,
+                overdue_amount     = EXCLUDED.overdue_amount,
+                pending_invoices   = EXCLUDED.pending_invoices,
+                next_due_date      = EXCLUDED.next_due_date,
+                updated_at         = EXCLUDED.updated_at
+            """;
+
+    private static final String DROP_ORPHANS_SQL = """
+            DELETE FROM fee_student_balances b
+            WHERE NOT EXISTS (SELECT 1 FROM students s WHERE s.id = b.student_id)
+            """;
+
+    private static final String CLEAR_TOTALS_SQL = "DELETE FROM fee_collection_totals";
+
+    private static final String REBUILD_TOTALS_SQL = """
+            INSERT INTO fee_collection_totals (scope, scope_id, invoiced_amount, collected_amount, refunded_amount,
+                                               outstanding_amount, overdue_amount, pending_invoices, updated_at)
+            SELECT CASE WHEN GROUPING(b.section_id) = 0 THEN 'SECTION'
+                        WHEN GROUPING(b.class_id) = 0 THEN 'CLASS'
+                        ELSE 'SCHOOL' END,
+                   CASE WHEN GROUPING(b.section_id) = 0 THEN b.section_id
+                        WHEN GROUPING(b.class_id) = 0 THEN b.class_id
+                        ELSE CAST(:schoolId AS bigint) END,
+                   COALESCE(SUM(b.invoiced_amount), 0), COALESCE(SUM(b.collected_amount), 0),
+                   COALESCE(SUM(b.refunded_amount), 0), COALESCE(SUM(b.outstanding_amount), 0),
+                   COALESCE(SUM(b.overdue_amount), 0), COALESCE(SUM(b.pending_invoices), 0), now()
+            FROM fee_student_balances b
+            GROUP BY GROUPING SETS ((), (b.class_id), (b.section_id))
+            HAVING GROUPING(b.section_id) = 1 AND GROUPING(b.class_id) = 1
+                OR GROUPING(b.class_id) = 0 AND b.class_id IS NOT NULL
+                OR GROUPING(b.section_id) = 0 AND b.section_id IS NOT NULL
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /** Recomputes the students' rows and moves the totals by the difference. */
+    public int refresh(Collection<Long> studentIds, Long schoolId) {
+        // One array parameter rather than an expanded IN list, which a sweep over every charged student
+        // would push past PostgreSQL's 32767 bind-parameter limit.
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("studentIds", studentIds.toArray(Long[]::new))
+                .addValue("schoolId", schoolId);
+        jdbcTemplate.update(ENSURE_ROWS_SQL, params);
+        jdbcTemplate.queryForList(LOCK_ROWS_SQL, params, Long.class);
+        return jdbcTemplate.update(REFRESH_SQL.formatted(FRESH.formatted(SELECTED_STUDENTS)), params);
+    }
+
+    /** Recomputes every student's row and the totals from scratch. */
+    public int rebuild(Long schoolId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("schoolId", schoolId);
+        jdbcTemplate.getJdbcTemplate().execute(LOCK_TABLE_SQL);
+        int students = jdbcTemplate.update(REBUILD_BALANCES_SQL.formatted(FRESH.formatted("")), params);
+        jdbcTemplate.update(DROP_ORPHANS_SQL, params);
+        jdbcTemplate.update(CLEAR_TOTALS_SQL, params);
+        jdbcTemplate.update(REBUILD_TOTALS_SQL, params);
+        return students;
+    }
+}
@@ -0,0 +1,9 @@
+package com.project.edusync.finance.repository;
+
+import com.project.edusync.finance.model.entity.FeeStudentBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FeeStudentBalanceRepository extends JpaRepository<FeeStudentBalance, Long> {
+}
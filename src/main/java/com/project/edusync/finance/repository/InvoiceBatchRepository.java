@@ -0,0 +1,82 @@
+package com.project.edusync.finance.repository;
+
+import com.project.edusync.finance.model.entity.Invoice;
+import com.project.edusync.finance.model.entity.InvoiceLineItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain JDBC batch insert for invoices built in memory by bulk generation. Invoice ids are drawn from the
+ * table's sequence up front so line items can reference them in the same batch, instead of the per-row
+ * insert-and-fetch-id that {@link InvoiceRepository#save} does under {@code IDENTITY}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InvoiceBatchRepository {
+
+    private static final String NEXT_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('invoices', 'id')) FROM generate_series(1, ?)";
+
+    private static final String INSERT_INVOICE_SQL = """
+            INSERT INTO invoices (id, uuid, created_at, updated_at, created_by, updated_by, student_id,
+                                  invoice_number, issue_date, due_date, total_amount, late_fee_amount,
+                                  paid_amount, status)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_LINE_ITEM_SQL =
+            "INSERT INTO invoice_line_items (invoice_id, description, amount) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Assigns ids to and inserts all invoices with their line items; the caller owns the transaction.
+     * Each invoice must have its student, number, dates, amounts, status and uuid set.
+     */
+    public void insertAll(List<Invoice> invoices, String actor) {
+        if (invoices.isEmpty()) {
+            return;
+        }
+        List<Long> ids = jdbcTemplate.queryForList(NEXT_IDS_SQL, Long.class, invoices.size());
+        LocalDateTime now = LocalDateTime.now();
+        List<InvoiceLineItem> lineItems = new ArrayList<>();
+        for (int i = 0; i < invoices.size(); i++) {
+            Invoice invoice = invoices.get(i);
+            invoice.setId(ids.get(i));
+            invoice.setCreatedAt(now);
+            invoice.setUpdatedAt(now);
+            invoice.setCreatedBy(actor);
+            invoice.setUpdatedBy(actor);
+            lineItems.addAll(invoice.getLineItems());
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_INVOICE_SQL, invoices, invoices.size(), (ps, invoice) -> {
+            ps.setLong(1, invoice.getId());
+            ps.setObject(2, invoice.getUuid());
+            ps.setTimestamp(3, Timestamp.valueOf(invoice.getCreatedAt()));
+            ps.setTimestamp(4, Timestamp.valueOf(invoice.getUpdatedAt()));
+            ps.setString(5, invoice.getCreatedBy());
+            ps.setString(6, invoice.getUpdatedBy());
+            ps.setLong(7, invoice.getStudent().getId());
+            ps.setString(8, invoice.getInvoiceNumber());
+            ps.setDate(9, Date.valueOf(invoice.getIssueDate()));
+            ps.setDate(10, Date.valueOf(invoice.getDueDate()));
+            ps.setBigDecimal(11, invoice.getTotalAmount());
+            ps.setBigDecimal(12, invoice.getLateFeeAmount());
+            ps.setBigDecimal(13, invoice.getPaidAmount());
+            ps.setString(14, invoice.getStatus().name());
+        });
+        jdbcTemplate.batchUpdate(INSERT_LINE_ITEM_SQL, lineItems, lineItems.size(), (ps, item) -> {
+            ps.setLong(1, item.getInvoice().getId());
+            ps.setString(2, item.getDescription());
+            ps.setBigDecimal(3, item.getAmount());
+        });
+    }
+}
@@ -5,6 +5,7 @@ import com.project.edusync.finance.model.entity.Invoice;
 import com.project.edusync.finance.model.enums.InvoiceStatus;
 import com.project.edusync.uis.model.entity.Student;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
@@ -62,6 +63,14 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
      */
     List<Invoice> findByStudent(Student student);
 
+    /**
+     * Of the given students, those that already have an invoice whose status is NOT in {@code statuses}.
+     * Bulk counterpart of {@link #existsByStudentAndStatusNotIn}.
+     */
+    @Query("SELECT DISTINCT i.student.id FROM Invoice i WHERE i.student.id IN :studentIds AND i.status NOT IN :statuses")
+    List<Long> findStudentIdsWithStatusNotIn(@Param("studentIds") Collection<Long> studentIds,
+                                             @Param("statuses") Collection<InvoiceStatus> statuses);
+
     /**
      * Finds all invoices that have a specific status.
      *
@@ -180,4 +189,64 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
             @Param("startDate") java.time.LocalDate startDate,
             @Param("endDate") java.time.LocalDate endDate
     );
+
+    /**
+     * IDs of invoices that can be printed as receipts (paid, or pending with a part payment), in keyset pages.
+     * The invoices themselves are loaded by {@link #findForReceipts(Collection)}, because their line items cannot
+     * be fetch-joined into a paged query.
+     */
+    @Query("""
+            SELECT i.id FROM Invoice i
+            JOIN i.student s
+            JOIN s.section sec
+            WHERE (i.status = 'PAID'
+                   OR (i.status = 'PENDING' AND i.paidAmount > 0))
+              AND i.id > :afterId
+              AND (:classId IS NULL OR sec.academicClass.id = :classId)
+              AND (:sectionId IS NULL OR sec.id = :sectionId)
+              AND (:studentId IS NULL OR s.id = :studentId)
+              AND i.issueDate >= :from
+              AND i.issueDate <= :to
+            ORDER BY i.id
+            """)
+    List<Long> findReceiptIds(@Param("classId") Long classId,
+                              @Param("sectionId") Long sectionId,
+                              @Param("studentId") Long studentId,
+                              @Param("from") LocalDate from,
+                              @Param("to") LocalDate to,
+                              @Param("afterId") Long afterId,
+                              Pageable pageable);
+
+    @Query("""
+            SELECT COUNT(i) FROM Invoice i
+            JOIN i.student s
+            JOIN s.section sec
+            WHERE (i.status = 'PAID'
+                   OR (i.status = 'PENDING' AND i.paidAmount > 0))
+              AND (:classId IS NULL OR sec.academicClass.id = :classId)
+              AND (:sectionId IS NULL OR sec.id = :sectionId)
+              AND (:studentId IS NULL OR s.id = :studentId)
+              AND i.issueDate >= :from
+              AND i.issueDate <= :to
+            """)
+    long countReceipts(@Param("classId") Long classId,
+                       @Param("sectionId") Long sectionId,
+                       @Param("studentId") Long studentId,
+                       @Param("from") LocalDate from,
+                       @Param("to") LocalDate to);
+
+    /**
+     * Invoices with their line items and everything printed about the student, in one query.
+     */
+    @Query("""
+            SELECT DISTINCT i FROM Invoice i
+            LEFT JOIN FETCH i.lineItems
+            JOIN FETCH i.student s
+            JOIN FETCH s.userProfile
+            JOIN FETCH s.section sec
+            JOIN FETCH sec.academicClass
+            WHERE i.id IN :ids
+            ORDER BY i.id
+            """)
+    List<Invoice> findForReceipts(@Param("ids") Collection<Long> ids);
 }
@@ -55,4 +55,19 @@ public interface JournalLineRepository extends JpaRepository<JournalLine, Long>
         WHERE jl.account.id = :accountId AND je.status = 'POSTED'
     """)
     BigDecimal sumCreditsByAccount(@Param("accountId") Long accountId);
+
+    /**
+     * Net debits (debits minus credits) posted to an account between two dates. Reversed entries are counted
+     * together with their reversals, so a reversal nets to zero.
+     */
+    @Query("""
+        SELECT COALESCE(SUM(jl.debitAmount - jl.creditAmount), 0) FROM JournalLine jl
+        JOIN jl.journalEntry je
+        WHERE jl.account.id = :accountId
+          AND je.status IN ('POSTED', 'REVERSED')
+          AND je.entryDate BETWEEN :from AND :to
+    """)
+    BigDecimal sumNetDebitsBetween(@Param("accountId") Long accountId,
+                                   @Param("from") LocalDate from,
+                                   @Param("to") LocalDate to);
 }
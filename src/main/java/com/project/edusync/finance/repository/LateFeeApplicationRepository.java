@@ -0,0 +1,13 @@
+package com.project.edusync.finance.repository;
+
+import com.project.edusync.finance.model.entity.LateFeeApplication;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link LateFeeApplication} ledger. Bulk charging goes through
+ * {@link LateFeeSweepRepository}.
+ */
+@Repository
+public interface LateFeeApplicationRepository extends JpaRepository<LateFeeApplication, Long> {
+}
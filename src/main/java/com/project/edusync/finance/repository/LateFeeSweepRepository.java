@@ -0,0 +1,129 @@
+package com.project.edusync.finance.repository;
+
+import com.project.edusync.finance.model.entity.LateFeeApplication;
+import com.project.edusync.finance.model.enums.FineType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Plain JDBC, set-based charging of one late fee rule across every invoice it applies to.
+ *
+ * <p>A single statement picks the open invoices due on or before the cutoff through
+ * {@code idx_invoices_status_due_date}, records the fee in {@code late_fee_applications}, adds the fee line items
+ * and bumps the invoice totals. The ledger insert is {@code ON CONFLICT DO NOTHING} and only invoices it actually
+ * inserted for are charged, so re-running a rule for the same period charges nothing twice.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class LateFeeSweepRepository {
+
+    /** Percentage fees are taken on the invoice amount before any late fee, as the manual path does. */
+    private static final String PERCENTAGE_FEE = "ROUND((i.total_amount - i.late_fee_amount) * ? / 100, 2)";
+
+    private static final String FIXED_FEE = "CAST(? AS numeric(10, 2))";
+
+    private static final String STRUCTURE_FILTER = """
+                  AND EXISTS (SELECT 1 FROM student_fee_maps m
+                              WHERE m.student_id = i.student_id AND m.structure_id = ?)
+            """;
+
+    /**
+     * Invoices carrying a late fee with no ledger row were charged before the ledger existed and are left alone,
+     * matching the manual path's one-fee rule for them. The chosen invoices are locked in id order: one that a
+     * payment is settling is re-checked once the payment commits, and dropped if it is no longer open, so the sweep
+     * never charges a PAID invoice or turns it back to OVERDUE.
+     */
+    private static final String APPLY_SQL = """
+            WITH due AS (
+                SELECT i.id AS invoice_id, i.due_date, %s AS amount
+                FROM invoices i
+                WHERE i.status IN ('PENDING', 'OVERDUE')
+                  AND i.due_date <= ?
+                  AND i.paid_amount < i.total_amount
+                  AND (i.late_fee_amount = 0
+                       OR EXISTS (SELECT 1 FROM late_fee_applications p WHERE p.invoice_id = i.id))
+                  AND NOT EXISTS (SELECT 1 FROM late_fee_applications p
+                                  WHERE p.invoice_id = i.id AND p.rule_id = ? AND p.due_date = i.due_date)
+            %s
+                ORDER BY i.id
+                FOR UPDATE OF i
+            ),
+            applied AS (
+                INSERT INTO late_fee_applications (invoice_id, rule_id, due_date, amount, applied_on, source, created_at)
+                SELECT invoice_id, ?, due_date, amount, ?, ?, now() FROM due WHERE amount > 0
+                ON CONFLICT (invoice_id, rule_id, due_date) DO NOTHING
+                RETURNING invoice_id, amount
+            ),
+            items AS (
+                INSERT INTO invoice_line_items (invoice_id, description, amount)
+                SELECT invoice_id, ?, amount FROM applied
+            ),
+            charged AS (
+                UPDATE invoices i
+                SET late_fee_amount = i.late_fee_amount + a.amount,
+                    total_amount = i.total_amount + a.amount,
+                    status = 'OVERDUE',
+                    updated_at = now(),
+                    updated_by = ?
+                FROM applied a
+                WHERE i.id = a.invoice_id
+                RETURNING i.student_id, a.amount
+            )
+            SELECT COUNT(*) AS invoices, COALESCE(SUM(amount), 0) AS amount,
+                   array_agg(DISTINCT student_id) AS students
+            FROM charged
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Charges one rule to every open invoice due on or before {@code cutoff} that it has not yet been charged to
+     * for the invoice's current due date. The caller owns the transaction.
+     *
+     * @param structureId restricts the rule to students mapped to this fee structure, or {@code null} for all
+     */
+    public Result applyRule(Integer ruleId, FineType fineType, BigDecimal fineValue, Long structureId,
+                            LocalDate cutoff, LocalDate appliedOn,
+                            String description, String actor) {
+        String sql = APPLY_SQL.formatted(
+                fineType == FineType.PERCENTAGE ? PERCENTAGE_FEE : FIXED_FEE,
+                structureId != null ? STRUCTURE_FILTER : "");
+
+        List<Object> args = new ArrayList<>();
+        args.add(fineValue);
+        args.add(Date.valueOf(cutoff));
+        args.add(ruleId);
+        if (structureId != null) {
+            args.add(structureId);
+        }
+        args.add(ruleId);
+        args.add(Date.valueOf(appliedOn));
+        args.add(LateFeeApplication.SOURCE_SWEEP);
+        args.add(description);
+        args.add(actor);
+
+        return jdbcTemplate.queryForObject(sql,
+                (rs, rowNum) -> new Result(rs.getLong("invoices"), rs.getBigDecimal("amount"),
+                        studentIds(rs.getArray("students"))),
+                args.toArray());
+    }
+
+    private static List<Long> studentIds(Array students) throws SQLException {
+        // array_agg over no rows is NULL rather than an empty array
+        return students == null ? List.of() : Arrays.asList((Long[]) students.getArray());
+    }
+
+    /** Invoices charged by one rule, the total charged and the students those invoices belong to. */
+    public record Result(long invoices, BigDecimal amount, List<Long> studentIds) {
+    }
+}
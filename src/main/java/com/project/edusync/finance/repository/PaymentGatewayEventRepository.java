@@ -0,0 +1,54 @@
+package com.project.edusync.finance.repository;
+
+import com.project.edusync.finance.model.entity.PaymentGatewayEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Spring Data JPA repository for {@link PaymentGatewayEvent}. New events are inserted through
+ * {@link com.project.edusync.finance.gateway.GatewayEventInbox}.
+ */
+@Repository
+public interface PaymentGatewayEventRepository extends JpaRepository<PaymentGatewayEvent, Long> {
+
+    /** Position of a due event, enough to route it to its lane. */
+    interface DueEvent {
+        Long getId();
+        Long getInvoiceId();
+        String getGatewayOrderId();
+    }
+
+    /** Locks one event for processing; empty if another worker holds it. */
+    @Query(value = "SELECT * FROM payment_gateway_events WHERE id = :id FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<PaymentGatewayEvent> lockById(@Param("id") Long id);
+
+    /** Events waiting or up for retry, oldest first. */
+    @Query(value = """
+        SELECT id, invoice_id AS invoiceId, gateway_order_id AS gatewayOrderId
+        FROM payment_gateway_events
+        WHERE status IN ('RECEIVED', 'FAILED') AND next_attempt_at <= :now
+        ORDER BY id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<DueEvent> findDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /** Counts a failed attempt; the event goes {@code DEAD} once it reaches {@code maxAttempts}. */
+    @Modifying
+    @Query(value = """
+        UPDATE payment_gateway_events
+        SET attempts = attempts + 1,
+            status = CASE WHEN attempts + 1 >= :maxAttempts THEN 'DEAD' ELSE 'FAILED' END,
+            next_attempt_at = :nextAttemptAt,
+            last_error = :error
+        WHERE id = :id AND status IN ('RECEIVED', 'FAILED')
+        """, nativeQuery = true)
+    int markFailed(@Param("id") Long id, @Param("maxAttempts") int maxAttempts,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+}
@@ -4,12 +4,16 @@ package com.project.edusync.finance.repository;
 import com.project.edusync.finance.model.entity.Invoice;
 import com.project.edusync.finance.model.entity.Payment;
 import com.project.edusync.uis.model.entity.Student;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -44,6 +48,81 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
      */
     Optional<Payment> findByTransactionId(String transactionId);
 
+    /**
+     * Same as {@link #findByTransactionId(String)}, but takes a write lock so that concurrent settlements of one
+     * payment are serialized.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p WHERE p.transactionId = :transactionId")
+    Optional<Payment> findByTransactionIdForUpdate(@Param("transactionId") String transactionId);
+
+    @Query("SELECT p.invoice.id FROM Payment p WHERE p.transactionId = :transactionId")
+    Optional<Long> findInvoiceIdByTransactionId(@Param("transactionId") String transactionId);
+
+    /**
+     * Online payments still pending since before the cutoff, oldest first, for gateway reconciliation.
+     */
+    @Query("""
+            SELECT p FROM Payment p
+            JOIN FETCH p.invoice
+            WHERE p.status = 'PENDING'
+              AND p.paymentMethod = 'ONLINE'
+              AND p.paymentDate < :cutoff
+            ORDER BY p.paymentDate
+            """)
+    List<Payment> findPendingOnlineBefore(@Param("cutoff") java.time.LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Successful payments for a receipt export, in keyset pages by payment ID. Everything the receipt prints is
+     * fetched in the same query.
+     */
+    @Query("""
+            SELECT p FROM Payment p
+            JOIN FETCH p.invoice i
+            JOIN FETCH p.student s
+            JOIN FETCH s.userProfile
+            JOIN FETCH s.section sec
+            JOIN FETCH sec.academicClass c
+            WHERE p.status = 'SUCCESS'
+              AND p.paymentId > :afterId
+              AND (:classId IS NULL OR c.id = :classId)
+              AND (:sectionId IS NULL OR sec.id = :sectionId)
+              AND (:studentId IS NULL OR s.id = :studentId)
+              AND p.paymentDate >= :from
+              AND p.paymentDate < :to
+            ORDER BY p.paymentId
+            """)
+    List<Payment> findReceiptPage(@Param("classId") Long classId,
+                                  @Param("sectionId") Long sectionId,
+                                  @Param("studentId") Long studentId,
+                                  @Param("from") java.time.LocalDateTime from,
+                                  @Param("to") java.time.LocalDateTime to,
+                                  @Param("afterId") Integer afterId,
+                                  Pageable pageable);
+
+    @Query("""
+            SELECT COUNT(p) FROM Payment p
+            JOIN p.student s
+            JOIN s.section sec
+            WHERE p.status = 'SUCCESS'
+              AND (:classId IS NULL OR sec.academicClass.id = :classId)
+              AND (:sectionId IS NULL OR sec.id = :sectionId)
+              AND (:studentId IS NULL OR s.id = :studentId)
+              AND p.paymentDate >= :from
+              AND p.paymentDate < :to
+            """)
+    long countReceipts(@Param("classId") Long classId,
+                       @Param("sectionId") Long sectionId,
+                       @Param("studentId") Long studentId,
+                       @Param("from") java.time.LocalDateTime from,
+                       @Param("to") java.time.LocalDateTime to);
+
+    /**
+     * Payments of several invoices at once, so a batch of invoice receipts needs one query rather than one per
+     * invoice.
+     */
+    List<Payment> findByInvoice_IdIn(Collection<Long> invoiceIds);
+
     /**
      * Calculates the total collected amount from all SUCCESSFUL payments.
      */
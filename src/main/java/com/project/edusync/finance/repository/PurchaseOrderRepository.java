@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,4 +23,18 @@ public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Lo
 
     @Query("SELECT po FROM PurchaseOrder po JOIN FETCH po.vendor WHERE po.schoolId = :schoolId AND po.status IN :statuses ORDER BY po.createdAt DESC")
     List<PurchaseOrder> findBySchoolIdAndStatusIn(@Param("schoolId") Long schoolId, @Param("statuses") List<PurchaseOrderStatus> statuses);
+
+    /**
+     * Value of the budget's purchase orders that are still open and not yet billed. Once a bill exists its
+     * expense reaches the budget through the ledger, so the PO stops counting as a commitment. The order
+     * {@code excludeId} (may be null) is left out.
+     */
+    @Query("""
+        SELECT COALESCE(SUM(po.totalAmount), 0) FROM PurchaseOrder po
+        WHERE po.referenceBudget.id = :budgetId
+          AND (CAST(:excludeId AS Long) IS NULL OR po.id <> :excludeId)
+          AND po.status NOT IN ('REJECTED', 'CANCELLED', 'CLOSED')
+          AND NOT EXISTS (SELECT 1 FROM VendorBill vb WHERE vb.purchaseOrder = po AND vb.status <> 'CANCELLED')
+    """)
+    BigDecimal sumOpenCommitments(@Param("budgetId") Long budgetId, @Param("excludeId") Long excludeId);
 }
@@ -0,0 +1,153 @@
+package com.project.edusync.finance.repository;
+
+import com.project.edusync.finance.model.entity.ReminderLog;
+import com.project.edusync.finance.reminder.ReminderCandidate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Plain JDBC reads and writes for reminder runs.
+ *
+ * <p>Candidates are read in keyset pages ordered {@code (guardian_id, invoice_id)}, so each guardian's invoices
+ * arrive together and can go out as one message. The scan is a plain snapshot read: it takes no row locks on
+ * {@code invoices}, and payments posted during a run are not blocked by it.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReminderScanRepository {
+
+    /** Position after the last row of a page. */
+    public record Cursor(long guardianId, long invoiceId) {
+
+        public static final Cursor START = new Cursor(0L, 0L);
+    }
+
+    /** A reminder already sent to a guardian, one row per message. */
+    public record SentReminder(Long guardianId, Long templateId, String messageKey, LocalDateTime sentAt) {
+    }
+
+    /**
+     * Reminders go to the student's financial contacts, or to the primary contact when none is marked.
+     */
+    private static final String CANDIDATES_SQL = """
+            SELECT r.guardian_id,
+                   concat_ws(' ', gp.first_name, gp.last_name) AS guardian_name,
+                   gu.email,
+                   g.phone_number,
+                   gp.primary_language,
+                   s.id AS student_id,
+                   concat_ws(' ', sp.first_name, sp.last_name) AS student_name,
+                   i.id AS invoice_id,
+                   i.invoice_number,
+                   i.due_date,
+                   i.total_amount - i.paid_amount AS amount_due
+            FROM invoices i
+            JOIN students s ON s.id = i.student_id
+            JOIN user_profiles sp ON sp.id = s.profile_id
+            JOIN student_guardian_relationships r ON r.student_id = s.id
+            JOIN guardians g ON g.id = r.guardian_id AND g.is_active
+            JOIN user_profiles gp ON gp.id = g.profile_id
+            LEFT JOIN users gu ON gu.id = gp.user_id
+            WHERE i.status IN ('PENDING', 'OVERDUE')
+              AND i.due_date <= :dueOnOrBefore
+              AND i.paid_amount < i.total_amount
+              AND (r.is_financial_contact
+                   OR (r.is_primary_contact
+                       AND NOT EXISTS (SELECT 1 FROM student_guardian_relationships f
+                                       WHERE f.student_id = s.id AND f.is_financial_contact)))
+              AND (r.guardian_id, i.id) > (:afterGuardian, :afterInvoice)
+            ORDER BY r.guardian_id, i.id
+            LIMIT :limit
+            """;
+
+    private static final String SENT_SQL = """
+            SELECT guardian_id, template_id, message_key, MAX(sent_at) AS sent_at
+            FROM reminder_logs
+            WHERE guardian_id IN (:guardianIds)
+              AND sent_at >= :since
+              AND status = 'SENT'
+              AND message_key IS NOT NULL
+            GROUP BY guardian_id, template_id, message_key
+            """;
+
+    private static final String INSERT_LOG_SQL = """
+            INSERT INTO reminder_logs (student_id, student_name, template_name, channel, invoice_number, amount_due,
+                                       status, sent_at, guardian_id, template_id, message_key, recipient,
+                                       error_message)
+            VALUES (:studentId, :studentName, :templateName, :channel, :invoiceNumber, :amountDue,
+                    :status, :sentAt, :guardianId, :templateId, :messageKey, :recipient, :errorMessage)
+            """;
+
+    private static final RowMapper<ReminderCandidate> CANDIDATE_MAPPER = (rs, rowNum) -> new ReminderCandidate(
+            rs.getLong("guardian_id"),
+            rs.getString("guardian_name"),
+            rs.getString("email"),
+            rs.getString("phone_number"),
+            rs.getString("primary_language"),
+            rs.getLong("student_id"),
+            rs.getString("student_name"),
+            rs.getLong("invoice_id"),
+            rs.getString("invoice_number"),
+            rs.getDate("due_date").toLocalDate(),
+            rs.getBigDecimal("amount_due"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<ReminderCandidate> findCandidates(LocalDate dueOnOrBefore, Cursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("dueOnOrBefore", Date.valueOf(dueOnOrBefore))
+                .addValue("afterGuardian", after.guardianId())
+                .addValue("afterInvoice", after.invoiceId())
+                .addValue("limit", limit);
+        return jdbcTemplate.query(CANDIDATES_SQL, params, CANDIDATE_MAPPER);
+    }
+
+    public List<SentReminder> findSent(Collection<Long> guardianIds, LocalDateTime since) {
+        if (guardianIds.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("guardianIds", guardianIds)
+                .addValue("since", Timestamp.valueOf(since));
+        return jdbcTemplate.query(SENT_SQL, params, (rs, rowNum) -> new SentReminder(
+                rs.getLong("guardian_id"),
+                rs.getObject("template_id", Long.class),
+                rs.getString("message_key"),
+                rs.getTimestamp("sent_at").toLocalDateTime()));
+    }
+
+    /** Inserts log rows in one JDBC batch; the caller owns the transaction. */
+    public void insertLogs(List<ReminderLog> logs) {
+        if (logs.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = logs.stream()
+                .map(log -> new MapSqlParameterSource()
+                        .addValue("studentId", log.getStudentId())
+                        .addValue("studentName", log.getStudentName())
+                        .addValue("templateName", log.getTemplateName())
+                        .addValue("channel", log.getChannel())
+                        .addValue("invoiceNumber", log.getInvoiceNumber())
+                        .addValue("amountDue", log.getAmountDue())
+                        .addValue("status", log.getStatus())
+                        .addValue("sentAt", Timestamp.valueOf(log.getSentAt()))
+                        .addValue("guardianId", log.getGuardianId())
+                        .addValue("templateId", log.getTemplateId())
+                        .addValue("messageKey", log.getMessageKey())
+                        .addValue("recipient", log.getRecipient())
+                        .addValue("errorMessage", log.getErrorMessage()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_LOG_SQL, batch);
+    }
+}
@@ -2,11 +2,27 @@ package com.project.edusync.finance.repository;
 
 import com.project.edusync.finance.model.entity.ScholarshipAssignment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Repository
 public interface ScholarshipAssignmentRepository extends JpaRepository<ScholarshipAssignment, Long> {
     List<ScholarshipAssignment> findByStudentId(Long studentId);
+
+    /**
+     * All ACTIVE assignments in effect on {@code onDate}, with their type, in id order.
+     */
+    @Query("""
+            SELECT a FROM ScholarshipAssignment a
+            JOIN FETCH a.scholarshipType
+            WHERE UPPER(a.status) = 'ACTIVE'
+              AND a.effectiveFrom <= :onDate
+              AND (a.effectiveTo IS NULL OR a.effectiveTo >= :onDate)
+            ORDER BY a.id
+            """)
+    List<ScholarshipAssignment> findActiveOn(@Param("onDate") LocalDate onDate);
 }
@@ -0,0 +1,188 @@
+package com.project.edusync.finance.repository;
+
+import com.project.edusync.finance.model.entity.ScholarshipAwardRun;
+import com.project.edusync.finance.model.entity.ScholarshipType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Plain JDBC, set-based steps of a bulk scholarship award: selecting the run's students, creating their
+ * assignments and re-pricing their open invoices, each as one statement per chunk. The caller owns the
+ * transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ScholarshipAwardRepository {
+
+    /** Active students matching the run's criteria; null criteria match everything. */
+    private static final String TARGETS_WHERE = """
+            FROM students s
+            JOIN sections sec ON sec.id = s.section_id
+            WHERE s.is_active = true
+              AND (CAST(:classId AS bigint) IS NULL OR sec.class_id = :classId)
+              AND (CAST(:sectionId AS bigint) IS NULL OR s.section_id = :sectionId)
+              AND (CAST(:structureId AS bigint) IS NULL
+                   OR EXISTS (SELECT 1 FROM student_fee_maps m
+                              WHERE m.student_id = s.id AND m.structure_id = :structureId))
+              AND (:byList = false
+                   OR EXISTS (SELECT 1 FROM scholarship_award_run_students r
+                              WHERE r.run_id = :runId AND r.student_id = s.id))
+            """;
+
+    private static final String COUNT_TARGETS_SQL = "SELECT COUNT(*) " + TARGETS_WHERE;
+
+    private static final String NEXT_TARGETS_SQL = "SELECT s.id " + TARGETS_WHERE + """
+              AND s.id > :afterStudentId
+            ORDER BY s.id
+            LIMIT :limit
+            """;
+
+    /**
+     * Students already holding an ACTIVE assignment of the type are left alone; {@code :capacity} is the type's
+     * remaining recipients, or null for no limit.
+     */
+    private static final String ASSIGN_SQL = """
+            INSERT INTO scholarship_assignments (student_id, student_name, scholarship_type_id, discount_type,
+                                                 discount_value, effective_from, reason, status, created_at,
+                                                 updated_at)
+            SELECT s.id, concat_ws(' ', p.first_name, p.last_name), :typeId, :discountType, :discountValue,
+                   :effectiveFrom, :reason, 'ACTIVE', now(), now()
+            FROM students s
+            JOIN user_profiles p ON p.id = s.profile_id
+            WHERE s.id IN (:studentIds)
+              AND NOT EXISTS (SELECT 1 FROM scholarship_assignments a
+                              WHERE a.student_id = s.id AND a.scholarship_type_id = :typeId
+                                AND UPPER(a.status) = 'ACTIVE')
+            ORDER BY s.id
+            LIMIT CAST(:capacity AS bigint)
+            RETURNING student_id
+            """;
+
+    /** Percentage discounts are taken on the invoice amount before any late fee, as late fees themselves are. */
+    private static final String PERCENTAGE_DISCOUNT =
+            "ROUND((i.total_amount - i.late_fee_amount) * :discountValue / 100, 2)";
+
+    private static final String FIXED_DISCOUNT = "CAST(:discountValue AS numeric(10, 2))";
+
+    /**
+     * Appends a discount line to each open invoice of the students that carries no scholarship discount yet (one
+     * scholarship per invoice, as generation applies) and lowers its total. The discount never takes the total
+     * below what has been paid; an invoice it settles in full becomes PAID. Eligibility follows the period an invoice
+     * bills for, so an award made mid-term discounts the open invoices that fall due once it is in effect, whenever
+     * they were issued.
+     */
+    private static final String REPRICE_SQL = """
+            WITH target AS (
+                SELECT i.id AS invoice_id, LEAST(%s, i.total_amount - i.paid_amount) AS amount
+                FROM invoices i
+                WHERE i.student_id IN (:studentIds)
+                  AND i.status IN ('PENDING', 'OVERDUE')
+                  AND i.due_date >= :effectiveFrom
+                  AND i.paid_amount < i.total_amount
+                  AND NOT EXISTS (SELECT 1 FROM invoice_line_items li
+                                  WHERE li.invoice_id = i.id AND li.description LIKE 'Scholarship Discount (%%')
+                ORDER BY i.id
+                FOR UPDATE OF i
+            ),
+            items AS (
+                INSERT INTO invoice_line_items (invoice_id, description, amount)
+                SELECT invoice_id, :description, -amount FROM target WHERE amount > 0
+            ),
+            repriced AS (
+                UPDATE invoices i
+                SET total_amount = i.total_amount - t.amount,
+                    status = CASE WHEN i.total_amount - t.amount <= i.paid_amount THEN 'PAID' ELSE i.status END,
+                    updated_at = now(),
+                    updated_by = :actor
+                FROM target t
+                WHERE i.id = t.invoice_id AND t.amount > 0
+                RETURNING i.student_id, t.amount
+            )
+            SELECT COUNT(*) AS invoices, COALESCE(SUM(amount), 0) AS amount,
+                   array_agg(DISTINCT student_id) AS students
+            FROM repriced
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public long countTargets(ScholarshipAwardRun run) {
+        Long count = jdbcTemplate.queryForObject(COUNT_TARGETS_SQL, criteria(run), Long.class);
+        return count != null ? count : 0;
+    }
+
+    /** Next page of the run's students, in id order after {@code afterStudentId}. */
+    public List<Long> findNextTargets(ScholarshipAwardRun run, Long afterStudentId, int limit) {
+        MapSqlParameterSource params = criteria(run)
+                .addValue("afterStudentId", afterStudentId)
+                .addValue("limit", limit);
+        return jdbcTemplate.queryForList(NEXT_TARGETS_SQL, params, Long.class);
+    }
+
+    /**
+     * Creates ACTIVE assignments of the type for those of the students that do not hold one, lowest ids first
+     * while capacity lasts.
+     *
+     * @param capacity recipients the type can still take, or {@code null} for no limit
+     * @return the students assigned
+     */
+    public List<Long> assign(Collection<Long> studentIds, ScholarshipType type, LocalDate effectiveFrom,
+                             String reason, Long capacity) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("studentIds", studentIds)
+                .addValue("typeId", type.getId())
+                .addValue("discountType", type.getDiscountType())
+                .addValue("discountValue", type.getDiscountValue())
+                .addValue("effectiveFrom", Date.valueOf(effectiveFrom))
+                .addValue("reason", reason)
+                .addValue("capacity", capacity);
+        return jdbcTemplate.queryForList(ASSIGN_SQL, params, Long.class);
+    }
+
+    /**
+     * Re-prices the students' open invoices due on or after {@code effectiveFrom} with the type's discount.
+     * Invoices that fell due before the award took effect keep their price.
+     */
+    public RepriceResult reprice(Collection<Long> studentIds, ScholarshipType type, LocalDate effectiveFrom,
+                                 String actor) {
+        String sql = REPRICE_SQL.formatted(
+                "PERCENTAGE".equalsIgnoreCase(type.getDiscountType()) ? PERCENTAGE_DISCOUNT : FIXED_DISCOUNT);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("studentIds", studentIds)
+                .addValue("discountValue", type.getDiscountValue())
+                .addValue("effectiveFrom", Date.valueOf(effectiveFrom))
+                .addValue("description", "Scholarship Discount (" + type.getName() + ")")
+                .addValue("actor", actor);
+        return jdbcTemplate.queryForObject(sql, params,
+                (rs, rowNum) -> new RepriceResult(rs.getLong("invoices"), rs.getBigDecimal("amount"),
+                        studentIds(rs.getArray("students"))));
+    }
+
+    private static MapSqlParameterSource criteria(ScholarshipAwardRun run) {
+        return new MapSqlParameterSource()
+                .addValue("runId", run.getId())
+                .addValue("classId", run.getClassId())
+                .addValue("sectionId", run.getSectionId())
+                .addValue("structureId", run.getFeeStructureId())
+                .addValue("byList", !run.getStudentIds().isEmpty());
+    }
+
+    private static List<Long> studentIds(Array students) throws SQLException {
+        // array_agg over no rows is NULL rather than an empty array
+        return students == null ? List.of() : Arrays.asList((Long[]) students.getArray());
+    }
+
+    /** Invoices re-priced, the discount given on them and the students they belong to. */
+    public record RepriceResult(long invoices, BigDecimal amount, List<Long> studentIds) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.project.edusync.finance.repository;
+
+import com.project.edusync.finance.model.entity.ScholarshipAwardRun;
+import com.project.edusync.finance.model.enums.InvoiceRunStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ScholarshipAwardRunRepository extends JpaRepository<ScholarshipAwardRun, Long> {
+
+    /**
+     * Locks the run row for one chunk, so a run resumed on two nodes at once still advances its cursor
+     * one chunk at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM ScholarshipAwardRun r WHERE r.id = :id")
+    Optional<ScholarshipAwardRun> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Whether a run is still live, i.e. RUNNING with a heartbeat newer than {@code since}.
+     */
+    boolean existsByStatusAndUpdatedAtAfter(InvoiceRunStatus status, LocalDateTime since);
+
+    /**
+     * Marks RUNNING runs whose heartbeat is older than {@code staleBefore} as FAILED; they stay resumable.
+     */
+    @Modifying
+    @Query("""
+            UPDATE ScholarshipAwardRun r
+            SET r.status = com.project.edusync.finance.model.enums.InvoiceRunStatus.FAILED,
+                r.errorMessage = :reason
+            WHERE r.status = com.project.edusync.finance.model.enums.InvoiceRunStatus.RUNNING
+              AND r.updatedAt < :staleBefore
+            """)
+    int abandonStale(@Param("staleBefore") LocalDateTime staleBefore, @Param("reason") String reason);
+}
@@ -1,13 +1,16 @@
 package com.project.edusync.finance.repository;
 
 import com.project.edusync.finance.model.entity.ScholarshipType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Optional;
 
 @Repository
 public interface ScholarshipTypeRepository extends JpaRepository<ScholarshipType, Long> {
@@ -15,4 +18,11 @@ public interface ScholarshipTypeRepository extends JpaRepository<ScholarshipType
     @Modifying
     @Query("UPDATE ScholarshipType st SET st.totalDiscountIssued = COALESCE(st.totalDiscountIssued, 0) + :amount WHERE st.id = :id")
     void incrementTotalDiscountIssued(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    /**
+     * Locks the type while a bulk award checks and consumes its remaining recipient capacity.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT st FROM ScholarshipType st WHERE st.id = :id")
+    Optional<ScholarshipType> findByIdForUpdate(@Param("id") Long id);
 }
@@ -3,7 +3,10 @@ package com.project.edusync.finance.repository;
 
 import com.project.edusync.finance.model.entity.StudentFeeMap;
 import com.project.edusync.uis.model.entity.Student;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -40,4 +43,41 @@ public interface StudentFeeMapRepository extends JpaRepository<StudentFeeMap, Lo
      * @return true if a mapping exists, false otherwise.
      */
     boolean existsByStudent_IdAndFeeStructure_Id(Long studentId, Long structureId);
+
+    /**
+     * Next page of active students (and their fee structure) in a bulk invoicing scope, in student id order
+     * after {@code afterStudentId}. Null scope parameters match everything.
+     */
+    @Query("""
+            SELECT m.student.id AS studentId, m.feeStructure.id AS structureId
+            FROM StudentFeeMap m
+            WHERE m.student.id > :afterStudentId
+              AND m.student.isActive = true
+              AND (:classId IS NULL OR m.student.section.academicClass.id = :classId)
+              AND (:sectionId IS NULL OR m.student.section.id = :sectionId)
+              AND (:structureId IS NULL OR m.feeStructure.id = :structureId)
+            ORDER BY m.student.id, m.mapId
+            """)
+    List<BillingTarget> findBillingTargets(@Param("classId") Long classId,
+                                           @Param("sectionId") Long sectionId,
+                                           @Param("structureId") Long structureId,
+                                           @Param("afterStudentId") Long afterStudentId,
+                                           Pageable pageable);
+
+    @Query("""
+            SELECT COUNT(DISTINCT m.student.id)
+            FROM StudentFeeMap m
+            WHERE m.student.isActive = true
+              AND (:classId IS NULL OR m.student.section.academicClass.id = :classId)
+              AND (:sectionId IS NULL OR m.student.section.id = :sectionId)
+              AND (:structureId IS NULL OR m.feeStructure.id = :structureId)
+            """)
+    long countBillingTargets(@Param("classId") Long classId,
+                             @Param("sectionId") Long sectionId,
+                             @Param("structureId") Long structureId);
+
+    interface BillingTarget {
+        Long getStudentId();
+        Long getStructureId();
+    }
 }
@@ -0,0 +1,35 @@
+package com.project.edusync.finance.service;
+
+import com.project.edusync.finance.dto.invoice.BulkInvoiceRunRequestDTO;
+import com.project.edusync.finance.dto.invoice.InvoiceGenerationRunDTO;
+
+/**
+ * Service interface for term-wide bulk invoicing.
+ */
+public interface BulkInvoiceService {
+
+    /**
+     * Starts a bulk invoicing run over the scoped students and returns immediately; the run proceeds in the
+     * background and its progress can be polled with {@link #getRun(Long)}.
+     *
+     * @param request The run scope and invoice dates.
+     * @return The newly created run.
+     */
+    InvoiceGenerationRunDTO startRun(BulkInvoiceRunRequestDTO request);
+
+    /**
+     * Retrieves the progress of a bulk invoicing run.
+     *
+     * @param runId The ID of the run.
+     * @return The run, with its counters as of the last committed chunk.
+     */
+    InvoiceGenerationRunDTO getRun(Long runId);
+
+    /**
+     * Resumes a FAILED run, or a RUNNING one whose worker has stopped, from the last committed chunk.
+     *
+     * @param runId The ID of the run.
+     * @return The resumed run.
+     */
+    InvoiceGenerationRunDTO resumeRun(Long runId);
+}
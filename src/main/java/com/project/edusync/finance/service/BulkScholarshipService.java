@@ -0,0 +1,36 @@
+package com.project.edusync.finance.service;
+
+import com.project.edusync.finance.dto.scholarship.BulkScholarshipAssignmentRequestDTO;
+import com.project.edusync.finance.dto.scholarship.ScholarshipAwardRunDTO;
+
+/**
+ * Service interface for awarding a scholarship to many students at once.
+ */
+public interface BulkScholarshipService {
+
+    /**
+     * Starts a bulk award over the students matching the request's criteria and returns immediately; the run
+     * assigns the scholarship and re-prices open invoices in the background, and its progress can be polled with
+     * {@link #getRun(Long)}.
+     *
+     * @param request The scholarship, selection criteria and award details.
+     * @return The newly created run.
+     */
+    ScholarshipAwardRunDTO startRun(BulkScholarshipAssignmentRequestDTO request);
+
+    /**
+     * Retrieves the progress of a bulk award run.
+     *
+     * @param runId The ID of the run.
+     * @return The run, with its counters as of the last committed chunk.
+     */
+    ScholarshipAwardRunDTO getRun(Long runId);
+
+    /**
+     * Resumes a FAILED run, or a RUNNING one whose worker has stopped, from the last committed chunk.
+     *
+     * @param runId The ID of the run.
+     * @return The resumed run.
+     */
+    ScholarshipAwardRunDTO resumeRun(Long runId);
+}
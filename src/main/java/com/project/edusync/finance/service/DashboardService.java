@@ -1,7 +1,11 @@
 package com.project.edusync.finance.service;
 
 import com.project.edusync.finance.dto.dashboard.AdminDashboardSummaryDTO;
+import com.project.edusync.finance.dto.dashboard.FeeCollectionTotalDTO;
 import com.project.edusync.finance.dto.dashboard.ParentDashboardSummaryDTO;
+import com.project.edusync.finance.model.enums.FeeTotalScope;
+
+import java.util.List;
 
 /**
  * Service interface for handling dashboard and reporting data.
@@ -22,5 +26,13 @@ public interface DashboardService {
      * @return A ParentDashboardSummaryDTO with calculated totals.
      */
     ParentDashboardSummaryDTO getParentDashboardSummary(Long studentId);
+
+    /**
+     * Fetches the fee totals of every class or every section, or the single school row.
+     *
+     * @param scope The level to break the totals down by.
+     * @return One row per class or section, in id order.
+     */
+    List<FeeCollectionTotalDTO> getCollectionTotals(FeeTotalScope scope);
 }
 
@@ -0,0 +1,30 @@
+package com.project.edusync.finance.service;
+
+import com.project.edusync.finance.model.enums.DocumentSeries;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Allocates human-readable finance document numbers, e.g. {@code JE-2026-27-000123}, from per-school,
+ * per-series, per-financial-year sequences.
+ */
+public interface DocumentNumberService {
+
+    /**
+     * Allocates the next number of a series.
+     *
+     * @param series       The document series.
+     * @param schoolId     The school the document belongs to.
+     * @param documentDate The document's date; selects the financial year.
+     * @return The formatted document number.
+     */
+    String next(DocumentSeries series, Long schoolId, LocalDate documentDate);
+
+    /**
+     * Allocates {@code count} consecutive numbers of a series in one reservation, for bulk posting.
+     *
+     * @return The formatted document numbers, in ascending order.
+     */
+    List<String> nextBlock(DocumentSeries series, Long schoolId, LocalDate documentDate, int count);
+}
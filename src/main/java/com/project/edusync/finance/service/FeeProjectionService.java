@@ -0,0 +1,20 @@
+package com.project.edusync.finance.service;
+
+import java.util.Collection;
+
+/**
+ * Maintains the fee projection: {@code FeeStudentBalance} rows and their school, class and section totals, which
+ * the finance dashboards read instead of aggregating invoices and payments.
+ */
+public interface FeeProjectionService {
+
+    /**
+     * Recomputes these students' balances and moves the totals by the difference. Call from the transaction that
+     * changed their invoices, payments or refunds, after the change is written, so the projection commits or rolls
+     * back with it.
+     */
+    void refresh(Collection<Long> studentIds);
+
+    /** Recomputes every balance and total from source, repairing any drift. */
+    int rebuild();
+}
@@ -0,0 +1,21 @@
+package com.project.edusync.finance.service;
+
+import com.project.edusync.finance.dto.configuration.LateFeeSweepSummaryDTO;
+
+import java.time.LocalDate;
+
+/**
+ * Charges late fees in bulk across all overdue invoices.
+ */
+public interface LateFeeSweepService {
+
+    /**
+     * Applies every active late fee rule to the open invoices that are overdue by at least the rule's grace
+     * period on {@code asOf}. Each rule is charged at most once per invoice and due date, so running the
+     * sweep again for the same day charges nothing new.
+     *
+     * @param asOf The business date to evaluate the rules for.
+     * @return Per-rule counts and amounts charged by this run.
+     */
+    LateFeeSweepSummaryDTO sweep(LocalDate asOf);
+}
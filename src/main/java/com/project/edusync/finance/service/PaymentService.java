@@ -59,13 +59,34 @@ public interface PaymentService {
 
     /**
      * Verifies a completed Razorpay payment using the cryptographic signature.
-     * If successful, updates Payment and Invoice status to 'PAID' or 'PENDING' (partial).
+     * A valid signature is recorded as a gateway event and settled asynchronously, so the returned
+     * payment stays 'PENDING' until a worker applies it; a payment that is already settled is returned as is.
      *
      * @param verifyDTO The DTO from the client containing Razorpay's response.
-     * @return The response DTO of the confirmed, 'SUCCESS' payment.
+     * @return The response DTO of the payment.
      */
     PaymentResponseDTO verifyOnlinePayment(VerifyPaymentRequestDTO verifyDTO) throws Exception;
 
+    /**
+     * Settles an online payment captured by the gateway and updates its invoice.
+     * Settling a payment that is already 'SUCCESS' changes nothing.
+     *
+     * @param gatewayOrderId   The Razorpay order ID the payment was initiated with.
+     * @param gatewayPaymentId The Razorpay payment ID, if known.
+     * @param amountMinor      The captured amount in paise, checked against the payment when present.
+     * @return false if no fee payment belongs to the order.
+     */
+    boolean settleOnlinePayment(String gatewayOrderId, String gatewayPaymentId, Long amountMinor);
+
+    /**
+     * Marks a pending online payment as 'FAILED'.
+     *
+     * @param gatewayOrderId   The Razorpay order ID the payment was initiated with.
+     * @param gatewayPaymentId The Razorpay payment ID, if known.
+     * @return false if there is no pending fee payment for the order.
+     */
+    boolean failOnlinePayment(String gatewayOrderId, String gatewayPaymentId);
+
     /**
      * Retrieves all successful payments made for a specific student.
      *
@@ -0,0 +1,18 @@
+package com.project.edusync.finance.service;
+
+/**
+ * Service interface for receiving payment gateway webhooks.
+ */
+public interface PaymentWebhookService {
+
+    /**
+     * Verifies and records a Razorpay webhook for asynchronous processing.
+     * A redelivery of an event that is already recorded is accepted without recording it again.
+     *
+     * @param payload   The raw request body, exactly as signed by Razorpay.
+     * @param signature The X-Razorpay-Signature header.
+     * @param eventId   The X-Razorpay-Event-Id header, if sent.
+     * @return true if the event was new.
+     */
+    boolean receiveRazorpayEvent(String payload, String signature, String eventId);
+}
@@ -0,0 +1,28 @@
+package com.project.edusync.finance.service;
+
+import com.project.edusync.finance.dto.payment.ReceiptExportRequestDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for exporting many fee receipts at once.
+ */
+public interface ReceiptExportService {
+
+    /**
+     * Validates an export request and counts the receipts it matches.
+     *
+     * @param request The export filter and format.
+     * @return The number of receipts the export will contain.
+     */
+    long countReceipts(ReceiptExportRequestDTO request);
+
+    /**
+     * Renders the matching receipts and streams them to {@code out} as a ZIP or a single merged PDF.
+     *
+     * @param request The export filter and format.
+     * @param out     The response stream; it is written to as receipts are rendered and left open.
+     */
+    void exportReceipts(ReceiptExportRequestDTO request, OutputStream out) throws IOException;
+}
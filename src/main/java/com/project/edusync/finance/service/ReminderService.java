@@ -1,8 +1,11 @@
 package com.project.edusync.finance.service;
 
 import com.project.edusync.finance.dto.reminder.ReminderLogDTO;
+import com.project.edusync.finance.dto.reminder.ReminderRunSummaryDTO;
 import com.project.edusync.finance.dto.reminder.ReminderTemplateCreateDTO;
 import com.project.edusync.finance.dto.reminder.ReminderTemplateDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
@@ -11,6 +14,6 @@ public interface ReminderService {
     List<ReminderTemplateDTO> getAllTemplates();
     ReminderTemplateDTO toggleTemplate(Long id);
     
-    void triggerBulkReminders();
-    List<ReminderLogDTO> getAllLogs();
+    ReminderRunSummaryDTO triggerBulkReminders();
+    Page<ReminderLogDTO> getAllLogs(Pageable pageable);
 }
@@ -1,5 +1,6 @@
 package com.project.edusync.finance.service.implementation;
 
+import com.project.edusync.finance.budget.BudgetLedger;
 import com.project.edusync.finance.dto.budget.*;
 import com.project.edusync.finance.model.entity.Account;
 import com.project.edusync.finance.model.entity.Budget;
@@ -31,6 +32,7 @@ public class BudgetServiceImpl implements BudgetService {
     private final BudgetRepository budgetRepository;
     private final BudgetLineItemRepository lineItemRepository;
     private final AccountRepository accountRepository;
+    private final BudgetLedger budgetLedger;
 
     // ── Create ────────────────────────────────────────────────────────────────
 
@@ -203,8 +205,8 @@ public class BudgetServiceImpl implements BudgetService {
                 Account acc = accountRepository.findById(dto.linkedAccountId())
                         .orElseThrow(() -> new EntityNotFoundException("Account not found: " + dto.linkedAccountId()));
                 item.setLinkedAccount(acc);
-                // Seed actual from current account balance
-                item.setActualAmount(acc.getBalance().abs());
+                // Seed actual from what is already posted this year; postings from now on are added by BudgetLedger
+                item.setActualAmount(budgetLedger.actualToDate(acc, budget.getAcademicYear()));
                 item.recalcVariance();
             }
 
@@ -0,0 +1,370 @@
+package com.project.edusync.finance.service.implementation;
+
+import com.project.edusync.common.exception.EdusyncException;
+import com.project.edusync.common.exception.finance.InvalidPaymentOperationException;
+import com.project.edusync.finance.dto.invoice.BulkInvoiceRunRequestDTO;
+import com.project.edusync.finance.dto.invoice.InvoiceGenerationRunDTO;
+import com.project.edusync.finance.model.entity.FeeParticular;
+import com.project.edusync.finance.model.entity.Invoice;
+import com.project.edusync.finance.model.entity.InvoiceGenerationRun;
+import com.project.edusync.finance.model.entity.InvoiceLineItem;
+import com.project.edusync.finance.model.entity.ScholarshipAssignment;
+import com.project.edusync.finance.model.enums.DocumentSeries;
+import com.project.edusync.finance.model.enums.InvoiceRunStatus;
+import com.project.edusync.finance.model.enums.InvoiceStatus;
+import com.project.edusync.finance.repository.FeeParticularRepository;
+import com.project.edusync.finance.repository.InvoiceBatchRepository;
+import com.project.edusync.finance.repository.InvoiceGenerationRunRepository;
+import com.project.edusync.finance.repository.InvoiceRepository;
+import com.project.edusync.finance.repository.ScholarshipAssignmentRepository;
+import com.project.edusync.finance.repository.ScholarshipTypeRepository;
+import com.project.edusync.finance.repository.StudentFeeMapRepository;
+import com.project.edusync.finance.repository.StudentFeeMapRepository.BillingTarget;
+import com.project.edusync.finance.service.BulkInvoiceService;
+import com.project.edusync.finance.service.DocumentNumberService;
+import com.project.edusync.finance.service.FeeProjectionService;
+import com.project.edusync.uis.repository.StudentRepository;
+import jakarta.annotation.Resource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+/**
+ * Term-wide invoicing. Each run bills the scoped students in chunks of {@value #CHUNK_SIZE}, in student id order:
+ * fee particulars and active scholarships are loaded once per run, invoices are built in memory and written with
+ * JDBC batches, and scholarship counters get one aggregated UPDATE per type per chunk instead of one per invoice.
+ *
+ * <p>Every chunk commits its invoices, counter deltas and the run's cursor together, so a run that stops for any
+ * reason resumes with {@link #resumeRun(Long)} without billing anyone twice. Students that already have an open
+ * invoice, or whose structure has no particulars, are skipped exactly as {@code generateSingleInvoice} would
+ * refuse them.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkInvoiceServiceImpl implements BulkInvoiceService {
+
+    static final int CHUNK_SIZE = 500;
+
+    /** A RUNNING run that has not committed a chunk for this long is treated as abandoned. */
+    private static final Duration STALE_AFTER = Duration.ofMinutes(5);
+
+    private static final List<InvoiceStatus> CLOSED_STATUSES = List.of(InvoiceStatus.CANCELLED, InvoiceStatus.PAID);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final InvoiceGenerationRunRepository runRepository;
+    private final StudentFeeMapRepository studentFeeMapRepository;
+    private final FeeParticularRepository feeParticularRepository;
+    private final ScholarshipAssignmentRepository scholarshipAssignmentRepository;
+    private final ScholarshipTypeRepository scholarshipTypeRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final InvoiceBatchRepository invoiceBatchRepository;
+    private final StudentRepository studentRepository;
+    private final DocumentNumberService documentNumberService;
+    private final FeeProjectionService feeProjectionService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Resource(name = "invoiceRunExecutor")
+    private Executor invoiceRunExecutor;
+
+    @Override
+    public InvoiceGenerationRunDTO startRun(BulkInvoiceRunRequestDTO request) {
+        if (request.getClassId() == null && request.getSectionId() == null && request.getFeeStructureId() == null) {
+            throw new EdusyncException("Provide a classId, sectionId or feeStructureId to scope the run.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        LocalDate issueDate = request.getIssueDate() != null ? request.getIssueDate() : LocalDate.now();
+        LocalDate dueDate = request.getDueDate() != null ? request.getDueDate() : issueDate.plusDays(30);
+        if (dueDate.isBefore(issueDate)) {
+            throw new EdusyncException("Due date cannot be before the issue date.", HttpStatus.BAD_REQUEST);
+        }
+
+        InvoiceGenerationRun run;
+        try {
+            run = new TransactionTemplate(transactionManager).execute(status -> {
+                runRepository.abandonStale(LocalDateTime.now().minus(STALE_AFTER), "Worker stopped responding");
+                requireNoLiveRun();
+                return runRepository.save(InvoiceGenerationRun.builder()
+                        .classId(request.getClassId())
+                        .sectionId(request.getSectionId())
+                        .feeStructureId(request.getFeeStructureId())
+                        .issueDate(issueDate)
+                        .dueDate(dueDate)
+                        .status(InvoiceRunStatus.RUNNING)
+                        .totalStudents(studentFeeMapRepository.countBillingTargets(
+                                request.getClassId(), request.getSectionId(), request.getFeeStructureId()))
+                        .startedBy(currentUsername())
+                        .build());
+            });
+        } catch (DataIntegrityViolationException ex) {
+            throw new InvalidPaymentOperationException("Another bulk invoicing run is already in progress.");
+        }
+
+        log.info("Bulk invoicing run {} started for class={}, section={}, structure={}: {} students",
+                run.getId(), run.getClassId(), run.getSectionId(), run.getFeeStructureId(), run.getTotalStudents());
+        submit(run.getId());
+        return toDto(run);
+    }
+
+    @Override
+    public InvoiceGenerationRunDTO getRun(Long runId) {
+        return toDto(findRun(runId));
+    }
+
+    @Override
+    public InvoiceGenerationRunDTO resumeRun(Long runId) {
+        InvoiceGenerationRun run;
+        try {
+            run = new TransactionTemplate(transactionManager).execute(status -> {
+                InvoiceGenerationRun current = runRepository.findByIdForUpdate(runId)
+                        .orElseThrow(() -> runNotFound(runId));
+                boolean stale = current.getUpdatedAt() == null
+                        || current.getUpdatedAt().isBefore(LocalDateTime.now().minus(STALE_AFTER));
+                if (current.getStatus() == InvoiceRunStatus.COMPLETED
+                        || (current.getStatus() == InvoiceRunStatus.RUNNING && !stale)) {
+                    throw new InvalidPaymentOperationException(
+                            "Run " + runId + " is " + current.getStatus() + " and cannot be resumed.");
+                }
+                if (current.getStatus() == InvoiceRunStatus.FAILED) {
+                    requireNoLiveRun();
+                }
+                current.setStatus(InvoiceRunStatus.RUNNING);
+                current.setErrorMessage(null);
+                current.setUpdatedAt(LocalDateTime.now());
+                return runRepository.saveAndFlush(current);
+            });
+        } catch (DataIntegrityViolationException ex) {
+            throw new InvalidPaymentOperationException("Another bulk invoicing run is already in progress.");
+        }
+
+        log.info("Bulk invoicing run {} resumed after student {}", runId, run.getLastStudentId());
+        submit(runId);
+        return toDto(run);
+    }
+
+    private void submit(Long runId) {
+        invoiceRunExecutor.execute(() -> process(runId));
+    }
+
+    private void process(Long runId) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            RunContext context = transactionTemplate.execute(status -> loadContext(findRun(runId)));
+            boolean more = true;
+            while (more) {
+                more = Boolean.TRUE.equals(transactionTemplate.execute(status -> processChunk(runId, context)));
+            }
+        } catch (RuntimeException ex) {
+            log.error("Bulk invoicing run {} failed", runId, ex);
+            transactionTemplate.executeWithoutResult(status -> runRepository.findByIdForUpdate(runId).ifPresent(run -> {
+                run.setStatus(InvoiceRunStatus.FAILED);
+                run.setErrorMessage(truncate(ex.getClass().getSimpleName() + ": " + ex.getMessage()));
+            }));
+        }
+    }
+
+    /** Loads everything that is fixed for the run: active scholarships on the issue date, by student. */
+    private RunContext loadContext(InvoiceGenerationRun run) {
+        Map<Long, ScholarshipAssignment> scholarships = new HashMap<>();
+        for (ScholarshipAssignment assignment : scholarshipAssignmentRepository.findActiveOn(run.getIssueDate())) {
+            scholarships.putIfAbsent(assignment.getStudentId(), assignment);
+        }
+        return new RunContext(run.getIssueDate(), run.getDueDate(), run.getStartedBy(), scholarships, new HashMap<>());
+    }
+
+    /**
+     * Bills the next chunk under the run's row lock and advances its cursor.
+     *
+     * @return whether there may be more students to bill
+     */
+    private boolean processChunk(Long runId, RunContext context) {
+        InvoiceGenerationRun run = runRepository.findByIdForUpdate(runId).orElseThrow(() -> runNotFound(runId));
+        if (run.getStatus() != InvoiceRunStatus.RUNNING) {
+            return false;
+        }
+
+        List<BillingTarget> rows = studentFeeMapRepository.findBillingTargets(run.getClassId(), run.getSectionId(),
+                run.getFeeStructureId(), run.getLastStudentId(), PageRequest.of(0, CHUNK_SIZE));
+        if (rows.isEmpty()) {
+            run.setStatus(InvoiceRunStatus.COMPLETED);
+            run.setCompletedAt(LocalDateTime.now());
+            log.info("Bulk invoicing run {} completed: {} invoices, {} skipped, billed {}",
+                    runId, run.getInvoicesCreated(), run.getSkippedStudents(), run.getTotalBilled());
+            return false;
+        }
+
+        // A student mapped to several structures is billed once, on the first mapping, like findByStudent_Id.
+        Map<Long, Long> structureByStudent = new LinkedHashMap<>();
+        rows.forEach(row -> structureByStudent.putIfAbsent(row.getStudentId(), row.getStructureId()));
+        Long lastStudentId = rows.get(rows.size() - 1).getStudentId();
+
+        loadMissingParticulars(context, structureByStudent.values());
+        Set<Long> alreadyInvoiced = new HashSet<>(
+                invoiceRepository.findStudentIdsWithStatusNotIn(structureByStudent.keySet(), CLOSED_STATUSES));
+
+        List<Invoice> invoices = new ArrayList<>();
+        List<Long> invoicedStudents = new ArrayList<>();
+        Map<Long, BigDecimal> discountByType = new HashMap<>();
+        BigDecimal billed = BigDecimal.ZERO;
+        BigDecimal discounted = BigDecimal.ZERO;
+        for (Map.Entry<Long, Long> target : structureByStudent.entrySet()) {
+            Long studentId = target.getKey();
+            List<FeeParticular> particulars = context.particularsByStructure().getOrDefault(target.getValue(), List.of());
+            if (alreadyInvoiced.contains(studentId) || particulars.isEmpty()) {
+                continue;
+            }
+            ScholarshipAssignment scholarship = context.scholarshipByStudent().get(studentId);
+            BigDecimal discount = discountFor(scholarship, gross(particulars));
+            Invoice invoice = buildInvoice(studentId, particulars, scholarship, discount, context);
+            if (discount.signum() > 0) {
+                discountByType.merge(scholarship.getScholarshipType().getId(), discount, BigDecimal::add);
+                discounted = discounted.add(discount);
+            }
+            invoices.add(invoice);
+            invoicedStudents.add(studentId);
+            billed = billed.add(invoice.getTotalAmount());
+        }
+
+        List<String> numbers = documentNumberService.nextBlock(DocumentSeries.INVOICE,
+                InvoiceServiceImpl.INVOICE_SCHOOL_ID, context.issueDate(), invoices.size());
+        for (int i = 0; i < invoices.size(); i++) {
+            invoices.get(i).setInvoiceNumber(numbers.get(i));
+        }
+        invoiceBatchRepository.insertAll(invoices, context.actor());
+        discountByType.forEach(scholarshipTypeRepository::incrementTotalDiscountIssued);
+        feeProjectionService.refresh(invoicedStudents);
+
+        run.setLastStudentId(lastStudentId);
+        run.setProcessedStudents(run.getProcessedStudents() + structureByStudent.size());
+        run.setInvoicesCreated(run.getInvoicesCreated() + invoices.size());
+        run.setSkippedStudents(run.getSkippedStudents() + structureByStudent.size() - invoices.size());
+        run.setTotalBilled(run.getTotalBilled().add(billed));
+        run.setTotalDiscount(run.getTotalDiscount().add(discounted));
+        log.debug("Bulk invoicing run {}: {} invoices up to student {}", runId, invoices.size(), lastStudentId);
+        return true;
+    }
+
+    private void loadMissingParticulars(RunContext context, Collection<Long> structureIds) {
+        Set<Long> missing = new HashSet<>(structureIds);
+        missing.removeAll(context.particularsByStructure().keySet());
+        if (missing.isEmpty()) {
+            return;
+        }
+        missing.forEach(id -> context.particularsByStructure().put(id, new ArrayList<>()));
+        for (FeeParticular particular : feeParticularRepository.findByFeeStructureIds(missing)) {
+            context.particularsByStructure().get(particular.getFeeStructure().getId()).add(particular);
+        }
+    }
+
+    private Invoice buildInvoice(Long studentId, List<FeeParticular> particulars,
+                                 ScholarshipAssignment scholarship, BigDecimal discount, RunContext context) {
+        Invoice invoice = new Invoice();
+        invoice.setUuid(UUID.randomUUID());
+        invoice.setStudent(studentRepository.getReferenceById(studentId));
+        invoice.setIssueDate(context.issueDate());
+        invoice.setDueDate(context.dueDate());
+        invoice.setStatus(InvoiceStatus.PENDING);
+
+        for (FeeParticular particular : particulars) {
+            InvoiceLineItem lineItem = new InvoiceLineItem();
+            lineItem.setDescription(particular.getName());
+            lineItem.setAmount(particular.getAmount());
+            invoice.addLineItem(lineItem);
+        }
+        BigDecimal total = gross(particulars);
+
+        if (discount.signum() > 0) {
+            InvoiceLineItem discountItem = new InvoiceLineItem();
+            discountItem.setDescription("Scholarship Discount (" + scholarship.getScholarshipType().getName() + ")");
+            discountItem.setAmount(discount.negate());
+            invoice.addLineItem(discountItem);
+            total = total.subtract(discount);
+        }
+        invoice.setTotalAmount(total);
+        return invoice;
+    }
+
+    private static BigDecimal gross(List<FeeParticular> particulars) {
+        return particulars.stream().map(FeeParticular::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    /** Same rule as {@code InvoiceServiceImpl.generateSingleInvoice}. */
+    static BigDecimal discountFor(ScholarshipAssignment scholarship, BigDecimal total) {
+        if (scholarship == null) {
+            return BigDecimal.ZERO;
+        }
+        if ("PERCENTAGE".equalsIgnoreCase(scholarship.getDiscountType())) {
+            return total.multiply(scholarship.getDiscountValue()).divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP);
+        }
+        if ("FIXED".equalsIgnoreCase(scholarship.getDiscountType())) {
+            return scholarship.getDiscountValue();
+        }
+        return BigDecimal.ZERO;
+    }
+
+    private void requireNoLiveRun() {
+        if (runRepository.existsByStatusAndUpdatedAtAfter(InvoiceRunStatus.RUNNING,
+                LocalDateTime.now().minus(STALE_AFTER))) {
+            throw new InvalidPaymentOperationException("Another bulk invoicing run is already in progress.");
+        }
+    }
+
+    private InvoiceGenerationRun findRun(Long runId) {
+        return runRepository.findById(runId).orElseThrow(() -> runNotFound(runId));
+    }
+
+    private static EdusyncException runNotFound(Long runId) {
+        return new EdusyncException("Invoice generation run not found with ID: " + runId, HttpStatus.NOT_FOUND);
+    }
+
+    private static String currentUsername() {
+        try {
+            return SecurityContextHolder.getContext().getAuthentication().getName();
+        } catch (Exception e) {
+            return "system_user";
+        }
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private InvoiceGenerationRunDTO toDto(InvoiceGenerationRun run) {
+        return new InvoiceGenerationRunDTO(
+                run.getId(), run.getClassId(), run.getSectionId(), run.getFeeStructureId(),
+                run.getIssueDate(), run.getDueDate(), run.getStatus(),
+                run.getTotalStudents(), run.getProcessedStudents(), run.getInvoicesCreated(), run.getSkippedStudents(),
+                run.getTotalBilled(), run.getTotalDiscount(), run.getErrorMessage(), run.getStartedBy(),
+                run.getStartedAt(), run.getUpdatedAt(), run.getCompletedAt());
+    }
+
+    /** Per-run lookups; particulars fill in as new structures turn up in later chunks. */
+    private record RunContext(LocalDate issueDate,
+                              LocalDate dueDate,
+                              String actor,
+                              Map<Long, ScholarshipAssignment> scholarshipByStudent,
+                              Map<Long, List<FeeParticular>> particularsByStructure) {
+    }
+}
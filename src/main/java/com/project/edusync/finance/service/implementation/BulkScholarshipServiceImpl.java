@@ -0,0 +1,274 @@
+package com.project.edusync.finance.service.implementation;
+
+import com.project.edusync.common.exception.EdusyncException;
+import com.project.edusync.common.exception.finance.InvalidPaymentOperationException;
+import com.project.edusync.finance.dto.scholarship.BulkScholarshipAssignmentRequestDTO;
+import com.project.edusync.finance.dto.scholarship.ScholarshipAwardRunDTO;
+import com.project.edusync.finance.model.entity.ScholarshipAwardRun;
+import com.project.edusync.finance.model.entity.ScholarshipType;
+import com.project.edusync.finance.model.enums.InvoiceRunStatus;
+import com.project.edusync.finance.repository.ScholarshipAwardRepository;
+import com.project.edusync.finance.repository.ScholarshipAwardRepository.RepriceResult;
+import com.project.edusync.finance.repository.ScholarshipAwardRunRepository;
+import com.project.edusync.finance.repository.ScholarshipTypeRepository;
+import com.project.edusync.finance.service.BulkScholarshipService;
+import com.project.edusync.finance.service.FeeProjectionService;
+import jakarta.annotation.Resource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Cohort-wide scholarship awards. Each run walks the matching students in chunks of {@value #CHUNK_SIZE}, in
+ * student id order, and per chunk creates the assignments with one INSERT and re-prices the new recipients' open
+ * invoices with one statement, instead of an assignment call plus an invoice cancel and regenerate per student.
+ *
+ * <p>A chunk commits its assignments, re-priced invoices, the type's counters and the run's cursor together, so
+ * a stopped run resumes with {@link #resumeRun(Long)} without awarding or discounting anyone twice. The type row
+ * is locked per chunk, so {@code maxRecipients} holds against single assignments made meanwhile. Runs have their
+ * own worker: one queued behind bulk invoicing would commit nothing while it waits and be abandoned as stale.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkScholarshipServiceImpl implements BulkScholarshipService {
+
+    static final int CHUNK_SIZE = 500;
+
+    /** A RUNNING run that has not committed a chunk for this long is treated as abandoned. */
+    private static final Duration STALE_AFTER = Duration.ofMinutes(5);
+
+    private static final Set<String> DISCOUNT_TYPES = Set.of("PERCENTAGE", "FIXED");
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ScholarshipAwardRunRepository runRepository;
+    private final ScholarshipAwardRepository awardRepository;
+    private final ScholarshipTypeRepository typeRepository;
+    private final FeeProjectionService feeProjectionService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Resource(name = "scholarshipRunExecutor")
+    private Executor scholarshipRunExecutor;
+
+    @Override
+    public ScholarshipAwardRunDTO startRun(BulkScholarshipAssignmentRequestDTO request) {
+        Set<Long> studentIds = request.getStudentIds() == null ? Set.of() : request.getStudentIds().stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (request.getClassId() == null && request.getSectionId() == null && request.getFeeStructureId() == null
+                && studentIds.isEmpty()) {
+            throw new EdusyncException("Provide a classId, sectionId, feeStructureId or studentIds to select students.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        LocalDate effectiveFrom = request.getEffectiveFrom() != null ? request.getEffectiveFrom() : LocalDate.now();
+
+        ScholarshipAwardRunDTO run;
+        try {
+            run = new TransactionTemplate(transactionManager).execute(status -> {
+                ScholarshipType type = typeRepository.findById(request.getScholarshipId())
+                        .orElseThrow(() -> typeNotFound(request.getScholarshipId()));
+                if (type.getDiscountType() == null || !DISCOUNT_TYPES.contains(type.getDiscountType().toUpperCase())) {
+                    throw new EdusyncException("Scholarship Type " + type.getId()
+                            + " has no PERCENTAGE or FIXED discount.", HttpStatus.BAD_REQUEST);
+                }
+                runRepository.abandonStale(LocalDateTime.now().minus(STALE_AFTER), "Worker stopped responding");
+                requireNoLiveRun();
+                ScholarshipAwardRun created = runRepository.saveAndFlush(ScholarshipAwardRun.builder()
+                        .scholarshipTypeId(type.getId())
+                        .classId(request.getClassId())
+                        .sectionId(request.getSectionId())
+                        .feeStructureId(request.getFeeStructureId())
+                        .studentIds(new HashSet<>(studentIds))
+                        .effectiveFrom(effectiveFrom)
+                        .reason(request.getReason())
+                        .repriceOpenInvoices(!Boolean.FALSE.equals(request.getRepriceOpenInvoices()))
+                        .status(InvoiceRunStatus.RUNNING)
+                        .startedBy(currentUsername())
+                        .build());
+                created.setTotalStudents(awardRepository.countTargets(created));
+                return toDto(created);
+            });
+        } catch (DataIntegrityViolationException ex) {
+            throw new InvalidPaymentOperationException("Another bulk scholarship run is already in progress.");
+        }
+
+        log.info("Bulk scholarship run {} started for type {} (class={}, section={}, structure={}, listed={}): "
+                        + "{} students",
+                run.getRunId(), run.getScholarshipId(), run.getClassId(), run.getSectionId(), run.getFeeStructureId(),
+                run.getListedStudents(), run.getTotalStudents());
+        submit(run.getRunId());
+        return run;
+    }
+
+    /** Read in a transaction: the DTO counts the run's listed students, a lazy collection. */
+    @Override
+    public ScholarshipAwardRunDTO getRun(Long runId) {
+        return new TransactionTemplate(transactionManager).execute(status -> toDto(findRun(runId)));
+    }
+
+    @Override
+    public ScholarshipAwardRunDTO resumeRun(Long runId) {
+        ScholarshipAwardRunDTO run;
+        try {
+            run = new TransactionTemplate(transactionManager).execute(status -> {
+                ScholarshipAwardRun current = runRepository.findByIdForUpdate(runId)
+                        .orElseThrow(() -> runNotFound(runId));
+                boolean stale = current.getUpdatedAt() == null
+                        || current.getUpdatedAt().isBefore(LocalDateTime.now().minus(STALE_AFTER));
+                if (current.getStatus() == InvoiceRunStatus.COMPLETED
+                        || (current.getStatus() == InvoiceRunStatus.RUNNING && !stale)) {
+                    throw new InvalidPaymentOperationException(
+                            "Run " + runId + " is " + current.getStatus() + " and cannot be resumed.");
+                }
+                if (current.getStatus() == InvoiceRunStatus.FAILED) {
+                    requireNoLiveRun();
+                }
+                current.setStatus(InvoiceRunStatus.RUNNING);
+                current.setErrorMessage(null);
+                current.setUpdatedAt(LocalDateTime.now());
+                return toDto(runRepository.saveAndFlush(current));
+            });
+        } catch (DataIntegrityViolationException ex) {
+            throw new InvalidPaymentOperationException("Another bulk scholarship run is already in progress.");
+        }
+
+        log.info("Bulk scholarship run {} resumed after {} of {} students",
+                runId, run.getProcessedStudents(), run.getTotalStudents());
+        submit(runId);
+        return run;
+    }
+
+    private void submit(Long runId) {
+        scholarshipRunExecutor.execute(() -> process(runId));
+    }
+
+    private void process(Long runId) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            boolean more = true;
+            while (more) {
+                more = Boolean.TRUE.equals(transactionTemplate.execute(status -> processChunk(runId)));
+            }
+        } catch (RuntimeException ex) {
+            log.error("Bulk scholarship run {} failed", runId, ex);
+            transactionTemplate.executeWithoutResult(status -> runRepository.findByIdForUpdate(runId).ifPresent(run -> {
+                run.setStatus(InvoiceRunStatus.FAILED);
+                run.setErrorMessage(truncate(ex.getClass().getSimpleName() + ": " + ex.getMessage()));
+            }));
+        }
+    }
+
+    /**
+     * Awards the next chunk under the run's and the type's row locks and advances the run's cursor.
+     *
+     * @return whether there may be more students to award
+     */
+    private boolean processChunk(Long runId) {
+        ScholarshipAwardRun run = runRepository.findByIdForUpdate(runId).orElseThrow(() -> runNotFound(runId));
+        if (run.getStatus() != InvoiceRunStatus.RUNNING) {
+            return false;
+        }
+
+        List<Long> targets = awardRepository.findNextTargets(run, run.getLastStudentId(), CHUNK_SIZE);
+        if (targets.isEmpty()) {
+            run.setStatus(InvoiceRunStatus.COMPLETED);
+            run.setCompletedAt(LocalDateTime.now());
+            log.info("Bulk scholarship run {} completed: {} assigned, {} skipped, {} invoices re-priced by {}",
+                    runId, run.getAssignmentsCreated(), run.getSkippedStudents(), run.getInvoicesRepriced(),
+                    run.getTotalDiscount());
+            return false;
+        }
+
+        ScholarshipType type = typeRepository.findByIdForUpdate(run.getScholarshipTypeId())
+                .orElseThrow(() -> typeNotFound(run.getScholarshipTypeId()));
+        int activeCount = type.getActiveCount() != null ? type.getActiveCount() : 0;
+        Long capacity = type.getMaxRecipients() != null ? Math.max(0L, type.getMaxRecipients() - activeCount) : null;
+
+        List<Long> assigned = capacity != null && capacity == 0 ? List.of()
+                : awardRepository.assign(targets, type, run.getEffectiveFrom(), run.getReason(), capacity);
+
+        long invoices = 0;
+        BigDecimal discounted = BigDecimal.ZERO;
+        // A future award leaves open invoices alone; invoices generated once it is in effect pick it up. Open invoices
+        // due on or after the effective date are re-priced, including those issued before the award was made.
+        if (!assigned.isEmpty() && run.isRepriceOpenInvoices() && !run.getEffectiveFrom().isAfter(LocalDate.now())) {
+            RepriceResult repriced = awardRepository.reprice(assigned, type, run.getEffectiveFrom(),
+                    run.getStartedBy());
+            invoices = repriced.invoices();
+            discounted = repriced.amount();
+            feeProjectionService.refresh(repriced.studentIds());
+        }
+
+        // The type row is locked, so its counters are set outright.
+        type.setActiveCount(activeCount + assigned.size());
+        BigDecimal issued = type.getTotalDiscountIssued() != null ? type.getTotalDiscountIssued() : BigDecimal.ZERO;
+        type.setTotalDiscountIssued(issued.add(discounted));
+
+        Long lastStudentId = targets.get(targets.size() - 1);
+        run.setLastStudentId(lastStudentId);
+        run.setProcessedStudents(run.getProcessedStudents() + targets.size());
+        run.setAssignmentsCreated(run.getAssignmentsCreated() + assigned.size());
+        run.setSkippedStudents(run.getSkippedStudents() + targets.size() - assigned.size());
+        run.setInvoicesRepriced(run.getInvoicesRepriced() + invoices);
+        run.setTotalDiscount(run.getTotalDiscount().add(discounted));
+        log.debug("Bulk scholarship run {}: {} assigned, {} invoices re-priced up to student {}",
+                runId, assigned.size(), invoices, lastStudentId);
+        return true;
+    }
+
+    private void requireNoLiveRun() {
+        if (runRepository.existsByStatusAndUpdatedAtAfter(InvoiceRunStatus.RUNNING,
+                LocalDateTime.now().minus(STALE_AFTER))) {
+            throw new InvalidPaymentOperationException("Another bulk scholarship run is already in progress.");
+        }
+    }
+
+    private ScholarshipAwardRun findRun(Long runId) {
+        return runRepository.findById(runId).orElseThrow(() -> runNotFound(runId));
+    }
+
+    private static EdusyncException runNotFound(Long runId) {
+        return new EdusyncException("Scholarship award run not found with ID: " + runId, HttpStatus.NOT_FOUND);
+    }
+
+    private static EdusyncException typeNotFound(Long typeId) {
+        return new EdusyncException("Scholarship Type not found with ID: " + typeId, HttpStatus.NOT_FOUND);
+    }
+
+    private static String currentUsername() {
+        try {
+            return SecurityContextHolder.getContext().getAuthentication().getName();
+        } catch (Exception e) {
+            return "system_user";
+        }
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private ScholarshipAwardRunDTO toDto(ScholarshipAwardRun run) {
+        return new ScholarshipAwardRunDTO(
+                run.getId(), run.getScholarshipTypeId(), run.getClassId(), run.getSectionId(), run.getFeeStructureId(),
+                run.getStudentIds().size(), run.getEffectiveFrom(), run.isRepriceOpenInvoices(), run.getStatus(),
+                run.getTotalStudents(), run.getProcessedStudents(), run.getAssignmentsCreated(),
+                run.getSkippedStudents(), run.getInvoicesRepriced(), run.getTotalDiscount(), run.getErrorMessage(),
+                run.getStartedBy(), run.getStartedAt(), run.getUpdatedAt(), run.getCompletedAt());
+    }
+}
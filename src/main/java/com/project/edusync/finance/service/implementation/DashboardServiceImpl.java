@@ -1,46 +1,52 @@
 package com.project.edusync.finance.service.implementation;
 
 import com.project.edusync.common.exception.finance.StudentNotFoundException;
-import com.project.edusync.common.config.CacheNames;
 import com.project.edusync.finance.dto.dashboard.AdminDashboardSummaryDTO;
+import com.project.edusync.finance.dto.dashboard.FeeCollectionTotalDTO;
 import com.project.edusync.finance.dto.dashboard.ParentDashboardSummaryDTO;
-import com.project.edusync.finance.repository.InvoiceRepository;
-import com.project.edusync.finance.repository.PaymentRepository;
+import com.project.edusync.finance.model.entity.FeeCollectionTotal;
+import com.project.edusync.finance.model.entity.FeeStudentBalance;
+import com.project.edusync.finance.model.enums.FeeTotalScope;
+import com.project.edusync.finance.repository.FeeCollectionTotalRepository;
+import com.project.edusync.finance.repository.FeeStudentBalanceRepository;
 import com.project.edusync.finance.service.DashboardService;
 import com.project.edusync.uis.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
+import java.util.List;
 
+/**
+ * Dashboards read the fee projection ({@code fee_collection_totals} and {@code fee_student_balances}), which the
+ * invoice, payment and refund writers keep current in their own transactions. Nothing here aggregates invoices or
+ * payments, so there is no summary cache to go stale.
+ */
 @Service
 @RequiredArgsConstructor
 public class DashboardServiceImpl implements DashboardService {
 
-    private final InvoiceRepository invoiceRepository;
-    private final PaymentRepository paymentRepository;
+    private final FeeCollectionTotalRepository collectionTotalRepository;
+    private final FeeStudentBalanceRepository studentBalanceRepository;
     private final StudentRepository studentRepository;
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = CacheNames.FINANCE_DASHBOARD_SUMMARY, key = "'admin'")
     public AdminDashboardSummaryDTO getAdminDashboardSummary() {
 
-        // 1. Call all the custom aggregate queries
-        BigDecimal totalCollected = paymentRepository.findTotalCollected();
-        BigDecimal totalOutstanding = invoiceRepository.findTotalOutstanding();
-        BigDecimal totalOverdue = invoiceRepository.findTotalOverdue();
-        Long pendingInvoicesCount = invoiceRepository.countPendingInvoices();
+        // 1. Read the school row; it is absent only until the first projection rebuild
+        FeeCollectionTotal school = collectionTotalRepository
+                .findByScopeAndScopeId(FeeTotalScope.SCHOOL, FeeCollectionTotal.SCHOOL_ID)
+                .orElseGet(FeeCollectionTotal::new);
 
         // 2. Assemble the DTO
         AdminDashboardSummaryDTO summaryDTO = new AdminDashboardSummaryDTO();
-        summaryDTO.setTotalCollected(totalCollected);
-        summaryDTO.setTotalOutstanding(totalOutstanding);
-        summaryDTO.setTotalOverdue(totalOverdue);
-        summaryDTO.setPendingInvoicesCount(pendingInvoicesCount);
+        summaryDTO.setTotalCollected(school.getCollectedAmount());
+        summaryDTO.setTotalRefunded(school.getRefundedAmount());
+        summaryDTO.setTotalOutstanding(school.getOutstandingAmount());
+        summaryDTO.setTotalOverdue(school.getOverdueAmount());
+        summaryDTO.setPendingInvoicesCount(school.getPendingInvoices());
 
         // 3. Return the DTO
         return summaryDTO;
@@ -55,16 +61,25 @@ public class DashboardServiceImpl implements DashboardService {
             throw new StudentNotFoundException("Student not found with ID: " + studentId);
         }
 
-        // 2. Call the new aggregate queries
-        BigDecimal totalDue = invoiceRepository.findTotalDueForStudent(studentId);
-        LocalDate nextDueDate = invoiceRepository.findNextDueDateForStudent(studentId)
-                .orElse(null); // Return null if no upcoming due dates
+        // 2. Read the student's projected balance; a student never billed has no row yet
+        FeeStudentBalance balance = studentBalanceRepository.findById(studentId).orElse(null);
 
         // 3. Assemble the DTO
         ParentDashboardSummaryDTO summaryDTO = new ParentDashboardSummaryDTO();
-        summaryDTO.setTotalDue(totalDue);
-        summaryDTO.setNextDueDate(nextDueDate);
+        summaryDTO.setTotalDue(balance != null ? balance.getOutstandingAmount() : BigDecimal.ZERO);
+        summaryDTO.setNextDueDate(balance != null ? balance.getNextDueDate() : null);
 
         return summaryDTO;
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FeeCollectionTotalDTO> getCollectionTotals(FeeTotalScope scope) {
+        return collectionTotalRepository.findByScopeOrderByScopeId(scope).stream()
+                .map(total -> new FeeCollectionTotalDTO(total.getScope(), total.getScopeId(),
+                        total.getInvoicedAmount(), total.getCollectedAmount(), total.getRefundedAmount(),
+                        total.getOutstandingAmount(), total.getOverdueAmount(), total.getPendingInvoices(),
+                        total.getUpdatedAt()))
+                .toList();
+    }
+}
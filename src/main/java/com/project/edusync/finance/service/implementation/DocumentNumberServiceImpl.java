@@ -0,0 +1,127 @@
+package com.project.edusync.finance.service.implementation;
+
+import com.project.edusync.finance.config.DocumentNumberingProperties;
+import com.project.edusync.finance.model.enums.DocumentSeries;
+import com.project.edusync.finance.repository.DocumentSequenceRepository;
+import com.project.edusync.finance.service.DocumentNumberService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Hands out document numbers from {@code document_sequences}.
+ *
+ * <p>By default each node reserves a block of numbers per sequence in its own short transaction and serves
+ * numbers from memory until the block runs out, so the sequence row is touched once per block and never held
+ * for the length of a posting. Numbers stay unique across nodes and increase within a node; a block abandoned
+ * by a restart leaves a gap, and numbers from different nodes interleave out of time order.</p>
+ *
+ * <p>A series configured as gapless instead takes each number inside the caller's transaction: the sequence row
+ * stays locked until that transaction ends and a rollback returns the number, at the cost of serializing the
+ * series.</p>
+ */
+@Slf4j
+@Service
+public class DocumentNumberServiceImpl implements DocumentNumberService {
+
+    /** Schools other than this one carry their id in the number, since document numbers are unique table-wide. */
+    static final Long DEFAULT_SCHOOL_ID = 1L;
+
+    private final DocumentSequenceRepository sequenceRepository;
+    private final DocumentNumberingProperties properties;
+    private final TransactionTemplate reserveTransaction;
+    private final TransactionTemplate callerTransaction;
+    private final ConcurrentMap<SequenceKey, Block> blocks = new ConcurrentHashMap<>();
+
+    public DocumentNumberServiceImpl(DocumentSequenceRepository sequenceRepository,
+                                     DocumentNumberingProperties properties,
+                                     PlatformTransactionManager transactionManager) {
+        this.sequenceRepository = sequenceRepository;
+        this.properties = properties;
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.callerTransaction = new TransactionTemplate(transactionManager);
+        this.callerTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_MANDATORY);
+    }
+
+    @Override
+    public String next(DocumentSeries series, Long schoolId, LocalDate documentDate) {
+        SequenceKey key = new SequenceKey(schoolId, series, financialYear(documentDate));
+        long value;
+        if (properties.isGapless(series)) {
+            value = reserveInCallerTransaction(key, 1);
+        } else {
+            Block block = blocks.computeIfAbsent(key, k -> new Block());
+            synchronized (block) {
+                if (block.next >= block.end) {
+                    int size = properties.blockSize(series);
+                    block.next = reserveInOwnTransaction(key, size);
+                    block.end = block.next + size;
+                    log.debug("Reserved {} numbers of {} from {}", size, key, block.next);
+                }
+                value = block.next++;
+            }
+        }
+        return format(key, value);
+    }
+
+    @Override
+    public List<String> nextBlock(DocumentSeries series, Long schoolId, LocalDate documentDate, int count) {
+        if (count <= 0) {
+            return List.of();
+        }
+        SequenceKey key = new SequenceKey(schoolId, series, financialYear(documentDate));
+        long first = properties.isGapless(series)
+                ? reserveInCallerTransaction(key, count)
+                : reserveInOwnTransaction(key, count);
+        List<String> numbers = new ArrayList<>(count);
+        for (long value = first; value < first + count; value++) {
+            numbers.add(format(key, value));
+        }
+        return numbers;
+    }
+
+    private long reserveInOwnTransaction(SequenceKey key, int count) {
+        return reserveTransaction.execute(status ->
+                sequenceRepository.reserve(key.schoolId(), key.series(), key.financialYear(), count));
+    }
+
+    private long reserveInCallerTransaction(SequenceKey key, int count) {
+        return callerTransaction.execute(status ->
+                sequenceRepository.reserve(key.schoolId(), key.series(), key.financialYear(), count));
+    }
+
+    /** Calendar year in which the financial year containing {@code date} starts. */
+    int financialYear(LocalDate date) {
+        return properties.financialYearOf(date);
+    }
+
+    /** {@code PREFIX[-S<school>]-<FY>-<000001>}, where FY is {@code 2026-27}, or {@code 2026} for calendar years. */
+    String format(SequenceKey key, long value) {
+        StringBuilder number = new StringBuilder(key.series().getPrefix()).append('-');
+        if (!DEFAULT_SCHOOL_ID.equals(key.schoolId())) {
+            number.append('S').append(key.schoolId()).append('-');
+        }
+        number.append(key.financialYear());
+        if (properties.getFinancialYearStart().getValue() != 1) {
+            number.append('-').append(String.format("%02d", (key.financialYear() + 1) % 100));
+        }
+        return number.append('-').append(String.format("%06d", value)).toString();
+    }
+
+    record SequenceKey(Long schoolId, DocumentSeries series, int financialYear) {
+    }
+
+    private static final class Block {
+        private long next;
+        private long end;
+    }
+}
@@ -0,0 +1,80 @@
+package com.project.edusync.finance.service.implementation;
+
+import com.project.edusync.common.scheduling.LeasedJob;
+import com.project.edusync.common.scheduling.ScheduledJobCoordinator;
+import com.project.edusync.common.scheduling.ScheduledJobDefinition;
+import com.project.edusync.finance.model.entity.FeeCollectionTotal;
+import com.project.edusync.finance.repository.FeeProjectionRepository;
+import com.project.edusync.finance.repository.FeeStudentBalanceRepository;
+import com.project.edusync.finance.service.FeeProjectionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Writers refresh only the students they touched; the nightly rebuild recomputes everything, which also fills the
+ * projection on first deployment through catch-up.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FeeProjectionServiceImpl implements FeeProjectionService, LeasedJob {
+
+    private static final String REBUILD_CRON = "0 45 2 * * ?";
+
+    private static final ScheduledJobDefinition REBUILD = ScheduledJobDefinition
+            .of("fee-projection-rebuild", REBUILD_CRON, Duration.ofMinutes(30))
+            .withCatchUp(Duration.ofDays(1))
+            .inTransaction();
+
+    private final FeeProjectionRepository projectionRepository;
+    private final FeeStudentBalanceRepository balanceRepository;
+    private final ScheduledJobCoordinator jobCoordinator;
+
+    @Override
+    @Transactional
+    public void refresh(Collection<Long> studentIds) {
+        if (studentIds == null || studentIds.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = studentIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (!ids.isEmpty()) {
+            // The recompute reads through JDBC, so the caller's pending JPA changes must be written first
+            balanceRepository.flush();
+            projectionRepository.refresh(ids, FeeCollectionTotal.SCHOOL_ID);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int rebuild() {
+        long started = System.currentTimeMillis();
+        int students = projectionRepository.rebuild(FeeCollectionTotal.SCHOOL_ID);
+        log.info("Fee projection rebuilt for {} students in {} ms", students, System.currentTimeMillis() - started);
+        return students;
+    }
+
+    @Scheduled(cron = REBUILD_CRON)
+    public void runNightly() {
+        jobCoordinator.trigger(this);
+    }
+
+    @Override
+    public ScheduledJobDefinition definition() {
+        return REBUILD;
+    }
+
+    @Override
+    public int execute(LocalDateTime scheduledFor) {
+        return rebuild();
+    }
+}
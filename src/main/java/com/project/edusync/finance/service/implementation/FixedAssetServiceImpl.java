@@ -1,38 +1,46 @@
 package com.project.edusync.finance.service.implementation;
 
+import com.project.edusync.common.exception.EdusyncException;
 import com.project.edusync.finance.dto.asset.AssetRequestDTO;
 import com.project.edusync.finance.dto.asset.AssetResponseDTO;
 import com.project.edusync.finance.dto.asset.DepreciationEntryResponseDTO;
+import com.project.edusync.finance.dto.asset.DepreciationRunResultDTO;
 import com.project.edusync.finance.model.entity.*;
 import com.project.edusync.finance.model.enums.AssetStatus;
 import com.project.edusync.finance.model.enums.DepreciationMethod;
 import com.project.edusync.finance.model.enums.JournalReferenceType;
 import com.project.edusync.finance.repository.*;
+import com.project.edusync.finance.repository.DepreciationBatchRepository.DepreciableAsset;
 import com.project.edusync.finance.service.GeneralLedgerService;
+import com.project.edusync.finance.utils.DepreciationCalculator;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.Year;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 /**
  * Fixed Asset Register + Depreciation Engine.
  *
- * Depreciation methods:
+ * Depreciation methods (see DepreciationCalculator):
  *   STRAIGHT_LINE: depreciableAmount / usefulLifeYears
  *   WRITTEN_DOWN_VALUE: currentBookValue × (rate / 100)
  *   UNITS_OF_PRODUCTION: not implemented here (requires production input)
  *
  * GL on purchase:  Dr Asset Account (1xxx), Cr Accounts Payable / Bank (2110 / 1120)
- * GL on depreciation: Dr Depreciation Expense (5xxx), Cr Accumulated Depreciation (1xxx)
+ * GL on depreciation: Dr Depreciation Expense (5xxx), Cr Accumulated Depreciation (1xxx),
+ *                     one journal per asset category per run
  * GL on disposal: Dr Accumulated Depreciation (1xxx) + Dr Loss / Cr Gain, Cr Asset Account
  */
 @Slf4j
@@ -46,10 +54,13 @@ public class FixedAssetServiceImpl {
     private final VendorRepository vendorRepository;
     private final AccountRepository accountRepository;
     private final GeneralLedgerService glService;
+    private final DepreciationBatchRepository batchRepository;
+    private final DepreciationRunRepository depreciationRunRepository;
 
     private static final Long DEFAULT_SCHOOL = 1L;
     private static final String DEPRECIATION_EXP_CODE  = "5310"; // Depreciation Expense
     private static final String ACC_DEPRECIATION_CODE  = "1399"; // Accumulated Depreciation (contra asset)
+    private static final String UNCATEGORISED          = "Uncategorised";
 
     // ── Create / Update ───────────────────────────────────────────────────────
 
@@ -85,7 +96,7 @@ public class FixedAssetServiceImpl {
 
     /**
      * Post depreciation for a single asset for the given financial year.
-     * Idempotent — if a Depreciation Entry already exists for this year, it is returned unchanged.
+     * Goes through the same engine as the batch run, with a journal of its own.
      */
     public DepreciationEntryResponseDTO postDepreciation(Long assetId, String financialYear, Long schoolId) {
         FixedAsset asset = findAsset(assetId, schoolId);
@@ -100,56 +111,21 @@ public class FixedAssetServiceImpl {
             throw new IllegalStateException("Asset " + asset.getAssetCode() + " is fully depreciated.");
         }
 
-        BigDecimal charge = calcDepreciationCharge(asset);
-        BigDecimal openingBV = asset.getCurrentBookValue();
-        BigDecimal closingBV = openingBV.subtract(charge).max(asset.getSalvageValue());
-
-        // Update asset
-        asset.setAccumulatedDepreciation(asset.getAccumulatedDepreciation().add(charge));
-        asset.setCurrentBookValue(closingBV);
-        asset.setLastDepreciationDate(LocalDate.now());
-        assetRepository.save(asset);
-
-        // Create entry
-        DepreciationEntry dep = new DepreciationEntry();
-        dep.setAsset(asset);
-        dep.setFinancialYear(financialYear);
-        dep.setDepreciationDate(LocalDate.now());
-        dep.setOpeningBookValue(openingBV);
-        dep.setDepreciationAmount(charge);
-        dep.setClosingBookValue(closingBV);
-        dep.setSchoolId(schoolId);
-
-        // Post GL entry
-        try {
-            var depExpOpt  = accountRepository.findByCodeAndSchoolId(DEPRECIATION_EXP_CODE, schoolId);
-            var accDepOpt  = accountRepository.findByCodeAndSchoolId(ACC_DEPRECIATION_CODE, schoolId);
-            if (depExpOpt.isPresent() && accDepOpt.isPresent()) {
-                JournalEntry entry = glService.autoPostEntry(
-                        LocalDate.now(),
-                        "Depreciation — " + asset.getName() + " [" + asset.getAssetCode() + "] FY " + financialYear,
-                        JournalReferenceType.DEPRECIATION,
-                        assetId,
-                        depExpOpt.get().getId(),
-                        accDepOpt.get().getId(),
-                        charge,
-                        schoolId
-                );
-                dep.setGlEntryId(entry.getId());
-            }
-        } catch (Exception ex) {
-            log.error("GL post failed for depreciation of {}: {}", asset.getAssetCode(), ex.getMessage());
-        }
-
-        return toDepDTO(depreciationRepository.save(dep));
+        depreciate(financialYear, schoolId, assetId, false);
+        return depreciationRepository.findByAssetIdAndFinancialYear(assetId, financialYear)
+                .map(this::toDepDTO)
+                .orElseThrow(() -> new IllegalStateException("Asset " + asset.getAssetCode() + " has nothing to depreciate."));
     }
 
-    /** Batch depreciation for all eligible assets in a financial year. */
-    public List<DepreciationEntryResponseDTO> runDepreciationBatch(String financialYear, Long schoolId) {
-        return assetRepository.findAssetsEligibleForDepreciation(schoolId).stream()
-                .filter(a -> !depreciationRepository.existsByAssetIdAndFinancialYear(a.getId(), financialYear))
-                .map(a -> postDepreciation(a.getId(), financialYear, schoolId))
-                .collect(Collectors.toList());
+    /**
+     * Batch depreciation for all eligible assets in a financial year.
+     *
+     * Charges are computed in memory from one query, entries and book values are written in JDBC batches, and each
+     * asset category gets one consolidated journal. The run is all-or-nothing: if any journal cannot be posted,
+     * nothing is depreciated. A dry run returns the same result without writing anything.
+     */
+    public DepreciationRunResultDTO runDepreciationBatch(String financialYear, Long schoolId, boolean dryRun) {
+        return depreciate(financialYear, schoolId, null, dryRun);
     }
 
     /** Dispose / write off an asset. */
@@ -174,19 +150,88 @@ public class FixedAssetServiceImpl {
 
     // ── Private Helpers ───────────────────────────────────────────────────────
 
-    private BigDecimal calcDepreciationCharge(FixedAsset asset) {
-        return switch (asset.getDepreciationMethod()) {
-            case STRAIGHT_LINE -> asset.getDepreciableAmount()
-                    .divide(BigDecimal.valueOf(asset.getUsefulLifeYears()), 2, RoundingMode.HALF_UP);
-            case WRITTEN_DOWN_VALUE -> {
-                BigDecimal rate = asset.getDepreciationRatePct() != null
-                        ? asset.getDepreciationRatePct()
-                        : BigDecimal.valueOf(100).divide(BigDecimal.valueOf(asset.getUsefulLifeYears()), 2, RoundingMode.HALF_UP);
-                yield asset.getCurrentBookValue().multiply(rate).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+    private DepreciationRunResultDTO depreciate(String financialYear, Long schoolId, Long assetId, boolean dryRun) {
+        LocalDate today = LocalDate.now();
+        Map<String, List<DepreciationRunResultDTO.AssetCharge>> byCategory = new TreeMap<>();
+        for (DepreciableAsset a : batchRepository.findEligible(schoolId, financialYear, assetId, !dryRun)) {
+            BigDecimal charge = DepreciationCalculator.annualCharge(a.method(), a.purchaseCost(), a.salvageValue(),
+                    a.usefulLifeYears(), a.depreciationRatePct(), a.currentBookValue());
+            if (charge.signum() <= 0) continue;
+            String category = a.assetCategory() != null && !a.assetCategory().isBlank() ? a.assetCategory() : UNCATEGORISED;
+            byCategory.computeIfAbsent(category, k -> new ArrayList<>()).add(new DepreciationRunResultDTO.AssetCharge(
+                    a.id(), a.assetCode(), a.name(), category, a.method(),
+                    a.currentBookValue(), charge, a.currentBookValue().subtract(charge)));
+        }
+
+        Account expense = null;
+        Account accumulated = null;
+        if (!dryRun && !byCategory.isEmpty()) {
+            expense = accountRepository.findByCodeAndSchoolId(DEPRECIATION_EXP_CODE, schoolId).orElse(null);
+            accumulated = accountRepository.findByCodeAndSchoolId(ACC_DEPRECIATION_CODE, schoolId).orElse(null);
+            if (expense == null || accumulated == null) {
+                throw new EdusyncException("Depreciation accounts " + DEPRECIATION_EXP_CODE + " and " + ACC_DEPRECIATION_CODE
+                        + " must exist in the chart of accounts before depreciation can be posted.", HttpStatus.UNPROCESSABLE_ENTITY);
             }
-            default -> asset.getDepreciableAmount()
-                    .divide(BigDecimal.valueOf(asset.getUsefulLifeYears()), 2, RoundingMode.HALF_UP);
-        };
+        }
+
+        String actor = currentUser();
+        List<DepreciationRunResultDTO.CategoryTotal> categories = new ArrayList<>();
+        List<DepreciationRunResultDTO.AssetCharge> assets = new ArrayList<>();
+        BigDecimal grandTotal = BigDecimal.ZERO;
+        for (Map.Entry<String, List<DepreciationRunResultDTO.AssetCharge>> group : byCategory.entrySet()) {
+            List<DepreciationRunResultDTO.AssetCharge> charges = group.getValue();
+            BigDecimal total = charges.stream()
+                    .map(DepreciationRunResultDTO.AssetCharge::depreciationAmount)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            Long journalId = null;
+            if (!dryRun) {
+                journalId = postCategory(group.getKey(), charges, total, expense, accumulated, financialYear, today, schoolId, actor);
+            }
+            categories.add(new DepreciationRunResultDTO.CategoryTotal(group.getKey(), charges.size(), total, journalId));
+            assets.addAll(charges);
+            grandTotal = grandTotal.add(total);
+        }
+        log.info("Depreciation {} FY {}: {} asset(s) in {} categor(ies), total {}",
+                dryRun ? "preview" : "run", financialYear, assets.size(), categories.size(), grandTotal);
+        return new DepreciationRunResultDTO(financialYear, dryRun, assets.size(), grandTotal, categories, assets);
+    }
+
+    /** Records the category run, posts its one journal, then writes every asset's entry and book value. */
+    private Long postCategory(String category, List<DepreciationRunResultDTO.AssetCharge> charges, BigDecimal total,
+                              Account expense, Account accumulated, String financialYear, LocalDate date,
+                              Long schoolId, String actor) {
+        DepreciationRun run = new DepreciationRun(financialYear, category, date, charges.size(), total, null, schoolId);
+        run = depreciationRunRepository.save(run);
+
+        JournalLine debit = new JournalLine();
+        debit.setAccount(expense);
+        debit.setDebitAmount(total);
+        debit.setNarration(category + " — " + charges.size() + " asset(s)");
+        JournalLine credit = new JournalLine();
+        credit.setAccount(accumulated);
+        credit.setCreditAmount(total);
+        credit.setNarration(category + " — " + charges.size() + " asset(s)");
+        JournalEntry journal = glService.createJournalEntry(
+                date,
+                "Depreciation — " + category + " FY " + financialYear,
+                JournalReferenceType.DEPRECIATION,
+                run.getId(),
+                List.of(debit, credit),
+                schoolId
+        );
+        run.setJournalEntryId(journal.getId());
+
+        List<DepreciationBatchRepository.Charge> rows = charges.stream()
+                .map(c -> new DepreciationBatchRepository.Charge(c.assetId(), c.openingBookValue(),
+                        c.depreciationAmount(), c.closingBookValue()))
+                .toList();
+        batchRepository.insertEntries(financialYear, date, schoolId, journal.getId(), actor, rows);
+        batchRepository.updateBookValues(date, actor, rows);
+        return journal.getId();
+    }
+
+    private String currentUser() {
+        try { return SecurityContextHolder.getContext().getAuthentication().getName(); } catch (Exception e) { return "system"; }
     }
 
     private void mapDto(AssetRequestDTO dto, FixedAsset asset, Long schoolId) {
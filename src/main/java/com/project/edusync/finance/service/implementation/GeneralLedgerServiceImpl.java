@@ -1,15 +1,18 @@
 package com.project.edusync.finance.service.implementation;
 
+import com.project.edusync.finance.budget.BudgetLedger;
 import com.project.edusync.finance.dto.gl.*;
 import com.project.edusync.finance.model.entity.Account;
 import com.project.edusync.finance.model.entity.JournalEntry;
 import com.project.edusync.finance.model.entity.JournalLine;
 import com.project.edusync.finance.model.enums.AccountType;
+import com.project.edusync.finance.model.enums.DocumentSeries;
 import com.project.edusync.finance.model.enums.JournalEntryStatus;
 import com.project.edusync.finance.model.enums.JournalReferenceType;
 import com.project.edusync.finance.repository.AccountRepository;
 import com.project.edusync.finance.repository.JournalEntryRepository;
 import com.project.edusync.finance.repository.JournalLineRepository;
+import com.project.edusync.finance.service.DocumentNumberService;
 import com.project.edusync.finance.service.GeneralLedgerService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -22,7 +25,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.Year;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -36,6 +38,8 @@ public class GeneralLedgerServiceImpl implements GeneralLedgerService {
     private final JournalEntryRepository journalEntryRepository;
     private final JournalLineRepository journalLineRepository;
     private final AccountRepository accountRepository;
+    private final DocumentNumberService documentNumberService;
+    private final BudgetLedger budgetLedger;
 
     @Override
     public JournalEntryResponseDTO createAndPostManualEntry(JournalEntryRequestDTO dto, Long schoolId) {
@@ -62,7 +66,9 @@ public class GeneralLedgerServiceImpl implements GeneralLedgerService {
         }
 
         postEntry(entry);
-        return toResponseDTO(journalEntryRepository.save(entry));
+        JournalEntry saved = journalEntryRepository.save(entry);
+        budgetLedger.record(saved);
+        return toResponseDTO(saved);
     }
 
     @Override
@@ -102,6 +108,7 @@ public class GeneralLedgerServiceImpl implements GeneralLedgerService {
         postEntry(entry);
         JournalEntry saved = journalEntryRepository.save(entry);
         updateAccountBalances(saved);
+        budgetLedger.record(saved);
         return saved;
     }
 
@@ -148,6 +155,7 @@ public class GeneralLedgerServiceImpl implements GeneralLedgerService {
         postEntry(entry);
         JournalEntry saved = journalEntryRepository.save(entry);
         updateAccountBalances(saved);
+        budgetLedger.record(saved);
         return saved;
     }
 
@@ -191,6 +199,8 @@ public class GeneralLedgerServiceImpl implements GeneralLedgerService {
         undoAccountBalances(original);
         // Apply reversal balance updates
         updateAccountBalances(reversal);
+        // The reversal's mirrored lines take the original back out of budget actuals
+        budgetLedger.record(reversal);
 
         return toResponseDTO(reversal);
     }
@@ -283,7 +293,7 @@ public class GeneralLedgerServiceImpl implements GeneralLedgerService {
     private JournalEntry buildEntry(LocalDate entryDate, String description,
                                     JournalReferenceType referenceType, Long referenceId, Long schoolId) {
         JournalEntry entry = new JournalEntry();
-        entry.setEntryNumber(generateEntryNumber(schoolId));
+        entry.setEntryNumber(documentNumberService.next(DocumentSeries.JOURNAL, schoolId, entryDate));
         entry.setEntryDate(entryDate);
         entry.setDescription(description);
         entry.setReferenceType(referenceType);
@@ -357,13 +367,6 @@ public class GeneralLedgerServiceImpl implements GeneralLedgerService {
         return je;
     }
 
-    private String generateEntryNumber(Long schoolId) {
-        int year = Year.now().getValue();
-        String prefix = "JE-" + year + "-";
-        long count = journalEntryRepository.countByPrefix(schoolId, prefix);
-        return prefix + String.format("%06d", count + 1);
-    }
-
     private String getCurrentUsername() {
         try {
             return SecurityContextHolder.getContext().getAuthentication().getName();
@@ -4,19 +4,20 @@ import com.project.edusync.common.exception.finance.InvalidPaymentOperationExcep
 import com.project.edusync.common.exception.finance.InvoiceNotFoundException;
 import com.project.edusync.common.exception.finance.StudentFeeMapNotFoundException;
 import com.project.edusync.common.exception.finance.StudentNotFoundException;
-import com.project.edusync.common.settings.service.AppSettingService;
 import com.project.edusync.finance.dto.invoice.InvoiceResponseDTO;
 import com.project.edusync.finance.mapper.InvoiceMapper;
 import com.project.edusync.finance.model.entity.*;
+import com.project.edusync.finance.model.enums.DocumentSeries;
 import com.project.edusync.finance.model.enums.FineType;
 import com.project.edusync.finance.model.enums.InvoiceStatus;
 import com.project.edusync.finance.model.enums.PaymentStatus;
+import com.project.edusync.finance.receipt.ReceiptDocumentAssembler;
 import com.project.edusync.finance.repository.*;
+import com.project.edusync.finance.service.DocumentNumberService;
+import com.project.edusync.finance.service.FeeProjectionService;
 import com.project.edusync.finance.service.InvoiceService;
 import com.project.edusync.finance.service.PdfGenerationService;
-import com.project.edusync.finance.utils.NumberToWordsConverter;
 import com.project.edusync.uis.model.entity.Student;
-import com.project.edusync.uis.model.entity.UserProfile;
 import com.project.edusync.uis.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,10 +29,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.Month;
-import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -41,19 +39,24 @@ import java.util.stream.Collectors;
 @Slf4j
 public class InvoiceServiceImpl implements InvoiceService {
 
+    /** Invoices are not school-scoped yet; number them in the default school's series. */
+    static final Long INVOICE_SCHOOL_ID = 1L;
+
     private final InvoiceRepository invoiceRepository;
     private final StudentRepository studentRepository;
     private final PaymentRepository paymentRepository;
     private final StudentFeeMapRepository studentFeeMapRepository;
     private final FeeParticularRepository feeParticularRepository;
     private final LateFeeRuleRepository lateFeeRuleRepository;
+    private final LateFeeApplicationRepository lateFeeApplicationRepository;
     private final ScholarshipAssignmentRepository scholarshipAssignmentRepository;
     private final ScholarshipTypeRepository scholarshipTypeRepository;
     private final InvoiceMapper invoiceMapper;
 
     private final PdfGenerationService pdfGenerationService;
-    private final NumberToWordsConverter numberToWordsConverter;
-    private final AppSettingService appSettingService;
+    private final ReceiptDocumentAssembler receiptDocumentAssembler;
+    private final DocumentNumberService documentNumberService;
+    private final FeeProjectionService feeProjectionService;
     // InvoiceLineItemRepository is not needed — saved by CascadeType.ALL.
 
     @Override
@@ -93,7 +96,7 @@ public class InvoiceServiceImpl implements InvoiceService {
         invoice.setIssueDate(LocalDate.now());
         invoice.setDueDate(LocalDate.now().plusDays(30)); // Default due date
         invoice.setStatus(InvoiceStatus.PENDING);
-        invoice.setInvoiceNumber(generateInvoiceNumber());
+        invoice.setInvoiceNumber(documentNumberService.next(DocumentSeries.INVOICE, INVOICE_SCHOOL_ID, invoice.getIssueDate()));
 
         BigDecimal totalAmount = BigDecimal.ZERO;
 
@@ -159,6 +162,7 @@ public class InvoiceServiceImpl implements InvoiceService {
 
         // 8. Save the invoice (and its line items via CascadeType.ALL)
         Invoice savedInvoice = invoiceRepository.save(invoice);
+        feeProjectionService.refresh(List.of(studentId));
 
         // 8. Map to DTO and return
         return invoiceMapper.toDto(savedInvoice);
@@ -206,50 +210,12 @@ public class InvoiceServiceImpl implements InvoiceService {
                 .findFirst()
                 .orElse(payments.get(0)); // Fallback to first if all pending/failed for some reason
 
-        // 4. Get Student and Profile data
-        Student student = invoice.getStudent();
-        UserProfile profile = student.getUserProfile();
-
-        // 6. Build the data map for Thymeleaf
-        Map<String, Object> data = new HashMap<>();
-        DateTimeFormatter dtf = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-
-        // School branding from AppSettings
-        populateSchoolBranding(data);
-
-        // Receipt/Payment Info
-        data.put("receiptNo", payment.getPaymentId().toString());
-        data.put("paymentDate", payment.getPaymentDate().format(dtf));
-        data.put("payMode", payment.getPaymentMethod().toString());
-        data.put("bankName", appSettingService.getValue("school.bank_name", "HDFC BANK"));
-        data.put("paymentNumber", payment.getTransactionId());
-        data.put("counterNo", "DPS-RECEIPT");
-        data.put("note", "Invoice #" + invoice.getInvoiceNumber());
-
-        // Student/School Info
-        data.put("studentName", profile.getFirstName() + " " + profile.getLastName());
-        data.put("admissionNumber", student.getEnrollmentNumber());
-        data.put("session", computeAcademicYear());
-        data.put("className", student.getSection().getAcademicClass().getName() + " - " + student.getSection().getSectionName());
-        data.put("installmentName", "FEES");
-
-        // Financials
-        data.put("lineItems", invoice.getLineItems().stream()
-                .map(li -> Map.of(
-                    "description", li.getDescription(),
-                    "due", li.getAmount(),
-                    "con", BigDecimal.ZERO,
-                    "paid", li.getAmount() // For the main invoice receipt, we show the billable amount
-                )).collect(Collectors.toList()));
-        data.put("totalAmount", invoice.getTotalAmount());
-        // ── BUG FIX 5: Use HALF_UP rounding to avoid truncating paise. ──────────
-        // Without rounding, ₹1,000.75 would become "One Thousand Rupees Only".
-        long totalRupees = invoice.getTotalAmount().setScale(0, RoundingMode.HALF_UP).longValue();
-        data.put("totalInWords", numberToWordsConverter.convertToWords(totalRupees));
-        // ────────────────────────────────────────────────────────────────────────
+        // 4. Build the data map for Thymeleaf
+        Map<String, Object> data = receiptDocumentAssembler.invoiceReceipt(
+                invoice, payment, receiptDocumentAssembler.branding());
 
-        // 7. Call the PDF service
-        return pdfGenerationService.generatePdfFromHtml("receipt", data);
+        // 5. Call the PDF service
+        return pdfGenerationService.generatePdfFromHtml(ReceiptDocumentAssembler.TEMPLATE, data);
     }
 
 
@@ -333,6 +299,17 @@ public class InvoiceServiceImpl implements InvoiceService {
 
         // 5. Save and return DTO
         Invoice updatedInvoice = invoiceRepository.save(invoice);
+
+        // 6. Record the fee so the nightly sweep does not charge this rule again for the same due date
+        lateFeeApplicationRepository.save(LateFeeApplication.builder()
+                .invoiceId(updatedInvoice.getId())
+                .ruleId(rule.getRuleId())
+                .dueDate(updatedInvoice.getDueDate())
+                .amount(lateFee)
+                .appliedOn(LocalDate.now())
+                .source(LateFeeApplication.SOURCE_MANUAL)
+                .build());
+        feeProjectionService.refresh(List.of(updatedInvoice.getStudent().getId()));
         return invoiceMapper.toDto(updatedInvoice);
     }
 
@@ -356,59 +333,10 @@ public class InvoiceServiceImpl implements InvoiceService {
 
         // 3. Save and return DTO
         Invoice updatedInvoice = invoiceRepository.save(invoice);
+        feeProjectionService.refresh(List.of(updatedInvoice.getStudent().getId()));
         return invoiceMapper.toDto(updatedInvoice);
     }
 
     // --- Private Helper Methods ---
 
-    /**
-     * Generates a unique invoice number.
-     * TODO: This should be a robust, sequence-based generator.
-     */
-    private String generateInvoiceNumber() {
-        // Simple, non-production-ready generator
-        return "INV-" + System.currentTimeMillis();
-    }
-
-    private void populateSchoolBranding(Map<String, Object> data) {
-        data.put("schoolName", appSettingService.getValue("school.name", "My School"));
-        data.put("schoolAddress", appSettingService.getValue("school.address", ""));
-        data.put("schoolPhone", appSettingService.getValue("school.phone", ""));
-        data.put("schoolEmail", appSettingService.getValue("school.email", ""));
-        data.put("schoolWebsite", appSettingService.getValue("school.website", ""));
-
-        // Branding
-        data.put("schoolName", appSettingService.getValue("school.name", "Shiksha Intelligence"));
-        data.put("schoolAddress", appSettingService.getValue("school.address", "Site No.1, Sector-45, Urban Estate, Gurgaon, Haryana"));
-
-        // Logo
-        String logoUrl = appSettingService.getValue("school.logo_url", "");
-        if (logoUrl != null && !logoUrl.isBlank()) {
-            data.put("schoolLogoBase64", pdfGenerationService.fetchRemoteImageAsBase64(logoUrl));
-        } else {
-            data.put("schoolLogoBase64", pdfGenerationService.loadSchoolLogoBase64());
-        }
-
-        // Signature
-        String signatureUrl = appSettingService.getValue("school.signature_url", "");
-        if (signatureUrl != null && !signatureUrl.isBlank()) {
-            data.put("signatureBase64", pdfGenerationService.fetchRemoteImageAsBase64(signatureUrl));
-        } else {
-            data.put("signatureBase64", "");
-        }
-    }
-
-    private String computeAcademicYear() {
-        String startMonthStr = appSettingService.getValue("school.academic_year_start", "APRIL");
-        Month startMonth;
-        try {
-            startMonth = Month.valueOf(startMonthStr.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            startMonth = Month.APRIL;
-        }
-
-        LocalDate now = LocalDate.now();
-        int startYear = now.getMonthValue() >= startMonth.getValue() ? now.getYear() : now.getYear() - 1;
-        return startYear + "-" + (startYear + 1);
-    }
 }
@@ -0,0 +1,122 @@
+package com.project.edusync.finance.service.implementation;
+
+import com.project.edusync.common.scheduling.LeasedJob;
+import com.project.edusync.common.scheduling.ScheduledJobCoordinator;
+import com.project.edusync.common.scheduling.ScheduledJobDefinition;
+import com.project.edusync.finance.dto.configuration.LateFeeSweepSummaryDTO;
+import com.project.edusync.finance.model.entity.LateFeeRule;
+import com.project.edusync.finance.repository.LateFeeRuleRepository;
+import com.project.edusync.finance.repository.LateFeeSweepRepository;
+import com.project.edusync.finance.service.FeeProjectionService;
+import com.project.edusync.finance.service.LateFeeSweepService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Nightly late-fee sweep. Active rules are loaded once and evaluated in memory into a due-date cutoff each; every
+ * rule is then charged with one set-based statement in {@link LateFeeSweepRepository}, instead of loading and
+ * saving overdue invoices one at a time.
+ *
+ * <p>Each rule commits in its own transaction, together with the projection refresh of the students it charged,
+ * so a sweep never holds the invoice locks of every rule until the last one finishes. A rule that fails leaves the
+ * rules before it charged; re-running the sweep charges nothing twice.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LateFeeSweepServiceImpl implements LateFeeSweepService, LeasedJob {
+
+    private static final String SWEEP_CRON = "0 30 1 * * ?";
+
+    private static final ScheduledJobDefinition SWEEP = ScheduledJobDefinition
+            .of("late-fee-sweep", SWEEP_CRON, Duration.ofMinutes(30))
+            .withCatchUp(Duration.ofDays(3));
+
+    private static final String SWEEP_ACTOR = "system";
+
+    private final LateFeeRuleRepository lateFeeRuleRepository;
+    private final LateFeeSweepRepository lateFeeSweepRepository;
+    private final FeeProjectionService feeProjectionService;
+    private final ScheduledJobCoordinator jobCoordinator;
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    public LateFeeSweepSummaryDTO sweep(LocalDate asOf) {
+        long started = System.currentTimeMillis();
+        List<LateFeeRule> rules = lateFeeRuleRepository.findByIsActive(true).stream()
+                .filter(LateFeeSweepServiceImpl::isChargeable)
+                .sorted(Comparator.comparing(LateFeeRule::getDaysAfterDue).thenComparing(LateFeeRule::getRuleId))
+                .toList();
+
+        TransactionTemplate perRule = new TransactionTemplate(transactionManager);
+        List<LateFeeSweepSummaryDTO.RuleResult> results = new ArrayList<>(rules.size());
+        long invoicesCharged = 0;
+        BigDecimal totalCharged = BigDecimal.ZERO;
+        for (LateFeeRule rule : rules) {
+            LocalDate cutoff = asOf.minusDays(rule.getDaysAfterDue());
+            Long structureId = rule.getFeeStructure() != null ? rule.getFeeStructure().getId() : null;
+            LateFeeSweepRepository.Result result = perRule.execute(status -> {
+                LateFeeSweepRepository.Result charged = lateFeeSweepRepository.applyRule(rule.getRuleId(),
+                        rule.getFineType(), rule.getFineValue(), structureId, cutoff, asOf,
+                        "Late Payment Fee (" + rule.getRuleName() + ")", SWEEP_ACTOR);
+                feeProjectionService.refresh(charged.studentIds());
+                return charged;
+            });
+
+            results.add(new LateFeeSweepSummaryDTO.RuleResult(rule.getRuleId(), rule.getRuleName(), cutoff,
+                    result.invoices(), result.amount()));
+            invoicesCharged += result.invoices();
+            totalCharged = totalCharged.add(result.amount());
+            log.debug("Late fee rule {} ({}) charged {} invoice(s) due on or before {}: {}",
+                    rule.getRuleId(), rule.getRuleName(), result.invoices(), cutoff, result.amount());
+        }
+
+        meterRegistry.counter("edusync.finance.late_fees.invoices_charged").increment(invoicesCharged);
+        meterRegistry.counter("edusync.finance.late_fees.amount_charged").increment(totalCharged.doubleValue());
+        LateFeeSweepSummaryDTO summary = new LateFeeSweepSummaryDTO(asOf, invoicesCharged, totalCharged,
+                System.currentTimeMillis() - started, results);
+        log.info("Late fee sweep for {}: {} rule(s), {} invoice(s) charged, {} in total, took {} ms",
+                asOf, rules.size(), invoicesCharged, totalCharged, summary.durationMillis());
+        return summary;
+    }
+
+    @Scheduled(cron = SWEEP_CRON)
+    public void runNightly() {
+        jobCoordinator.trigger(this);
+    }
+
+    @Override
+    public ScheduledJobDefinition definition() {
+        return SWEEP;
+    }
+
+    /** Catch-up runs charge as of the missed night, so a late run never charges a rule earlier than it would have. */
+    @Override
+    public int execute(LocalDateTime scheduledFor) {
+        return Math.toIntExact(sweep(scheduledFor.toLocalDate()).invoicesCharged());
+    }
+
+    /** Rules with a missing or non-positive amount or a negative grace period would charge nothing sensible. */
+    private static boolean isChargeable(LateFeeRule rule) {
+        if (rule.getDaysAfterDue() == null || rule.getDaysAfterDue() < 0
+                || rule.getFineValue() == null || rule.getFineValue().signum() <= 0 || rule.getFineType() == null) {
+            log.warn("Skipping late fee rule {} ({}): incomplete configuration", rule.getRuleId(), rule.getRuleName());
+            return false;
+        }
+        return true;
+    }
+}
@@ -52,7 +52,7 @@ public class MasterDashboardAnalyticsServiceImpl implements MasterDashboardAnaly
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = CacheNames.MASTER_DASHBOARD_ANALYTICS, key = "'master'")
+    @Cacheable(value = CacheNames.MASTER_DASHBOARD_ANALYTICS, key = "'master'", sync = true)
     public MasterAnalyticsResponseDTO getMasterAnalytics() {
         return MasterAnalyticsResponseDTO.builder()
                 .financePayrollTrend(buildFinancePayrollTrend())
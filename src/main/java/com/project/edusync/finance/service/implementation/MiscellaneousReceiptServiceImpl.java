@@ -3,9 +3,11 @@ package com.project.edusync.finance.service.implementation;
 import com.project.edusync.finance.dto.misc.MiscellaneousReceiptRequestDTO;
 import com.project.edusync.finance.dto.misc.MiscellaneousReceiptResponseDTO;
 import com.project.edusync.finance.model.entity.*;
+import com.project.edusync.finance.model.enums.DocumentSeries;
 import com.project.edusync.finance.model.enums.JournalReferenceType;
 import com.project.edusync.finance.repository.AccountRepository;
 import com.project.edusync.finance.repository.MiscellaneousReceiptRepository;
+import com.project.edusync.finance.service.DocumentNumberService;
 import com.project.edusync.finance.service.GeneralLedgerService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -15,7 +17,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -29,6 +30,7 @@ public class MiscellaneousReceiptServiceImpl {
     private final AccountRepository accountRepository;
     private final GeneralLedgerService glService;
     private final FinanceAuditServiceImpl auditService;
+    private final DocumentNumberService documentNumberService;
 
     public MiscellaneousReceiptResponseDTO recordReceipt(MiscellaneousReceiptRequestDTO dto, Long schoolId) {
         Account incomeAccount = accountRepository.findById(dto.incomeAccountId())
@@ -48,9 +50,7 @@ public class MiscellaneousReceiptServiceImpl {
         receipt.setSchoolId(schoolId);
         
         // Generate Receipt Number
-        String yearPrefix = "REC-" + LocalDate.now().getYear() + "-";
-        Long count = receiptRepository.countByPrefix(schoolId, yearPrefix);
-        receipt.setReceiptNumber(yearPrefix + String.format("%04d", count + 1));
+        receipt.setReceiptNumber(documentNumberService.next(DocumentSeries.RECEIPT, schoolId, dto.receiptDate()));
         
         MiscellaneousReceipt saved = receiptRepository.save(receipt);
 
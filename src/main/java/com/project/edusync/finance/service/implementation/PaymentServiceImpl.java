@@ -1,31 +1,33 @@
 package com.project.edusync.finance.service.implementation;
 
+import com.project.edusync.common.cache.CacheTagIndex;
+import com.project.edusync.common.cache.CacheTags;
 import com.project.edusync.common.exception.finance.InvalidPaymentOperationException;
 import com.project.edusync.common.exception.finance.InvoiceNotFoundException;
 import com.project.edusync.common.exception.finance.PaymentNotFoundException;
 import com.project.edusync.common.exception.finance.StudentNotFoundException;
 import com.project.edusync.finance.dto.payment.*;
+import com.project.edusync.finance.gateway.GatewayEventInbox;
 import com.project.edusync.finance.mapper.PaymentMapper;
 import com.project.edusync.finance.model.entity.Invoice;
 import com.project.edusync.finance.model.entity.Payment;
+import com.project.edusync.finance.model.entity.PaymentGatewayEvent;
 import com.project.edusync.finance.model.enums.InvoiceStatus;
 import com.project.edusync.finance.model.enums.PaymentMethod;
 import com.project.edusync.finance.model.enums.PaymentStatus;
-import com.project.edusync.common.settings.service.AppSettingService;
 import com.project.edusync.finance.model.enums.JournalReferenceType;
-import java.time.Month;
-import java.time.LocalDate;
 import com.project.edusync.finance.repository.AccountRepository;
 import com.project.edusync.finance.repository.InvoiceRepository;
 import com.project.edusync.finance.repository.PaymentRepository;
+import com.project.edusync.finance.service.FeeProjectionService;
 import com.project.edusync.finance.service.GeneralLedgerService;
 import com.project.edusync.finance.service.PaymentService;
+import com.project.edusync.dashboard.model.DashboardAudience;
 import com.project.edusync.dashboard.model.DashboardEvent;
 import com.project.edusync.dashboard.service.DashboardEventService;
 import com.project.edusync.finance.service.PdfGenerationService;
-import com.project.edusync.finance.utils.NumberToWordsConverter;
+import com.project.edusync.finance.receipt.ReceiptDocumentAssembler;
 import com.project.edusync.uis.model.entity.Student;
-import com.project.edusync.uis.model.entity.UserProfile;
 import com.project.edusync.uis.repository.StudentRepository;
 import com.razorpay.Order;
 import com.razorpay.RazorpayClient;
@@ -35,20 +37,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.json.JSONObject;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -65,8 +64,10 @@ public class PaymentServiceImpl implements PaymentService {
     private final GeneralLedgerService generalLedgerService;
     private final AccountRepository accountRepository;
     private final PdfGenerationService pdfGenerationService;
-    private final NumberToWordsConverter numberToWordsConverter;
-    private final AppSettingService appSettingService;
+    private final ReceiptDocumentAssembler receiptDocumentAssembler;
+    private final CacheTagIndex cacheTagIndex;
+    private final GatewayEventInbox gatewayEventInbox;
+    private final FeeProjectionService feeProjectionService;
 
     @Value("${app.razorpay.key-id}")
     private String razorpayKeyId;
@@ -87,7 +88,6 @@ public class PaymentServiceImpl implements PaymentService {
 
     @Override
     @Transactional
-    @CacheEvict(value = {"dashboard", "dashboardOverview"}, allEntries = true)
     public PaymentResponseDTO recordOfflinePayment(RecordOfflinePaymentDTO createDTO) {
 
         // 1. Find the related entities
@@ -145,10 +145,13 @@ public class PaymentServiceImpl implements PaymentService {
         // 5. Save both entities in the transaction
         invoiceRepository.save(invoice);
         Payment savedPayment = paymentRepository.save(payment);
+        feeProjectionService.refresh(List.of(student.getId()));
+        cacheTagIndex.invalidate(CacheTags.student(student.getId()));
 
         // Emit dashboard event
         DashboardEvent event = DashboardEvent.builder()
                 .type("finance")
+                .audienceRoles(DashboardAudience.FINANCE)
                 .severity("info")
                 .title("Offline Payment Collected")
                 .message("₹" + createDTO.getAmountPaid() + " collected from " + student.getUserProfile().getFirstName() + " for invoice #" + invoice.getId())
@@ -192,6 +195,7 @@ public class PaymentServiceImpl implements PaymentService {
 
         // 3. Save the updated entity
         Payment updatedPayment = paymentRepository.save(existingPayment);
+        feeProjectionService.refresh(List.of(updatedPayment.getStudent().getId()));
 
         // 4. Return the response DTO
         return paymentMapper.toDto(updatedPayment);
@@ -255,16 +259,19 @@ public class PaymentServiceImpl implements PaymentService {
 
     @Override
     @Transactional
-    @CacheEvict(value = {"dashboard", "dashboardOverview"}, allEntries = true)
     public PaymentResponseDTO verifyOnlinePayment(VerifyPaymentRequestDTO verifyDTO) throws Exception {
         log.info("Verifying payment for Razorpay Order ID: {}", verifyDTO.getOrderId());
 
+        // A webhook may already have settled the payment and replaced the order ID with the payment ID.
         Payment payment = paymentRepository.findByTransactionId(verifyDTO.getOrderId())
+                .or(() -> paymentRepository.findByTransactionId(verifyDTO.getGatewayTransactionId()))
                 .orElseThrow(() -> new PaymentNotFoundException("Payment not found" + 0L)); // Using 0L as a placeholder
 
-        if (payment.getStatus() != PaymentStatus.PENDING) {
-            throw new InvalidPaymentOperationException("Payment is not in a pending state. Current status: " + payment.getStatus());
+        if (payment.getStatus() == PaymentStatus.SUCCESS) {
+            return paymentMapper.toDto(payment);
         }
+        // FAILED only records a declined attempt (payment.failed webhook). The order stays open and the payer
+        // may retry it, so a later validly signed checkout for the same order reopens the payment below.
 
         JSONObject options = new JSONObject();
         options.put("razorpay_order_id", verifyDTO.getOrderId());
@@ -280,19 +287,54 @@ public class PaymentServiceImpl implements PaymentService {
             throw new SecurityException("Invalid payment signature. Payment verification failed.");
         }
 
-        log.info("Payment verification SUCCESS for Order ID: {}", verifyDTO.getOrderId());
+        if (payment.getStatus() == PaymentStatus.FAILED) {
+            payment.setStatus(PaymentStatus.PENDING);
+            paymentRepository.save(payment);
+        }
+
+        // Settlement is left to the gateway event workers, which also apply the webhook for the same payment;
+        // whichever arrives first settles it and the other is a no-op.
+        gatewayEventInbox.record(PaymentGatewayEvent.builder()
+                .idempotencyKey("checkout:" + verifyDTO.getGatewayTransactionId())
+                .source(PaymentGatewayEvent.SOURCE_CHECKOUT)
+                .eventType("payment.captured")
+                .gatewayOrderId(verifyDTO.getOrderId())
+                .gatewayPaymentId(verifyDTO.getGatewayTransactionId())
+                .invoiceId(payment.getInvoice().getId())
+                .build());
+        log.info("Payment verification SUCCESS for Order ID: {}, queued for settlement", verifyDTO.getOrderId());
+
+        return paymentMapper.toDto(payment);
+    }
+
+    @Override
+    @Transactional
+    public boolean settleOnlinePayment(String gatewayOrderId, String gatewayPaymentId, Long amountMinor) {
+        Payment payment = lockOnlinePayment(gatewayOrderId, gatewayPaymentId);
+        if (payment == null) {
+            return false;
+        }
+        if (payment.getStatus() == PaymentStatus.SUCCESS) {
+            return true;
+        }
+        if (amountMinor != null && payment.getAmountPaid().movePointRight(2).compareTo(BigDecimal.valueOf(amountMinor)) != 0) {
+            throw new InvalidPaymentOperationException("Captured amount " + amountMinor + " paise does not match payment #"
+                    + payment.getPaymentId() + " of " + payment.getAmountPaid());
+        }
 
         // Update Payment record
         payment.setStatus(PaymentStatus.SUCCESS);
-        payment.setTransactionId(verifyDTO.getGatewayTransactionId()); // Store the final 'pay_...' ID
-        payment.setPaymentDate(LocalDateTime.now()); // Mark the actual time of verification
+        if (gatewayPaymentId != null) {
+            payment.setTransactionId(gatewayPaymentId); // Store the final 'pay_...' ID
+        }
+        payment.setPaymentDate(LocalDateTime.now()); // Mark the actual time of settlement
 
         // ── BUG FIX 2: Reload Invoice with pessimistic lock before updating balance ──
         // The invoice reference inside `payment` was loaded earlier without a lock.
         // Re-fetch it now with the write lock to prevent any concurrent payment
         // from overwriting our balance update.
         Invoice invoice = invoiceRepository.findByIdWithLock(payment.getInvoice().getId())
-                .orElseThrow(() -> new InvoiceNotFoundException("Invoice not found during payment verification."));
+                .orElseThrow(() -> new InvoiceNotFoundException("Invoice not found during payment settlement."));
         // ────────────────────────────────────────────────────────────────────────
         BigDecimal newPaidAmount = invoice.getPaidAmount().add(payment.getAmountPaid());
         invoice.setPaidAmount(newPaidAmount);
@@ -307,20 +349,47 @@ public class PaymentServiceImpl implements PaymentService {
 
         invoiceRepository.save(invoice);
         Payment savedPayment = paymentRepository.save(payment);
+        feeProjectionService.refresh(List.of(invoice.getStudent().getId()));
+        cacheTagIndex.invalidate(CacheTags.student(invoice.getStudent().getId()));
 
         DashboardEvent event = DashboardEvent.builder()
                 .type("finance")
+                .audienceRoles(DashboardAudience.FINANCE)
                 .severity("info")
                 .title("Online Payment Verified")
                 .message("₹" + payment.getAmountPaid() + " verified online for invoice #" + invoice.getId())
-                .metadata(java.util.Map.of("invoiceId", invoice.getId(), "transactionId", verifyDTO.getGatewayTransactionId(), "amount", payment.getAmountPaid(), "status", "SUCCESS"))
+                .metadata(java.util.Map.of("invoiceId", invoice.getId(), "transactionId", savedPayment.getTransactionId(), "amount", payment.getAmountPaid(), "status", "SUCCESS"))
                 .build();
         dashboardEventService.pushEvent(event);
 
         // Auto-post GL double-entry: Debit Online Gateway Float, Credit Fee Revenue
         tryPostGLEntry(savedPayment, GATEWAY_ACCOUNT_CODE, FEE_REVENUE_CODE);
+        return true;
+    }
 
-        return paymentMapper.toDto(savedPayment);
+    @Override
+    @Transactional
+    public boolean failOnlinePayment(String gatewayOrderId, String gatewayPaymentId) {
+        Payment payment = lockOnlinePayment(gatewayOrderId, gatewayPaymentId);
+        if (payment == null || payment.getStatus() != PaymentStatus.PENDING) {
+            return false;
+        }
+        payment.setStatus(PaymentStatus.FAILED);
+        paymentRepository.save(payment);
+        log.info("Online payment #{} for order {} marked FAILED", payment.getPaymentId(), gatewayOrderId);
+        return true;
+    }
+
+    /**
+     * A pending online payment carries the order ID; once settled it carries the gateway payment ID.
+     */
+    private Payment lockOnlinePayment(String gatewayOrderId, String gatewayPaymentId) {
+        Optional<Payment> payment = gatewayOrderId == null ? Optional.empty()
+                : paymentRepository.findByTransactionIdForUpdate(gatewayOrderId);
+        if (payment.isEmpty() && gatewayPaymentId != null) {
+            payment = paymentRepository.findByTransactionIdForUpdate(gatewayPaymentId);
+        }
+        return payment.filter(p -> p.getPaymentMethod() == PaymentMethod.ONLINE).orElse(null);
     }
 
     /**
@@ -383,86 +452,9 @@ public class PaymentServiceImpl implements PaymentService {
         Payment payment = paymentRepository.findById(paymentId)
                 .orElseThrow(() -> new PaymentNotFoundException("Payment not found with ID: " + paymentId));
 
-        // 2. Find the Invoice
-        Invoice invoice = payment.getInvoice();
-        Student student = payment.getStudent();
-        UserProfile profile = student.getUserProfile();
-
-        // 3. Build data map
-        Map<String, Object> data = new HashMap<>();
-        DateTimeFormatter dtf = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-
-        // School branding from AppSettings
-        populateSchoolBranding(data);
-
-        data.put("receiptNo", payment.getPaymentId().toString());
-        data.put("paymentDate", payment.getPaymentDate().format(dtf));
-        data.put("payMode", payment.getPaymentMethod().toString());
-        data.put("bankName", appSettingService.getValue("school.bank_name", "HDFC BANK"));
-        data.put("paymentNumber", payment.getTransactionId());
-        data.put("counterNo", "DPS-RECEIPT");
-        data.put("note", "Partial Payment for Invoice #" + invoice.getInvoiceNumber());
-
-        data.put("studentName", profile.getFirstName() + " " + profile.getLastName());
-        data.put("admissionNumber", student.getEnrollmentNumber());
-        data.put("session", computeAcademicYear());
-        data.put("className", student.getSection().getAcademicClass().getName() + " - " + student.getSection().getSectionName());
-
-        // For a payment receipt, we show the amount paid in this transaction
-        data.put("lineItems", List.of(Map.of(
-            "description", "Partial Fee Payment",
-            "due", payment.getAmountPaid(),
-            "con", BigDecimal.ZERO,
-            "paid", payment.getAmountPaid()
-        )));
-        data.put("totalAmount", payment.getAmountPaid());
-        
-        long totalRupees = payment.getAmountPaid().setScale(0, RoundingMode.HALF_UP).longValue();
-        data.put("totalInWords", numberToWordsConverter.convertToWords(totalRupees));
-
-        return pdfGenerationService.generatePdfFromHtml("receipt", data);
-    }
-
-    private void populateSchoolBranding(Map<String, Object> data) {
-        data.put("schoolName", appSettingService.getValue("school.name", "My School"));
-        data.put("schoolAddress", appSettingService.getValue("school.address", ""));
-        data.put("schoolPhone", appSettingService.getValue("school.phone", ""));
-        data.put("schoolEmail", appSettingService.getValue("school.email", ""));
-        data.put("schoolWebsite", appSettingService.getValue("school.website", ""));
-
-        // Branding
-        data.put("schoolName", appSettingService.getValue("school.name", "Shiksha Intelligence"));
-        data.put("schoolAddress", appSettingService.getValue("school.address", "Site No.1, Sector-45, Urban Estate, Gurgaon, Haryana"));
-
-        // Logo
-        String logoUrl = appSettingService.getValue("school.logo_url", "");
-        if (logoUrl != null && !logoUrl.isBlank()) {
-            data.put("schoolLogoBase64", pdfGenerationService.fetchRemoteImageAsBase64(logoUrl));
-        } else {
-            data.put("schoolLogoBase64", pdfGenerationService.loadSchoolLogoBase64());
-        }
+        // 2. Build data map
+        Map<String, Object> data = receiptDocumentAssembler.paymentReceipt(payment, receiptDocumentAssembler.branding());
 
-        // Signature
-        String signatureUrl = appSettingService.getValue("school.signature_url", "");
-        if (signatureUrl != null && !signatureUrl.isBlank()) {
-            data.put("signatureBase64", pdfGenerationService.fetchRemoteImageAsBase64(signatureUrl));
-        } else {
-            data.put("signatureBase64", "");
-        }
-    }
-
-    private String computeAcademicYear() {
-        String startMonthStr = appSettingService.getValue("school.academic_year_start", "APRIL");
-        Month startMonth;
-        try {
-            startMonth = Month.valueOf(startMonthStr.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            startMonth = Month.APRIL;
-        }
-
-        LocalDate now = LocalDate.now();
-        int startYear = now.getMonthValue() >= startMonth.getValue() ? now.getYear() : now.getYear() - 1;
-        return startYear + "-" + (startYear + 1);
+        return pdfGenerationService.generatePdfFromHtml(ReceiptDocumentAssembler.TEMPLATE, data);
     }
 }
-
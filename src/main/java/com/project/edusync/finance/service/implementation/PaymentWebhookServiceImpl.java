@@ -0,0 +1,103 @@
+package com.project.edusync.finance.service.implementation;
+
+import com.project.edusync.common.exception.EdusyncException;
+import com.project.edusync.finance.config.RazorpayGatewayProperties;
+import com.project.edusync.finance.gateway.GatewayEventInbox;
+import com.project.edusync.finance.model.entity.PaymentGatewayEvent;
+import com.project.edusync.finance.repository.PaymentRepository;
+import com.project.edusync.finance.service.PaymentWebhookService;
+import com.razorpay.RazorpayException;
+import com.razorpay.Utils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Receives Razorpay webhooks. Only the signature check and one insert happen on the request thread; the payment
+ * itself is settled by the gateway event workers, so Razorpay gets its acknowledgement well inside its timeout.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentWebhookServiceImpl implements PaymentWebhookService {
+
+    private final GatewayEventInbox eventInbox;
+    private final PaymentRepository paymentRepository;
+    private final RazorpayGatewayProperties properties;
+
+    @Override
+    @Transactional
+    public boolean receiveRazorpayEvent(String payload, String signature, String eventId) {
+        String secret = properties.getWebhook().getSecret();
+        if (secret == null || secret.isBlank()) {
+            throw new EdusyncException("Razorpay webhooks are not configured", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        if (payload == null || signature == null || !signatureValid(payload, signature, secret)) {
+            throw new EdusyncException("Invalid webhook signature", HttpStatus.UNAUTHORIZED);
+        }
+
+        PaymentGatewayEvent event;
+        try {
+            event = parse(new JSONObject(payload), eventId);
+        } catch (JSONException ex) {
+            throw new EdusyncException("Malformed webhook payload", HttpStatus.BAD_REQUEST, ex);
+        }
+        event.setPayload(payload);
+        if (event.getGatewayOrderId() != null) {
+            event.setInvoiceId(paymentRepository.findInvoiceIdByTransactionId(event.getGatewayOrderId())
+                    .orElseGet(() -> event.getGatewayPaymentId() == null ? null
+                            : paymentRepository.findInvoiceIdByTransactionId(event.getGatewayPaymentId()).orElse(null)));
+        }
+
+        boolean recorded = eventInbox.record(event);
+        log.info("Razorpay webhook {} ({}, order {}) {}", event.getIdempotencyKey(), event.getEventType(),
+                event.getGatewayOrderId(), recorded ? "recorded" : "already recorded");
+        return recorded;
+    }
+
+    private static boolean signatureValid(String payload, String signature, String secret) {
+        try {
+            return Utils.verifyWebhookSignature(payload, signature, secret);
+        } catch (RazorpayException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads the fields needed for routing from {@code payload.payment.entity}, falling back to
+     * {@code payload.order.entity} for order events.
+     */
+    private static PaymentGatewayEvent parse(JSONObject root, String eventId) {
+        String type = root.getString("event");
+        JSONObject body = root.optJSONObject("payload");
+        JSONObject payment = entity(body, "payment");
+        JSONObject order = entity(body, "order");
+
+        String paymentId = payment == null ? null : payment.optString("id", null);
+        String orderId = payment != null && payment.has("order_id") && !payment.isNull("order_id")
+                ? payment.getString("order_id")
+                : order == null ? null : order.optString("id", null);
+        Long amount = payment != null && payment.has("amount") ? payment.getLong("amount") : null;
+
+        String key = eventId != null && !eventId.isBlank()
+                ? eventId
+                : type + ":" + (paymentId != null ? paymentId : orderId);
+        return PaymentGatewayEvent.builder()
+                .idempotencyKey(key)
+                .source(PaymentGatewayEvent.SOURCE_WEBHOOK)
+                .eventType(type)
+                .gatewayOrderId(orderId)
+                .gatewayPaymentId(paymentId)
+                .amountMinor(amount)
+                .build();
+    }
+
+    private static JSONObject entity(JSONObject body, String name) {
+        JSONObject wrapper = body == null ? null : body.optJSONObject(name);
+        return wrapper == null ? null : wrapper.optJSONObject("entity");
+    }
+}
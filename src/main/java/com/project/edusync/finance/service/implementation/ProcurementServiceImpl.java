@@ -1,9 +1,11 @@
 package com.project.edusync.finance.service.implementation;
 
+import com.project.edusync.finance.budget.BudgetControl;
 import com.project.edusync.finance.dto.procurement.*;
 import com.project.edusync.finance.model.entity.*;
 import com.project.edusync.finance.model.enums.*;
 import com.project.edusync.finance.repository.*;
+import com.project.edusync.finance.service.DocumentNumberService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,7 +15,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.Year;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -31,6 +32,8 @@ public class ProcurementServiceImpl {
     private final PurchaseOrderRepository poRepository;
     private final GoodsReceiptNoteRepository grnRepository;
     private final BudgetRepository budgetRepository;
+    private final DocumentNumberService documentNumberService;
+    private final BudgetControl budgetControl;
 
     private static final Long DEFAULT_SCHOOL_ID = 1L;
 
@@ -87,7 +90,7 @@ public class ProcurementServiceImpl {
         }
 
         PurchaseOrder po = new PurchaseOrder();
-        po.setPoNumber(generatePONumber(schoolId));
+        po.setPoNumber(documentNumberService.next(DocumentSeries.PURCHASE_ORDER, schoolId, dto.orderDate()));
         po.setVendor(vendor);
         po.setDepartment(dto.department());
         po.setOrderDate(dto.orderDate());
@@ -98,8 +101,10 @@ public class ProcurementServiceImpl {
         po.setSchoolId(schoolId);
 
         if (dto.referenceBudgetId() != null) {
-            budgetRepository.findById(dto.referenceBudgetId())
-                    .ifPresent(po::setReferenceBudget);
+            Budget budget = budgetRepository.findById(dto.referenceBudgetId())
+                    .filter(b -> schoolId.equals(b.getSchoolId()))
+                    .orElseThrow(() -> new EntityNotFoundException("Budget not found: " + dto.referenceBudgetId()));
+            po.setReferenceBudget(budget);
         }
 
         PurchaseOrder saved = poRepository.save(po);
@@ -120,7 +125,10 @@ public class ProcurementServiceImpl {
 
         BigDecimal gstPct = dto.gstPercentage() != null ? dto.gstPercentage() : BigDecimal.ZERO;
         saved.recalculateTotals(gstPct);
-        return toPOResponseDTO(poRepository.save(saved));
+        saved = poRepository.save(saved);
+        // Over-budget orders are refused (hard control) or flagged (soft) before the transaction commits
+        budgetControl.enforce(saved);
+        return toPOResponseDTO(saved);
     }
 
     @Transactional(readOnly = true)
@@ -181,7 +189,7 @@ public class ProcurementServiceImpl {
         }
 
         GoodsReceiptNote grn = new GoodsReceiptNote();
-        grn.setGrnNumber(generateGRNNumber(schoolId));
+        grn.setGrnNumber(documentNumberService.next(DocumentSeries.GOODS_RECEIPT, schoolId, dto.receiptDate()));
         grn.setPurchaseOrder(po);
         grn.setReceiptDate(dto.receiptDate());
         grn.setReceivedBy(dto.receivedBy() != null ? dto.receivedBy() : getCurrentUsername());
@@ -279,20 +287,6 @@ public class ProcurementServiceImpl {
         return "VND-" + String.format("%04d", count + 1);
     }
 
-    private String generatePONumber(Long schoolId) {
-        int year = Year.now().getValue();
-        String prefix = "PO-" + year + "-";
-        long count = poRepository.countByPrefix(schoolId, prefix);
-        return prefix + String.format("%05d", count + 1);
-    }
-
-    private String generateGRNNumber(Long schoolId) {
-        int year = Year.now().getValue();
-        String prefix = "GRN-" + year + "-";
-        long count = grnRepository.countByPrefix(schoolId, prefix);
-        return prefix + String.format("%05d", count + 1);
-    }
-
     private String getCurrentUsername() {
         try { return SecurityContextHolder.getContext().getAuthentication().getName(); } catch (Exception e) { return "system"; }
     }
@@ -0,0 +1,244 @@
+package com.project.edusync.finance.service.implementation;
+
+import com.project.edusync.common.exception.EdusyncException;
+import com.project.edusync.common.exception.finance.PdfGenerationException;
+import com.project.edusync.finance.config.ReceiptExportProperties;
+import com.project.edusync.finance.dto.payment.ReceiptExportRequestDTO;
+import com.project.edusync.finance.model.entity.Invoice;
+import com.project.edusync.finance.model.entity.Payment;
+import com.project.edusync.finance.model.enums.PaymentStatus;
+import com.project.edusync.finance.receipt.ReceiptArchive;
+import com.project.edusync.finance.receipt.ReceiptBranding;
+import com.project.edusync.finance.receipt.ReceiptDocumentAssembler;
+import com.project.edusync.finance.repository.InvoiceRepository;
+import com.project.edusync.finance.repository.PaymentRepository;
+import com.project.edusync.finance.service.PdfGenerationService;
+import com.project.edusync.finance.service.ReceiptExportService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Streams batch receipt exports.
+ *
+ * <p>Receipts are read in keyset pages with everything they print fetched in one query per page, and branding
+ * is resolved once per export. Each page's template data is built inside a short read-only transaction; the
+ * PDFs are then rendered on a shared, fixed-size pool. At most two documents per render thread are in flight for
+ * an export, and each is written to the archive in order as soon as it is ready, so heap use does not grow with
+ * the size of the export.</p>
+ */
+@Slf4j
+@Service
+public class ReceiptExportServiceImpl implements ReceiptExportService {
+
+    private record ReceiptDocument(String fileName, Map<String, Object> data) {
+    }
+
+    private record RenderedReceipt(String fileName, byte[] pdf) {
+    }
+
+    private record ReceiptPage(List<ReceiptDocument> documents, long nextCursor, boolean last) {
+    }
+
+    private record Scope(Long classId, Long sectionId, Long studentId, LocalDate from, LocalDate to) {
+    }
+
+    private final PaymentRepository paymentRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final ReceiptDocumentAssembler receiptDocumentAssembler;
+    private final PdfGenerationService pdfGenerationService;
+    private final ReceiptExportProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ThreadPoolExecutor renderPool;
+    private final Semaphore exportSlots;
+
+    public ReceiptExportServiceImpl(PaymentRepository paymentRepository,
+                                    InvoiceRepository invoiceRepository,
+                                    ReceiptDocumentAssembler receiptDocumentAssembler,
+                                    PdfGenerationService pdfGenerationService,
+                                    ReceiptExportProperties properties,
+                                    PlatformTransactionManager transactionManager) {
+        this.paymentRepository = paymentRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.receiptDocumentAssembler = receiptDocumentAssembler;
+        this.pdfGenerationService = pdfGenerationService;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        int threads = Math.max(1, properties.getRenderThreads());
+        this.renderPool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), Thread.ofPlatform().name("receipt-render-", 0).factory());
+        this.exportSlots = new Semaphore(Math.max(1, properties.getMaxConcurrentExports()));
+    }
+
+    @Override
+    public long countReceipts(ReceiptExportRequestDTO request) {
+        Scope scope = scope(request);
+        Long count = readOnlyTransaction.execute(status -> request.getKind() == ReceiptExportRequestDTO.Kind.INVOICE
+                ? invoiceRepository.countReceipts(scope.classId(), scope.sectionId(), scope.studentId(),
+                        scope.from(), scope.to())
+                : paymentRepository.countReceipts(scope.classId(), scope.sectionId(), scope.studentId(),
+                        scope.from().atStartOfDay(), scope.to().plusDays(1).atStartOfDay()));
+        if (count == null || count == 0) {
+            throw new EdusyncException("No receipts match the export filter", HttpStatus.NOT_FOUND);
+        }
+        if (count > properties.getMaxDocuments()) {
+            throw new EdusyncException("Export matches " + count + " receipts; at most "
+                    + properties.getMaxDocuments() + " can be exported at once", HttpStatus.BAD_REQUEST);
+        }
+        return count;
+    }
+
+    @Override
+    public void exportReceipts(ReceiptExportRequestDTO request, OutputStream out) throws IOException {
+        Scope scope = scope(request);
+        if (!exportSlots.tryAcquire()) {
+            throw new EdusyncException("Too many receipt exports are running; try again shortly",
+                    HttpStatus.TOO_MANY_REQUESTS);
+        }
+        long started = System.currentTimeMillis();
+        int window = 2 * renderPool.getMaximumPoolSize();
+        Deque<Future<RenderedReceipt>> inFlight = new ArrayDeque<>();
+        int written = 0;
+        try (ReceiptArchive archive = open(request.getFormat(), out)) {
+            ReceiptBranding branding = receiptDocumentAssembler.branding();
+            long cursor = 0L;
+            boolean last = false;
+            while (!last) {
+                ReceiptPage page = readPage(request.getKind(), scope, cursor, branding);
+                for (ReceiptDocument document : page.documents()) {
+                    if (inFlight.size() >= window) {
+                        write(archive, inFlight.poll());
+                        written++;
+                    }
+                    inFlight.add(renderPool.submit(() -> new RenderedReceipt(document.fileName(),
+                            pdfGenerationService.generatePdfFromHtml(ReceiptDocumentAssembler.TEMPLATE, document.data()))));
+                }
+                cursor = page.nextCursor();
+                last = page.last();
+            }
+            while (!inFlight.isEmpty()) {
+                write(archive, inFlight.poll());
+                written++;
+            }
+            archive.finish();
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+            exportSlots.release();
+        }
+        log.info("Receipt export ({} as {}) wrote {} receipt(s) in {} ms", request.getKind(), request.getFormat(),
+                written, System.currentTimeMillis() - started);
+    }
+
+    private ReceiptPage readPage(ReceiptExportRequestDTO.Kind kind, Scope scope, long cursor, ReceiptBranding branding) {
+        PageRequest page = PageRequest.of(0, Math.max(1, properties.getPageSize()));
+        return readOnlyTransaction.execute(status -> kind == ReceiptExportRequestDTO.Kind.INVOICE
+                ? invoicePage(scope, cursor, page, branding)
+                : paymentPage(scope, cursor, page, branding));
+    }
+
+    private ReceiptPage paymentPage(Scope scope, long cursor, PageRequest page, ReceiptBranding branding) {
+        List<Payment> payments = paymentRepository.findReceiptPage(scope.classId(), scope.sectionId(),
+                scope.studentId(), scope.from().atStartOfDay(), scope.to().plusDays(1).atStartOfDay(),
+                (int) cursor, page);
+        List<ReceiptDocument> documents = payments.stream()
+                .map(payment -> new ReceiptDocument("payment-receipt-" + payment.getPaymentId() + ".pdf",
+                        receiptDocumentAssembler.paymentReceipt(payment, branding)))
+                .toList();
+        long next = payments.isEmpty() ? cursor : payments.get(payments.size() - 1).getPaymentId();
+        return new ReceiptPage(documents, next, payments.size() < page.getPageSize());
+    }
+
+    private ReceiptPage invoicePage(Scope scope, long cursor, PageRequest page, ReceiptBranding branding) {
+        List<Long> ids = invoiceRepository.findReceiptIds(scope.classId(), scope.sectionId(), scope.studentId(),
+                scope.from(), scope.to(), cursor, page);
+        if (ids.isEmpty()) {
+            return new ReceiptPage(List.of(), cursor, true);
+        }
+        Map<Long, List<Payment>> paymentsByInvoice = paymentRepository.findByInvoice_IdIn(ids).stream()
+                .collect(Collectors.groupingBy(payment -> payment.getInvoice().getId()));
+        List<ReceiptDocument> documents = new ArrayList<>(ids.size());
+        for (Invoice invoice : invoiceRepository.findForReceipts(ids)) {
+            List<Payment> payments = paymentsByInvoice.getOrDefault(invoice.getId(), List.of());
+            if (payments.isEmpty()) {
+                log.warn("Receipt export skipped invoice {}: no payment records", invoice.getId());
+                continue;
+            }
+            // Same choice as the single receipt: a successful payment, else the first one.
+            Payment payment = payments.stream()
+                    .filter(p -> p.getStatus() == PaymentStatus.SUCCESS)
+                    .findFirst()
+                    .orElse(payments.get(0));
+            documents.add(new ReceiptDocument(
+                    "invoice-receipt-" + invoice.getInvoiceNumber().replaceAll("[^A-Za-z0-9._-]", "_") + ".pdf",
+                    receiptDocumentAssembler.invoiceReceipt(invoice, payment, branding)));
+        }
+        return new ReceiptPage(documents, ids.get(ids.size() - 1), ids.size() < page.getPageSize());
+    }
+
+    private void write(ReceiptArchive archive, Future<RenderedReceipt> future) throws IOException {
+        RenderedReceipt receipt;
+        try {
+            receipt = future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new PdfGenerationException("Receipt export interrupted", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new PdfGenerationException("Failed to generate PDF", ex.getCause());
+        }
+        archive.add(receipt.fileName(), receipt.pdf());
+    }
+
+    private ReceiptArchive open(ReceiptExportRequestDTO.Format format, OutputStream out) throws IOException {
+        if (format == ReceiptExportRequestDTO.Format.PDF) {
+            String tempDir = properties.getTempDir();
+            return ReceiptArchive.mergedPdf(out, Path.of(tempDir == null || tempDir.isBlank()
+                    ? System.getProperty("java.io.tmpdir") : tempDir));
+        }
+        return ReceiptArchive.zip(out);
+    }
+
+    private static Scope scope(ReceiptExportRequestDTO request) {
+        if (request.getClassId() == null && request.getSectionId() == null && request.getStudentId() == null) {
+            throw new EdusyncException("One of classId, sectionId or studentId is required", HttpStatus.BAD_REQUEST);
+        }
+        if (request.getKind() == null || request.getFormat() == null) {
+            throw new EdusyncException("kind and format must not be empty", HttpStatus.BAD_REQUEST);
+        }
+        LocalDate to = request.getTo() != null ? request.getTo() : LocalDate.now();
+        LocalDate from = request.getFrom() != null ? request.getFrom() : to.withDayOfMonth(1);
+        if (from.isAfter(to)) {
+            throw new EdusyncException("'from' must not be after 'to'", HttpStatus.BAD_REQUEST);
+        }
+        return new Scope(request.getClassId(), request.getSectionId(), request.getStudentId(), from, to);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderPool.shutdownNow();
+    }
+}
@@ -5,6 +5,7 @@ import com.project.edusync.finance.dto.refund.RefundRequestCreateDTO;
 import com.project.edusync.finance.mapper.RefundMapper;
 import com.project.edusync.finance.model.entity.RefundRecord;
 import com.project.edusync.finance.repository.RefundRepository;
+import com.project.edusync.finance.service.FeeProjectionService;
 import com.project.edusync.finance.service.RefundService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -20,6 +21,7 @@ public class RefundServiceImpl implements RefundService {
 
     private final RefundRepository refundRepository;
     private final RefundMapper mapper;
+    private final FeeProjectionService feeProjectionService;
 
     @Override
     @Transactional
@@ -52,6 +54,8 @@ public class RefundServiceImpl implements RefundService {
         if ("PROCESSED".equals(status)) {
             record.setProcessedAt(LocalDateTime.now());
         }
-        return mapper.toDto(refundRepository.save(record));
+        RefundRecord saved = refundRepository.save(record);
+        feeProjectionService.refresh(List.of(saved.getStudentId()));
+        return mapper.toDto(saved);
     }
 }
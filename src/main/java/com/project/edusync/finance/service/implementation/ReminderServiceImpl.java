@@ -1,19 +1,22 @@
 package com.project.edusync.finance.service.implementation;
 
 import com.project.edusync.finance.dto.reminder.ReminderLogDTO;
+import com.project.edusync.finance.dto.reminder.ReminderRunSummaryDTO;
 import com.project.edusync.finance.dto.reminder.ReminderTemplateCreateDTO;
 import com.project.edusync.finance.dto.reminder.ReminderTemplateDTO;
 import com.project.edusync.finance.mapper.ReminderMapper;
-import com.project.edusync.finance.model.entity.ReminderLog;
 import com.project.edusync.finance.model.entity.ReminderTemplate;
+import com.project.edusync.finance.reminder.ReminderEngine;
 import com.project.edusync.finance.repository.ReminderLogRepository;
 import com.project.edusync.finance.repository.ReminderTemplateRepository;
 import com.project.edusync.finance.service.ReminderService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -24,6 +27,7 @@ public class ReminderServiceImpl implements ReminderService {
     private final ReminderTemplateRepository templateRepository;
     private final ReminderLogRepository logRepository;
     private final ReminderMapper mapper;
+    private final ReminderEngine reminderEngine;
 
     @Override
     @Transactional
@@ -55,36 +59,13 @@ public class ReminderServiceImpl implements ReminderService {
     }
 
     @Override
-    @Transactional
-    public void triggerBulkReminders() {
-        // Implement complex business logic here to scan for overdues
-        // Since we are mocking the trigger execution for now according to the UI:
-        ReminderLog mockLog1 = ReminderLog.builder()
-                .studentId(2001L)
-                .studentName("Bulk Test Student A")
-                .templateName("3-Day Overdue Warning")
-                .channel("EMAIL")
-                .status("SENT")
-                .invoiceNumber("INV-2024-0999")
-                .amountDue(BigDecimal.valueOf(12000))
-                .build();
-        
-        ReminderLog mockLog2 = ReminderLog.builder()
-                .studentId(2002L)
-                .studentName("Bulk Test Student B")
-                .templateName("3-Day Overdue Warning")
-                .channel("EMAIL")
-                .status("SENT")
-                .invoiceNumber("INV-2024-0998")
-                .amountDue(BigDecimal.valueOf(8000))
-                .build();
-
-        logRepository.save(mockLog1);
-        logRepository.save(mockLog2);
+    public ReminderRunSummaryDTO triggerBulkReminders() {
+        return reminderEngine.run(LocalDate.now());
     }
 
     @Override
-    public List<ReminderLogDTO> getAllLogs() {
-        return logRepository.findAll().stream().map(mapper::toDto).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Page<ReminderLogDTO> getAllLogs(Pageable pageable) {
+        return logRepository.findAll(pageable).map(mapper::toDto);
     }
 }
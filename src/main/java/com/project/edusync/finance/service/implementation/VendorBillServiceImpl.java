@@ -3,9 +3,11 @@ package com.project.edusync.finance.service.implementation;
 import com.project.edusync.finance.dto.procurement.VendorBillRequestDTO;
 import com.project.edusync.finance.dto.procurement.VendorBillResponseDTO;
 import com.project.edusync.finance.model.entity.*;
+import com.project.edusync.finance.model.enums.DocumentSeries;
 import com.project.edusync.finance.model.enums.JournalReferenceType;
 import com.project.edusync.finance.model.enums.VendorBillStatus;
 import com.project.edusync.finance.repository.*;
+import com.project.edusync.finance.service.DocumentNumberService;
 import com.project.edusync.finance.service.GeneralLedgerService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -17,7 +19,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.Year;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -41,6 +42,7 @@ public class VendorBillServiceImpl {
     private final GoodsReceiptNoteRepository grnRepository;
     private final AccountRepository accountRepository;
     private final GeneralLedgerService glService;
+    private final DocumentNumberService documentNumberService;
 
     private static final Long DEFAULT_SCHOOL_ID = 1L;
     /** Tolerance for 3-way match: 2% variance is accepted. */
@@ -57,7 +59,7 @@ public class VendorBillServiceImpl {
         Vendor vendor = findVendor(dto.vendorId(), schoolId);
 
         VendorBill bill = new VendorBill();
-        bill.setBillNumber(generateBillNumber(schoolId));
+        bill.setBillNumber(documentNumberService.next(DocumentSeries.VENDOR_BILL, schoolId, dto.billDate()));
         bill.setVendorInvoiceNumber(dto.vendorInvoiceNumber());
         bill.setVendor(vendor);
         bill.setBillDate(dto.billDate());
@@ -301,13 +303,6 @@ public class VendorBillServiceImpl {
         return v;
     }
 
-    private String generateBillNumber(Long schoolId) {
-        int year = Year.now().getValue();
-        String prefix = "BILL-" + year + "-";
-        long count = billRepository.countByPrefix(schoolId, prefix);
-        return prefix + String.format("%05d", count + 1);
-    }
-
     private String getCurrentUsername() {
         try { return SecurityContextHolder.getContext().getAuthentication().getName(); } catch (Exception e) { return "system"; }
     }
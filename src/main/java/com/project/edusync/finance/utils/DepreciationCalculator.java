@@ -0,0 +1,43 @@
+package com.project.edusync.finance.utils;
+
+import com.project.edusync.finance.model.enums.DepreciationMethod;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Annual depreciation charge of one asset.
+ *
+ *   STRAIGHT_LINE: depreciableAmount / usefulLifeYears
+ *   WRITTEN_DOWN_VALUE: currentBookValue × (rate / 100), rate defaulting to 100 / usefulLifeYears
+ *   anything else: as STRAIGHT_LINE
+ *
+ * The charge never takes the book value below salvage value.
+ */
+public final class DepreciationCalculator {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private DepreciationCalculator() {
+    }
+
+    public static BigDecimal annualCharge(DepreciationMethod method,
+                                          BigDecimal purchaseCost,
+                                          BigDecimal salvageValue,
+                                          Integer usefulLifeYears,
+                                          BigDecimal depreciationRatePct,
+                                          BigDecimal currentBookValue) {
+        BigDecimal life = BigDecimal.valueOf(usefulLifeYears);
+        BigDecimal charge = switch (method == null ? DepreciationMethod.STRAIGHT_LINE : method) {
+            case WRITTEN_DOWN_VALUE -> {
+                BigDecimal rate = depreciationRatePct != null
+                        ? depreciationRatePct
+                        : HUNDRED.divide(life, 2, RoundingMode.HALF_UP);
+                yield currentBookValue.multiply(rate).divide(HUNDRED, 2, RoundingMode.HALF_UP);
+            }
+            default -> purchaseCost.subtract(salvageValue).divide(life, 2, RoundingMode.HALF_UP);
+        };
+        BigDecimal remaining = currentBookValue.subtract(salvageValue).max(BigDecimal.ZERO);
+        return charge.min(remaining);
+    }
+}
@@ -94,6 +94,16 @@ public interface LeaveApplicationRepository extends JpaRepository<LeaveApplicati
             """)
     long countDistinctStaffOnApprovedLeave(@Param("date") LocalDate date);
 
+    @Query("""
+            SELECT DISTINCT la.staff.id
+            FROM LeaveApplication la
+            WHERE la.active = true
+              AND la.status = com.project.edusync.hrms.model.enums.LeaveApplicationStatus.APPROVED
+              AND la.fromDate <= :date
+              AND la.toDate >= :date
+            """)
+    List<Long> findDistinctStaffIdsOnApprovedLeave(@Param("date") LocalDate date);
+
     @Query("""
             SELECT COUNT(DISTINCT la.staff.id)
             FROM LeaveApplication la
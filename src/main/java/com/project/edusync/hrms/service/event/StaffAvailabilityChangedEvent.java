@@ -0,0 +1,15 @@
+package com.project.edusync.hrms.service.event;
+
+import java.time.LocalDate;
+
+/** Published when staff attendance or approved leave changes for any day in [fromDate, toDate]. */
+public record StaffAvailabilityChangedEvent(LocalDate fromDate, LocalDate toDate) {
+
+    public static StaffAvailabilityChangedEvent on(LocalDate date) {
+        return new StaffAvailabilityChangedEvent(date, date);
+    }
+
+    public boolean covers(LocalDate date) {
+        return fromDate != null && toDate != null && !date.isBefore(fromDate) && !date.isAfter(toDate);
+    }
+}
@@ -50,7 +50,7 @@ public class HrmsDashboardServiceImpl implements HrmsDashboardService {
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = CacheNames.HRMS_DASHBOARD_SUMMARY, key = "'summary'")
+    @Cacheable(value = CacheNames.HRMS_DASHBOARD_SUMMARY, key = "'summary'", sync = true)
     public HrmsDashboardSummaryDTO getSummary() {
         LocalDate today = LocalDate.now();
 
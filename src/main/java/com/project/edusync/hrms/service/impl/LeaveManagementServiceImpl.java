@@ -1,5 +1,7 @@
 package com.project.edusync.hrms.service.impl;
 
+import com.project.edusync.common.cache.CacheTagIndex;
+import com.project.edusync.common.cache.CacheTags;
 import com.project.edusync.common.config.CacheNames;
 import com.project.edusync.common.security.AuthUtil;
 import com.project.edusync.common.utils.PublicIdentifierResolver;
@@ -27,6 +29,8 @@ import com.project.edusync.hrms.repository.StaffLeaveTemplateMappingRepository;
 import com.project.edusync.hrms.model.entity.StaffLeaveTemplateMapping;
 import com.project.edusync.hrms.model.entity.LeaveTemplateItem;
 import com.project.edusync.hrms.service.LeaveManagementService;
+import com.project.edusync.hrms.service.event.StaffAvailabilityChangedEvent;
+import com.project.edusync.dashboard.model.DashboardAudience;
 import com.project.edusync.dashboard.model.DashboardEvent;
 import com.project.edusync.dashboard.service.DashboardEventService;
 import com.project.edusync.iam.model.entity.User;
@@ -35,6 +39,7 @@ import com.project.edusync.uis.model.enums.StaffCategory;
 import com.project.edusync.uis.repository.StaffRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -68,6 +73,8 @@ public class LeaveManagementServiceImpl implements LeaveManagementService {
     private final StaffLeaveTemplateMappingRepository staffLeaveTemplateMappingRepository;
     private final DashboardEventService dashboardEventService;
     private final AuthUtil authUtil;
+    private final CacheTagIndex cacheTagIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -112,7 +119,7 @@ public class LeaveManagementServiceImpl implements LeaveManagementService {
 
     @Override
     @Transactional
-    @CacheEvict(value = {CacheNames.TEACHER_DASHBOARD_SUMMARY, CacheNames.HRMS_DASHBOARD_SUMMARY}, allEntries = true)
+    @CacheEvict(value = CacheNames.HRMS_DASHBOARD_SUMMARY, key = "'summary'")
     public LeaveApplicationResponseDTO applyForCurrentStaff(LeaveApplicationCreateDTO dto) {
         Staff currentStaff = getCurrentStaff();
         validateDateRange(dto.fromDate(), dto.toDate());
@@ -152,9 +159,11 @@ public class LeaveManagementServiceImpl implements LeaveManagementService {
         application.setAppliedOn(LocalDateTime.now());
 
         LeaveApplication savedApp = leaveApplicationRepository.save(application);
+        cacheTagIndex.invalidate(CacheTags.staff(currentStaff.getId()));
 
         DashboardEvent event = DashboardEvent.builder()
                 .type("hrms")
+                .audienceRoles(DashboardAudience.HRMS)
                 .severity("info")
                 .title("New Leave Request")
                 .message(currentStaff.getUserProfile().getFirstName() + " requested " + totalDays + " days of " + leaveType.getDisplayName())
@@ -167,7 +176,7 @@ public class LeaveManagementServiceImpl implements LeaveManagementService {
 
     @Override
     @Transactional
-    @CacheEvict(value = {CacheNames.TEACHER_DASHBOARD_SUMMARY, CacheNames.HRMS_DASHBOARD_SUMMARY}, allEntries = true)
+    @CacheEvict(value = CacheNames.HRMS_DASHBOARD_SUMMARY, key = "'summary'")
     public LeaveApplicationResponseDTO approve(Long applicationId, Long reviewerUserId, LeaveReviewDTO dto) {
         LeaveApplication application = findActiveApplication(applicationId);
         if (application.getStatus() != LeaveApplicationStatus.PENDING) {
@@ -212,6 +221,8 @@ public class LeaveManagementServiceImpl implements LeaveManagementService {
         application.setReviewedOn(LocalDateTime.now());
         application.setReviewRemarks(dto != null ? dto.remarks() : null);
 
+        cacheTagIndex.invalidate(CacheTags.staff(application.getStaff().getId()));
+        eventPublisher.publishEvent(new StaffAvailabilityChangedEvent(application.getFromDate(), application.getToDate()));
         return toApplicationResponse(leaveApplicationRepository.save(application));
     }
 
@@ -224,7 +235,7 @@ public class LeaveManagementServiceImpl implements LeaveManagementService {
 
     @Override
     @Transactional
-    @CacheEvict(value = {CacheNames.TEACHER_DASHBOARD_SUMMARY, CacheNames.HRMS_DASHBOARD_SUMMARY}, allEntries = true)
+    @CacheEvict(value = CacheNames.HRMS_DASHBOARD_SUMMARY, key = "'summary'")
     public LeaveApplicationResponseDTO reject(Long applicationId, Long reviewerUserId, LeaveReviewDTO dto) {
         LeaveApplication application = findActiveApplication(applicationId);
         if (application.getStatus() != LeaveApplicationStatus.PENDING) {
@@ -244,6 +255,7 @@ public class LeaveManagementServiceImpl implements LeaveManagementService {
         application.setReviewedOn(LocalDateTime.now());
         application.setReviewRemarks(dto != null ? dto.remarks() : null);
 
+        cacheTagIndex.invalidate(CacheTags.staff(application.getStaff().getId()));
         return toApplicationResponse(leaveApplicationRepository.save(application));
     }
 
@@ -256,7 +268,7 @@ public class LeaveManagementServiceImpl implements LeaveManagementService {
 
     @Override
     @Transactional
-    @CacheEvict(value = {CacheNames.TEACHER_DASHBOARD_SUMMARY, CacheNames.HRMS_DASHBOARD_SUMMARY}, allEntries = true)
+    @CacheEvict(value = CacheNames.HRMS_DASHBOARD_SUMMARY, key = "'summary'")
     public LeaveApplicationResponseDTO cancelByCurrentStaff(Long applicationId) {
         LeaveApplication application = findActiveApplication(applicationId);
         Staff currentStaff = getCurrentStaff();
@@ -295,6 +307,8 @@ public class LeaveManagementServiceImpl implements LeaveManagementService {
         application.setReviewedOn(LocalDateTime.now());
         application.setReviewRemarks("Cancelled by applicant");
 
+        cacheTagIndex.invalidate(CacheTags.staff(currentStaff.getId()));
+        eventPublisher.publishEvent(new StaffAvailabilityChangedEvent(application.getFromDate(), application.getToDate()));
         return toApplicationResponse(leaveApplicationRepository.save(application));
     }
 
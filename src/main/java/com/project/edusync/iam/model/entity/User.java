@@ -1,11 +1,11 @@
 package com.project.edusync.iam.model.entity;
 
 import com.project.edusync.common.model.AuditableEntity;
+import com.project.edusync.common.security.AuthenticatedUser;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
@@ -21,7 +21,7 @@ import java.util.stream.Collectors;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-public class User extends AuditableEntity implements UserDetails {
+public class User extends AuditableEntity implements AuthenticatedUser {
 
     @Column(length = 50, nullable = false, unique = true)
     private String username;
@@ -80,21 +80,21 @@ public class User extends AuditableEntity implements UserDetails {
 
     @Override
     public boolean isAccountNonExpired() {
-        return UserDetails.super.isAccountNonExpired();
+        return AuthenticatedUser.super.isAccountNonExpired();
     }
 
     @Override
     public boolean isAccountNonLocked() {
-        return UserDetails.super.isAccountNonLocked();
+        return AuthenticatedUser.super.isAccountNonLocked();
     }
 
     @Override
     public boolean isCredentialsNonExpired() {
-        return UserDetails.super.isCredentialsNonExpired();
+        return AuthenticatedUser.super.isCredentialsNonExpired();
     }
 
     @Override
     public boolean isEnabled() {
-        return UserDetails.super.isEnabled();
+        return AuthenticatedUser.super.isEnabled();
     }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.project.edusync.iam.service.impl;
 import com.project.edusync.common.exception.ResourceNotFoundException;
 import com.project.edusync.common.exception.iam.InvalidCredentialsException;
 import com.project.edusync.common.security.AuthUtil;
+import com.project.edusync.common.security.PermissionVersionService;
 import com.project.edusync.common.service.EmailService;
 import com.project.edusync.iam.model.dto.auth.*;
 import com.project.edusync.iam.model.dto.user.MeResponse;
@@ -49,6 +50,7 @@ public class AuthServiceImpl implements AuthService {
     private final RefreshTokenService refreshTokenService;
     private final PasswordResetTokenService passwordResetTokenService;
     private final EmailService emailService;
+    private final PermissionVersionService permissionVersionService;
 
     @Override
     @Transactional
@@ -78,7 +80,8 @@ public class AuthServiceImpl implements AuthService {
                 user.getUsername(),
                 user.getRoles(),
                 user.getId(),
-                loginRequest.academicYearId()
+                loginRequest.academicYearId(),
+                permissionVersionService.stamp(user.getId())
         );
         String refreshToken = null;
         if(loginRequest.rememberMe()){
@@ -142,7 +145,8 @@ public class AuthServiceImpl implements AuthService {
                 user.getUsername(),
                 user.getRoles(),
                 user.getId(),
-                refreshTokenRequest.academicYearId()
+                refreshTokenRequest.academicYearId(),
+                permissionVersionService.stamp(user.getId())
         );
 
         return new RefreshTokenResponse(newAccessToken, newRefreshToken);
@@ -2,6 +2,7 @@ package com.project.edusync.iam.service.impl;
 
 import com.project.edusync.common.exception.EdusyncException;
 import com.project.edusync.common.exception.ResourceNotFoundException;
+import com.project.edusync.common.security.PermissionVersionService;
 import com.project.edusync.iam.model.dto.rbac.PermissionResponseDTO;
 import com.project.edusync.iam.model.dto.rbac.RolePermissionLinkResponseDTO;
 import com.project.edusync.iam.model.dto.rbac.RoleSummaryDTO;
@@ -28,6 +29,7 @@ public class RbacManagementServiceImpl implements RbacManagementService {
 
     private final PermissionRepository permissionRepository;
     private final RoleRepository roleRepository;
+    private final PermissionVersionService permissionVersionService;
 
     @Override
     @Transactional
@@ -69,6 +71,9 @@ public class RbacManagementServiceImpl implements RbacManagementService {
         boolean added = permissions.add(permission);
         role.setPermissions(permissions);
         roleRepository.save(role);
+        if (added) {
+            permissionVersionService.bumpAll();
+        }
 
         String message = added
                 ? "Permission linked to role successfully"
@@ -88,6 +93,9 @@ public class RbacManagementServiceImpl implements RbacManagementService {
         boolean removed = permissions.remove(permission);
         role.setPermissions(permissions);
         roleRepository.save(role);
+        if (removed) {
+            permissionVersionService.bumpAll();
+        }
 
         String message = removed
                 ? "Permission revoked from role successfully"
@@ -11,6 +11,7 @@ import com.project.edusync.ams.model.repository.StudentDailyAttendanceRepository
 import com.project.edusync.common.exception.EdusyncException;
 import com.project.edusync.common.exception.ResourceNotFoundException;
 import com.project.edusync.common.exception.iam.UserAlreadyExistsException;
+import com.project.edusync.common.security.PermissionVersionService;
 import com.project.edusync.common.service.EmailService;
 import com.project.edusync.em.model.repository.StudentMarkRepository;
 import com.project.edusync.iam.model.dto.*;
@@ -78,6 +79,7 @@ public class UserManagementServiceImpl implements UserManagementService {
     // --- Core Identity ---
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
+    private final PermissionVersionService permissionVersionService;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
     private final SectionRepository sectionRepository;
@@ -796,6 +798,7 @@ public class UserManagementServiceImpl implements UserManagementService {
         user.setActive(false);
         student.setActive(false);
         userRepository.save(user);
+        permissionVersionService.bumpUser(user);
         studentRepository.save(student);
         log.info("Student user deactivated successfully. studentUuid={}, userId={}", studentId, user.getId());
     }
@@ -811,6 +814,7 @@ public class UserManagementServiceImpl implements UserManagementService {
         user.setActive(false);
         staff.setActive(false);
         userRepository.save(user);
+        permissionVersionService.bumpUser(user);
         staffRepository.save(staff);
         log.info("Staff user deactivated successfully. staffUuid={}, userId={}", staffId, user.getId());
     }
@@ -832,6 +836,7 @@ public class UserManagementServiceImpl implements UserManagementService {
         user.setActive(false);
         guardian.setActive(false);
         userRepository.save(user);
+        permissionVersionService.bumpUser(user);
         guardianRepository.save(guardian);
         log.info("Guardian deactivated successfully. guardianUuid={}, userId={}", guardianId, user.getId());
     }
@@ -1111,6 +1116,7 @@ public class UserManagementServiceImpl implements UserManagementService {
         roles.add(hrAdminRole);
         user.setRoles(roles);
         User saved = userRepository.save(user);
+        permissionVersionService.bumpUser(saved);
         log.info("Success: Staff member promoted to HR Admin. staffUuid={}, userId={}", staffId, user.getId());
         return saved;
     }
@@ -1134,6 +1140,7 @@ public class UserManagementServiceImpl implements UserManagementService {
 
         user.setRoles(roles);
         userRepository.save(user);
+        permissionVersionService.bumpUser(user);
         log.info("Success: HR Admin role revoked. staffUuid={}, userId={}", staffId, user.getId());
     }
 
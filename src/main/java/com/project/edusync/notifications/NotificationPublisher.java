@@ -1,43 +1,79 @@
 package com.project.edusync.notifications;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.edusync.notifications.config.NotificationSnsProperties;
+import com.project.edusync.notifications.model.NotificationOutboxEntry;
+import com.project.edusync.notifications.model.OutboxStatus;
+import com.project.edusync.notifications.repository.NotificationOutboxRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import software.amazon.awssdk.services.sns.SnsClient;
-import software.amazon.awssdk.services.sns.model.PublishRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Queues notifications in the outbox inside the caller's transaction, so a notification exists exactly when the
+ * change it announces committed. Publishing to SNS happens later, off the request thread, in
+ * {@link com.project.edusync.notifications.outbox.NotificationOutboxDispatcher}.
+ */
 @Service
 @ConditionalOnProperty(prefix = "app.notifications.sns", name = "enabled", havingValue = "true")
+@Transactional(propagation = Propagation.MANDATORY)
 public class NotificationPublisher {
 
-    private final SnsClient snsClient;
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationSnsProperties properties;
+    private final ObjectMapper objectMapper;
 
-    public NotificationPublisher(SnsClient snsClient) {
-        this.snsClient = snsClient;
+    public NotificationPublisher(NotificationOutboxRepository outboxRepository,
+                                 NotificationSnsProperties properties,
+                                 ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
     }
 
-    private final String TOPIC_ARN =
-            "arn:aws:sns:us-east-1:000000000000:notification-topic";
-
     public void studentCreated(
             String studentName,
             String parentEmail,
             String parentPhone
     ) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("studentName", studentName);
+        fields.put("parentEmail", parentEmail);
+        fields.put("parentPhone", parentPhone);
+        enqueue("STUDENT_CREATED", fields);
+    }
 
-        String message = String.format("""
-        {
-          "event":"STUDENT_CREATED",
-          "studentName":"%s",
-          "parentEmail":"%s",
-          "parentPhone":"%s"
+    /**
+     * Adds one message to the outbox. Must run inside the transaction that makes the event true; bulk callers
+     * can enqueue thousands of rows and return without waiting on SNS.
+     */
+    public void enqueue(String eventType, Map<String, Object> fields) {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("event", eventType);
+        message.putAll(fields);
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Notification payload is not serializable: " + eventType, ex);
         }
-        """, studentName, parentEmail, parentPhone);
-
-        snsClient.publish(
-                PublishRequest.builder()
-                        .topicArn(TOPIC_ARN)
-                        .message(message)
-                        .build()
-        );
+
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.save(NotificationOutboxEntry.builder()
+                .topicArn(properties.getTopicArn())
+                .eventType(eventType)
+                .payload(payload)
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
     }
-}
\ No newline at end of file
+}
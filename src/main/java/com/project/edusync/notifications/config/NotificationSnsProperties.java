@@ -0,0 +1,56 @@
+package com.project.edusync.notifications.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * SNS target and the outbox dispatcher that feeds it.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.notifications.sns")
+public class NotificationSnsProperties {
+
+    private boolean enabled;
+
+    /** Endpoint override, e.g. localstack; blank uses the regional AWS endpoint and default credentials. */
+    private String endpoint = "http://localhost:4566";
+
+    private String region = "us-east-1";
+
+    private String topicArn = "arn:aws:sns:us-east-1:000000000000:notification-topic";
+
+    /** Static credentials, only used together with {@link #endpoint}. */
+    private String accessKey = "test";
+
+    private String secretKey = "test";
+
+    private Outbox outbox = new Outbox();
+
+    @Getter
+    @Setter
+    public static class Outbox {
+
+        /** Pause between dispatcher passes once the outbox is drained. */
+        private Duration dispatchInterval = Duration.ofSeconds(1);
+
+        /** Rows claimed per pass; published in PublishBatch calls of up to ten. */
+        private int claimSize = 100;
+
+        /** How long a claimed row stays hidden from other dispatchers; a node that dies mid-send is retried after it. */
+        private Duration claimTimeout = Duration.ofMinutes(2);
+
+        private int maxAttempts = 8;
+
+        private Duration initialBackoff = Duration.ofSeconds(5);
+
+        private Duration maxBackoff = Duration.ofMinutes(30);
+
+        private Duration sentRetention = Duration.ofDays(7);
+    }
+}
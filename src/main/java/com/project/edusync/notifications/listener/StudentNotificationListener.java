@@ -19,8 +19,9 @@ public class StudentNotificationListener {
         this.notificationPublisher = notificationPublisher;
     }
 
+    /** Runs before commit so the outbox row joins the transaction that created the student. */
     @TransactionalEventListener(
-            phase = TransactionPhase.AFTER_COMMIT
+            phase = TransactionPhase.BEFORE_COMMIT
     )
     public void handleStudentCreated(
             StudentCreatedEvent event
@@ -0,0 +1,8 @@
+package com.project.edusync.notifications.model;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    /** Gave up after the configured attempts or a permanent SNS rejection; kept for inspection. */
+    DEAD
+}
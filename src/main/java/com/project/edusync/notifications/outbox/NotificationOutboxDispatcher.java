@@ -0,0 +1,217 @@
+package com.project.edusync.notifications.outbox;
+
+import com.project.edusync.common.scheduling.LeasedJob;
+import com.project.edusync.common.scheduling.ScheduledJobCoordinator;
+import com.project.edusync.common.scheduling.ScheduledJobDefinition;
+import com.project.edusync.notifications.config.NotificationSnsProperties;
+import com.project.edusync.notifications.model.NotificationOutboxEntry;
+import com.project.edusync.notifications.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sns.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sns.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequest;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequestEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchResponse;
+import software.amazon.awssdk.services.sns.model.PublishBatchResultEntry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Publishes the notification outbox to SNS with {@code PublishBatch}.
+ *
+ * <p>Each pass claims due rows with {@code FOR UPDATE SKIP LOCKED} and pushes their next attempt past the claim
+ * timeout before committing, so several nodes can dispatch at once without sending a row twice, and rows held by
+ * a node that dies are picked up again once the claim lapses. SNS is called outside any transaction. Failed
+ * entries back off exponentially; sender faults and rows out of attempts are marked {@code DEAD}.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.notifications.sns", name = "enabled", havingValue = "true")
+public class NotificationOutboxDispatcher implements LeasedJob {
+
+    /** SNS accepts at most ten entries per {@code PublishBatch}. */
+    static final int SNS_BATCH_LIMIT = 10;
+
+    /** Message attribute carrying the outbox id; delivery is at least once, so consumers de-duplicate on it. */
+    static final String OUTBOX_ID_ATTRIBUTE = "outboxId";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private static final String PURGE_CRON = "0 40 3 * * ?";
+
+    private static final ScheduledJobDefinition PURGE = ScheduledJobDefinition
+            .of("notification-outbox-purge", PURGE_CRON, Duration.ofMinutes(30))
+            .inTransaction();
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final SnsClient snsClient;
+    private final NotificationSnsProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledJobCoordinator jobCoordinator;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter deadCounter;
+
+    public NotificationOutboxDispatcher(NotificationOutboxRepository outboxRepository,
+                                        SnsClient snsClient,
+                                        NotificationSnsProperties properties,
+                                        PlatformTransactionManager transactionManager,
+                                        ScheduledJobCoordinator jobCoordinator,
+                                        MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.snsClient = snsClient;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobCoordinator = jobCoordinator;
+        this.sentCounter = meterRegistry.counter("edusync.notifications.outbox.sent");
+        this.retriedCounter = meterRegistry.counter("edusync.notifications.outbox.retried");
+        this.deadCounter = meterRegistry.counter("edusync.notifications.outbox.dead");
+    }
+
+    /** Drains everything due; keeps claiming while full batches come back. */
+    @Scheduled(fixedDelayString = "${app.notifications.sns.outbox.dispatch-interval:PT1S}")
+    public void dispatch() {
+        int claimSize = properties.getOutbox().getClaimSize();
+        List<NotificationOutboxEntry> claimed;
+        do {
+            claimed = claim(claimSize);
+            if (!claimed.isEmpty()) {
+                publish(claimed);
+            }
+        } while (claimed.size() == claimSize);
+    }
+
+    private List<NotificationOutboxEntry> claim(int limit) {
+        List<NotificationOutboxEntry> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = outboxRepository.lockDueIds(now, limit);
+            if (ids.isEmpty()) {
+                return List.<NotificationOutboxEntry>of();
+            }
+            outboxRepository.claim(ids, now.plus(properties.getOutbox().getClaimTimeout()));
+            List<NotificationOutboxEntry> rows = new ArrayList<>(outboxRepository.findAllById(ids));
+            rows.sort(Comparator.comparing(NotificationOutboxEntry::getId));
+            return rows;
+        });
+        return claimed == null ? List.of() : claimed;
+    }
+
+    void publish(List<NotificationOutboxEntry> claimed) {
+        Map<String, List<NotificationOutboxEntry>> byTopic = new LinkedHashMap<>();
+        claimed.forEach(entry -> byTopic.computeIfAbsent(entry.getTopicArn(), topic -> new ArrayList<>()).add(entry));
+
+        List<Long> sent = new ArrayList<>();
+        Map<Long, Failure> failed = new HashMap<>();
+        byTopic.forEach((topic, entries) -> {
+            for (int from = 0; from < entries.size(); from += SNS_BATCH_LIMIT) {
+                List<NotificationOutboxEntry> batch = entries.subList(from, Math.min(from + SNS_BATCH_LIMIT, entries.size()));
+                publishBatch(topic, batch, sent, failed);
+            }
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sent.isEmpty()) {
+                outboxRepository.markSent(sent, now);
+            }
+            for (NotificationOutboxEntry entry : claimed) {
+                Failure failure = failed.get(entry.getId());
+                if (failure == null) {
+                    continue;
+                }
+                if (failure.permanent() || entry.getAttempts() >= properties.getOutbox().getMaxAttempts()) {
+                    outboxRepository.markDead(entry.getId(), failure.error());
+                    deadCounter.increment();
+                    log.warn("Notification outbox: giving up on id={} ({}) after {} attempt(s): {}",
+                            entry.getId(), entry.getEventType(), entry.getAttempts(), failure.error());
+                } else {
+                    outboxRepository.markRetry(entry.getId(), now.plus(backoff(entry.getAttempts())), failure.error());
+                    retriedCounter.increment();
+                }
+            }
+        });
+        sentCounter.increment(sent.size());
+    }
+
+    private void publishBatch(String topic, List<NotificationOutboxEntry> batch, List<Long> sent, Map<Long, Failure> failed) {
+        PublishBatchRequest request = PublishBatchRequest.builder()
+                .topicArn(topic)
+                .publishBatchRequestEntries(batch.stream()
+                        .map(entry -> PublishBatchRequestEntry.builder()
+                                .id(String.valueOf(entry.getId()))
+                                .message(entry.getPayload())
+                                .messageAttributes(Map.of(OUTBOX_ID_ATTRIBUTE, MessageAttributeValue.builder()
+                                        .dataType("Number")
+                                        .stringValue(String.valueOf(entry.getId()))
+                                        .build()))
+                                .build())
+                        .toList())
+                .build();
+        try {
+            PublishBatchResponse response = snsClient.publishBatch(request);
+            for (PublishBatchResultEntry ok : response.successful()) {
+                sent.add(Long.valueOf(ok.id()));
+            }
+            for (BatchResultErrorEntry error : response.failed()) {
+                failed.put(Long.valueOf(error.id()),
+                        new Failure(truncate(error.code() + ": " + error.message()), Boolean.TRUE.equals(error.senderFault())));
+            }
+        } catch (SdkException ex) {
+            // Throttling, timeouts and outages: the whole batch retries.
+            Failure failure = new Failure(truncate(ex.getClass().getSimpleName() + ": " + ex.getMessage()), false);
+            batch.forEach(entry -> failed.put(entry.getId(), failure));
+        }
+    }
+
+    /** Exponential from the initial backoff, capped, with up to 20% jitter so retries from a burst spread out. */
+    Duration backoff(int attempts) {
+        Duration initial = properties.getOutbox().getInitialBackoff();
+        Duration max = properties.getOutbox().getMaxBackoff();
+        int exponent = Math.min(Math.max(attempts - 1, 0), 20);
+        Duration base = initial.multipliedBy(1L << exponent);
+        if (base.compareTo(max) > 0) {
+            base = max;
+        }
+        long jitterMillis = (long) (base.toMillis() * 0.2 * ThreadLocalRandom.current().nextDouble());
+        return base.plusMillis(jitterMillis);
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    @Scheduled(cron = PURGE_CRON)
+    public void purgeSent() {
+        jobCoordinator.trigger(this);
+    }
+
+    @Override
+    public ScheduledJobDefinition definition() {
+        return PURGE;
+    }
+
+    @Override
+    public int execute(LocalDateTime scheduledFor) {
+        return outboxRepository.deleteSentBefore(scheduledFor.minus(properties.getOutbox().getSentRetention()));
+    }
+
+    private record Failure(String error, boolean permanent) {
+    }
+}
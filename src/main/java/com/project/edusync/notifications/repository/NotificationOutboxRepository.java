@@ -0,0 +1,57 @@
+package com.project.edusync.notifications.repository;
+
+import com.project.edusync.notifications.model.NotificationOutboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxEntry, Long> {
+
+    /** Due rows, oldest first; rows another dispatcher has locked are skipped rather than waited on. */
+    @Query(value = """
+        SELECT id FROM notification_outbox
+        WHERE status = 'PENDING' AND next_attempt_at <= :now
+        ORDER BY id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<Long> lockDueIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /** Counts the attempt and hides the rows from other dispatchers until {@code claimedUntil}. */
+    @Modifying
+    @Query("""
+        UPDATE NotificationOutboxEntry e
+        SET e.attempts = e.attempts + 1, e.nextAttemptAt = :claimedUntil
+        WHERE e.id IN :ids
+        """)
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    @Modifying
+    @Query("""
+        UPDATE NotificationOutboxEntry e
+        SET e.status = com.project.edusync.notifications.model.OutboxStatus.SENT, e.sentAt = :sentAt, e.lastError = null
+        WHERE e.id IN :ids
+        """)
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE NotificationOutboxEntry e SET e.nextAttemptAt = :nextAttemptAt, e.lastError = :error WHERE e.id = :id")
+    int markRetry(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    @Modifying
+    @Query("""
+        UPDATE NotificationOutboxEntry e
+        SET e.status = com.project.edusync.notifications.model.OutboxStatus.DEAD, e.lastError = :error
+        WHERE e.id = :id
+        """)
+    int markDead(@Param("id") Long id, @Param("error") String error);
+
+    @Modifying
+    @Query(value = "DELETE FROM notification_outbox WHERE status = 'SENT' AND sent_at < :cutoff", nativeQuery = true)
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,37 @@
+package com.project.edusync.superadmin.audit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What {@link com.project.edusync.superadmin.audit.filter.AuditRequestCachingFilter} keeps of a request body
+ * for the audit record. Registered by {@link AuditLoggingWebConfig} so the web layer carries it on its own.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.audit.capture")
+public class AuditCaptureProperties {
+
+    /** Leading body bytes retained per request; the rest is only hashed as it streams past. */
+    private int maxBytes = 8 * 1024;
+
+    /** Characters of redacted JSON preview stored in the audit payload. */
+    private int previewChars = 512;
+
+    /** Ant-style request paths whose bodies are never wrapped (uploads, imports, bulk endpoints). */
+    private List<String> excludedPaths = new ArrayList<>(List.of(
+            "/**/upload*/**",
+            "/**/import*/**",
+            "/**/bulk*/**",
+            "/**/profile/image/**"
+    ));
+
+    /** JSON field names (case-insensitive substring match) whose values are replaced before preview. */
+    private List<String> sensitiveFields = new ArrayList<>(List.of(
+            "password", "token", "secret", "otp", "pin", "cvv", "authorization"
+    ));
+}
@@ -2,11 +2,13 @@ package com.project.edusync.superadmin.audit.config;
 
 import com.project.edusync.superadmin.audit.interceptor.AuditOperationInterceptor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@EnableConfigurationProperties(AuditCaptureProperties.class)
 @RequiredArgsConstructor
 public class AuditLoggingWebConfig implements WebMvcConfigurer {
 
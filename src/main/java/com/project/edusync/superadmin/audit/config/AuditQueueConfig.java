@@ -11,8 +11,7 @@ import java.util.concurrent.LinkedBlockingQueue;
 public class AuditQueueConfig {
 
     @Bean
-    public BlockingQueue<AuditLog> auditLogQueue() {
-        return new LinkedBlockingQueue<>(10_000);
+    public BlockingQueue<AuditLog> auditLogQueue(AuditSinkProperties properties) {
+        return new LinkedBlockingQueue<>(properties.getQueueCapacity());
     }
 }
-
@@ -0,0 +1,42 @@
+package com.project.edusync.superadmin.audit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Tuning for the audit log sink ({@link com.project.edusync.superadmin.audit.service.AuditAsyncWriter}).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.audit.sink")
+public class AuditSinkProperties {
+
+    /** In-memory entries between request threads and the writer; offers beyond this are dropped and counted. */
+    private int queueCapacity = 20_000;
+
+    /** Rows per JDBC batch. */
+    private int batchSize = 500;
+
+    /** Longest a partial batch waits for more entries before it is written. */
+    private Duration maxBatchDelay = Duration.ofMillis(200);
+
+    /** Queue fill ratio above which batches go to the spool file instead of waiting on the database. */
+    private double spoolHighWatermark = 0.75;
+
+    /** Batches slower than this count as a slow database and switch the writer to spooling. */
+    private Duration slowWriteThreshold = Duration.ofSeconds(2);
+
+    /** Delay between attempts to replay the spool while the database is failing or slow. */
+    private Duration replayBackoff = Duration.ofSeconds(10);
+
+    /** Node-local directory for append-only spool files. */
+    private String spoolDirectory = "audit-spool";
+
+    /** Spool size above which new entries are dropped and counted instead of written. */
+    private long spoolMaxBytes = 256L * 1024 * 1024;
+}
@@ -0,0 +1,28 @@
+package com.project.edusync.superadmin.audit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Partitioning, retention and search limits for {@code audit_logs}.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.audit.storage")
+public class AuditStorageProperties {
+
+    /**
+     * Whole months of audit history kept in addition to the current month. {@code 0} (the default) keeps
+     * everything; dropping history is an explicit opt-in.
+     */
+    private int retentionMonths = 0;
+
+    /** Monthly partitions kept created ahead of the current month. */
+    private int premakeMonths = 3;
+
+    /** Search totals are counted up to this many rows and reported as a lower bound beyond it. */
+    private int countCap = 10_000;
+}
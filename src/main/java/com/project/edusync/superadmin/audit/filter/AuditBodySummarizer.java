@@ -0,0 +1,110 @@
+package com.project.edusync.superadmin.audit.filter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.edusync.superadmin.audit.config.AuditCaptureProperties;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns the retained head of a request body into an {@link AuditBodySummary}. JSON is re-emitted token by token
+ * with sensitive values replaced, so the body is never materialised as a tree; a head cut off mid-document
+ * yields the tokens read up to the cut.
+ */
+public class AuditBodySummarizer {
+
+    static final String REDACTED = "***";
+
+    private final JsonFactory jsonFactory;
+    private final AuditCaptureProperties properties;
+
+    public AuditBodySummarizer(ObjectMapper objectMapper, AuditCaptureProperties properties) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.properties = properties;
+    }
+
+    /**
+     * @param fields top-level scalar fields to return unredacted in {@link AuditBodySummary#fields()}
+     */
+    public AuditBodySummary summarize(DigestingRequestWrapper request, Set<String> fields) {
+        byte[] head = request.head();
+        String preview = null;
+        Map<String, String> extracted = new HashMap<>();
+        String contentType = request.getContentType();
+        if (head.length > 0 && contentType != null && contentType.toLowerCase(Locale.ROOT).contains("json")) {
+            preview = redact(head, fields, extracted);
+        }
+        return new AuditBodySummary(request.sha256(), request.bytesRead(), request.truncated(), preview, extracted);
+    }
+
+    String redact(byte[] json, Set<String> fields, Map<String, String> extracted) {
+        StringWriter out = new StringWriter();
+        boolean complete = false;
+        try (JsonParser parser = jsonFactory.createParser(json);
+             JsonGenerator generator = jsonFactory.createGenerator(out)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT)) {
+            try {
+                JsonToken token;
+                while ((token = parser.nextToken()) != null) {
+                    if (token == JsonToken.FIELD_NAME) {
+                        String name = parser.currentName();
+                        generator.writeFieldName(name);
+                        JsonToken value = parser.nextToken();
+                        if (value == null) {
+                            break;
+                        }
+                        if (value.isScalarValue() && isTopLevel(parser) && fields.contains(name)) {
+                            extracted.put(name, parser.getValueAsString());
+                        }
+                        if (isSensitive(name)) {
+                            parser.skipChildren();
+                            generator.writeString(REDACTED);
+                        } else {
+                            // Containers are opened here and walked by the main loop, so nested fields are redacted too.
+                            generator.copyCurrentEvent(parser);
+                        }
+                        continue;
+                    }
+                    generator.copyCurrentEvent(parser);
+                }
+                complete = true;
+            } catch (IOException truncatedOrMalformed) {
+                // Keep what was emitted before the cut.
+            }
+            generator.flush();
+        } catch (IOException ex) {
+            return null;
+        }
+        String preview = out.toString();
+        int limit = properties.getPreviewChars();
+        if (preview.length() > limit) {
+            return preview.substring(0, limit) + "…";
+        }
+        return complete ? preview : preview + "…";
+    }
+
+    private static boolean isTopLevel(JsonParser parser) {
+        var parent = parser.getParsingContext().getParent();
+        return parent != null && parent.inRoot();
+    }
+
+    private boolean isSensitive(String fieldName) {
+        String lower = fieldName.toLowerCase(Locale.ROOT);
+        List<String> sensitive = properties.getSensitiveFields();
+        for (String marker : sensitive) {
+            if (lower.contains(marker.toLowerCase(Locale.ROOT))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,22 @@
+package com.project.edusync.superadmin.audit.filter;
+
+import java.util.Map;
+
+/**
+ * What the audit record keeps of a request body: a digest of everything the handler read and a redacted,
+ * truncated preview of JSON bodies.
+ *
+ * @param sha256    hex SHA-256 of all bytes read from the body
+ * @param bytes     bytes read from the body
+ * @param truncated whether the body was longer than the retained head
+ * @param preview   redacted JSON preview, or {@code null} for non-JSON or empty bodies
+ * @param fields    requested top-level scalar fields, read before redaction (e.g. the username of a login)
+ */
+public record AuditBodySummary(
+        String sha256,
+        long bytes,
+        boolean truncated,
+        String preview,
+        Map<String, String> fields
+) {
+}
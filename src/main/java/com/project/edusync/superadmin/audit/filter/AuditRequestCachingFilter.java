@@ -1,40 +1,60 @@
 package com.project.edusync.superadmin.audit.filter;
 
+import com.project.edusync.superadmin.audit.config.AuditCaptureProperties;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.web.util.ContentCachingRequestWrapper;
 
 import java.io.IOException;
+import java.util.Locale;
+import java.util.Set;
 
+/**
+ * Wraps auditable request bodies in a {@link DigestingRequestWrapper}: the body is hashed as it streams to the
+ * handler and only a bounded head is retained for the audit preview. Safe methods, multipart uploads and
+ * {@link AuditCaptureProperties#getExcludedPaths() excluded paths} are not wrapped at all.
+ */
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
 public class AuditRequestCachingFilter extends OncePerRequestFilter {
 
+    private static final Set<String> UNAUDITED_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final AuditCaptureProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
-        String contentType = request.getContentType();
-        String path = request.getRequestURI();
+        if (UNAUDITED_METHODS.contains(request.getMethod().toUpperCase(Locale.ROOT))) {
+            return true;
+        }
 
-        if (contentType != null && contentType.toLowerCase().startsWith("multipart/")) {
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("multipart/")) {
             return true;
         }
 
+        String path = request.getRequestURI();
         if (path == null) {
             return false;
         }
 
-        String normalizedPath = path.toLowerCase();
-        return normalizedPath.contains("/upload")
-                || normalizedPath.contains("/import")
-                || normalizedPath.contains("/profile/image")
-                || normalizedPath.contains("/bulk");
+        String normalizedPath = path.toLowerCase(Locale.ROOT);
+        for (String pattern : properties.getExcludedPaths()) {
+            if (pathMatcher.match(pattern, normalizedPath)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -43,13 +63,10 @@ public class AuditRequestCachingFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
-        HttpServletRequest wrapped = request instanceof ContentCachingRequestWrapper
+        HttpServletRequest wrapped = request instanceof DigestingRequestWrapper
                 ? request
-                : new ContentCachingRequestWrapper(request);
+                : new DigestingRequestWrapper(request, properties.getMaxBytes());
 
         filterChain.doFilter(wrapped, response);
     }
 }
-
-
-
@@ -0,0 +1,133 @@
+package com.project.edusync.superadmin.audit.filter;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Request wrapper that hashes the body as the handler reads it and retains at most {@code maxBytes} of it.
+ * Unlike {@code ContentCachingRequestWrapper}, memory per request is bounded regardless of body size.
+ */
+public class DigestingRequestWrapper extends HttpServletRequestWrapper {
+
+    private final int maxBytes;
+    private final MessageDigest digest;
+    private final ByteArrayOutputStream head;
+    private long bytesRead;
+    private ServletInputStream inputStream;
+    private BufferedReader reader;
+
+    public DigestingRequestWrapper(HttpServletRequest request, int maxBytes) {
+        super(request);
+        this.maxBytes = maxBytes;
+        this.head = new ByteArrayOutputStream(Math.min(maxBytes, 1024));
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = new DigestingInputStream(super.getInputStream());
+        }
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            reader = new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+        return reader;
+    }
+
+    /** Leading bytes of the body, at most {@code maxBytes}. */
+    public byte[] head() {
+        return head.toByteArray();
+    }
+
+    public long bytesRead() {
+        return bytesRead;
+    }
+
+    public boolean truncated() {
+        return bytesRead > head.size();
+    }
+
+    /** Hex digest of the bytes read so far. */
+    public String sha256() {
+        try {
+            return HexFormat.of().formatHex(((MessageDigest) digest.clone()).digest());
+        } catch (CloneNotSupportedException ex) {
+            return null;
+        }
+    }
+
+    private void record(byte[] bytes, int offset, int length) {
+        if (length <= 0) {
+            return;
+        }
+        digest.update(bytes, offset, length);
+        bytesRead += length;
+        int room = maxBytes - head.size();
+        if (room > 0) {
+            head.write(bytes, offset, Math.min(room, length));
+        }
+    }
+
+    private final class DigestingInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+
+        private DigestingInputStream(ServletInputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b >= 0) {
+                record(new byte[]{(byte) b}, 0, 1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = delegate.read(buffer, offset, length);
+            record(buffer, offset, n);
+            return n;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+            delegate.setReadListener(listener);
+        }
+    }
+}
@@ -1,33 +1,46 @@
 package com.project.edusync.superadmin.audit.interceptor;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.project.edusync.common.security.AuthUtil;
 import com.project.edusync.common.utils.RequestUtil;
+import com.project.edusync.superadmin.audit.config.AuditCaptureProperties;
+import com.project.edusync.superadmin.audit.filter.AuditBodySummarizer;
+import com.project.edusync.superadmin.audit.filter.AuditBodySummary;
+import com.project.edusync.superadmin.audit.filter.DigestingRequestWrapper;
 import com.project.edusync.superadmin.audit.service.AuditLogService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.method.HandlerMethod;
-import org.springframework.web.util.ContentCachingRequestWrapper;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.util.StringUtils;
+import org.springframework.web.util.WebUtils;
 
-import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 
 @Component
-@RequiredArgsConstructor
 public class AuditOperationInterceptor implements HandlerInterceptor {
 
     private final AuditLogService auditLogService;
     private final RequestUtil requestUtil;
-    private final ObjectMapper objectMapper;
     private final AuthUtil authUtil;
+    private final AuditBodySummarizer bodySummarizer;
+
+    public AuditOperationInterceptor(AuditLogService auditLogService,
+                                     RequestUtil requestUtil,
+                                     AuthUtil authUtil,
+                                     ObjectMapper objectMapper,
+                                     AuditCaptureProperties captureProperties) {
+        this.auditLogService = auditLogService;
+        this.requestUtil = requestUtil;
+        this.authUtil = authUtil;
+        this.bodySummarizer = new AuditBodySummarizer(objectMapper, captureProperties);
+    }
 
     @Override
     public void afterCompletion(
@@ -54,8 +67,9 @@ public class AuditOperationInterceptor implements HandlerInterceptor {
         String entityId = resolveEntityId(request);
         String entityDisplayName = handlerMethod.getMethod().getName();
 
-        Map<String, Object> payload = buildPayload(request, response, ex);
-        String actorUsernameHint = resolveActorUsernameHint(request, action);
+        AuditBodySummary body = summarizeBody(request, action);
+        Map<String, Object> payload = buildPayload(request, response, ex, body);
+        String actorUsernameHint = resolveActorUsernameHint(action, body);
 
         auditLogService.logAsync(
                 action,
@@ -69,12 +83,28 @@ public class AuditOperationInterceptor implements HandlerInterceptor {
         );
     }
 
-    private String resolveActorUsernameHint(HttpServletRequest request, String action) {
+    private AuditBodySummary summarizeBody(HttpServletRequest request, String action) {
+        DigestingRequestWrapper wrapped = WebUtils.getNativeRequest(request, DigestingRequestWrapper.class);
+        if (wrapped == null || wrapped.bytesRead() == 0) {
+            return null;
+        }
+        Set<String> fields = switch (action) {
+            case "LOGIN" -> Set.of("username");
+            case "LOGOUT" -> Set.of("refreshToken");
+            default -> Set.of();
+        };
+        return bodySummarizer.summarize(wrapped, fields);
+    }
+
+    private String resolveActorUsernameHint(String action, AuditBodySummary body) {
+        if (body == null) {
+            return null;
+        }
         if ("LOGIN".equals(action)) {
-            return readFieldFromBody(request, "username");
+            return body.fields().get("username");
         }
         if ("LOGOUT".equals(action)) {
-            String refreshToken = readFieldFromBody(request, "refreshToken");
+            String refreshToken = body.fields().get("refreshToken");
             if (StringUtils.hasText(refreshToken)) {
                 try {
                     return authUtil.getUsernameFromToken(refreshToken);
@@ -86,25 +116,6 @@ public class AuditOperationInterceptor implements HandlerInterceptor {
         return null;
     }
 
-    private String readFieldFromBody(HttpServletRequest request, String fieldName) {
-        if (!(request instanceof ContentCachingRequestWrapper wrappedRequest)) {
-            return null;
-        }
-
-        byte[] body = wrappedRequest.getContentAsByteArray();
-        if (body.length == 0) {
-            return null;
-        }
-
-        try {
-            JsonNode root = objectMapper.readTree(new String(body, StandardCharsets.UTF_8));
-            JsonNode field = root.get(fieldName);
-            return field == null || field.isNull() ? null : field.asText(null);
-        } catch (Exception ignored) {
-            return null;
-        }
-    }
-
     private String resolveAction(HttpServletRequest request, HttpServletResponse response, String method) {
         String path = request.getRequestURI().toLowerCase();
 
@@ -190,7 +201,8 @@ public class AuditOperationInterceptor implements HandlerInterceptor {
         return variables.values().stream().findFirst().map(String::valueOf).orElse("N/A");
     }
 
-    private Map<String, Object> buildPayload(HttpServletRequest request, HttpServletResponse response, Exception ex) {
+    private Map<String, Object> buildPayload(HttpServletRequest request, HttpServletResponse response, Exception ex,
+                                             AuditBodySummary body) {
         Map<String, Object> after = new HashMap<>();
         after.put("httpMethod", request.getMethod());
         after.put("requestUri", request.getRequestURI());
@@ -199,6 +211,16 @@ public class AuditOperationInterceptor implements HandlerInterceptor {
         if (ex != null) {
             after.put("error", ex.getClass().getSimpleName());
         }
+        if (body != null) {
+            Map<String, Object> requestBody = new LinkedHashMap<>();
+            requestBody.put("sha256", body.sha256());
+            requestBody.put("bytes", body.bytes());
+            requestBody.put("truncated", body.truncated());
+            if (body.preview() != null) {
+                requestBody.put("preview", body.preview());
+            }
+            after.put("requestBody", requestBody);
+        }
 
         Map<String, Object> payload = new HashMap<>();
         payload.put("before", Map.of());
@@ -0,0 +1,19 @@
+package com.project.edusync.superadmin.audit.model.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of audit logs, newest first.
+ *
+ * @param nextCursor  pass as {@code cursor} to fetch the next page; {@code null} on the last page
+ * @param total       matching rows, counted up to a cap
+ * @param totalExact  {@code false} when the count stopped at the cap and {@code total} is a lower bound
+ */
+public record AuditLogSliceDto(
+        List<AuditLogResponseDto> content,
+        int size,
+        String nextCursor,
+        long total,
+        boolean totalExact
+) {
+}
@@ -14,12 +14,17 @@ import lombok.Setter;
 
 import java.time.Instant;
 
+/**
+ * Audit row. In migrated databases {@code audit_logs} is range-partitioned by month on {@code event_timestamp}
+ * (see V5 and {@link com.project.edusync.superadmin.audit.service.AuditPartitionManager}); the indexes below
+ * approximate the migration's for schemas generated by Hibernate.
+ */
 @Entity
 @Table(name = "audit_logs", indexes = {
-        @Index(name = "idx_audit_actor", columnList = "actor_username"),
-        @Index(name = "idx_audit_action", columnList = "action"),
-        @Index(name = "idx_audit_entity_type", columnList = "entity_type"),
-        @Index(name = "idx_audit_timestamp", columnList = "event_timestamp")
+        @Index(name = "idx_audit_logs_ts_id", columnList = "event_timestamp, id"),
+        @Index(name = "idx_audit_logs_action_ts", columnList = "action, event_timestamp, id"),
+        @Index(name = "idx_audit_logs_entity_type_ts", columnList = "entity_type, event_timestamp, id"),
+        @Index(name = "idx_audit_logs_actor_ts", columnList = "actor_username, event_timestamp, id")
 })
 @Getter
 @Setter
@@ -0,0 +1,43 @@
+package com.project.edusync.superadmin.audit.repository;
+
+import com.project.edusync.superadmin.audit.model.entity.AuditLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Plain JDBC batch insert for audit rows. Skips the persistence context and per-entity id fetches that
+ * {@link AuditLogRepository#saveAll} pays for; with {@code reWriteBatchedInserts} the driver sends each batch
+ * as multi-row inserts.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditLogBatchRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO audit_logs (id, actor_username, actor_role, action, entity_type, entity_id,
+                                    entity_display_name, change_payload, ip_address, user_agent, event_timestamp)
+            VALUES (nextval('audit_logs_id_seq'), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Inserts all rows; the caller owns the transaction. */
+    public void insertAll(List<AuditLog> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, entry) -> {
+            ps.setString(1, entry.getActorUsername());
+            ps.setString(2, entry.getActorRole());
+            ps.setString(3, entry.getAction());
+            ps.setString(4, entry.getEntityType());
+            ps.setString(5, entry.getEntityId());
+            ps.setString(6, entry.getEntityDisplayName());
+            ps.setString(7, entry.getChangePayload());
+            ps.setString(8, entry.getIpAddress());
+            ps.setString(9, entry.getUserAgent());
+            ps.setTimestamp(10, Timestamp.from(entry.getTimestamp()));
+        });
+    }
+}
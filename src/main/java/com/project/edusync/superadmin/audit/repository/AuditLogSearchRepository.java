@@ -0,0 +1,99 @@
+package com.project.edusync.superadmin.audit.repository;
+
+import com.project.edusync.superadmin.audit.model.entity.AuditLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Keyset search over {@code audit_logs}, ordered {@code (event_timestamp DESC, id DESC)} to match the V5 indexes.
+ * Date bounds prune partitions; totals are counted with a cap instead of a full {@code count(*)}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditLogSearchRepository {
+
+    /** Search criteria; blank values are ignored. {@code actorPrefix} matches usernames case-insensitively. */
+    public record Filter(String actorPrefix, String action, String entityType, Instant from, Instant to) {
+    }
+
+    /** Position after the last row of a page. */
+    public record Cursor(Instant timestamp, long id) {
+    }
+
+    private static final RowMapper<AuditLog> ROW_MAPPER = (rs, rowNum) -> {
+        AuditLog entry = new AuditLog();
+        entry.setId(rs.getLong("id"));
+        entry.setActorUsername(rs.getString("actor_username"));
+        entry.setActorRole(rs.getString("actor_role"));
+        entry.setAction(rs.getString("action"));
+        entry.setEntityType(rs.getString("entity_type"));
+        entry.setEntityId(rs.getString("entity_id"));
+        entry.setEntityDisplayName(rs.getString("entity_display_name"));
+        entry.setChangePayload(rs.getString("change_payload"));
+        entry.setIpAddress(rs.getString("ip_address"));
+        entry.setUserAgent(rs.getString("user_agent"));
+        entry.setTimestamp(rs.getTimestamp("event_timestamp").toInstant());
+        return entry;
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<AuditLog> findPage(Filter filter, Cursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder("SELECT * FROM audit_logs WHERE ").append(where(filter, params));
+        if (after != null) {
+            sql.append(" AND (event_timestamp, id) < (:cursorTs, :cursorId)");
+            params.addValue("cursorTs", Timestamp.from(after.timestamp()));
+            params.addValue("cursorId", after.id());
+        }
+        sql.append(" ORDER BY event_timestamp DESC, id DESC LIMIT :limit");
+        params.addValue("limit", limit);
+        return jdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+    }
+
+    /** Counts matching rows, stopping at {@code cap}. */
+    public long countUpTo(Filter filter, int cap) {
+        MapSqlParameterSource params = new MapSqlParameterSource("cap", cap);
+        String sql = "SELECT count(*) FROM (SELECT 1 FROM audit_logs WHERE " + where(filter, params) + " LIMIT :cap) capped";
+        Long count = jdbcTemplate.queryForObject(sql, params, Long.class);
+        return count != null ? count : 0L;
+    }
+
+    private static String where(Filter filter, MapSqlParameterSource params) {
+        StringBuilder where = new StringBuilder("TRUE");
+        if (StringUtils.hasText(filter.actorPrefix())) {
+            where.append(" AND lower(actor_username) LIKE :actor ESCAPE '\\'");
+            params.addValue("actor", escapeLike(filter.actorPrefix().trim().toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (StringUtils.hasText(filter.action())) {
+            where.append(" AND action = :action");
+            params.addValue("action", filter.action().trim());
+        }
+        if (StringUtils.hasText(filter.entityType())) {
+            where.append(" AND entity_type = :entityType");
+            params.addValue("entityType", filter.entityType().trim());
+        }
+        if (filter.from() != null) {
+            where.append(" AND event_timestamp >= :from");
+            params.addValue("from", Timestamp.from(filter.from()));
+        }
+        if (filter.to() != null) {
+            where.append(" AND event_timestamp <= :to");
+            params.addValue("to", Timestamp.from(filter.to()));
+        }
+        return where.toString();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,43 +1,219 @@
 package com.project.edusync.superadmin.audit.service;
 
+import com.project.edusync.superadmin.audit.config.AuditSinkProperties;
 import com.project.edusync.superadmin.audit.model.entity.AuditLog;
-import com.project.edusync.superadmin.audit.repository.AuditLogRepository;
-import lombok.RequiredArgsConstructor;
+import com.project.edusync.superadmin.audit.repository.AuditLogBatchRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Node-local audit sink.
+ * <ul>
+ *     <li>Request threads only {@link #enqueue} into a bounded queue; a full queue drops the entry and counts it.</li>
+ *     <li>A dedicated writer thread drains continuously: it waits up to {@code max-batch-delay} to fill a batch and
+ *     writes it with one JDBC batch insert.</li>
+ *     <li>When a batch fails, a batch is slower than {@code slow-write-threshold}, or the queue passes the high
+ *     watermark, batches go to {@link AuditSpool} instead. The spool is replayed in small steps once a probe
+ *     write succeeds, interleaved with live batches so the queue keeps draining.</li>
+ * </ul>
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class AuditAsyncWriter {
 
+    /** Spooled batches replayed per loop iteration, so replay never starves live traffic. */
+    private static final int REPLAY_BATCHES_PER_STEP = 4;
+
     private final BlockingQueue<AuditLog> auditLogQueue;
-    private final AuditLogRepository auditLogRepository;
+    private final AuditLogBatchRepository batchRepository;
+    private final AuditSpool spool;
+    private final AuditSinkProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private volatile boolean running;
+    private Thread worker;
+    /** Writer-thread state: database considered failing or slow until a replay probe succeeds. */
+    private boolean degraded;
+    private long nextReplayAt;
+
+    public AuditAsyncWriter(BlockingQueue<AuditLog> auditLogQueue,
+                            AuditLogBatchRepository batchRepository,
+                            AuditSpool spool,
+                            AuditSinkProperties properties,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry) {
+        this.auditLogQueue = auditLogQueue;
+        this.batchRepository = batchRepository;
+        this.spool = spool;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        meterRegistry.gauge("edusync.audit.queue.depth", auditLogQueue, BlockingQueue::size);
+        meterRegistry.gauge("edusync.audit.spool.bytes", spool, AuditSpool::sizeBytes);
+        running = true;
+        worker = Thread.ofPlatform().name("audit-writer").daemon().start(this::runLoop);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.join(Duration.ofSeconds(10));
+        if (worker.isAlive()) {
+            log.warn("Audit writer did not finish within 10s; {} queued entries go to the spool", auditLogQueue.size());
+        }
+        List<AuditLog> rest = new ArrayList<>();
+        auditLogQueue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            toSpool(rest);
+        }
+    }
 
-    @Scheduled(fixedDelay = 500)
-    @Transactional
-    public void flush() {
-        List<AuditLog> batch = new ArrayList<>(200);
-        auditLogQueue.drainTo(batch, 200);
+    /**
+     * @return {@code false} if the queue is full and the entry was dropped
+     */
+    public boolean enqueue(AuditLog entry) {
+        if (auditLogQueue.offer(entry)) {
+            return true;
+        }
+        dropped("queue-full", 1);
+        return false;
+    }
+
+    private void runLoop() {
+        while (running || !auditLogQueue.isEmpty()) {
+            try {
+                List<AuditLog> batch = nextBatch();
+                if (!batch.isEmpty()) {
+                    write(batch);
+                }
+                replayStep();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Audit writer loop error: {}", ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private List<AuditLog> nextBatch() throws InterruptedException {
+        int batchSize = properties.getBatchSize();
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        AuditLog first = auditLogQueue.poll(1, TimeUnit.SECONDS);
+        if (first == null) {
+            return batch;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + properties.getMaxBatchDelay().toNanos();
+        while (batch.size() < batchSize) {
+            auditLogQueue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            AuditLog next = auditLogQueue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
 
-        if (batch.isEmpty()) {
+    private void write(List<AuditLog> batch) {
+        if (degraded || aboveHighWatermark()) {
+            toSpool(batch);
             return;
         }
+        try {
+            long elapsed = insert(batch, "db");
+            if (elapsed > properties.getSlowWriteThreshold().toNanos()) {
+                enterDegraded("slow write of " + batch.size() + " rows took " + TimeUnit.NANOSECONDS.toMillis(elapsed) + "ms");
+            }
+        } catch (RuntimeException ex) {
+            enterDegraded(ex.getMessage());
+            toSpool(batch);
+        }
+    }
 
+    private void replayStep() {
+        if (!spool.hasPending() || System.currentTimeMillis() < nextReplayAt || aboveHighWatermark()) {
+            return;
+        }
         try {
-            auditLogRepository.saveAll(batch);
-            log.debug("Audit batch flushed: size={}", batch.size());
-        } catch (Exception ex) {
-            log.error("Audit batch write failed: size={}, error={}", batch.size(), ex.getMessage(), ex);
+            int replayed = spool.replay(chunk -> {
+                long elapsed = insert(chunk, "replay");
+                if (elapsed > properties.getSlowWriteThreshold().toNanos()) {
+                    throw new IllegalStateException("replay batch took " + TimeUnit.NANOSECONDS.toMillis(elapsed) + "ms");
+                }
+            }, properties.getBatchSize(), REPLAY_BATCHES_PER_STEP);
+            if (degraded) {
+                degraded = false;
+                log.info("Audit database writes recovered; replaying spool ({} bytes left)", spool.sizeBytes());
+            }
+            if (replayed > 0) {
+                meterRegistry.counter("edusync.audit.replayed").increment(replayed);
+            }
+        } catch (RuntimeException ex) {
+            enterDegraded(ex.getMessage());
+        }
+    }
+
+    /** @return elapsed nanos */
+    private long insert(List<AuditLog> batch, String target) {
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> batchRepository.insertAll(batch));
+            return System.nanoTime() - start;
+        } finally {
+            Timer.builder("edusync.audit.write")
+                    .description("Audit batch write latency")
+                    .tag("target", target)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
-}
 
+    private void toSpool(List<AuditLog> batch) {
+        if (spool.append(batch)) {
+            meterRegistry.counter("edusync.audit.spooled").increment(batch.size());
+        } else {
+            log.error("Audit spool unavailable or full - dropping {} entries", batch.size());
+            dropped("spool-full", batch.size());
+        }
+    }
 
+    private void enterDegraded(String cause) {
+        if (!degraded) {
+            log.warn("Audit database writes degraded; spooling to disk. Cause: {}", cause);
+        }
+        degraded = true;
+        nextReplayAt = System.currentTimeMillis() + properties.getReplayBackoff().toMillis();
+    }
 
+    private boolean aboveHighWatermark() {
+        int capacity = auditLogQueue.size() + auditLogQueue.remainingCapacity();
+        return auditLogQueue.size() > capacity * properties.getSpoolHighWatermark();
+    }
+
+    private void dropped(String reason, int count) {
+        meterRegistry.counter("edusync.audit.dropped", "reason", reason).increment(count);
+    }
+}
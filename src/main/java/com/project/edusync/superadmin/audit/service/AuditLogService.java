@@ -1,8 +1,6 @@
 package com.project.edusync.superadmin.audit.service;
 
-import com.project.edusync.superadmin.audit.model.dto.AuditLogResponseDto;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import com.project.edusync.superadmin.audit.model.dto.AuditLogSliceDto;
 
 import java.time.Instant;
 import java.util.Map;
@@ -18,12 +16,17 @@ public interface AuditLogService {
                   String userAgent,
                   String actorUsernameHint);
 
-    Page<AuditLogResponseDto> search(String actor,
-                                     String action,
-                                     String entityType,
-                                     Instant from,
-                                     Instant to,
-                                     Pageable pageable);
+    /**
+     * Newest-first keyset search. {@code actor} matches username prefixes; {@code cursor} is the
+     * {@code nextCursor} of the previous page, or {@code null} for the first page.
+     */
+    AuditLogSliceDto search(String actor,
+                            String action,
+                            String entityType,
+                            Instant from,
+                            Instant to,
+                            String cursor,
+                            int size);
 }
 
 
@@ -0,0 +1,157 @@
+package com.project.edusync.superadmin.audit.service;
+
+import com.project.edusync.common.scheduling.LeasedJob;
+import com.project.edusync.common.scheduling.ScheduledJobCoordinator;
+import com.project.edusync.common.scheduling.ScheduledJobDefinition;
+import com.project.edusync.superadmin.audit.config.AuditStorageProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of {@code audit_logs} created by V5.
+ * <ul>
+ *     <li>Keeps {@code premake-months} partitions ahead of the current UTC month, so inserts never miss one.
+ *     Every node does this on startup; the statements are idempotent.</li>
+ *     <li>Nightly, on one node, drops partitions older than {@code retention-months}; a purge is a metadata
+ *     operation rather than a large DELETE. A retention of {@code 0} keeps all history.</li>
+ * </ul>
+ * Schemas generated by Hibernate (dev) are not partitioned; there retention falls back to a plain DELETE.
+ */
+@Slf4j
+@Component
+public class AuditPartitionManager implements LeasedJob {
+
+    private static final String CRON = "0 5 1 * * ?";
+
+    private static final ScheduledJobDefinition DEFINITION = ScheduledJobDefinition
+            .of("audit-partition-maintenance", CRON, Duration.ofMinutes(30))
+            .withCatchUp(Duration.ofHours(20));
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("audit_logs_y(\\d{4})m(\\d{2})");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditStorageProperties properties;
+    private final ScheduledJobCoordinator jobCoordinator;
+    private Clock clock = Clock.systemUTC();
+
+    public AuditPartitionManager(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 AuditStorageProperties properties,
+                                 ScheduledJobCoordinator jobCoordinator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.jobCoordinator = jobCoordinator;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePartitionsOnStartup() {
+        try {
+            Integer created = transactionTemplate.execute(status ->
+                    isPartitioned() ? createAhead(YearMonth.now(clock)) : 0);
+            if (created != null && created > 0) {
+                log.info("Created {} audit_logs partitions on startup", created);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Could not ensure audit_logs partitions on startup; nightly maintenance will retry. Cause: {}",
+                    ex.getMessage());
+        }
+    }
+
+    @Scheduled(cron = CRON)
+    public void maintain() {
+        jobCoordinator.trigger(this);
+    }
+
+    @Override
+    public ScheduledJobDefinition definition() {
+        return DEFINITION;
+    }
+
+    /** @return partitions created and dropped, or rows deleted on an unpartitioned table */
+    @Override
+    public int execute(LocalDateTime scheduledFor) {
+        YearMonth current = YearMonth.now(clock);
+        boolean partitioned = isPartitioned();
+        int created = partitioned ? createAhead(current) : 0;
+        if (properties.getRetentionMonths() <= 0) {
+            return created;
+        }
+        YearMonth oldestKept = current.minusMonths(properties.getRetentionMonths());
+
+        if (!partitioned) {
+            int deleted = jdbcTemplate.update("DELETE FROM audit_logs WHERE event_timestamp < ?",
+                    Timestamp.from(oldestKept.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC)));
+            log.info("Audit retention: deleted {} rows before {} (table is not partitioned)", deleted, oldestKept);
+            return deleted;
+        }
+
+        int dropped = 0;
+        for (String partition : partitions()) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (month.isBefore(oldestKept)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                dropped++;
+                log.info("Audit retention: dropped partition {}", partition);
+            }
+        }
+        return created + dropped;
+    }
+
+    private int createAhead(YearMonth current) {
+        List<String> existing = partitions();
+        int created = 0;
+        for (int i = 0; i <= properties.getPremakeMonths(); i++) {
+            YearMonth month = current.plusMonths(i);
+            String name = partitionName(month);
+            if (existing.contains(name)) {
+                continue;
+            }
+            // Bounds are UTC month starts, matching V5.
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF audit_logs FOR VALUES FROM ('"
+                    + month.atDay(1) + " 00:00:00+00') TO ('" + month.plusMonths(1).atDay(1) + " 00:00:00+00')");
+            created++;
+        }
+        return created;
+    }
+
+    private boolean isPartitioned() {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('audit_logs'))",
+                Boolean.class);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = to_regclass('audit_logs')
+                """, String.class);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "audit_logs_y%04dm%02d".formatted(month.getYear(), month.getMonthValue());
+    }
+}
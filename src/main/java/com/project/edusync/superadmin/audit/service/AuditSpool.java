@@ -0,0 +1,214 @@
+package com.project.edusync.superadmin.audit.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.edusync.superadmin.audit.config.AuditSinkProperties;
+import com.project.edusync.superadmin.audit.model.entity.AuditLog;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Node-local, append-only overflow for audit rows the database cannot take right now.
+ *
+ * <p>Rows are written as JSON lines to {@code audit-<millis>.jsonl}. Replay first rotates the active file so
+ * new appends never touch a file being read, then feeds files oldest-first to the caller in batches and deletes
+ * each file once all of its lines are accepted. Progress inside a file is kept in memory, so a failed batch is
+ * retried without re-sending earlier ones; after a crash a file may be replayed again from the start. Files left
+ * by a previous run are picked up on startup.</p>
+ */
+@Slf4j
+@Component
+public class AuditSpool {
+
+    private static final String PREFIX = "audit-";
+    private static final String SUFFIX = ".jsonl";
+
+    private final AuditSinkProperties properties;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong sizeBytes = new AtomicLong();
+    private final Map<Path, Long> replayedLines = new HashMap<>();
+    private Path directory;
+    private Path activeFile;
+    private BufferedWriter activeWriter;
+
+    public AuditSpool(AuditSinkProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        directory = Path.of(properties.getSpoolDirectory()).toAbsolutePath();
+        Files.createDirectories(directory);
+        long existing = 0;
+        for (Path file : spoolFiles()) {
+            existing += Files.size(file);
+        }
+        sizeBytes.set(existing);
+        if (existing > 0) {
+            log.info("Audit spool at {} holds {} bytes from a previous run; replaying once the database accepts writes",
+                    directory, existing);
+        }
+    }
+
+    public long sizeBytes() {
+        return sizeBytes.get();
+    }
+
+    public boolean hasPending() {
+        return sizeBytes.get() > 0;
+    }
+
+    /**
+     * @return {@code false} if the spool is full or cannot be written; the rows were not stored
+     */
+    public synchronized boolean append(List<AuditLog> batch) {
+        if (sizeBytes.get() >= properties.getSpoolMaxBytes()) {
+            return false;
+        }
+        try {
+            if (activeWriter == null) {
+                activeFile = directory.resolve(PREFIX + System.currentTimeMillis() + SUFFIX);
+                activeWriter = Files.newBufferedWriter(activeFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            long written = 0;
+            for (AuditLog entry : batch) {
+                String line = objectMapper.writeValueAsString(entry);
+                activeWriter.write(line);
+                activeWriter.newLine();
+                written += line.getBytes(StandardCharsets.UTF_8).length + 1L;
+            }
+            activeWriter.flush();
+            sizeBytes.addAndGet(written);
+            return true;
+        } catch (IOException ex) {
+            log.error("Audit spool append failed in {}. Cause: {}", directory, ex.getMessage());
+            closeActive();
+            return false;
+        }
+    }
+
+    /**
+     * Hands up to {@code maxBatches} batches of spooled rows to {@code sink}, oldest first. A batch counts as
+     * replayed only when {@code sink} returns normally; its exceptions propagate and stop the replay.
+     *
+     * @return rows replayed
+     */
+    public synchronized int replay(Consumer<List<AuditLog>> sink, int batchSize, int maxBatches) {
+        closeActive();
+        int replayed = 0;
+        int batches = 0;
+        for (Path file : spoolFiles()) {
+            if (batches >= maxBatches) {
+                break;
+            }
+            long done = replayedLines.getOrDefault(file, 0L);
+            long lineNo = 0;
+            boolean exhausted = true;
+            List<AuditLog> batch = new ArrayList<>(batchSize);
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (lineNo++ < done) {
+                        continue;
+                    }
+                    AuditLog entry = parse(file, line);
+                    if (entry != null) {
+                        batch.add(entry);
+                    }
+                    if (batch.size() >= batchSize) {
+                        sink.accept(batch);
+                        replayed += batch.size();
+                        replayedLines.put(file, lineNo);
+                        batch = new ArrayList<>(batchSize);
+                        if (++batches >= maxBatches) {
+                            exhausted = reader.readLine() == null;
+                            break;
+                        }
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    sink.accept(batch);
+                    replayed += batch.size();
+                    batches++;
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            if (exhausted) {
+                delete(file);
+            } else {
+                replayedLines.put(file, lineNo);
+            }
+        }
+        return replayed;
+    }
+
+    private AuditLog parse(Path file, String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(line, AuditLog.class);
+        } catch (JsonProcessingException ex) {
+            log.warn("Skipping unreadable audit spool line in {}. Cause: {}", file.getFileName(), ex.getOriginalMessage());
+            return null;
+        }
+    }
+
+    private void delete(Path file) {
+        try {
+            long size = Files.size(file);
+            Files.delete(file);
+            sizeBytes.addAndGet(-size);
+        } catch (IOException ex) {
+            log.warn("Could not delete replayed audit spool file {}. Cause: {}", file, ex.getMessage());
+        }
+        replayedLines.remove(file);
+    }
+
+    private void closeActive() {
+        if (activeWriter == null) {
+            return;
+        }
+        try {
+            activeWriter.close();
+        } catch (IOException ex) {
+            log.warn("Closing audit spool file {} failed. Cause: {}", activeFile, ex.getMessage());
+        }
+        activeWriter = null;
+        activeFile = null;
+    }
+
+    private List<Path> spoolFiles() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -3,15 +3,17 @@ package com.project.edusync.superadmin.audit.service.impl;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.edusync.common.exception.EdusyncException;
+import com.project.edusync.superadmin.audit.config.AuditStorageProperties;
 import com.project.edusync.superadmin.audit.model.dto.AuditLogResponseDto;
+import com.project.edusync.superadmin.audit.model.dto.AuditLogSliceDto;
 import com.project.edusync.superadmin.audit.model.entity.AuditLog;
-import com.project.edusync.superadmin.audit.repository.AuditLogRepository;
+import com.project.edusync.superadmin.audit.repository.AuditLogSearchRepository;
+import com.project.edusync.superadmin.audit.service.AuditAsyncWriter;
 import com.project.edusync.superadmin.audit.service.AuditLogService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,18 +21,21 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.BlockingQueue;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AuditLogServiceImpl implements AuditLogService {
 
-    private final AuditLogRepository auditLogRepository;
-    private final BlockingQueue<AuditLog> auditLogQueue;
+    private final AuditLogSearchRepository auditLogSearchRepository;
+    private final AuditStorageProperties storageProperties;
+    private final AuditAsyncWriter auditAsyncWriter;
     private final ObjectMapper objectMapper;
 
     @Override
@@ -57,7 +62,7 @@ public class AuditLogServiceImpl implements AuditLogService {
             logEntry.setUserAgent(userAgent);
             logEntry.setTimestamp(Instant.now());
 
-            boolean accepted = auditLogQueue.offer(logEntry);
+            boolean accepted = auditAsyncWriter.enqueue(logEntry);
             if (!accepted) {
                 log.warn("Audit queue at capacity - dropping event: action={}, actor={}", action, actorInfo.username());
             }
@@ -98,32 +103,52 @@ public class AuditLogServiceImpl implements AuditLogService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<AuditLogResponseDto> search(String actor,
-                                            String action,
-                                            String entityType,
-                                            Instant from,
-                                            Instant to,
-                                            Pageable pageable) {
+    public AuditLogSliceDto search(String actor,
+                                   String action,
+                                   String entityType,
+                                   Instant from,
+                                   Instant to,
+                                   String cursor,
+                                   int size) {
+
+        AuditLogSearchRepository.Filter filter = new AuditLogSearchRepository.Filter(actor, action, entityType, from, to);
+        List<AuditLog> rows = auditLogSearchRepository.findPage(filter, decodeCursor(cursor), size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<AuditLog> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? encodeCursor(page.get(page.size() - 1)) : null;
+
+        int cap = storageProperties.getCountCap();
+        long total = auditLogSearchRepository.countUpTo(filter, cap);
+
+        return new AuditLogSliceDto(
+                page.stream().map(this::toResponse).toList(),
+                page.size(),
+                nextCursor,
+                total,
+                total < cap
+        );
+    }
 
-        Specification<AuditLog> spec = (root, query, cb) -> cb.conjunction();
+    private static String encodeCursor(AuditLog last) {
+        String raw = last.getTimestamp().getEpochSecond() + ":" + last.getTimestamp().getNano() + ":" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
 
-        if (StringUtils.hasText(actor)) {
-            spec = spec.and((root, query, cb) -> cb.like(cb.lower(root.get("actorUsername")), "%" + actor.trim().toLowerCase() + "%"));
-        }
-        if (StringUtils.hasText(action)) {
-            spec = spec.and((root, query, cb) -> cb.equal(root.get("action"), action.trim()));
-        }
-        if (StringUtils.hasText(entityType)) {
-            spec = spec.and((root, query, cb) -> cb.equal(root.get("entityType"), entityType.trim()));
+    private static AuditLogSearchRepository.Cursor decodeCursor(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
         }
-        if (from != null) {
-            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("timestamp"), from));
-        }
-        if (to != null) {
-            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("timestamp"), to));
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("expected 3 parts");
+            }
+            Instant timestamp = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new AuditLogSearchRepository.Cursor(timestamp, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException ex) {
+            throw new EdusyncException("Invalid audit log cursor", HttpStatus.BAD_REQUEST);
         }
-
-        return auditLogRepository.findAll(spec, pageable).map(this::toResponse);
     }
 
     private String serializePayload(Map<String, Object> payload) {
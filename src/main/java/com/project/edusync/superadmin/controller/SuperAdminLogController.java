@@ -1,11 +1,14 @@
 package com.project.edusync.superadmin.controller;
 
+import com.project.edusync.superadmin.logs.service.LogSearchService;
+import com.project.edusync.superadmin.model.dto.LogSearchResponseDto;
 import com.project.edusync.superadmin.model.dto.LogTailResponseDto;
 import com.project.edusync.superadmin.service.ApplicationLogService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,6 +16,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
+
 @RestController
 @RequestMapping("${api.url}/super")
 @RequiredArgsConstructor
@@ -20,6 +25,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class SuperAdminLogController {
 
     private final ApplicationLogService applicationLogService;
+    private final LogSearchService logSearchService;
 
     @GetMapping("/logs")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
@@ -29,5 +35,18 @@ public class SuperAdminLogController {
             @RequestParam(value = "level", required = false) String level) {
         return ResponseEntity.ok(applicationLogService.tailLogs(lines, level));
     }
-}
 
+    @GetMapping("/logs/search")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @Operation(summary = "Search current and rotated application logs by request id, level, logger and time",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<LogSearchResponseDto> searchLogs(
+            @RequestParam(value = "requestId", required = false) String requestId,
+            @RequestParam(value = "level", required = false) String level,
+            @RequestParam(value = "logger", required = false) String logger,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(logSearchService.search(requestId, level, logger, from, to, limit));
+    }
+}
@@ -0,0 +1,36 @@
+package com.project.edusync.superadmin.logs.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Node-local segment index over the {@code FILE} appender's active and rotated log files.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.logs.index")
+public class LogIndexProperties {
+
+    private boolean enabled = true;
+
+    /** How often the active file is tailed and new rotated files are picked up. */
+    private Duration refreshInterval = Duration.ofSeconds(5);
+
+    /** Uncompressed bytes per segment; smaller segments mean less reading per hit and more index memory. */
+    private int segmentBytes = 256 * 1024;
+
+    /** Bloom filter size per segment for request ids. */
+    private int requestIdBloomBits = 8192;
+
+    /** Rotated files modified more recently than this are left for the next pass (compression in progress). */
+    private Duration settleTime = Duration.ofSeconds(30);
+
+    private int defaultResults = 500;
+
+    private int maxResults = 5000;
+}
@@ -0,0 +1,25 @@
+package com.project.edusync.superadmin.logs.service;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Segments of one log file in offset order. Rotated files are indexed once; the active file's entry is replaced
+ * on every refresh, its last segment still open.
+ */
+public record LogFileIndex(
+        Path file,
+        boolean gzip,
+        long size,
+        long lastModified,
+        List<LogSegment> segments
+) {
+
+    public long minTime() {
+        return segments.stream().mapToLong(LogSegment::minTime).min().orElse(Long.MAX_VALUE);
+    }
+
+    public long maxTime() {
+        return segments.stream().mapToLong(LogSegment::maxTime).max().orElse(Long.MIN_VALUE);
+    }
+}
@@ -0,0 +1,124 @@
+package com.project.edusync.superadmin.logs.service;
+
+import com.project.edusync.superadmin.model.dto.LogEntryDto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Parses lines written by the {@code FILE} appender in {@code logback-spring.xml}:
+ * <pre>
+ * 2026-10-19 09:15:02.114 INFO  [traceId] [requestId] GET /api/v1/x 200 12ms c.p.e.SomeLogger - message
+ * </pre>
+ * Positional rather than regex based, so the indexer can afford it on every line. Lines that do not start with
+ * a timestamp and level (stack traces, wrapped messages) are continuations of the previous entry.
+ */
+public final class LogLineParser {
+
+    static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    private static final int TIMESTAMP_LENGTH = 23;
+    private static final String MESSAGE_SEPARATOR = " - ";
+
+    private LogLineParser() {
+    }
+
+    /**
+     * @return the entry with the request id in {@link LogEntryDto#thread()} (as the tail endpoint reports it),
+     * or {@code null} when the line is not the start of an entry in the appender's format
+     */
+    public static LogEntryDto parse(String line) {
+        if (line.length() <= TIMESTAMP_LENGTH || !looksLikeTimestamp(line)) {
+            return null;
+        }
+        int cursor = skipSpaces(line, TIMESTAMP_LENGTH);
+        int levelEnd = line.indexOf(' ', cursor);
+        if (levelEnd < 0) {
+            return null;
+        }
+        String level = line.substring(cursor, levelEnd);
+        if (level(level) == 0) {
+            return null;
+        }
+
+        cursor = skipSpaces(line, levelEnd);
+        int traceEnd = closingBracket(line, cursor);
+        if (traceEnd < 0) {
+            return null;
+        }
+        cursor = skipSpaces(line, traceEnd + 1);
+        int requestEnd = closingBracket(line, cursor);
+        if (requestEnd < 0) {
+            return null;
+        }
+        String requestId = line.substring(cursor + 1, requestEnd);
+
+        int separator = line.indexOf(MESSAGE_SEPARATOR, requestEnd);
+        if (separator < 0) {
+            return null;
+        }
+        String context = line.substring(requestEnd + 1, separator).trim();
+        String logger = context.substring(context.lastIndexOf(' ') + 1);
+
+        return new LogEntryDto(
+                line.substring(0, TIMESTAMP_LENGTH),
+                level,
+                logger,
+                requestId,
+                line.substring(separator + MESSAGE_SEPARATOR.length())
+        );
+    }
+
+    /** One bit per level, for {@link LogSegment#levelMask()}; {@code 0} for anything else. */
+    public static int level(String level) {
+        return switch (level) {
+            case "TRACE" -> 1;
+            case "DEBUG" -> 1 << 1;
+            case "INFO" -> 1 << 2;
+            case "WARN" -> 1 << 3;
+            case "ERROR" -> 1 << 4;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Orders timestamps as written. Logback writes local time without a zone, so the value is only meaningful
+     * for comparison against {@link #timeKey(LocalDateTime)}.
+     */
+    public static long timeKey(String timestamp) {
+        try {
+            return timeKey(LocalDateTime.parse(timestamp, TIMESTAMP));
+        } catch (DateTimeParseException ex) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    public static long timeKey(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static boolean looksLikeTimestamp(String line) {
+        return Character.isDigit(line.charAt(0))
+                && line.charAt(4) == '-'
+                && line.charAt(10) == ' '
+                && line.charAt(13) == ':'
+                && line.charAt(19) == '.'
+                && line.charAt(TIMESTAMP_LENGTH) == ' ';
+    }
+
+    private static int skipSpaces(String line, int from) {
+        int i = from;
+        while (i < line.length() && line.charAt(i) == ' ') {
+            i++;
+        }
+        return i;
+    }
+
+    private static int closingBracket(String line, int open) {
+        if (open >= line.length() || line.charAt(open) != '[') {
+            return -1;
+        }
+        return line.indexOf(']', open);
+    }
+}
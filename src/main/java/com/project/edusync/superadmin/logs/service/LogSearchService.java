@@ -0,0 +1,186 @@
+package com.project.edusync.superadmin.logs.service;
+
+import com.project.edusync.common.exception.EdusyncException;
+import com.project.edusync.superadmin.logs.config.LogIndexProperties;
+import com.project.edusync.superadmin.model.dto.LogEntryDto;
+import com.project.edusync.superadmin.model.dto.LogSearchResponseDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Searches the active and rotated log files through {@link LogSegmentIndexer}: only segments whose time range,
+ * levels, loggers and request-id filter can match are read, and each line read is still checked exactly.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LogSearchService {
+
+    private static final Set<String> ALLOWED_LEVELS = Set.of("ERROR", "WARN", "INFO", "DEBUG");
+
+    private final LogSegmentIndexer indexer;
+    private final LogIndexProperties properties;
+
+    public LogSearchResponseDto search(String requestId, String level, String logger,
+                                       LocalDateTime from, LocalDateTime to, Integer limit) {
+        String normalizedRequestId = blankToNull(requestId);
+        if (normalizedRequestId == null && from == null) {
+            throw new EdusyncException("Provide a requestId or a 'from' time to search logs.", HttpStatus.BAD_REQUEST);
+        }
+        Query query = new Query(
+                normalizedRequestId,
+                normalizeLevel(level),
+                blankToNull(logger),
+                from != null ? LogLineParser.timeKey(from) : Long.MIN_VALUE,
+                to != null ? LogLineParser.timeKey(to) : Long.MAX_VALUE,
+                normalizeLimit(limit));
+
+        List<LogFileIndex> files = indexer.snapshot();
+        Collector collector = new Collector(query);
+        int indexed = 0;
+        int scanned = 0;
+        for (LogFileIndex file : files) {
+            indexed += file.segments().size();
+            if (collector.full || file.maxTime() < query.from() || file.minTime() > query.to()) {
+                continue;
+            }
+            List<LogSegment> candidates = file.segments().stream().filter(query::mayMatch).toList();
+            if (candidates.isEmpty()) {
+                continue;
+            }
+            scanned += read(file, candidates, collector);
+        }
+
+        List<LogEntryDto> entries = collector.entries();
+        return new LogSearchResponseDto(entries.size(), collector.full, scanned, indexed, entries);
+    }
+
+    private int read(LogFileIndex file, List<LogSegment> segments, Collector collector) {
+        int read = 0;
+        try (InputStream in = LogSegmentIndexer.open(file.file(), file.gzip())) {
+            long position = 0;
+            for (LogSegment segment : segments) {
+                if (collector.full) {
+                    break;
+                }
+                in.skipNBytes(segment.startOffset() - position);
+                byte[] chunk = in.readNBytes(Math.toIntExact(segment.endOffset() - segment.startOffset()));
+                position = segment.startOffset() + chunk.length;
+                collector.endEntry();
+                LogSegmentIndexer.scanLines(new ByteArrayInputStream(chunk), segment.startOffset(), true, collector);
+                read++;
+            }
+        } catch (NoSuchFileException | EOFException ex) {
+            // Rotated or purged since the snapshot was taken; the next refresh re-indexes it.
+            log.debug("Log search: {} changed while reading", file.file().getFileName());
+        } catch (IOException ex) {
+            log.warn("Log search: unable to read {}. Cause: {}", file.file().getFileName(), ex.getMessage());
+        }
+        return read;
+    }
+
+    private String normalizeLevel(String level) {
+        String normalized = blankToNull(level);
+        if (normalized == null) {
+            return null;
+        }
+        normalized = normalized.toUpperCase(Locale.ROOT);
+        if (!ALLOWED_LEVELS.contains(normalized)) {
+            throw new EdusyncException("Invalid log level. Allowed values: ERROR, WARN, INFO, DEBUG.", HttpStatus.BAD_REQUEST);
+        }
+        return normalized;
+    }
+
+    private int normalizeLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return properties.getDefaultResults();
+        }
+        return Math.min(limit, properties.getMaxResults());
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private record Query(String requestId, String level, String logger, long from, long to, int limit) {
+
+        boolean mayMatch(LogSegment segment) {
+            return segment.overlaps(from, to)
+                    && (level == null || segment.hasLevel(LogLineParser.level(level)))
+                    && (logger == null || segment.mayContainLogger(logger))
+                    && (requestId == null || segment.mayContainRequestId(requestId));
+        }
+
+        boolean matches(LogEntryDto entry) {
+            long time = LogLineParser.timeKey(entry.timestamp());
+            return time >= from && time <= to
+                    && (level == null || level.equals(entry.level()))
+                    && (logger == null || entry.logger().contains(logger))
+                    && (requestId == null || requestId.equals(entry.thread()));
+        }
+    }
+
+    /** Collects matching entries, folding continuation lines (stack traces) into the entry they follow. */
+    private static final class Collector implements LogSegmentIndexer.LineSink {
+
+        private final Query query;
+        private final List<LogEntryDto> entries = new ArrayList<>();
+        private LogEntryDto current;
+        private StringBuilder continuation;
+        private boolean full;
+
+        private Collector(Query query) {
+            this.query = query;
+        }
+
+        @Override
+        public boolean accept(long startOffset, long endOffset, String line) {
+            LogEntryDto entry = LogLineParser.parse(line);
+            if (entry == null) {
+                if (current != null) {
+                    continuation.append('\n').append(line);
+                }
+                return true;
+            }
+            endEntry();
+            if (!query.matches(entry)) {
+                return true;
+            }
+            if (entries.size() >= query.limit()) {
+                full = true;
+                return false;
+            }
+            current = entry;
+            continuation = new StringBuilder();
+            return true;
+        }
+
+        private void endEntry() {
+            if (current == null) {
+                return;
+            }
+            entries.add(continuation.isEmpty() ? current : new LogEntryDto(current.timestamp(), current.level(),
+                    current.logger(), current.thread(), current.message() + continuation));
+            current = null;
+            continuation = null;
+        }
+
+        private List<LogEntryDto> entries() {
+            endEntry();
+            return entries;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.project.edusync.superadmin.logs.service;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A byte range of one log file, cut at entry boundaries, with enough summary to decide whether a search needs
+ * to read it: time range, levels present, loggers present and a Bloom filter over request ids.
+ *
+ * @param startOffset first byte of the range in the uncompressed file
+ * @param endOffset   first byte after the range
+ */
+public record LogSegment(
+        long startOffset,
+        long endOffset,
+        long minTime,
+        long maxTime,
+        int levelMask,
+        Set<String> loggers,
+        long[] requestIdBloom
+) {
+
+    private static final int BLOOM_HASHES = 3;
+
+    public boolean overlaps(long from, long to) {
+        return maxTime >= from && minTime <= to;
+    }
+
+    public boolean hasLevel(int levelBit) {
+        return (levelMask & levelBit) != 0;
+    }
+
+    public boolean mayContainLogger(String fragment) {
+        for (String logger : loggers) {
+            if (logger.contains(fragment)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean mayContainRequestId(String requestId) {
+        int bits = requestIdBloom.length * Long.SIZE;
+        int h1 = requestId.hashCode();
+        int h2 = mix(h1);
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bits);
+            if ((requestIdBloom[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h | 1;
+    }
+
+    /** Accumulates a segment while its file is being read; {@link #snapshot} may be called repeatedly. */
+    static final class Builder {
+
+        private final long startOffset;
+        private final long[] bloom;
+        private final Set<String> loggers = new HashSet<>();
+        private long endOffset;
+        private long minTime = Long.MAX_VALUE;
+        private long maxTime = Long.MIN_VALUE;
+        private int levelMask;
+
+        Builder(long startOffset, int bloomBits) {
+            this.startOffset = startOffset;
+            this.endOffset = startOffset;
+            this.bloom = new long[Math.max(1, bloomBits / Long.SIZE)];
+        }
+
+        void add(long time, int levelBit, String logger, String requestId) {
+            if (time != Long.MIN_VALUE) {
+                minTime = Math.min(minTime, time);
+                maxTime = Math.max(maxTime, time);
+            }
+            levelMask |= levelBit;
+            loggers.add(logger);
+            if (requestId != null && !requestId.isEmpty()) {
+                int bits = bloom.length * Long.SIZE;
+                int h1 = requestId.hashCode();
+                int h2 = mix(h1);
+                for (int i = 0; i < BLOOM_HASHES; i++) {
+                    int bit = Math.floorMod(h1 + i * h2, bits);
+                    bloom[bit >>> 6] |= 1L << bit;
+                }
+            }
+        }
+
+        void extendTo(long offset) {
+            endOffset = offset;
+        }
+
+        long startOffset() {
+            return startOffset;
+        }
+
+        long length() {
+            return endOffset - startOffset;
+        }
+
+        boolean isEmpty() {
+            return endOffset == startOffset;
+        }
+
+        LogSegment snapshot() {
+            return new LogSegment(startOffset, endOffset, minTime, maxTime, levelMask,
+                    Set.copyOf(loggers), bloom.clone());
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.project.edusync.superadmin.logs.service;
+
+import com.project.edusync.superadmin.logs.config.LogIndexProperties;
+import com.project.edusync.superadmin.model.dto.LogEntryDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Keeps a {@link LogSegment} index over the file named by {@code logging.file.name} and the files the rolling
+ * appender has rotated out of it ({@code <name>.<date>.<i>.log}, optionally {@code .gz}).
+ *
+ * <p>Rotated files are immutable and indexed once, when they have settled. The active file is tailed from the
+ * last indexed newline on every refresh; when it shrinks or is replaced, rotation has happened and it is
+ * re-indexed from the start while the rotated copy is picked up as a new file. The index is node-local, like the
+ * files it describes, and held in memory: a day of logs at the default segment size is a few hundred segments.</p>
+ */
+@Slf4j
+@Component
+public class LogSegmentIndexer {
+
+    private static final int READ_BUFFER = 64 * 1024;
+    private static final String GZIP_SUFFIX = ".gz";
+
+    private final LogIndexProperties properties;
+    private final String configuredLogFile;
+
+    private final Map<Path, LogFileIndex> rotated = new HashMap<>();
+    private ActiveFile active;
+    private volatile List<LogFileIndex> files = List.of();
+
+    public LogSegmentIndexer(LogIndexProperties properties,
+                             @Value("${logging.file.name:}") String configuredLogFile) {
+        this.properties = properties;
+        this.configuredLogFile = configuredLogFile;
+    }
+
+    /** Indexed files, oldest first; the active file, if any, is last. */
+    public List<LogFileIndex> snapshot() {
+        return files;
+    }
+
+    @Scheduled(fixedDelayString = "${app.logs.index.refresh-interval:PT5S}")
+    public synchronized void refresh() {
+        if (!properties.isEnabled() || configuredLogFile == null || configuredLogFile.isBlank()) {
+            return;
+        }
+        Path activePath = Paths.get(configuredLogFile).toAbsolutePath().normalize();
+        try {
+            refreshRotated(activePath);
+            LogFileIndex activeIndex = refreshActive(activePath);
+
+            List<LogFileIndex> published = new ArrayList<>(rotated.values());
+            published.sort(Comparator.comparingLong(LogFileIndex::minTime));
+            if (activeIndex != null) {
+                published.add(activeIndex);
+            }
+            files = List.copyOf(published);
+        } catch (IOException ex) {
+            log.warn("Log index refresh failed for {}. Cause: {}", activePath, ex.getMessage());
+        }
+    }
+
+    private void refreshRotated(Path activePath) throws IOException {
+        Path directory = activePath.getParent();
+        if (directory == null || !Files.isDirectory(directory)) {
+            return;
+        }
+        String prefix = activePath.getFileName() + ".";
+        long settledBefore = System.currentTimeMillis() - properties.getSettleTime().toMillis();
+
+        List<Path> present;
+        try (Stream<Path> listing = Files.list(directory)) {
+            present = listing
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(prefix) && (name.endsWith(".log") || name.endsWith(".log" + GZIP_SUFFIX));
+                    })
+                    .toList();
+        }
+        rotated.keySet().retainAll(present);
+
+        for (Path path : present) {
+            boolean gzip = path.getFileName().toString().endsWith(GZIP_SUFFIX);
+            if (gzip && present.contains(uncompressedSibling(path))) {
+                continue; // still being compressed; the plain copy is indexed meanwhile
+            }
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            } catch (NoSuchFileException ex) {
+                continue;
+            }
+            long modified = attributes.lastModifiedTime().toMillis();
+            LogFileIndex known = rotated.get(path);
+            if (known != null && known.size() == attributes.size() && known.lastModified() == modified) {
+                continue;
+            }
+            if (modified > settledBefore) {
+                continue;
+            }
+            try (InputStream in = open(path, gzip)) {
+                SegmentWriter writer = new SegmentWriter();
+                scanLines(in, 0, true, writer);
+                rotated.put(path, new LogFileIndex(path, gzip, attributes.size(), modified, writer.segments()));
+                log.debug("Log index: indexed {} ({} segments)", path.getFileName(), writer.segmentCount());
+            } catch (NoSuchFileException ex) {
+                rotated.remove(path);
+            } catch (IOException ex) {
+                log.warn("Log index: skipping {} this pass. Cause: {}", path.getFileName(), ex.getMessage());
+            }
+        }
+    }
+
+    private LogFileIndex refreshActive(Path path) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException ex) {
+            active = null;
+            return null;
+        }
+        Object identity = attributes.fileKey() != null ? attributes.fileKey() : attributes.creationTime();
+        if (active == null || !Objects.equals(active.identity, identity) || attributes.size() < active.indexedBytes) {
+            active = new ActiveFile(identity);
+        }
+        if (attributes.size() > active.indexedBytes) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                channel.position(active.indexedBytes);
+                InputStream in = new BufferedInputStream(Channels.newInputStream(channel), READ_BUFFER);
+                active.indexedBytes = scanLines(in, active.indexedBytes, false, active.writer);
+            }
+        }
+        return new LogFileIndex(path, false, active.indexedBytes,
+                attributes.lastModifiedTime().toMillis(), active.writer.segments());
+    }
+
+    static InputStream open(Path path, boolean gzip) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(path), READ_BUFFER);
+        return gzip ? new GZIPInputStream(in, READ_BUFFER) : in;
+    }
+
+    private static Path uncompressedSibling(Path gzipFile) {
+        String name = gzipFile.getFileName().toString();
+        return gzipFile.resolveSibling(name.substring(0, name.length() - GZIP_SUFFIX.length()));
+    }
+
+    @FunctionalInterface
+    interface LineSink {
+        /** @return {@code false} to stop reading */
+        boolean accept(long startOffset, long endOffset, String line);
+    }
+
+    /**
+     * Feeds every complete line to {@code sink} with its byte range. A trailing line without a newline is only
+     * emitted when {@code includeUnterminated} is set, so a line the appender is still writing is read next time.
+     *
+     * @return the offset just past the last line emitted
+     */
+    static long scanLines(InputStream in, long offset, boolean includeUnterminated, LineSink sink) throws IOException {
+        byte[] buffer = new byte[READ_BUFFER];
+        ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+        long consumed = offset;
+        long position = offset;
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            int from = 0;
+            for (int i = 0; i < n; i++) {
+                if (buffer[i] != '\n') {
+                    continue;
+                }
+                line.write(buffer, from, i - from);
+                long end = position + i + 1;
+                boolean more = sink.accept(consumed, end, decode(line));
+                line.reset();
+                consumed = end;
+                from = i + 1;
+                if (!more) {
+                    return consumed;
+                }
+            }
+            line.write(buffer, from, n - from);
+            position += n;
+        }
+        if (includeUnterminated && line.size() > 0) {
+            sink.accept(consumed, position, decode(line));
+            consumed = position;
+        }
+        return consumed;
+    }
+
+    private static String decode(ByteArrayOutputStream line) {
+        String text = line.toString(StandardCharsets.UTF_8);
+        return text.endsWith("\r") ? text.substring(0, text.length() - 1) : text;
+    }
+
+    private final class ActiveFile {
+
+        private final Object identity;
+        private final SegmentWriter writer = new SegmentWriter();
+        private long indexedBytes;
+
+        private ActiveFile(Object identity) {
+            this.identity = identity;
+        }
+    }
+
+    /** Cuts lines into segments of about {@code segmentBytes}, only ever at the start of an entry. */
+    private final class SegmentWriter implements LineSink {
+
+        private final List<LogSegment> sealed = new ArrayList<>();
+        private LogSegment.Builder open;
+
+        @Override
+        public boolean accept(long startOffset, long endOffset, String line) {
+            LogEntryDto entry = LogLineParser.parse(line);
+            if (entry != null && open != null && open.length() >= properties.getSegmentBytes()) {
+                sealed.add(open.snapshot());
+                open = null;
+            }
+            if (open == null) {
+                open = new LogSegment.Builder(startOffset, properties.getRequestIdBloomBits());
+            }
+            if (entry != null) {
+                open.add(LogLineParser.timeKey(entry.timestamp()), LogLineParser.level(entry.level()),
+                        entry.logger(), entry.thread());
+            }
+            open.extendTo(endOffset);
+            return true;
+        }
+
+        private List<LogSegment> segments() {
+            if (open == null || open.isEmpty()) {
+                return List.copyOf(sealed);
+            }
+            List<LogSegment> all = new ArrayList<>(sealed.size() + 1);
+            all.addAll(sealed);
+            all.add(open.snapshot());
+            return List.copyOf(all);
+        }
+
+        private int segmentCount() {
+            return sealed.size() + (open == null ? 0 : 1);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.project.edusync.superadmin.model.dto;
+
+import java.util.List;
+
+public record LogSearchResponseDto(
+        int totalLinesReturned,
+        boolean truncated,
+        int segmentsScanned,
+        int segmentsIndexed,
+        List<LogEntryDto> entries
+) {
+}
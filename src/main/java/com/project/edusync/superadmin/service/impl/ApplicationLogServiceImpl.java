@@ -1,6 +1,7 @@
 package com.project.edusync.superadmin.service.impl;
 
 import com.project.edusync.common.exception.EdusyncException;
+import com.project.edusync.superadmin.logs.service.LogLineParser;
 import com.project.edusync.superadmin.model.dto.LogEntryDto;
 import com.project.edusync.superadmin.model.dto.LogTailResponseDto;
 import com.project.edusync.superadmin.service.ApplicationLogService;
@@ -145,6 +146,11 @@ public class ApplicationLogServiceImpl implements ApplicationLogService {
     }
 
     private LogEntryDto parseEntry(String line) {
+        LogEntryDto appenderEntry = LogLineParser.parse(line);
+        if (appenderEntry != null) {
+            return appenderEntry;
+        }
+
         Matcher mdcMatcher = MDC_LOG_PATTERN.matcher(line);
         if (mdcMatcher.matches()) {
             return new LogEntryDto(
@@ -54,6 +54,7 @@ public class TeacherHomeroomResponseDto {
         private UUID studentUuid;
         private String name;
         private BigDecimal attendancePercentage;
+        private BigDecimal recentAttendancePercentage;
         private long consecutiveAbsences;
     }
 }
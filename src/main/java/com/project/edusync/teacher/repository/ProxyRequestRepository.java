@@ -12,6 +12,12 @@ import java.util.UUID;
 
 public interface ProxyRequestRepository extends JpaRepository<ProxyRequest, Long> {
 
+    interface UserProxyCountProjection {
+        Long getUserId();
+
+        Long getTotal();
+    }
+
     /** All requests involving a given user (either sent or received). */
     @Query("""
         SELECT r FROM ProxyRequest r
@@ -42,6 +48,17 @@ public interface ProxyRequestRepository extends JpaRepository<ProxyRequest, Long
             @Param("from") LocalDate from,
             @Param("to") LocalDate to);
 
+    /** {@link #countAcceptedProxiesBetween} for every proxy teacher at once. */
+    @Query("""
+        SELECT r.requestedTo.id AS userId, COUNT(r) AS total FROM ProxyRequest r
+        WHERE r.status = 'ACCEPTED'
+          AND r.periodDate BETWEEN :from AND :to
+        GROUP BY r.requestedTo.id
+    """)
+    List<UserProxyCountProjection> countAcceptedProxiesByUserBetween(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
     /** All pending or accepted requests on a given date (for admin dashboard). */
     @Query("""
         SELECT r FROM ProxyRequest r
@@ -55,6 +72,16 @@ public interface ProxyRequestRepository extends JpaRepository<ProxyRequest, Long
     boolean existsByRequestedByIdAndPeriodDateAndStatusNot(
             Long requestedById, LocalDate periodDate, ProxyRequestStatus excludedStatus);
 
+    /** Absent teachers (requester user ids) that already have a non-excluded proxy request on a date. */
+    @Query("""
+        SELECT DISTINCT r.requestedBy.id FROM ProxyRequest r
+        WHERE r.periodDate = :date
+          AND r.status <> :excludedStatus
+    """)
+    List<Long> findRequesterIdsByPeriodDateAndStatusNot(
+            @Param("date") LocalDate date,
+            @Param("excludedStatus") ProxyRequestStatus excludedStatus);
+
     /** Find by uuid. */
     java.util.Optional<ProxyRequest> findByUuid(UUID uuid);
 
@@ -0,0 +1,288 @@
+package com.project.edusync.teacher.service;
+
+import com.project.edusync.adm.repository.ScheduleRepository;
+import com.project.edusync.ams.model.repository.StaffDailyAttendanceRepository;
+import com.project.edusync.hrms.model.enums.DayType;
+import com.project.edusync.hrms.repository.AcademicCalendarEventRepository;
+import com.project.edusync.hrms.repository.LeaveApplicationRepository;
+import com.project.edusync.hrms.service.event.StaffAvailabilityChangedEvent;
+import com.project.edusync.teacher.model.enums.ProxyRequestStatus;
+import com.project.edusync.teacher.repository.ProxyRequestRepository;
+import com.project.edusync.teacher.service.event.ProxyAssignmentChangedEvent;
+import com.project.edusync.uis.model.enums.StaffCategory;
+import com.project.edusync.uis.repository.StaffRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Daily in-memory availability index for {@link ProxyCronJob}.
+ *
+ * <p>Holds, for one date: whether it is a working day, the teaching staff that can cover, which
+ * timeslots each teacher is timetabled for (one bit per slot), who is absent (absence mark or
+ * approved leave), weekly accepted-proxy load per teacher, and which absent teachers already have
+ * cover. The cron reads it instead of querying per schedule and per candidate.</p>
+ *
+ * <p>Built once per day with a handful of set-based queries. Attendance and leave changes
+ * ({@link StaffAvailabilityChangedEvent}) reload the absent set; proxy changes
+ * ({@link ProxyAssignmentChangedEvent}) reload load and cover. Timetable and calendar edits are
+ * picked up by a full rebuild every {@link #REBUILD_INTERVAL}.</p>
+ *
+ * <p>Events only reach the node that committed the change, so the index is a hint: the cron
+ * reloads the absent set at the start of each tick ({@link #reloadAbsent}) and checks cover in the
+ * database before it assigns a proxy.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProxyAvailabilityIndex {
+
+    private static final Duration REBUILD_INTERVAL = Duration.ofMinutes(30);
+
+    private static final Set<DayType> NON_WORKING_DAY_TYPES =
+            EnumSet.of(DayType.HOLIDAY, DayType.VACATION);
+
+    private static final Comparator<Candidate> LEAST_LOADED_FIRST =
+            Comparator.comparingLong(Candidate::weeklyLoad).thenComparingLong(Candidate::staffId);
+
+    private final ScheduleRepository scheduleRepository;
+    private final StaffRepository staffRepository;
+    private final StaffDailyAttendanceRepository attendanceRepository;
+    private final LeaveApplicationRepository leaveApplicationRepository;
+    private final ProxyRequestRepository proxyRequestRepository;
+    private final AcademicCalendarEventRepository calendarEventRepository;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private volatile Snapshot snapshot;
+
+    public record Candidate(Long staffId, Long userId, UUID userUuid, long weeklyLoad) {}
+
+    private record Snapshot(
+            LocalDate date,
+            Instant builtAt,
+            boolean workingDay,
+            Map<Long, Candidate> candidatesByStaff,
+            List<Candidate> leastLoadedFirst,
+            Map<Long, Integer> slotBits,
+            Map<Long, BitSet> busySlotsByStaff,
+            Set<Long> absentStaffIds,
+            Set<Long> coveredRequesterIds) {
+
+        Snapshot withAbsent(Set<Long> absent) {
+            return new Snapshot(date, builtAt, workingDay, candidatesByStaff, leastLoadedFirst,
+                    slotBits, busySlotsByStaff, absent, coveredRequesterIds);
+        }
+
+        Snapshot withProxies(Map<Long, Candidate> candidates, Set<Long> covered) {
+            return new Snapshot(date, builtAt, workingDay, candidates, sortByLoad(candidates),
+                    slotBits, busySlotsByStaff, absentStaffIds, covered);
+        }
+    }
+
+    // ── Reads ─────────────────────────────────────────────────────────
+
+    public boolean isWorkingDay(LocalDate date) {
+        return current(date).workingDay();
+    }
+
+    public boolean isAbsent(LocalDate date, Long staffId) {
+        return current(date).absentStaffIds().contains(staffId);
+    }
+
+    public boolean isCovered(LocalDate date, Long requesterUserId) {
+        return current(date).coveredRequesterIds().contains(requesterUserId);
+    }
+
+    public Optional<Candidate> candidate(LocalDate date, Long staffId) {
+        return Optional.ofNullable(current(date).candidatesByStaff().get(staffId));
+    }
+
+    /**
+     * Least-loaded teaching staff who is present and has no class of their own in {@code timeslotId}.
+     * Walks candidates in load order and stops at the first match.
+     */
+    public Optional<Candidate> findBestProxy(LocalDate date, Long absentStaffId, Long timeslotId) {
+        Snapshot view = current(date);
+        Integer bit = timeslotId != null ? view.slotBits().get(timeslotId) : null;
+        for (Candidate candidate : view.leastLoadedFirst()) {
+            if (candidate.staffId().equals(absentStaffId) || view.absentStaffIds().contains(candidate.staffId())) {
+                continue;
+            }
+            BitSet busy = view.busySlotsByStaff().get(candidate.staffId());
+            if (bit != null && busy != null && busy.get(bit)) {
+                continue;
+            }
+            return Optional.of(candidate);
+        }
+        return Optional.empty();
+    }
+
+    // ── Writes ────────────────────────────────────────────────────────
+
+    /**
+     * Applies an assignment made by the cron once it commits, so later periods in the same tick see
+     * it; a rolled-back assignment leaves the index untouched. The after-commit
+     * {@link ProxyAssignmentChangedEvent} reloads the authoritative numbers.
+     */
+    public void recordAssignment(LocalDate date, Long requesterUserId, Long proxyStaffId) {
+        afterCommit(() -> applyAssignment(date, requesterUserId, proxyStaffId));
+    }
+
+    /** Re-reads the absent set for {@code date}, picking up absences recorded on other nodes. */
+    public synchronized void reloadAbsent(LocalDate date) {
+        snapshot = current(date).withAbsent(loadAbsent(date));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onStaffAvailabilityChanged(StaffAvailabilityChangedEvent event) {
+        Snapshot view = snapshot;
+        if (view == null || !event.covers(view.date())) {
+            return;
+        }
+        snapshot = view.withAbsent(loadAbsent(view.date()));
+        log.debug("ProxyAvailabilityIndex: absent set reloaded for {}", view.date());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onProxyAssignmentChanged(ProxyAssignmentChangedEvent event) {
+        Snapshot view = snapshot;
+        if (view == null || event.periodDate() == null || !sameWeek(view.date(), event.periodDate())) {
+            return;
+        }
+        snapshot = view.withProxies(
+                withLoads(view.candidatesByStaff().values(), view.date()),
+                loadCovered(view.date()));
+        log.debug("ProxyAvailabilityIndex: proxy load reloaded for week of {}", view.date());
+    }
+
+    private synchronized void applyAssignment(LocalDate date, Long requesterUserId, Long proxyStaffId) {
+        Snapshot view = snapshot;
+        if (view == null || !view.date().equals(date)) {
+            return;
+        }
+        Map<Long, Candidate> candidates = new HashMap<>(view.candidatesByStaff());
+        candidates.computeIfPresent(proxyStaffId, (id, c) ->
+                new Candidate(c.staffId(), c.userId(), c.userUuid(), c.weeklyLoad() + 1));
+        Set<Long> covered = new HashSet<>(view.coveredRequesterIds());
+        covered.add(requesterUserId);
+        snapshot = view.withProxies(Map.copyOf(candidates), Set.copyOf(covered));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // ── Build ─────────────────────────────────────────────────────────
+
+    private Snapshot current(LocalDate date) {
+        Snapshot view = snapshot;
+        if (view != null && view.date().equals(date)
+                && view.builtAt().plus(REBUILD_INTERVAL).isAfter(clock.instant())) {
+            return view;
+        }
+        return rebuild(date);
+    }
+
+    private synchronized Snapshot rebuild(LocalDate date) {
+        Snapshot view = snapshot;
+        if (view != null && view.date().equals(date)
+                && view.builtAt().plus(REBUILD_INTERVAL).isAfter(clock.instant())) {
+            return view; // rebuilt by another thread while we waited
+        }
+
+        boolean workingDay = !calendarEventRepository.existsByDateAndDayTypeInAndAppliesToStaffTrueAndIsActiveTrue(
+                date, NON_WORKING_DAY_TYPES);
+
+        Map<Long, Integer> slotBits = new HashMap<>();
+        Map<Long, BitSet> busy = new HashMap<>();
+        for (ScheduleRepository.TeacherTimeslotProjection row
+                : scheduleRepository.findTeacherTimeslotsByDayOfWeek((short) date.getDayOfWeek().getValue())) {
+            int bit = slotBits.computeIfAbsent(row.getTimeslotId(), id -> slotBits.size());
+            busy.computeIfAbsent(row.getStaffId(), id -> new BitSet()).set(bit);
+        }
+
+        List<Candidate> staff = staffRepository.findActiveWithUserByCategory(StaffCategory.TEACHING).stream()
+                .map(row -> new Candidate(row.getStaffId(), row.getUserId(), row.getUserUuid(), 0))
+                .toList();
+
+        Map<Long, Candidate> candidates = withLoads(staff, date);
+        Snapshot built = new Snapshot(date, clock.instant(), workingDay, candidates, sortByLoad(candidates),
+                Map.copyOf(slotBits), Map.copyOf(busy), loadAbsent(date), loadCovered(date));
+        snapshot = built;
+        log.debug("ProxyAvailabilityIndex: built for {} — {} candidates, {} slots, {} absent",
+                date, candidates.size(), slotBits.size(), built.absentStaffIds().size());
+        return built;
+    }
+
+    private Set<Long> loadAbsent(LocalDate date) {
+        Set<Long> absent = new HashSet<>(attendanceRepository.findDistinctAbsentStaffIdsByDate(date));
+        absent.addAll(leaveApplicationRepository.findDistinctStaffIdsOnApprovedLeave(date));
+        return Set.copyOf(absent);
+    }
+
+    private Set<Long> loadCovered(LocalDate date) {
+        return Set.copyOf(proxyRequestRepository.findRequesterIdsByPeriodDateAndStatusNot(
+                date, ProxyRequestStatus.CANCELLED));
+    }
+
+    private Map<Long, Candidate> withLoads(Iterable<Candidate> staff, LocalDate date) {
+        Map<Long, Long> loadByUser = new HashMap<>();
+        for (ProxyRequestRepository.UserProxyCountProjection row
+                : proxyRequestRepository.countAcceptedProxiesByUserBetween(weekStart(date), weekEnd(date))) {
+            loadByUser.put(row.getUserId(), row.getTotal());
+        }
+        Map<Long, Candidate> candidates = new HashMap<>();
+        for (Candidate c : staff) {
+            candidates.put(c.staffId(), new Candidate(c.staffId(), c.userId(), c.userUuid(),
+                    loadByUser.getOrDefault(c.userId(), 0L)));
+        }
+        return Map.copyOf(candidates);
+    }
+
+    private static List<Candidate> sortByLoad(Map<Long, Candidate> candidates) {
+        return candidates.values().stream().sorted(LEAST_LOADED_FIRST).toList();
+    }
+
+    private static boolean sameWeek(LocalDate a, LocalDate b) {
+        return weekStart(a).equals(weekStart(b));
+    }
+
+    private static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static LocalDate weekEnd(LocalDate date) {
+        return date.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+    }
+}
@@ -2,32 +2,25 @@ package com.project.edusync.teacher.service;
 
 import com.project.edusync.adm.model.entity.Schedule;
 import com.project.edusync.adm.repository.ScheduleRepository;
-import com.project.edusync.ams.model.entity.StaffDailyAttendance;
-import com.project.edusync.ams.model.repository.StaffDailyAttendanceRepository;
-import com.project.edusync.hrms.model.enums.LeaveApplicationStatus;
-import com.project.edusync.hrms.repository.AcademicCalendarEventRepository;
-import com.project.edusync.hrms.repository.LeaveApplicationRepository;
+import com.project.edusync.common.scheduling.LeasedJob;
+import com.project.edusync.common.scheduling.ScheduledJobCoordinator;
+import com.project.edusync.common.scheduling.ScheduledJobDefinition;
 import com.project.edusync.teacher.model.dto.AdminAssignProxyDto;
 import com.project.edusync.teacher.model.enums.ProxyRequestStatus;
 import com.project.edusync.teacher.repository.ProxyRequestRepository;
-import com.project.edusync.hrms.model.enums.DayType;
 import com.project.edusync.uis.model.entity.Staff;
-import com.project.edusync.uis.model.enums.StaffCategory;
-import com.project.edusync.uis.repository.StaffRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.Comparator;
-import java.util.EnumSet;
 import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.util.UUID;
 
 /**
  * Pre-period proxy allocation cron job.
@@ -37,50 +30,65 @@ import java.util.Set;
  * <ul>
  *   <li>Skips if the assigned teacher has no absence record today (assumed present).</li>
  *   <li>Skips if a proxy is already assigned for this teacher on this date.</li>
- *   <li>If no proxy exists → auto-assigns the least-loaded available teaching staff.</li>
+ *   <li>If no proxy exists → auto-assigns the least-loaded teaching staff who is present and free
+ *   in that timeslot.</li>
  * </ul>
  *
+ * <p>Absence, free periods and weekly load come from {@link ProxyAvailabilityIndex}, so each tick
+ * issues a fixed number of queries regardless of staff count. Each tick runs on one node only
+ * ({@link ScheduledJobCoordinator}) while the index is node-local and fed by that node's events, so
+ * the tick reloads the absent set before deciding and asks the database whether a teacher already
+ * has cover.
+ *
  * <p>This runs school-wide. Future enhancement: per-school proxy_allocation_mode
  * (AUTO | ADMIN_ASSISTED) stored in school settings.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class ProxyCronJob {
+public class ProxyCronJob implements LeasedJob {
 
     /** Minutes before period start to trigger proxy check. */
     private static final int ALERT_WINDOW_MINUTES = 5;
 
-    private static final Set<DayType> NON_WORKING_DAY_TYPES =
-            EnumSet.of(DayType.HOLIDAY, DayType.VACATION);
+    private static final String CRON = "0 * * * * ?";
+
+    /** A missed tick is not worth replaying: the next one covers the same window. */
+    private static final ScheduledJobDefinition DEFINITION =
+            ScheduledJobDefinition.of("proxy-upcoming-periods", CRON, Duration.ofSeconds(50));
 
     private final ScheduleRepository scheduleRepository;
-    private final StaffDailyAttendanceRepository attendanceRepository;
-    private final ProxyRequestRepository proxyRequestRepository;
     private final ProxyRequestService proxyRequestService;
-    private final StaffRepository staffRepository;
-    private final LeaveApplicationRepository leaveApplicationRepository;
-    private final AcademicCalendarEventRepository calendarEventRepository;
+    private final ProxyAvailabilityIndex availabilityIndex;
+    private final ProxyRequestRepository proxyRequestRepository;
+    private final ScheduledJobCoordinator jobCoordinator;
 
     /**
      * Runs every minute; checks for periods in the next 5 minutes that need proxy cover.
      * Cron: "0 * * * * ?" — top of every minute.
      */
-    @Scheduled(cron = "0 * * * * ?")
-    @Transactional
+    @Scheduled(cron = CRON)
     public void checkUpcomingPeriods() {
-        LocalDate today = LocalDate.now();
-        LocalTime now = LocalTime.now();
+        jobCoordinator.trigger(this);
+    }
 
-        // Skip on school holidays / vacations
-        if (calendarEventRepository.existsByDateAndDayTypeInAndAppliesToStaffTrueAndIsActiveTrue(
-                today, NON_WORKING_DAY_TYPES)) {
-            return;
-        }
+    @Override
+    public ScheduledJobDefinition definition() {
+        return DEFINITION;
+    }
+
+    /** @return proxies auto-assigned in this tick */
+    @Override
+    public int execute(LocalDateTime scheduledFor) {
+        LocalDate today = scheduledFor.toLocalDate();
+        LocalTime now = scheduledFor.toLocalTime();
 
         // Skip on weekends (Saturday=6, Sunday=7 in ISO)
         DayOfWeek dow = today.getDayOfWeek();
-        if (dow == DayOfWeek.SATURDAY || dow == DayOfWeek.SUNDAY) return;
+        if (dow == DayOfWeek.SATURDAY || dow == DayOfWeek.SUNDAY) return 0;
+
+        // Skip on school holidays / vacations
+        if (!availabilityIndex.isWorkingDay(today)) return 0;
 
         // dayOfWeek in Timeslot uses Short (1=Mon…7=Sun matching ISO)
         short dayOfWeek = (short) dow.getValue();
@@ -91,99 +99,81 @@ public class ProxyCronJob {
         List<Schedule> upcoming = scheduleRepository
                 .findSchedulesStartingBetween(dayOfWeek, windowStart, windowEnd);
 
-        if (upcoming.isEmpty()) return;
+        if (upcoming.isEmpty()) return 0;
 
         log.debug("ProxyCron: Found {} upcoming periods in next {}m on {}",
                 upcoming.size(), ALERT_WINDOW_MINUTES, today);
 
+        // Absences marked on another node since the last rebuild never reached this node's index.
+        availabilityIndex.reloadAbsent(today);
+
+        int assigned = 0;
         for (Schedule schedule : upcoming) {
-            processScheduleForProxy(schedule, today);
+            if (processScheduleForProxy(schedule, today)) {
+                assigned++;
+            }
         }
+        return assigned;
     }
 
     // ── Helpers ───────────────────────────────────────────────────────
 
-    private void processScheduleForProxy(Schedule schedule, LocalDate today) {
+    private boolean processScheduleForProxy(Schedule schedule, LocalDate today) {
         Staff teacherStaff = schedule.getTeacher().getStaff();
         Long staffId = teacherStaff.getId();
 
-        // 1. Check if teacher is absent today
-        Optional<StaffDailyAttendance> attendance =
-                attendanceRepository.findByStaffIdAndAttendanceDate(staffId, today);
-
-        boolean isAbsent = attendance
-                .map(a -> a.getAttendanceType() != null && a.getAttendanceType().isAbsenceMark())
-                .orElse(false);
-
-        if (!isAbsent) {
-            // Also check approved leave
-            boolean onLeave = leaveApplicationRepository.existsOverlapping(
-                    staffId, today, today, List.of(LeaveApplicationStatus.APPROVED));
-            if (!onLeave) return; // Teacher present — no proxy needed
-        }
+        // 1. Check if teacher is absent today (absence mark or approved leave)
+        if (!availabilityIndex.isAbsent(today, staffId)) return false; // Teacher present — no proxy needed
 
-        Long teacherUserId = teacherStaff.getUser() != null ? teacherStaff.getUser().getId() : null;
-        if (teacherUserId == null) return;
+        Long teacherUserId = availabilityIndex.candidate(today, staffId)
+                .map(ProxyAvailabilityIndex.Candidate::userId)
+                .orElseGet(() -> teacherStaff.getUser() != null ? teacherStaff.getUser().getId() : null);
+        if (teacherUserId == null) return false;
 
-        // 2. Check if proxy already assigned for this teacher on today
-        boolean alreadyCovered = proxyRequestRepository
-                .existsByRequestedByIdAndPeriodDateAndStatusNot(
-                        teacherUserId, today, ProxyRequestStatus.CANCELLED);
-
-        if (alreadyCovered) {
+        // 2. Check if proxy already assigned for this teacher on today. The index misses other nodes'
+        //    assignments and cancellations until its next rebuild, so the database decides.
+        if (proxyRequestRepository.existsByRequestedByIdAndPeriodDateAndStatusNot(
+                teacherUserId, today, ProxyRequestStatus.CANCELLED)) {
             log.debug("ProxyCron: Proxy already exists for staffId={} on {}", staffId, today);
-            return;
+            return false;
         }
 
         // 3. Auto-assign least-loaded available teaching staff
-        assignBestProxy(schedule, teacherStaff, today);
+        return assignBestProxy(schedule, teacherStaff, teacherUserId, today);
     }
 
-    private void assignBestProxy(Schedule schedule, Staff absentStaff, LocalDate today) {
-        // Candidate pool: active TEACHING staff (excluding the absent teacher)
-        List<Staff> candidates = staffRepository.findAll().stream()
-                .filter(s -> Boolean.TRUE.equals(s.isActive()))
-                .filter(s -> s.getCategory() == StaffCategory.TEACHING)
-                .filter(s -> !s.getId().equals(absentStaff.getId()))
-                .filter(s -> s.getUser() != null)
-                .toList();
+    private boolean assignBestProxy(Schedule schedule, Staff absentStaff, Long absentUserId, LocalDate today) {
+        ProxyAvailabilityIndex.Candidate best = availabilityIndex
+                .findBestProxy(today, absentStaff.getId(), schedule.getTimeslot().getId())
+                .orElse(null);
 
-        if (candidates.isEmpty()) {
+        if (best == null) {
             log.warn("ProxyCron: No available proxy candidates for staffId={}", absentStaff.getId());
-            return;
+            return false;
         }
 
-        // Score each candidate by weekly proxy count (ascending = least loaded first)
-        LocalDate weekStart = today.with(java.time.temporal.TemporalAdjusters
-                .previousOrSame(DayOfWeek.MONDAY));
-        LocalDate weekEnd = today.with(java.time.temporal.TemporalAdjusters
-                .nextOrSame(DayOfWeek.SUNDAY));
-
-        Staff bestCandidate = candidates.stream()
-                .min(Comparator.comparingLong(candidate -> {
-                    Long userId = candidate.getUser().getId();
-                    return proxyRequestRepository.countAcceptedProxiesBetween(userId, weekStart, weekEnd);
-                }))
-                .orElse(null);
-
-        if (bestCandidate == null || bestCandidate.getUser() == null) return;
+        UUID absentUserUuid = availabilityIndex.candidate(today, absentStaff.getId())
+                .map(ProxyAvailabilityIndex.Candidate::userUuid)
+                .orElseGet(() -> absentStaff.getUser().getUuid());
 
         // Create the proxy request in ACCEPTED state (admin-auto-assigned)
         AdminAssignProxyDto dto = new AdminAssignProxyDto(
-                absentStaff.getUser().getUuid(),   // absentStaffUserUuid
-                bestCandidate.getUser().getUuid(), // proxyStaffUserUuid
+                absentUserUuid,                    // absentStaffUserUuid
+                best.userUuid(),                   // proxyStaffUserUuid
                 today,                             // periodDate
                 schedule.getSection().getUuid(),   // sectionUuid
                 schedule.getSubject().getName()    // subject
         );
 
         proxyRequestService.adminAssignProxy(dto);
+        availabilityIndex.recordAssignment(today, absentUserId, best.staffId());
 
         log.info("ProxyCron: Auto-assigned proxy — absent={} → proxy={} | subject={} | section={} | date={}",
                 absentStaff.getId(),
-                bestCandidate.getId(),
+                best.staffId(),
                 schedule.getSubject().getName(),
                 schedule.getSection().getUuid(),
                 today);
+        return true;
     }
 }
@@ -8,11 +8,13 @@ import com.project.edusync.teacher.model.dto.*;
 import com.project.edusync.teacher.model.entity.ProxyRequest;
 import com.project.edusync.teacher.model.enums.ProxyRequestStatus;
 import com.project.edusync.teacher.repository.ProxyRequestRepository;
+import com.project.edusync.teacher.service.event.ProxyAssignmentChangedEvent;
 import com.project.edusync.uis.model.entity.Staff;
 import com.project.edusync.uis.repository.StaffRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,6 +35,7 @@ public class ProxyRequestService {
     private final UserRepository userRepository;
     private final StaffRepository staffRepository;
     private final StaffDailyAttendanceRepository staffAttendanceRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ── Teacher-facing operations ──────────────────────────────────────
 
@@ -78,6 +81,7 @@ public class ProxyRequestService {
         request.syncIsAccepted();
 
         ProxyRequest saved = proxyRequestRepository.save(request);
+        eventPublisher.publishEvent(new ProxyAssignmentChangedEvent(saved.getPeriodDate()));
         log.info("Peer proxy request {} created: {} → {}", saved.getId(),
                 requestedBy.getUsername(), requestedTo.getUsername());
         return toDto(saved);
@@ -98,6 +102,7 @@ public class ProxyRequestService {
         request.setStatus(ProxyRequestStatus.ACCEPTED);
         request.syncIsAccepted();
         ProxyRequest saved = proxyRequestRepository.save(request);
+        eventPublisher.publishEvent(new ProxyAssignmentChangedEvent(saved.getPeriodDate()));
         log.info("Proxy request {} accepted by user {}", requestId, currentUserId);
         return toDto(saved);
     }
@@ -119,6 +124,7 @@ public class ProxyRequestService {
         request.setDeclineReason(reason);
         request.syncIsAccepted();
         ProxyRequest saved = proxyRequestRepository.save(request);
+        eventPublisher.publishEvent(new ProxyAssignmentChangedEvent(saved.getPeriodDate()));
         log.info("Proxy request {} declined by user {}", requestId, currentUserId);
         return toDto(saved);
     }
@@ -142,6 +148,7 @@ public class ProxyRequestService {
         request.setStatus(ProxyRequestStatus.CANCELLED);
         request.syncIsAccepted();
         ProxyRequest saved = proxyRequestRepository.save(request);
+        eventPublisher.publishEvent(new ProxyAssignmentChangedEvent(saved.getPeriodDate()));
         log.info("Proxy request {} cancelled by user {}", requestId, currentUserId);
         return toDto(saved);
     }
@@ -185,6 +192,7 @@ public class ProxyRequestService {
         request.syncIsAccepted();
 
         ProxyRequest saved = proxyRequestRepository.save(request);
+        eventPublisher.publishEvent(new ProxyAssignmentChangedEvent(saved.getPeriodDate()));
         log.info("Admin assigned proxy {} → {} for date {}", absentUser.getUsername(),
                 proxyUser.getUsername(), dto.periodDate());
         return toDto(saved);
@@ -210,6 +218,7 @@ public class ProxyRequestService {
         request.syncIsAccepted();
 
         ProxyRequest saved = proxyRequestRepository.save(request);
+        eventPublisher.publishEvent(new ProxyAssignmentChangedEvent(saved.getPeriodDate()));
         log.info("Admin reassigned proxy request {} to user {}", requestId, newProxy.getUsername());
         return toDto(saved);
     }
@@ -223,6 +232,7 @@ public class ProxyRequestService {
         request.setStatus(ProxyRequestStatus.CANCELLED);
         request.syncIsAccepted();
         ProxyRequest saved = proxyRequestRepository.save(request);
+        eventPublisher.publishEvent(new ProxyAssignmentChangedEvent(saved.getPeriodDate()));
         log.info("Admin cancelled proxy request {}", requestId);
         return toDto(saved);
     }
@@ -0,0 +1,6 @@
+package com.project.edusync.teacher.service.event;
+
+import java.time.LocalDate;
+
+/** Published when a proxy request is created or changes status for {@code periodDate}. */
+public record ProxyAssignmentChangedEvent(LocalDate periodDate) {}
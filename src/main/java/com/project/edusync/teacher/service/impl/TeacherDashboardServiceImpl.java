@@ -6,9 +6,14 @@ import com.project.edusync.adm.model.entity.Timeslot;
 import com.project.edusync.adm.repository.ScheduleRepository;
 import com.project.edusync.adm.repository.SectionRepository;
 import com.project.edusync.adm.repository.TimeslotRepository;
+import com.project.edusync.ams.model.entity.StudentAttendanceStats;
 import com.project.edusync.ams.model.entity.StudentDailyAttendance;
+import com.project.edusync.ams.model.service.StudentAttendanceStatsService;
 import com.project.edusync.teacher.service.TeacherDashboardService;
 import com.project.edusync.ams.model.repository.StudentDailyAttendanceRepository;
+import com.project.edusync.common.cache.CacheTagIndex;
+import com.project.edusync.common.cache.CacheTags;
+import com.project.edusync.common.config.CacheNames;
 import com.project.edusync.common.exception.EdusyncException;
 import com.project.edusync.hrms.model.enums.LeaveApplicationStatus;
 import com.project.edusync.hrms.repository.LeaveApplicationRepository;
@@ -40,6 +45,7 @@ import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -60,6 +66,8 @@ public class TeacherDashboardServiceImpl implements TeacherDashboardService {
     private final StaffRepository staffRepository;
     private final StudentGuardianRelationshipRepository studentGuardianRelationshipRepository;
     private final LeaveApplicationRepository leaveApplicationRepository;
+    private final CacheTagIndex cacheTagIndex;
+    private final StudentAttendanceStatsService attendanceStatsService;
 
     @Override
     @Transactional(readOnly = true)
@@ -352,7 +360,7 @@ public class TeacherDashboardServiceImpl implements TeacherDashboardService {
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "teacherDashboardSummaryV2", key = "#currentUserId + ':' + (#date == null ? T(java.time.LocalDate).now().toString() : #date.toString())")
+    @Cacheable(value = CacheNames.TEACHER_DASHBOARD_SUMMARY, key = "#currentUserId + ':' + (#date == null ? T(java.time.LocalDate).now().toString() : #date.toString())")
     public TeacherDashboardSummaryResponseDto getDashboardSummary(Long currentUserId, LocalDate date) {
         Staff staff = resolveStaffFromCurrentUser(currentUserId);
         LocalDate targetDate = date == null ? LocalDate.now() : date;
@@ -364,6 +372,7 @@ public class TeacherDashboardServiceImpl implements TeacherDashboardService {
                 List.of(LeaveApplicationStatus.APPROVED));
 
         List<Long> sectionIds = scheduleRepository.findDistinctActiveSectionIdsByTeacherStaffId(staff.getId());
+        tagDashboardSummary(currentUserId + ":" + targetDate, staff.getId(), sectionIds);
         if (sectionIds.isEmpty()) {
             return emptySummary(targetDate, isOnLeaveToday);
         }
@@ -386,12 +395,13 @@ public class TeacherDashboardServiceImpl implements TeacherDashboardService {
                 .filter(s -> mapDayOfWeek(s.getTimeslot().getDayOfWeek()) == targetDay)
                 .count();
 
-        Map<Long, StudentDailyAttendanceRepository.StudentAttendanceAggregateProjection> ytd = attendanceSummaryByStudent(
-                studentIds, currentAcademicStart(targetDate), targetDate);
-        long atRisk = ytd.values().stream()
-                .filter(p -> percentAsDouble(safe(p.getPresentCount()), safe(p.getTotalCount())) < 75.0d).count();
-        long belowThreshold = ytd.values().stream()
-                .filter(p -> percentAsDouble(safe(p.getPresentCount()), safe(p.getTotalCount())) < 90.0d).count();
+        List<StudentAttendanceStats> ytd = attendanceStats(studentIds, targetDate, false).values().stream()
+                .filter(s -> s.getYearTotal() > 0)
+                .toList();
+        long atRisk = ytd.stream()
+                .filter(s -> percentAsDouble(s.getYearPresent(), s.getYearTotal()) < 75.0d).count();
+        long belowThreshold = ytd.stream()
+                .filter(s -> percentAsDouble(s.getYearPresent(), s.getYearTotal()) < 90.0d).count();
 
         TeacherDashboardSummaryResponseDto.NextClass nextClass = findNextClass(teacherSchedules, targetDate);
 
@@ -418,6 +428,14 @@ public class TeacherDashboardServiceImpl implements TeacherDashboardService {
                 .build();
     }
 
+    /** Key must match the {@code @Cacheable} SpEL on {@link #getDashboardSummary}. */
+    private void tagDashboardSummary(String cacheKey, Long staffId, List<Long> sectionIds) {
+        List<String> tags = new ArrayList<>(sectionIds.size() + 1);
+        tags.add(CacheTags.staff(staffId));
+        sectionIds.forEach(sectionId -> tags.add(CacheTags.section(sectionId)));
+        cacheTagIndex.tag(CacheNames.TEACHER_DASHBOARD_SUMMARY, cacheKey, tags);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public TeacherHomeroomResponseDto getMyHomeroom(Long currentUserId, LocalDate date) {
@@ -440,24 +458,19 @@ public class TeacherDashboardServiceImpl implements TeacherDashboardService {
         long late = today.values().stream().mapToLong(p -> safe(p.getLateCount())).sum();
         long marked = today.values().stream().mapToLong(p -> safe(p.getTotalCount())).sum();
 
-        LocalDate yearStart = currentAcademicStart(targetDate);
-        Map<Long, StudentDailyAttendanceRepository.StudentAttendanceAggregateProjection> ytd = attendanceSummaryByStudent(
-                studentIds, yearStart, targetDate);
+        Map<Long, StudentAttendanceStats> stats = attendanceStats(studentIds, targetDate, true);
 
         List<TeacherHomeroomResponseDto.AtRiskStudent> atRiskStudents = students.stream()
                 .map(student -> {
-                    StudentDailyAttendanceRepository.StudentAttendanceAggregateProjection agg = ytd
-                            .get(student.getId());
-                    long p = agg == null ? 0L : safe(agg.getPresentCount());
-                    long t = agg == null ? 0L : safe(agg.getTotalCount());
-                    BigDecimal pct = percent(p, t);
-                    long consecutiveAbsences = consecutiveAbsences(student.getId());
+                    StudentAttendanceStats s = stats.get(student.getId());
                     return TeacherHomeroomResponseDto.AtRiskStudent.builder()
                             .studentUuid(student.getUuid())
                             .name(fullName(student.getUserProfile().getFirstName(),
                                     student.getUserProfile().getLastName()))
-                            .attendancePercentage(pct)
-                            .consecutiveAbsences(consecutiveAbsences)
+                            .attendancePercentage(s == null ? BigDecimal.ZERO : percent(s.getYearPresent(), s.getYearTotal()))
+                            .recentAttendancePercentage(s == null ? BigDecimal.ZERO
+                                    : percent(s.getWindowPresent(), s.getWindowTotal()))
+                            .consecutiveAbsences(s == null ? 0L : s.getAbsenceStreak())
                             .build();
                 })
                 .filter(item -> item.getAttendancePercentage().compareTo(BigDecimal.valueOf(75)) < 0
@@ -525,6 +538,47 @@ public class TeacherDashboardServiceImpl implements TeacherDashboardService {
                         Function.identity()));
     }
 
+    /**
+     * Year-to-date and rolling-window counters per student for {@code targetDate}. Rows maintained by
+     * {@link StudentAttendanceStatsService} are used when they are current; students without one (a past date,
+     * or before tonight's rollover reached them) are aggregated live.
+     */
+    private Map<Long, StudentAttendanceStats> attendanceStats(List<Long> studentIds, LocalDate targetDate,
+                                                              boolean withStreaks) {
+        if (studentIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, StudentAttendanceStats> stats = new HashMap<>(attendanceStatsService.findCurrent(studentIds, targetDate));
+        List<Long> missing = studentIds.stream().filter(id -> !stats.containsKey(id)).toList();
+        if (missing.isEmpty()) {
+            return stats;
+        }
+
+        Map<Long, StudentDailyAttendanceRepository.StudentAttendanceAggregateProjection> ytd = attendanceSummaryByStudent(
+                missing, currentAcademicStart(targetDate), targetDate);
+        Map<Long, StudentDailyAttendanceRepository.StudentAttendanceAggregateProjection> recent = withStreaks
+                ? attendanceSummaryByStudent(missing, targetDate.minusDays(StudentAttendanceStats.WINDOW_DAYS - 1L), targetDate)
+                : Map.of();
+        for (Long studentId : missing) {
+            StudentDailyAttendanceRepository.StudentAttendanceAggregateProjection year = ytd.get(studentId);
+            StudentDailyAttendanceRepository.StudentAttendanceAggregateProjection window = recent.get(studentId);
+            if (year == null && !withStreaks) {
+                continue;
+            }
+            stats.put(studentId, new StudentAttendanceStats(
+                    studentId,
+                    withStreaks ? (int) consecutiveAbsences(studentId) : 0,
+                    null,
+                    targetDate,
+                    window == null ? 0 : (int) safe(window.getPresentCount()),
+                    window == null ? 0 : (int) safe(window.getTotalCount()),
+                    year == null ? 0 : (int) safe(year.getPresentCount()),
+                    year == null ? 0 : (int) safe(year.getTotalCount()),
+                    null));
+        }
+        return stats;
+    }
+
     private BigDecimal percent(long numerator, long denominator) {
         if (denominator <= 0) {
             return BigDecimal.ZERO;
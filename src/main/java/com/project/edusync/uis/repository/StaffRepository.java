@@ -107,6 +107,24 @@ public interface StaffRepository extends JpaRepository<Staff, Long> {
 
     List<Staff> findByIsActiveTrue();
 
+    interface ProxyCandidateProjection {
+        Long getStaffId();
+
+        Long getUserId();
+
+        java.util.UUID getUserUuid();
+    }
+
+    /** Active staff of a category that have a login, as flat rows for the proxy availability index. */
+    @Query("""
+            SELECT st.id AS staffId, u.id AS userId, u.uuid AS userUuid
+            FROM Staff st
+            JOIN st.user u
+            WHERE st.isActive = true
+              AND st.category = :category
+            """)
+    List<ProxyCandidateProjection> findActiveWithUserByCategory(@Param("category") StaffCategory category);
+
     Page<Staff> findByIsActiveTrue(Pageable pageable);
 
     /**
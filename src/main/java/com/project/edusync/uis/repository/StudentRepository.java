@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -102,6 +103,10 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
 
     long countBySectionId(Long sectionId);
 
+    /** Sections of the given students, for evicting section-scoped caches after a student-level write. */
+    @Query("SELECT DISTINCT s.section.id FROM Student s WHERE s.id IN :studentIds")
+    List<Long> findSectionIdsByStudentIds(@Param("studentIds") Collection<Long> studentIds);
+
     long countBySection_AcademicClass_Id(Long classId);
 
     long countBySection_AcademicClass_IdAndIsActiveTrue(Long classId);
@@ -8,6 +8,8 @@ import com.project.edusync.adm.repository.ScheduleRepository;
 import com.project.edusync.ams.model.entity.AttendanceAudit;
 import com.project.edusync.ams.model.repository.AttendanceAuditRepository;
 import com.project.edusync.ams.model.repository.StudentDailyAttendanceRepository;
+import com.project.edusync.common.cache.CacheTagIndex;
+import com.project.edusync.common.cache.CacheTags;
 import com.project.edusync.em.model.entity.ExamSchedule;
 import com.project.edusync.em.model.repository.ExamScheduleRepository;
 import com.project.edusync.em.model.repository.StudentMarkRepository;
@@ -56,6 +58,7 @@ public class StudentDashboardServiceImpl implements StudentDashboardService, Das
     private final AttendanceAuditRepository attendanceAuditRepository;
     private final ExamScheduleRepository examScheduleRepository;
     private final StudentMarkRepository studentMarkRepository;
+    private final CacheTagIndex cacheTagIndex;
 
     @Override
     @Transactional(readOnly = true)
@@ -70,6 +73,7 @@ public class StudentDashboardServiceImpl implements StudentDashboardService, Das
         Student student = studentRepository.findByUserProfile_User_Id(userId)
                 .orElseThrow(() -> new IllegalArgumentException("No student mapping found for userId: " + userId));
         log.debug("Resolved student mapping studentId={} for userId={}", student.getId(), userId);
+        cacheTagIndex.tag("dashboard", userId, CacheTags.student(student.getId()));
 
         try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
             CompletableFuture<IntelligenceResponseDTO.ProfileDTO> profileFuture =
@@ -128,6 +132,7 @@ public class StudentDashboardServiceImpl implements StudentDashboardService, Das
 
         Student student = studentRepository.findByUserProfile_User_Id(userId)
                 .orElseThrow(() -> new IllegalArgumentException("No student mapping found for userId: " + userId));
+        cacheTagIndex.tag("dashboardOverview", userId, CacheTags.student(student.getId()));
 
         try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
             CompletableFuture<OverviewResponseDTO.ProfileDTO> profileFuture =
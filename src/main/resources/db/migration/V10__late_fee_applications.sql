@@ -0,0 +1,17 @@
+-- Ledger of late fees charged per invoice, rule and due date, so the nightly sweep can re-run without
+-- charging a rule twice for the same billing period.
+
+CREATE TABLE IF NOT EXISTS late_fee_applications (
+    id         bigserial     PRIMARY KEY,
+    invoice_id bigint        NOT NULL REFERENCES invoices (id),
+    rule_id    integer       NOT NULL,
+    due_date   date          NOT NULL,
+    amount     numeric(10,2) NOT NULL,
+    applied_on date          NOT NULL,
+    source     varchar(20)   NOT NULL,
+    created_at timestamp     NOT NULL,
+    CONSTRAINT uq_late_fee_applications_period UNIQUE (invoice_id, rule_id, due_date)
+);
+
+-- The sweep selects open invoices by status and due date.
+CREATE INDEX IF NOT EXISTS idx_invoices_status_due_date ON invoices (status, due_date);
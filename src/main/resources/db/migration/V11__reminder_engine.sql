@@ -0,0 +1,10 @@
+-- Reminder runs log which guardian, template and consolidated message each row belongs to, so dedupe windows
+-- and per-guardian rate limits can be checked from the log.
+
+ALTER TABLE reminder_logs ADD COLUMN IF NOT EXISTS guardian_id bigint;
+ALTER TABLE reminder_logs ADD COLUMN IF NOT EXISTS template_id bigint;
+ALTER TABLE reminder_logs ADD COLUMN IF NOT EXISTS message_key varchar(36);
+ALTER TABLE reminder_logs ADD COLUMN IF NOT EXISTS recipient varchar(255);
+ALTER TABLE reminder_logs ADD COLUMN IF NOT EXISTS error_message varchar(1000);
+
+CREATE INDEX IF NOT EXISTS idx_reminder_logs_guardian_sent ON reminder_logs (guardian_id, sent_at);
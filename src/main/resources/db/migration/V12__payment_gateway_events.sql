@@ -0,0 +1,28 @@
+-- Payment gateway events (webhooks, checkout responses, reconciliation findings) are recorded once per
+-- idempotency key and applied to payments by background workers.
+
+CREATE TABLE IF NOT EXISTS payment_gateway_events (
+    id                 bigserial     PRIMARY KEY,
+    idempotency_key    varchar(120)  NOT NULL,
+    source             varchar(20)   NOT NULL,
+    event_type         varchar(60)   NOT NULL,
+    gateway_order_id   varchar(100),
+    gateway_payment_id varchar(100),
+    amount_minor       bigint,
+    invoice_id         bigint,
+    payload            text,
+    status             varchar(20)   NOT NULL,
+    attempts           integer       NOT NULL DEFAULT 0,
+    next_attempt_at    timestamp     NOT NULL,
+    last_error         varchar(1000),
+    received_at        timestamp     NOT NULL,
+    processed_at       timestamp,
+    CONSTRAINT uq_payment_gateway_events_key UNIQUE (idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_payment_gateway_events_due ON payment_gateway_events (status, next_attempt_at);
+CREATE INDEX IF NOT EXISTS idx_payment_gateway_events_invoice ON payment_gateway_events (invoice_id);
+
+-- Settlement looks payments up by gateway order or payment id; reconciliation scans pending ones by age.
+CREATE INDEX IF NOT EXISTS idx_payments_transaction_id ON payments (transaction_id);
+CREATE INDEX IF NOT EXISTS idx_payments_status_date ON payments (status, payment_date);
@@ -0,0 +1,27 @@
+-- Depreciation is posted per run and asset category: one consolidated journal per category, referenced by its
+-- fa_depreciation_runs row, with the per-asset breakdown in fa_depreciation_entries.
+
+CREATE TABLE IF NOT EXISTS fa_depreciation_runs (
+    id               bigserial     PRIMARY KEY,
+    uuid             uuid          NOT NULL UNIQUE,
+    financial_year   varchar(10)   NOT NULL,
+    asset_category   varchar(100)  NOT NULL,
+    run_date         date          NOT NULL,
+    asset_count      integer       NOT NULL,
+    total_amount     numeric(14,2) NOT NULL,
+    journal_entry_id bigint,
+    school_id        bigint,
+    created_at       timestamp     NOT NULL,
+    updated_at       timestamp     NOT NULL,
+    created_by       varchar(255),
+    updated_by       varchar(255)
+);
+
+CREATE INDEX IF NOT EXISTS idx_fa_depreciation_runs_year ON fa_depreciation_runs (school_id, financial_year);
+
+-- An asset is depreciated at most once per financial year; this backs the run's row locks.
+CREATE UNIQUE INDEX IF NOT EXISTS uq_fa_depreciation_entries_asset_year
+    ON fa_depreciation_entries (asset_id, financial_year);
+
+-- The run selects active assets per school.
+CREATE INDEX IF NOT EXISTS idx_fa_fixed_assets_school_status ON fa_fixed_assets (school_id, status);
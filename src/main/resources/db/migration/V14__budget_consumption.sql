@@ -0,0 +1,35 @@
+-- Budget line actuals are now maintained incrementally on every GL posting, looked up by linked account; PO
+-- budget checks sum a budget's open, unbilled purchase orders.
+
+CREATE INDEX IF NOT EXISTS idx_finance_budget_line_items_account ON finance_budget_line_items (linked_account_id);
+
+CREATE INDEX IF NOT EXISTS idx_proc_purchase_orders_budget ON proc_purchase_orders (budget_id);
+
+CREATE INDEX IF NOT EXISTS idx_proc_vendor_bills_po ON proc_vendor_bills (purchase_order_id);
+
+-- Actuals used to be seeded from the account's lifetime balance. Rebuild them from the ledger for each budget's
+-- academic year (April to March, the default app.finance.numbering.financial-year-start) so later increments
+-- start from the right base.
+UPDATE finance_budget_line_items bli
+SET actual_amount = x.actual,
+    variance      = bli.allocated_amount - x.actual
+FROM (
+    SELECT l.line_item_id,
+           COALESCE(SUM(CASE WHEN a.account_type IN ('ASSET', 'EXPENSE')
+                             THEN jl.debit_amount - jl.credit_amount
+                             ELSE jl.credit_amount - jl.debit_amount END), 0) AS actual
+    FROM finance_budget_line_items l
+    JOIN finance_budgets b ON b.id = l.budget_id
+    JOIN coa_accounts a ON a.id = l.linked_account_id
+    LEFT JOIN (gl_journal_lines jl
+               JOIN gl_journal_entries je ON je.id = jl.journal_entry_id AND je.status IN ('POSTED', 'REVERSED'))
+           ON jl.account_id = l.linked_account_id
+          AND je.entry_date >= make_date(substr(b.academic_year, 1, 4)::int, 4, 1)
+          AND je.entry_date <  make_date(substr(b.academic_year, 1, 4)::int + 1, 4, 1)
+    WHERE b.academic_year ~ '^[0-9]{4}-[0-9]{4}$'
+    GROUP BY l.line_item_id
+) x
+WHERE bli.line_item_id = x.line_item_id;
+
+UPDATE finance_budgets b
+SET total_spent = (SELECT COALESCE(SUM(l.actual_amount), 0) FROM finance_budget_line_items l WHERE l.budget_id = b.id);
@@ -0,0 +1,34 @@
+-- Fee projection: each student's fee position, and running totals for the school, each class and each section.
+-- Invoice, payment and refund writers refresh the affected students in their own transactions; the nightly
+-- fee-projection-rebuild job (which also runs as catch-up on first start) fills both tables from source.
+
+CREATE TABLE IF NOT EXISTS fee_student_balances (
+    student_id         bigint         PRIMARY KEY,
+    section_id         bigint,
+    class_id           bigint,
+    invoiced_amount    numeric(14, 2) NOT NULL DEFAULT 0,
+    collected_amount   numeric(14, 2) NOT NULL DEFAULT 0,
+    refunded_amount    numeric(14, 2) NOT NULL DEFAULT 0,
+    outstanding_amount numeric(14, 2) NOT NULL DEFAULT 0,
+    overdue_amount     numeric(14, 2) NOT NULL DEFAULT 0,
+    pending_invoices   bigint         NOT NULL DEFAULT 0,
+    next_due_date      date,
+    updated_at         timestamp      NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_fee_student_balances_section ON fee_student_balances (section_id);
+
+CREATE TABLE IF NOT EXISTS fee_collection_totals (
+    id                 bigserial      PRIMARY KEY,
+    scope              varchar(10)    NOT NULL,
+    scope_id           bigint         NOT NULL,
+    invoiced_amount    numeric(16, 2) NOT NULL DEFAULT 0,
+    collected_amount   numeric(16, 2) NOT NULL DEFAULT 0,
+    refunded_amount    numeric(16, 2) NOT NULL DEFAULT 0,
+    outstanding_amount numeric(16, 2) NOT NULL DEFAULT 0,
+    overdue_amount     numeric(16, 2) NOT NULL DEFAULT 0,
+    pending_invoices   bigint         NOT NULL DEFAULT 0,
+    updated_at         timestamp      NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_fee_collection_totals_scope ON fee_collection_totals (scope, scope_id);
@@ -0,0 +1,41 @@
+-- Bulk scholarship award runs: selection criteria, progress counters and the student-id cursor each chunk commits
+-- with its assignments and re-priced invoices.
+
+CREATE TABLE IF NOT EXISTS scholarship_award_runs (
+    id                    bigserial      PRIMARY KEY,
+    scholarship_type_id   bigint         NOT NULL,
+    class_id              bigint,
+    section_id            bigint,
+    fee_structure_id      bigint,
+    effective_from        date           NOT NULL,
+    reason                varchar(255)   NOT NULL,
+    reprice_open_invoices boolean        NOT NULL DEFAULT true,
+    status                varchar(20)    NOT NULL,
+    last_student_id       bigint         NOT NULL DEFAULT 0,
+    total_students        bigint         NOT NULL DEFAULT 0,
+    processed_students    bigint         NOT NULL DEFAULT 0,
+    assignments_created   bigint         NOT NULL DEFAULT 0,
+    skipped_students      bigint         NOT NULL DEFAULT 0,
+    invoices_repriced     bigint         NOT NULL DEFAULT 0,
+    total_discount        numeric(14, 2) NOT NULL DEFAULT 0,
+    error_message         varchar(1000),
+    started_by            varchar(100),
+    started_at            timestamp,
+    updated_at            timestamp,
+    completed_at          timestamp
+);
+
+-- Explicit student lists; the run's criteria narrow them further.
+CREATE TABLE IF NOT EXISTS scholarship_award_run_students (
+    run_id     bigint NOT NULL REFERENCES scholarship_award_runs (id),
+    student_id bigint NOT NULL,
+    PRIMARY KEY (run_id, student_id)
+);
+
+-- At most one live run: two overlapping awards of one type could otherwise assign a student twice.
+CREATE UNIQUE INDEX IF NOT EXISTS uq_scholarship_award_runs_running
+    ON scholarship_award_runs (status) WHERE status = 'RUNNING';
+
+-- Award runs look up a student's active assignments of a type.
+CREATE INDEX IF NOT EXISTS idx_scholarship_assignments_student_type
+    ON scholarship_assignments (student_id, scholarship_type_id);
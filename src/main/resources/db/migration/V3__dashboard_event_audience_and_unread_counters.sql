@@ -0,0 +1,47 @@
+-- Per-audience dashboard events: each event is fanned out to a per-user inbox row and a
+-- materialized unread counter, so streams, listings and badges only touch the caller's data.
+
+ALTER TABLE dashboard_events ADD COLUMN IF NOT EXISTS audience_roles jsonb;
+ALTER TABLE dashboard_events ADD COLUMN IF NOT EXISTS audience_user_id bigint;
+
+CREATE TABLE IF NOT EXISTS dashboard_event_recipients (
+    id         bigserial PRIMARY KEY,
+    event_id   uuid      NOT NULL REFERENCES dashboard_events (id) ON DELETE CASCADE,
+    user_id    bigint    NOT NULL,
+    is_read    boolean   NOT NULL DEFAULT false,
+    read_at    timestamp,
+    created_at timestamp NOT NULL,
+    CONSTRAINT uk_dashboard_event_recipient UNIQUE (event_id, user_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_dashboard_event_recipients_user_created
+    ON dashboard_event_recipients (user_id, created_at);
+
+CREATE TABLE IF NOT EXISTS dashboard_unread_counters (
+    user_id      bigint PRIMARY KEY,
+    unread_count integer   NOT NULL DEFAULT 0,
+    updated_at   timestamp
+);
+
+-- Existing events were admin-wide; hand them to current admins with the old shared read flag.
+UPDATE dashboard_events
+SET audience_roles = '["ROLE_SUPER_ADMIN", "ROLE_SCHOOL_ADMIN", "ROLE_ADMIN"]'::jsonb
+WHERE audience_roles IS NULL AND audience_user_id IS NULL;
+
+INSERT INTO dashboard_event_recipients (event_id, user_id, is_read, created_at)
+SELECT DISTINCT e.id, u.id, COALESCE(e.is_read, false), COALESCE(e.created_at, now())
+FROM dashboard_events e
+CROSS JOIN users u
+JOIN user_roles ur ON ur.id = u.id
+JOIN roles r ON r.id = ur.role_id
+WHERE u.is_active = true
+  AND r.name IN ('ROLE_SUPER_ADMIN', 'ROLE_SCHOOL_ADMIN', 'ROLE_ADMIN')
+ON CONFLICT (event_id, user_id) DO NOTHING;
+
+INSERT INTO dashboard_unread_counters (user_id, unread_count, updated_at)
+SELECT user_id, COUNT(*), now()
+FROM dashboard_event_recipients
+WHERE is_read = false
+GROUP BY user_id
+ON CONFLICT (user_id) DO UPDATE
+SET unread_count = EXCLUDED.unread_count, updated_at = now();
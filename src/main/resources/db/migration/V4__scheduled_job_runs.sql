@@ -0,0 +1,18 @@
+-- Run history for cluster-leased scheduled jobs; also the source of truth for missed-run catch-up.
+
+CREATE TABLE IF NOT EXISTS scheduled_job_runs (
+    id            bigserial PRIMARY KEY,
+    job_name      varchar(100)  NOT NULL,
+    scheduled_for timestamp     NOT NULL,
+    node_id       varchar(100)  NOT NULL,
+    started_at    timestamp     NOT NULL,
+    finished_at   timestamp     NOT NULL,
+    duration_ms   bigint        NOT NULL,
+    rows_touched  integer       NOT NULL,
+    outcome       varchar(20)   NOT NULL,
+    catch_up      boolean       NOT NULL DEFAULT false,
+    error_message varchar(1000)
+);
+
+CREATE INDEX IF NOT EXISTS idx_scheduled_job_runs_job_scheduled
+    ON scheduled_job_runs (job_name, scheduled_for);
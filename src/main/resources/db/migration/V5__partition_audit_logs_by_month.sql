@@ -0,0 +1,66 @@
+-- audit_logs becomes range-partitioned by month on event_timestamp (UTC month bounds), so date filters prune
+-- partitions and retention drops whole partitions. AuditPartitionManager keeps partitions created ahead and drops
+-- expired ones; bounds here must match the ones it generates.
+
+DO $$
+DECLARE
+    has_legacy  boolean := to_regclass('public.audit_logs') IS NOT NULL;
+    first_month date    := date_trunc('month', now() AT TIME ZONE 'UTC')::date;
+    last_month  date    := (date_trunc('month', now() AT TIME ZONE 'UTC') + interval '3 months')::date;
+    m           date;
+BEGIN
+    IF has_legacy AND EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'public.audit_logs'::regclass) THEN
+        RETURN;
+    END IF;
+
+    CREATE SEQUENCE IF NOT EXISTS audit_logs_id_seq;
+
+    IF has_legacy THEN
+        ALTER TABLE audit_logs RENAME TO audit_logs_unpartitioned;
+        ALTER SEQUENCE audit_logs_id_seq OWNED BY NONE;
+        SELECT LEAST(first_month, COALESCE(date_trunc('month', MIN(event_timestamp) AT TIME ZONE 'UTC')::date, first_month))
+        INTO first_month
+        FROM audit_logs_unpartitioned;
+    END IF;
+
+    CREATE TABLE audit_logs (
+        id                  bigint       NOT NULL DEFAULT nextval('audit_logs_id_seq'),
+        actor_username      varchar(100),
+        actor_role          varchar(100),
+        action              varchar(100) NOT NULL,
+        entity_type         varchar(100),
+        entity_id           varchar(120),
+        entity_display_name varchar(255),
+        change_payload      text,
+        ip_address          varchar(64),
+        user_agent          varchar(500),
+        event_timestamp     timestamptz  NOT NULL,
+        PRIMARY KEY (id, event_timestamp)
+    ) PARTITION BY RANGE (event_timestamp);
+
+    m := first_month;
+    WHILE m <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L)',
+            'audit_logs_y' || to_char(m, 'YYYY') || 'm' || to_char(m, 'MM'),
+            m::text || ' 00:00:00+00',
+            (m + interval '1 month')::date::text || ' 00:00:00+00');
+        m := (m + interval '1 month')::date;
+    END LOOP;
+
+    IF has_legacy THEN
+        INSERT INTO audit_logs (id, actor_username, actor_role, action, entity_type, entity_id, entity_display_name,
+                                change_payload, ip_address, user_agent, event_timestamp)
+        SELECT id, actor_username, actor_role, action, entity_type, entity_id, entity_display_name,
+               change_payload, ip_address, user_agent, event_timestamp
+        FROM audit_logs_unpartitioned;
+        DROP TABLE audit_logs_unpartitioned;
+    END IF;
+END $$;
+
+-- Matched to the audit search filters; every index ends in the keyset order (event_timestamp DESC, id DESC).
+CREATE INDEX IF NOT EXISTS idx_audit_logs_ts_id ON audit_logs (event_timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_action_ts ON audit_logs (action, event_timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_entity_type_ts ON audit_logs (entity_type, event_timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_actor_ts
+    ON audit_logs (lower(actor_username) text_pattern_ops, event_timestamp DESC, id DESC);
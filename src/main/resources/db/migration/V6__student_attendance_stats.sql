@@ -0,0 +1,14 @@
+-- Per-student absence streak and rolling attendance counters, maintained on every attendance write and
+-- rolled forward nightly so teacher dashboards read them instead of walking attendance history.
+
+CREATE TABLE IF NOT EXISTS student_attendance_stats (
+    student_id       bigint    PRIMARY KEY,
+    absence_streak   integer   NOT NULL DEFAULT 0,
+    last_marked_date date,
+    as_of_date       date      NOT NULL,
+    window_present   integer   NOT NULL DEFAULT 0,
+    window_total     integer   NOT NULL DEFAULT 0,
+    year_present     integer   NOT NULL DEFAULT 0,
+    year_total       integer   NOT NULL DEFAULT 0,
+    updated_at       timestamp NOT NULL
+);
@@ -0,0 +1,18 @@
+-- Transactional outbox for SNS notifications: rows are written with the change they announce and
+-- published in batches by the dispatcher.
+
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id              bigserial     PRIMARY KEY,
+    topic_arn       varchar(256)  NOT NULL,
+    event_type      varchar(64)   NOT NULL,
+    payload         text          NOT NULL,
+    status          varchar(16)   NOT NULL,
+    attempts        integer       NOT NULL DEFAULT 0,
+    next_attempt_at timestamp     NOT NULL,
+    last_error      varchar(1000),
+    created_at      timestamp     NOT NULL,
+    sent_at         timestamp
+);
+
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_status_next
+    ON notification_outbox (status, next_attempt_at);
@@ -0,0 +1,27 @@
+-- Bulk invoicing runs: scope, progress counters and the student-id cursor each chunk commits with its invoices.
+
+CREATE TABLE IF NOT EXISTS invoice_generation_runs (
+    id                 bigserial      PRIMARY KEY,
+    class_id           bigint,
+    section_id         bigint,
+    fee_structure_id   bigint,
+    issue_date         date           NOT NULL,
+    due_date           date           NOT NULL,
+    status             varchar(20)    NOT NULL,
+    last_student_id    bigint         NOT NULL DEFAULT 0,
+    total_students     bigint         NOT NULL DEFAULT 0,
+    processed_students bigint         NOT NULL DEFAULT 0,
+    invoices_created   bigint         NOT NULL DEFAULT 0,
+    skipped_students   bigint         NOT NULL DEFAULT 0,
+    total_billed       numeric(14, 2) NOT NULL DEFAULT 0,
+    total_discount     numeric(14, 2) NOT NULL DEFAULT 0,
+    error_message      varchar(1000),
+    started_by         varchar(100),
+    started_at         timestamp,
+    updated_at         timestamp,
+    completed_at       timestamp
+);
+
+-- At most one live run: two runs over overlapping scopes could otherwise bill the same student twice.
+CREATE UNIQUE INDEX IF NOT EXISTS uq_invoice_generation_runs_running
+    ON invoice_generation_runs (status) WHERE status = 'RUNNING';
@@ -0,0 +1,12 @@
+-- Finance document number sequences (invoice, receipt, journal, PO, GRN, bill), per school and financial year.
+-- Replaces timestamp- and count+1-based numbers, which collide under concurrent posting.
+
+CREATE TABLE IF NOT EXISTS document_sequences (
+    id             bigserial   PRIMARY KEY,
+    school_id      bigint      NOT NULL,
+    series         varchar(30) NOT NULL,
+    financial_year integer     NOT NULL,
+    next_value     bigint      NOT NULL,
+    updated_at     timestamp   NOT NULL,
+    CONSTRAINT uq_document_sequences_key UNIQUE (school_id, series, financial_year)
+);
@@ -0,0 +1,158 @@
+package com.project.edusync.ams.model.repository;
+
+import com.project.edusync.support.PostgresTestSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Runs the native stats upsert against PostgreSQL; set {@code EDUSYNC_TEST_DB_URL} to enable. */
+@EnabledIfEnvironmentVariable(named = PostgresTestSchema.URL_VARIABLE, matches = ".+")
+class StudentAttendanceStatsRepositoryTest {
+
+    private static final long PRESENT = 1L;
+    private static final long ABSENT = 2L;
+    private static final long EXCUSED = 3L;
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 16);
+
+    private PostgresTestSchema db;
+
+    @BeforeEach
+    void setUp() {
+        db = PostgresTestSchema.create();
+        db.execute("""
+                CREATE TABLE attendance_types (
+                    id BIGINT PRIMARY KEY, is_present_mark BOOLEAN, is_absence_mark BOOLEAN);
+                CREATE TABLE student_daily_attendance (
+                    student_id BIGINT NOT NULL, attendance_date DATE NOT NULL, type_id BIGINT NOT NULL,
+                    PRIMARY KEY (student_id, attendance_date));
+                CREATE TABLE student_attendance_stats (
+                    student_id BIGINT PRIMARY KEY, absence_streak INT NOT NULL, last_marked_date DATE,
+                    as_of_date DATE NOT NULL, window_present INT NOT NULL, window_total INT NOT NULL,
+                    year_present INT NOT NULL, year_total INT NOT NULL, updated_at TIMESTAMP NOT NULL);
+                INSERT INTO attendance_types VALUES (1, true, false), (2, false, true), (3, false, false)
+                """);
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.close();
+    }
+
+    @Test
+    void streakCountsAbsencesSinceTheLastNonAbsenceMark() {
+        mark(7L, TODAY.minusDays(3), ABSENT);
+        mark(7L, TODAY.minusDays(2), PRESENT);
+        mark(7L, TODAY.minusDays(1), ABSENT);
+        mark(7L, TODAY, ABSENT);
+
+        refresh(7L);
+
+        assertEquals(2, stat(7L, "absence_streak"));
+        assertEquals(Date.valueOf(TODAY), db.jdbc().queryForObject(
+                "SELECT last_marked_date FROM student_attendance_stats WHERE student_id = 7", Date.class));
+    }
+
+    @Test
+    void attendanceAfterAbsencesResetsTheStreak() {
+        mark(7L, TODAY.minusDays(2), ABSENT);
+        mark(7L, TODAY.minusDays(1), ABSENT);
+        refresh(7L);
+        assertEquals(2, stat(7L, "absence_streak"));
+
+        mark(7L, TODAY, PRESENT);
+        refresh(7L);
+
+        assertEquals(0, stat(7L, "absence_streak"));
+    }
+
+    @Test
+    void nonPresentNonAbsentMarkAlsoEndsTheStreak() {
+        mark(7L, TODAY.minusDays(1), ABSENT);
+        mark(7L, TODAY, EXCUSED);
+
+        refresh(7L);
+
+        assertEquals(0, stat(7L, "absence_streak"));
+        assertEquals(0, stat(7L, "window_present"));
+        assertEquals(2, stat(7L, "window_total"));
+    }
+
+    @Test
+    void backdatedEditRecomputesAnExistingStreak() {
+        mark(7L, TODAY.minusDays(3), ABSENT);
+        mark(7L, TODAY.minusDays(2), PRESENT);
+        mark(7L, TODAY.minusDays(1), ABSENT);
+        mark(7L, TODAY, ABSENT);
+        refresh(7L);
+        assertEquals(2, stat(7L, "absence_streak"));
+
+        // The present mark two days ago is corrected to an absence: the streak now runs back four days.
+        db.jdbc().update("UPDATE student_daily_attendance SET type_id = ? WHERE student_id = 7 AND attendance_date = ?",
+                ABSENT, Date.valueOf(TODAY.minusDays(2)));
+        refresh(7L);
+        assertEquals(4, stat(7L, "absence_streak"));
+
+        // And a backdated insert of a present mark inside the run splits it again.
+        db.jdbc().update("DELETE FROM student_daily_attendance WHERE student_id = 7 AND attendance_date = ?",
+                Date.valueOf(TODAY.minusDays(1)));
+        mark(7L, TODAY.minusDays(1), PRESENT);
+        refresh(7L);
+        assertEquals(1, stat(7L, "absence_streak"));
+    }
+
+    @Test
+    void windowAndYearCountersRespectTheirBounds() {
+        mark(7L, TODAY.minusDays(30), PRESENT);                 // outside the 30-day window
+        mark(7L, TODAY.minusDays(29), PRESENT);                 // first day of the window
+        mark(7L, TODAY.minusDays(1), ABSENT);
+        mark(7L, TODAY.withDayOfYear(1).minusDays(1), PRESENT); // last year
+        mark(7L, TODAY.plusDays(1), ABSENT);                    // after asOf, ignored
+
+        refresh(7L);
+
+        assertEquals(1, stat(7L, "window_present"));
+        assertEquals(2, stat(7L, "window_total"));
+        assertEquals(2, stat(7L, "year_present"));
+        assertEquals(3, stat(7L, "year_total"));
+        assertEquals(1, stat(7L, "absence_streak"));
+    }
+
+    @Test
+    void refreshTouchesOnlyTheListedStudents() {
+        mark(7L, TODAY, ABSENT);
+        mark(8L, TODAY, ABSENT);
+
+        refresh(7L);
+
+        assertEquals(List.of(7L), db.jdbc().queryForList(
+                "SELECT student_id FROM student_attendance_stats ORDER BY student_id", Long.class));
+    }
+
+    private void mark(long studentId, LocalDate date, long typeId) {
+        db.jdbc().update("INSERT INTO student_daily_attendance (student_id, attendance_date, type_id) VALUES (?, ?, ?)",
+                studentId, Date.valueOf(date), typeId);
+    }
+
+    private void refresh(Long... studentIds) {
+        db.namedJdbc().update(StudentAttendanceStatsRepository.UPSERT_FOR_STUDENTS, new MapSqlParameterSource(Map.of(
+                "studentIds", List.of(studentIds),
+                "asOf", Date.valueOf(TODAY),
+                "windowStart", Date.valueOf(TODAY.minusDays(29)),
+                "yearStart", Date.valueOf(TODAY.withDayOfYear(1)))));
+    }
+
+    private int stat(long studentId, String column) {
+        Integer value = db.jdbc().queryForObject(
+                "SELECT " + column + " FROM student_attendance_stats WHERE student_id = ?", Integer.class, studentId);
+        return value == null ? 0 : value;
+    }
+}
@@ -8,10 +8,12 @@ import com.project.edusync.ams.model.repository.AbsenceDocumentationRepository;
 import com.project.edusync.ams.model.repository.AttendanceTypeRepository;
 import com.project.edusync.ams.model.repository.StudentDailyAttendanceRepository;
 import com.project.edusync.ams.model.service.AttendanceEditWindowService;
+import com.project.edusync.ams.model.service.StudentAttendanceStatsService;
 import com.project.edusync.adm.model.entity.AcademicClass;
 import com.project.edusync.adm.model.entity.Section;
 import com.project.edusync.adm.repository.AcademicClassRepository;
 import com.project.edusync.adm.repository.SectionRepository;
+import com.project.edusync.common.cache.CacheTagIndex;
 import com.project.edusync.em.model.repository.ExamScheduleRepository;
 import com.project.edusync.hrms.repository.AcademicCalendarEventRepository;
 import com.project.edusync.uis.model.entity.Student;
@@ -73,6 +75,12 @@ class StudentAttendanceServiceImplTest {
     @Mock
     private ExamScheduleRepository examScheduleRepository;
 
+    @Mock
+    private CacheTagIndex cacheTagIndex;
+
+    @Mock
+    private StudentAttendanceStatsService attendanceStatsService;
+
     @InjectMocks
     private StudentAttendanceServiceImpl service;
 
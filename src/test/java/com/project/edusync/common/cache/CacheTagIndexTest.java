@@ -0,0 +1,188 @@
+package com.project.edusync.common.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CacheTagIndexTest {
+
+    private static final String CACHE = "dashboard";
+
+    /** Just enough Redis for the index: tag sets and generation counters. */
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> sets = new ConcurrentHashMap<>();
+
+    private CacheTagIndex index;
+    private Cache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        when(redis.executePipelined(any(RedisCallback.class))).thenAnswer(inv -> pipeline(inv.getArgument(0)));
+        when(redis.execute(any(RedisScript.class), anyList(), any())).thenAnswer(inv -> drain(inv.getArgument(1)));
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+        when(redis.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyCollection())).thenAnswer(inv ->
+                ((Collection<String>) inv.getArgument(0)).stream().map(values::get).toList());
+
+        TwoTierCacheManager cacheManager = new TwoTierCacheManager(new ConcurrentMapCacheManager(),
+                new TwoTierCacheProperties(), redis, new ObjectMapper(), "edusync:test:cache:l1-invalidation",
+                mock(CacheLoadCoordinator.class), () -> index);
+        index = new CacheTagIndex(redis, cacheManager);
+        ReflectionTestUtils.setField(index, "cacheVersion", "test");
+        cache = cacheManager.getCache(CACHE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void invalidatingATagEvictsTheEntriesTaggedWithIt() {
+        assertInstanceOf(TaggedCache.class, cache);
+        load("7", "summary", CacheTags.student(1L));
+        load("8", "other", CacheTags.student(2L));
+
+        index.invalidate(CacheTags.student(1L));
+
+        assertNull(cache.get("7"));
+        assertEquals("other", cache.get("8", String.class));
+    }
+
+    @Test
+    void invalidateBetweenTagAndPutEvictsTheValueOnPut() {
+        index.tag(CACHE, "7", CacheTags.student(1L));
+        index.invalidate(CacheTags.student(1L)); // nothing stored yet, so nothing to evict
+        cache.put("7", "built before the write");
+
+        assertNull(cache.get("7"));
+    }
+
+    @Test
+    void concurrentReaderRetaggingDoesNotHideTheInvalidate() throws Exception {
+        index.tag(CACHE, "7", CacheTags.student(1L));
+        index.invalidate(CacheTags.student(1L));
+
+        // A second reader starts after the write and tags the same entry again before the first one stores.
+        Thread fresh = new Thread(() -> index.tag(CACHE, "7", CacheTags.student(1L)));
+        fresh.start();
+        fresh.join(5_000);
+        cache.put("7", "built before the write");
+
+        assertNull(cache.get("7"));
+    }
+
+    @Test
+    void invalidatingAnotherTagKeepsTheValue() {
+        index.tag(CACHE, "7", CacheTags.student(1L));
+        index.invalidate(CacheTags.student(2L));
+        cache.put("7", "summary");
+
+        assertEquals("summary", cache.get("7", String.class));
+    }
+
+    @Test
+    void invalidateInsideATransactionEvictsOnlyAfterCommit() {
+        load("7", "summary", CacheTags.student(1L));
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.invalidate(CacheTags.student(1L));
+        assertEquals("summary", cache.get("7", String.class), "readers keep the entry until the write commits");
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertNull(cache.get("7"));
+    }
+
+    @Test
+    void rolledBackInvalidateLeavesTheEntry() {
+        load("7", "summary", CacheTags.student(1L));
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.invalidate(CacheTags.student(1L));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals("summary", cache.get("7", String.class));
+    }
+
+    @Test
+    void keyEvictionWaitsForCommitToo() {
+        cache.put("7", "summary");
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.evict(CACHE, List.of("7", "7"));
+        assertEquals("summary", cache.get("7", String.class));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertNull(cache.get("7"));
+    }
+
+    /** A cache miss as {@code @Cacheable} runs it: the method body tags, then the interceptor puts. */
+    private void load(String key, String value, String... tags) {
+        index.tag(CACHE, key, tags);
+        cache.put(key, value);
+    }
+
+    private List<Object> pipeline(RedisCallback<?> callback) {
+        List<Object> replies = new ArrayList<>();
+        StringRedisConnection connection = mock(StringRedisConnection.class, inv -> {
+            Object[] args = inv.getArguments();
+            switch (inv.getMethod().getName()) {
+                case "get" -> replies.add(values.get((String) args[0]));
+                case "sAdd" -> {
+                    Set<String> members = sets.computeIfAbsent((String) args[0], k -> ConcurrentHashMap.newKeySet());
+                    Arrays.stream(args, 1, args.length).forEach(member -> members.add((String) member));
+                    replies.add(1L);
+                }
+                case "expire" -> replies.add(true);
+                default -> throw new UnsupportedOperationException(inv.getMethod().getName());
+            }
+            return null;
+        });
+        callback.doInRedis(connection);
+        return replies;
+    }
+
+    private List<String> drain(List<String> keys) {
+        List<String> members = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i += 2) {
+            members.addAll(sets.getOrDefault(keys.get(i), new HashSet<>()));
+            sets.remove(keys.get(i));
+            values.merge(keys.get(i + 1), "1", (current, one) -> String.valueOf(Long.parseLong(current) + 1));
+        }
+        return members;
+    }
+}
@@ -0,0 +1,97 @@
+package com.project.edusync.common.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RefreshAheadCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CacheLoadCoordinator coordinator;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+
+        meterRegistry = new SimpleMeterRegistry();
+        coordinator = new CacheLoadCoordinator(
+                stringRedisTemplate,
+                meterRegistry,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                Runnable::run,
+                "edusync:test:cache:lease:"
+        );
+    }
+
+    @Test
+    void concurrentMissesShareSingleLoad() throws Exception {
+        RefreshAheadCache cache = new RefreshAheadCache(new ConcurrentMapCache("hrmsDashboardSummary"), spec(null), coordinator);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return cache.get("summary", () -> {
+                        loads.incrementAndGet();
+                        Thread.sleep(200);
+                        return "computed";
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<String> result : results) {
+                assertEquals("computed", result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(1, meterRegistry.get("edusync.cache.load").tag("cache", "hrmsDashboardSummary").timer().count());
+    }
+
+    @Test
+    void staleHitServesCurrentValueAndRefreshesInBackground() {
+        RefreshAheadCache cache = new RefreshAheadCache(new ConcurrentMapCache("masterDashboardAnalytics"), spec(Duration.ZERO), coordinator);
+
+        assertEquals("v1", cache.get("master", () -> "v1"));
+        // Entry is immediately due; the hit still returns v1 while the (inline) refresh stores v2.
+        assertEquals("v1", cache.get("master", () -> "v2"));
+        assertEquals("v2", cache.get("master", String.class));
+    }
+
+    private TwoTierCacheProperties.Spec spec(Duration refreshAfter) {
+        TwoTierCacheProperties.Spec spec = new TwoTierCacheProperties.Spec();
+        spec.setSingleFlight(true);
+        spec.setRefreshAfter(refreshAfter);
+        return spec;
+    }
+}
@@ -0,0 +1,91 @@
+package com.project.edusync.common.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TwoTierCacheManagerTest {
+
+    private static final String CHANNEL = "edusync:test:cache:l1-invalidation";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ConcurrentMapCacheManager remoteCacheManager;
+    private StringRedisTemplate stringRedisTemplate;
+    private TwoTierCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        remoteCacheManager = new ConcurrentMapCacheManager();
+        stringRedisTemplate = mock(StringRedisTemplate.class);
+
+        TwoTierCacheProperties.Spec spec = new TwoTierCacheProperties.Spec();
+        spec.setMaxSize(100);
+        spec.setTtl(Duration.ofMinutes(1));
+        TwoTierCacheProperties properties = new TwoTierCacheProperties();
+        properties.getCaches().put("dashboard", spec);
+
+        cacheManager = new TwoTierCacheManager(remoteCacheManager, properties, stringRedisTemplate, objectMapper, CHANNEL,
+                mock(CacheLoadCoordinator.class));
+    }
+
+    @Test
+    void servesRepeatReadsFromLocalTier() {
+        Cache cache = cacheManager.getCache("dashboard");
+        assertInstanceOf(TwoTierCache.class, cache);
+
+        remoteCacheManager.getCache("dashboard").put(7L, "summary");
+        assertEquals("summary", cache.get(7L, String.class));
+
+        // Redis entry disappears without a broadcast (e.g. TTL): L1 still answers until its own TTL.
+        remoteCacheManager.getCache("dashboard").evict(7L);
+        assertEquals("summary", cache.get(7L, String.class));
+    }
+
+    @Test
+    void evictClearsBothTiersAndBroadcasts() {
+        Cache cache = cacheManager.getCache("dashboard");
+        cache.put(7L, "summary");
+
+        cache.evict(7L);
+
+        assertNull(cache.get(7L));
+        verify(stringRedisTemplate, times(2)).convertAndSend(eq(CHANNEL), anyString());
+    }
+
+    @Test
+    void peerInvalidationDropsLocalCopyOnly() throws Exception {
+        Cache cache = cacheManager.getCache("dashboard");
+        cache.put(7L, "summary");
+        remoteCacheManager.getCache("dashboard").evict(7L);
+
+        String payload = objectMapper.writeValueAsString(
+                new TwoTierCacheManager.InvalidationMessage("other-node", "dashboard", "7"));
+        cacheManager.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                payload.getBytes(StandardCharsets.UTF_8)), null);
+
+        assertNull(cache.get(7L));
+    }
+
+    @Test
+    void cachesWithoutLocalSpecAreNotDecorated() {
+        Cache cache = cacheManager.getCache("examTemplates");
+        assertFalse(cache instanceof TwoTierCache);
+    }
+}
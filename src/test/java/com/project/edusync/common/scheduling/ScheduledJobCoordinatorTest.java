@@ -0,0 +1,136 @@
+package com.project.edusync.common.scheduling;
+
+import com.project.edusync.common.scheduling.model.JobRunOutcome;
+import com.project.edusync.common.scheduling.model.ScheduledJobRun;
+import com.project.edusync.common.scheduling.repository.ScheduledJobRunRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ScheduledJobCoordinatorTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Kolkata");
+
+    private ValueOperations<String, String> valueOperations;
+    private ScheduledJobRunRepository runRepository;
+    private PlatformTransactionManager transactionManager;
+    private ScheduledJobCoordinator coordinator;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        runRepository = mock(ScheduledJobRunRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        coordinator = new ScheduledJobCoordinator(new ScheduledJobProperties(), runRepository, stringRedisTemplate,
+                transactionManager, new SimpleMeterRegistry(), mock(ObjectProvider.class));
+    }
+
+    @Test
+    void latestFireFindsMostRecentFireInsideLookback() {
+        ScheduledJobDefinition nightly = ScheduledJobDefinition.of("nightly", "0 30 23 * * ?", Duration.ofHours(1));
+        ZonedDateTime nextMorning = ZonedDateTime.of(2026, 3, 11, 8, 0, 0, 0, ZONE);
+
+        assertEquals(ZonedDateTime.of(2026, 3, 10, 23, 30, 0, 0, ZONE),
+                ScheduledJobCoordinator.latestFire(nightly, nextMorning, Duration.ofHours(10)));
+        assertNull(ScheduledJobCoordinator.latestFire(nightly, nextMorning, Duration.ofHours(1)));
+    }
+
+    @Test
+    void triggerSkipsFireClaimedByAnotherNode() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+        CountingJob job = new CountingJob(0);
+
+        coordinator.trigger(job);
+
+        assertEquals(0, job.runs.get());
+        verify(runRepository, never()).save(any());
+    }
+
+    @Test
+    void triggerRecordsRunWithRowsTouched() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        CountingJob job = new CountingJob(7);
+
+        coordinator.trigger(job);
+
+        ArgumentCaptor<ScheduledJobRun> run = ArgumentCaptor.forClass(ScheduledJobRun.class);
+        verify(runRepository).save(run.capture());
+        assertEquals(1, job.runs.get());
+        assertEquals(7, run.getValue().getRowsTouched());
+        assertEquals(JobRunOutcome.SUCCEEDED, run.getValue().getOutcome());
+    }
+
+    @Test
+    void jobsSetTheirOwnTransactionBoundariesByDefault() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+
+        coordinator.trigger(new CountingJob(3));
+
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    void transactionalDefinitionRunsTheFireInOneTransaction() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        CountingJob job = new CountingJob(3, true);
+
+        coordinator.trigger(job);
+
+        assertEquals(1, job.runs.get());
+        verify(transactionManager).getTransaction(any());
+        verify(transactionManager).commit(any());
+    }
+
+    private static final class CountingJob implements LeasedJob {
+
+        private final AtomicInteger runs = new AtomicInteger();
+        private final int rows;
+        private final boolean transactional;
+
+        private CountingJob(int rows) {
+            this(rows, false);
+        }
+
+        private CountingJob(int rows, boolean transactional) {
+            this.rows = rows;
+            this.transactional = transactional;
+        }
+
+        @Override
+        public ScheduledJobDefinition definition() {
+            // Fires every second so a trigger from the test always has a current fire.
+            ScheduledJobDefinition definition =
+                    ScheduledJobDefinition.of("every-second", "* * * * * ?", Duration.ofSeconds(30));
+            return transactional ? definition.inTransaction() : definition;
+        }
+
+        @Override
+        public int execute(LocalDateTime scheduledFor) {
+            runs.incrementAndGet();
+            return rows;
+        }
+    }
+}
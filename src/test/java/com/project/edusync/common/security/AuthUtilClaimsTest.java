@@ -2,6 +2,7 @@ package com.project.edusync.common.security;
 
 import com.project.edusync.iam.model.entity.Permission;
 import com.project.edusync.iam.model.entity.Role;
+import io.jsonwebtoken.security.SignatureException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -14,6 +15,8 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class AuthUtilClaimsTest {
@@ -58,4 +61,30 @@ class AuthUtilClaimsTest {
 
         assertEquals(academicYearId, authUtil.getCurrentAcademicYearId());
     }
+
+    @Test
+    void verifiedClaimsAreParsedOnceAndTamperedTokensRejected() {
+        AuthUtil authUtil = new AuthUtil();
+        ReflectionTestUtils.setField(authUtil, "secretKey", "01234567890123456789012345678901");
+        ReflectionTestUtils.setField(authUtil, "jwtExpirationTime", 3600000L);
+        authUtil.init();
+
+        Role role = new Role();
+        role.setName("ROLE_TEACHER");
+        String token = authUtil.generateAccessToken("teacher.user", Set.of(role), 7L, 2026L);
+
+        VerifiedClaims claims = authUtil.verify(token);
+        assertEquals("teacher.user", claims.username());
+        assertEquals(7L, claims.userId());
+        assertEquals(2026L, claims.academicYearId());
+        assertTrue(claims.authorities().contains("ROLE_TEACHER"));
+        assertSame(claims, authUtil.verify(token));
+
+        AuthUtil otherIssuer = new AuthUtil();
+        ReflectionTestUtils.setField(otherIssuer, "secretKey", "abcdefghijklmnopqrstuvwxyz012345");
+        ReflectionTestUtils.setField(otherIssuer, "jwtExpirationTime", 3600000L);
+        otherIssuer.init();
+        String forged = otherIssuer.generateAccessToken("teacher.user", Set.of(role), 7L, 2026L);
+        assertThrows(SignatureException.class, () -> authUtil.verify(forged));
+    }
 }
@@ -0,0 +1,124 @@
+package com.project.edusync.common.security;
+
+import com.project.edusync.iam.model.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PermissionVersionServiceTest {
+
+    private final Map<String, String> redis = new HashMap<>();
+    private CustomUserDetailService customUserDetailService;
+    private ValueOperations<String, String> valueOperations;
+    private PermissionVersionService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString()))
+                .thenAnswer(inv -> redis.putIfAbsent(inv.getArgument(0), inv.getArgument(1)) == null);
+        when(valueOperations.multiGet(any()))
+                .thenAnswer(inv -> ((Collection<String>) inv.getArgument(0)).stream().map(redis::get).toList());
+        when(valueOperations.increment(anyString()))
+                .thenAnswer(inv -> Long.parseLong(redis.merge(inv.getArgument(0), "1",
+                        (a, b) -> String.valueOf(Long.parseLong(a) + 1))));
+
+        customUserDetailService = mock(CustomUserDetailService.class);
+        service = new PermissionVersionService(stringRedisTemplate, customUserDetailService);
+    }
+
+    @Test
+    void stampCreatesCountersAndReturnsCurrentVersion() {
+        PermissionVersion stamped = service.stamp(7L);
+
+        assertNotNull(stamped);
+        assertEquals(stamped, service.current(7L).orElseThrow());
+        assertEquals(stamped, service.stamp(7L), "re-stamping must not reset existing counters");
+    }
+
+    @Test
+    void missingCounterIsNeverCurrent() {
+        service.stamp(7L);
+        redis.remove("edusync:auth:perm-version:user:7");
+
+        assertTrue(service.current(7L).isEmpty());
+    }
+
+    @Test
+    void bumpUserInvalidatesOnlyThatUser() {
+        PermissionVersion alice = service.stamp(7L);
+        PermissionVersion bob = service.stamp(8L);
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("alice");
+
+        service.bumpUser(user);
+
+        assertNotEquals(alice, service.current(7L).orElseThrow());
+        assertEquals(bob, service.current(8L).orElseThrow());
+        verify(customUserDetailService).evict("alice");
+    }
+
+    @Test
+    void bumpAllInvalidatesEveryUser() {
+        PermissionVersion alice = service.stamp(7L);
+        PermissionVersion bob = service.stamp(8L);
+
+        service.bumpAll();
+
+        assertNotEquals(alice, service.current(7L).orElseThrow());
+        assertNotEquals(bob, service.current(8L).orElseThrow());
+        verify(customUserDetailService).evictAll();
+    }
+
+    @Test
+    void countersRecreatedAfterFlushDoNotRevalidateOldTokens() {
+        // Counters from before the flush, still low because they started near zero.
+        redis.put("edusync:auth:perm-version:epoch", "0");
+        redis.put("edusync:auth:perm-version:user:7", "0");
+        PermissionVersion beforeFlush = service.stamp(7L);
+
+        redis.clear();
+        PermissionVersion afterFlush = service.stamp(7L);
+
+        assertEquals(new PermissionVersion(0, 0), beforeFlush);
+        assertNotEquals(beforeFlush, afterFlush);
+        assertTrue(afterFlush.epoch() > 0 && afterFlush.user() > 0);
+    }
+
+    @Test
+    void stampReturnsNullWhenRedisIsDown() {
+        when(valueOperations.setIfAbsent(anyString(), anyString())).thenThrow(new IllegalStateException("down"));
+
+        assertNull(service.stamp(7L));
+    }
+
+    @Test
+    void currentIsEmptyWhenRedisIsDown() {
+        service.stamp(7L);
+        when(valueOperations.multiGet(List.of("edusync:auth:perm-version:epoch", "edusync:auth:perm-version:user:7")))
+                .thenThrow(new IllegalStateException("down"));
+
+        assertTrue(service.current(7L).isEmpty());
+    }
+}
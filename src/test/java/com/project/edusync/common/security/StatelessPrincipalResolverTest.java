@@ -0,0 +1,115 @@
+package com.project.edusync.common.security;
+
+import com.project.edusync.iam.model.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StatelessPrincipalResolverTest {
+
+    private static final PermissionVersion VERSION = new PermissionVersion(1_000L, 1_002L);
+
+    private StatelessPrincipalProperties properties;
+    private PermissionVersionService permissionVersionService;
+    private CustomUserDetailService customUserDetailService;
+    private StatelessPrincipalResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        properties = new StatelessPrincipalProperties();
+        properties.setEnabled(true);
+        permissionVersionService = mock(PermissionVersionService.class);
+        customUserDetailService = mock(CustomUserDetailService.class);
+        resolver = new StatelessPrincipalResolver(properties, permissionVersionService, customUserDetailService);
+        when(permissionVersionService.current(7L)).thenReturn(Optional.of(VERSION));
+    }
+
+    @Test
+    void currentVersionOnEligibleRequestBuildsTokenPrincipal() {
+        TokenPrincipal principal = resolver.resolve(get("/api/v1/teacher/dashboard/summary"), claims(VERSION));
+
+        assertNotNull(principal);
+        assertEquals(7L, principal.getId());
+        assertEquals("teacher.one", principal.getUsername());
+        assertEquals(List.of("ROLE_TEACHER", "attendance:read"),
+                principal.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        verify(customUserDetailService, never()).loadUserByUsername(any());
+    }
+
+    @Test
+    void userIsLoadedLazilyAndOnce() {
+        User user = new User();
+        when(customUserDetailService.loadUserByUsername("teacher.one")).thenReturn(user);
+        TokenPrincipal principal = resolver.resolve(get("/api/v1/teacher/dashboard/summary"), claims(VERSION));
+
+        assertSame(user, principal.loadUser());
+        assertSame(user, principal.loadUser());
+        verify(customUserDetailService, times(1)).loadUserByUsername("teacher.one");
+    }
+
+    @Test
+    void staleVersionFallsBackToDatabasePath() {
+        PermissionVersion stale = new PermissionVersion(VERSION.epoch(), VERSION.user() - 1);
+
+        assertNull(resolver.resolve(get("/api/v1/teacher/dashboard/summary"), claims(stale)));
+    }
+
+    @Test
+    void missingRedisVersionFallsBackToDatabasePath() {
+        when(permissionVersionService.current(7L)).thenReturn(Optional.empty());
+
+        assertNull(resolver.resolve(get("/api/v1/teacher/dashboard/summary"), claims(VERSION)));
+    }
+
+    @Test
+    void tokenWithoutVersionIsNeverTrusted() {
+        assertNull(resolver.resolve(get("/api/v1/teacher/dashboard/summary"), claims(null)));
+        verify(permissionVersionService, never()).current(any());
+    }
+
+    @Test
+    void disabledResolverNeverTrustsTokens() {
+        properties.setEnabled(false);
+
+        assertNull(resolver.resolve(get("/api/v1/teacher/dashboard/summary"), claims(VERSION)));
+    }
+
+    @Test
+    void pathsOutsideTheAllowListAreIneligible() {
+        assertNull(resolver.resolve(get("/api/v1/finance/invoices"), claims(VERSION)));
+    }
+
+    @Test
+    void unsafeMethodsAreIneligibleUnlessAllowed() {
+        MockHttpServletRequest post = new MockHttpServletRequest("POST", "/api/v1/ams/records/batch");
+        assertNull(resolver.resolve(post, claims(VERSION)));
+
+        properties.setSafeMethodsOnly(false);
+        assertNotNull(resolver.resolve(post, claims(VERSION)));
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    private static VerifiedClaims claims(PermissionVersion version) {
+        return new VerifiedClaims("teacher.one", 7L, 2026L, List.of("ROLE_TEACHER", "attendance:read"),
+                version, Instant.now().plusSeconds(600));
+    }
+}
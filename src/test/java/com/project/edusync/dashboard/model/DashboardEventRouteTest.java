@@ -0,0 +1,65 @@
+package com.project.edusync.dashboard.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DashboardEventRouteTest {
+
+    private static final DashboardEventRoute ADMINS = new DashboardEventRoute(DashboardAudience.ADMINS, null);
+    private static final DashboardEventRoute FINANCE = new DashboardEventRoute(DashboardAudience.FINANCE, null);
+    private static final DashboardEventRoute HRMS = new DashboardEventRoute(DashboardAudience.HRMS, null);
+
+    @Test
+    void everyAdminRoleReceivesEveryAudience() {
+        for (String role : Set.of("ROLE_SUPER_ADMIN", "ROLE_SCHOOL_ADMIN", "ROLE_ADMIN")) {
+            Set<String> authorities = Set.of(role);
+            assertTrue(ADMINS.matches(1L, authorities), role);
+            assertTrue(FINANCE.matches(1L, authorities), role);
+            assertTrue(HRMS.matches(1L, authorities), role);
+        }
+    }
+
+    @Test
+    void departmentAdminsOnlyReceiveTheirOwnAudience() {
+        Set<String> finance = Set.of("ROLE_FINANCE_ADMIN");
+        Set<String> hr = Set.of("ROLE_HR_ADMIN");
+
+        assertTrue(FINANCE.matches(1L, finance));
+        assertFalse(HRMS.matches(1L, finance));
+        assertFalse(ADMINS.matches(1L, finance));
+
+        assertTrue(HRMS.matches(2L, hr));
+        assertFalse(FINANCE.matches(2L, hr));
+        assertFalse(ADMINS.matches(2L, hr));
+    }
+
+    @Test
+    void rolesOutsideEveryAudienceReceiveNothing() {
+        Set<String> teacher = Set.of("ROLE_TEACHER", "ROLE_USER");
+
+        assertFalse(ADMINS.matches(1L, teacher));
+        assertFalse(FINANCE.matches(1L, teacher));
+        assertFalse(HRMS.matches(1L, teacher));
+        assertFalse(new DashboardEventRoute(null, null).matches(1L, Set.of("ROLE_ADMIN")));
+    }
+
+    @Test
+    void userRouteIgnoresRoles() {
+        DashboardEventRoute toUser = new DashboardEventRoute(DashboardAudience.ADMINS, 7L);
+
+        assertTrue(toUser.matches(7L, Set.of("ROLE_TEACHER")));
+        assertFalse(toUser.matches(8L, Set.of("ROLE_ADMIN")));
+    }
+
+    @Test
+    void routeOfAnEventCarriesItsAudience() {
+        DashboardEvent event = DashboardEvent.builder().audienceRoles(DashboardAudience.HRMS).build();
+
+        assertTrue(DashboardEventRoute.of(event).matches(3L, Set.of("ROLE_HR_ADMIN")));
+        assertFalse(DashboardEventRoute.of(event).matches(3L, Set.of("ROLE_FINANCE_ADMIN")));
+    }
+}
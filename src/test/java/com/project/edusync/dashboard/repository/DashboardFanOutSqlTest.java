@@ -0,0 +1,147 @@
+package com.project.edusync.dashboard.repository;
+
+import com.project.edusync.dashboard.model.DashboardAudience;
+import com.project.edusync.support.PostgresTestSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Runs the native fan-out and unread counter statements of {@link DashboardEventRecipientRepository} and
+ * {@link DashboardUnreadCounterRepository} against PostgreSQL; set {@code EDUSYNC_TEST_DB_URL} to enable.
+ */
+@EnabledIfEnvironmentVariable(named = PostgresTestSchema.URL_VARIABLE, matches = ".+")
+class DashboardFanOutSqlTest {
+
+    private static final LocalDateTime AT = LocalDateTime.of(2026, 10, 19, 9, 30);
+
+    private PostgresTestSchema db;
+
+    @BeforeEach
+    void setUp() {
+        db = PostgresTestSchema.create();
+        db.execute("""
+                CREATE TABLE users (id BIGINT PRIMARY KEY, is_active BOOLEAN NOT NULL);
+                CREATE TABLE roles (id BIGINT PRIMARY KEY, name VARCHAR(50) NOT NULL);
+                CREATE TABLE user_roles (id BIGINT NOT NULL, role_id BIGINT NOT NULL);
+                CREATE TABLE dashboard_events (id UUID PRIMARY KEY, created_at TIMESTAMP);
+                CREATE TABLE dashboard_event_recipients (
+                    id BIGSERIAL PRIMARY KEY, event_id UUID NOT NULL REFERENCES dashboard_events (id),
+                    user_id BIGINT NOT NULL, is_read BOOLEAN NOT NULL DEFAULT false, read_at TIMESTAMP,
+                    created_at TIMESTAMP NOT NULL, CONSTRAINT uk_dashboard_event_recipient UNIQUE (event_id, user_id));
+                CREATE TABLE dashboard_unread_counters (
+                    user_id BIGINT PRIMARY KEY, unread_count INTEGER NOT NULL DEFAULT 0, updated_at TIMESTAMP);
+                INSERT INTO roles VALUES (1, 'ROLE_SUPER_ADMIN'), (2, 'ROLE_SCHOOL_ADMIN'), (3, 'ROLE_ADMIN'),
+                    (4, 'ROLE_FINANCE_ADMIN'), (5, 'ROLE_HR_ADMIN'), (6, 'ROLE_TEACHER');
+                INSERT INTO users VALUES (10, true), (11, true), (12, true), (13, true), (14, false);
+                INSERT INTO user_roles VALUES (10, 2), (10, 4), (11, 4), (12, 5), (13, 6), (14, 4)
+                """);
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.close();
+    }
+
+    @Test
+    void roleFanOutCreatesOneRowPerActiveHolder() {
+        UUID finance = event();
+        UUID hr = event();
+
+        // User 10 is school and finance admin, but gets one row; inactive user 14 gets none.
+        assertEquals(2, fanOutToRoles(finance, DashboardAudience.FINANCE));
+        assertEquals(Set.of(10L, 11L), recipients(finance));
+
+        assertEquals(2, fanOutToRoles(hr, DashboardAudience.HRMS));
+        assertEquals(Set.of(10L, 12L), recipients(hr));
+    }
+
+    @Test
+    void repeatedFanOutAddsNoRows() {
+        UUID finance = event();
+        fanOutToRoles(finance, DashboardAudience.FINANCE);
+
+        assertEquals(0, fanOutToRoles(finance, DashboardAudience.FINANCE));
+        assertEquals(0, fanOutToUser(finance, 11L));
+        assertEquals(1, fanOutToUser(finance, 13L));
+        assertEquals(Set.of(10L, 11L, 13L), recipients(finance));
+    }
+
+    @Test
+    void unreadCountersFollowFanOutAndMarkRead() {
+        UUID first = event();
+        UUID second = event();
+        fanOutToRoles(first, DashboardAudience.FINANCE);
+        assertEquals(2, incrementForEvent(first));
+        fanOutToRoles(second, DashboardAudience.ADMINS);
+        assertEquals(1, incrementForEvent(second));
+
+        assertEquals(2, unread(10L));
+        assertEquals(1, unread(11L));
+        assertNull(unread(12L), "a user with no events has no counter");
+
+        decrement(10L, 1);
+        decrement(11L, 5);
+
+        assertEquals(1, unread(10L));
+        assertEquals(0, unread(11L), "the badge never goes negative");
+    }
+
+    private UUID event() {
+        UUID id = UUID.randomUUID();
+        db.jdbc().update("INSERT INTO dashboard_events (id, created_at) VALUES (?, ?)", id, AT);
+        return id;
+    }
+
+    private int fanOutToRoles(UUID eventId, Set<String> roles) {
+        return db.namedJdbc().update(sql(DashboardEventRecipientRepository.class, "fanOutToRoles",
+                UUID.class, LocalDateTime.class, Collection.class),
+                Map.of("eventId", eventId, "createdAt", AT, "roles", roles));
+    }
+
+    private int fanOutToUser(UUID eventId, Long userId) {
+        return db.namedJdbc().update(sql(DashboardEventRecipientRepository.class, "fanOutToUser",
+                UUID.class, LocalDateTime.class, Long.class),
+                Map.of("eventId", eventId, "createdAt", AT, "userId", userId));
+    }
+
+    private int incrementForEvent(UUID eventId) {
+        return db.namedJdbc().update(sql(DashboardUnreadCounterRepository.class, "incrementForEvent", UUID.class),
+                Map.of("eventId", eventId));
+    }
+
+    private void decrement(Long userId, int delta) {
+        db.namedJdbc().update(sql(DashboardUnreadCounterRepository.class, "decrement", Long.class, int.class),
+                Map.of("userId", userId, "delta", delta));
+    }
+
+    private Set<Long> recipients(UUID eventId) {
+        return Set.copyOf(db.jdbc().queryForList(
+                "SELECT user_id FROM dashboard_event_recipients WHERE event_id = ?", Long.class, eventId));
+    }
+
+    private Integer unread(Long userId) {
+        return db.jdbc().query("SELECT unread_count FROM dashboard_unread_counters WHERE user_id = ?",
+                rs -> rs.next() ? rs.getInt(1) : null, userId);
+    }
+
+    /** The statement as the repository declares it, so the test cannot drift from the production SQL. */
+    private static String sql(Class<?> repository, String method, Class<?>... parameterTypes) {
+        try {
+            return repository.getMethod(method, parameterTypes).getAnnotation(Query.class).value();
+        } catch (NoSuchMethodException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
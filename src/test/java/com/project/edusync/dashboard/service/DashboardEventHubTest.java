@@ -0,0 +1,198 @@
+package com.project.edusync.dashboard.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.edusync.dashboard.config.DashboardEventProperties;
+import com.project.edusync.dashboard.dto.DashboardEventDTO;
+import com.project.edusync.dashboard.model.DashboardAudience;
+import com.project.edusync.dashboard.model.DashboardEventRoute;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class DashboardEventHubTest {
+
+    private static final LocalDateTime AT = LocalDateTime.of(2026, 10, 19, 9, 30);
+    private static final DashboardEventRoute TO_ADMINS = new DashboardEventRoute(DashboardAudience.ADMINS, null);
+    private static final Set<String> ADMIN = Set.of("ROLE_ADMIN");
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private DashboardEventHub hub;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        hub = new DashboardEventHub(new DashboardEventProperties(), Runnable::run, mock(StringRedisTemplate.class),
+                new ObjectMapper().findAndRegisterModules(), mock(RedisMessageListenerContainer.class),
+                meterRegistry) {
+            @Override
+            SseEmitter newEmitter() {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+        hub.init();
+    }
+
+    @Test
+    void reconnectReplaysMissedEventsBeforeLiveOnesAndSendsEachOnce() {
+        DashboardEventDTO first = event(AT);
+        DashboardEventDTO second = event(AT);
+        DashboardEventDTO live = event(AT.plusSeconds(1));
+
+        // The second event commits while the replay query runs, so it arrives both ways.
+        hub.subscribe(7L, ADMIN, () -> {
+            hub.publish(second, TO_ADMINS);
+            return List.of(first, second);
+        });
+        hub.publish(live, TO_ADMINS);
+
+        RecordingEmitter emitter = emitters.get(0);
+        assertEquals("init", emitter.names().get(0));
+        assertEquals(List.of(first.id(), second.id(), live.id()), emitter.ids());
+    }
+
+    @Test
+    void eventsSharingATimestampAreAllReplayedInOrder() {
+        List<DashboardEventDTO> sameInstant = List.of(event(AT), event(AT), event(AT));
+
+        hub.subscribe(7L, ADMIN, () -> sameInstant);
+
+        assertEquals(sameInstant.stream().map(DashboardEventDTO::id).toList(), emitters.get(0).ids());
+    }
+
+    @Test
+    void streamOnlyCarriesEventsRoutedToItsUserOrRoles() {
+        hub.subscribe(7L, Set.of("ROLE_TEACHER"), List::of);
+
+        DashboardEventDTO mine = event(AT);
+        hub.publish(event(AT), TO_ADMINS);
+        hub.publish(mine, new DashboardEventRoute(null, 7L));
+        hub.publish(event(AT), new DashboardEventRoute(null, 8L));
+
+        assertEquals(List.of(mine.id()), emitters.get(0).ids());
+    }
+
+    @Test
+    void timedOutEmitterIsCompletedAndReleased() {
+        hub.subscribe(7L, ADMIN, List::of);
+        RecordingEmitter emitter = emitters.get(0);
+        assertEquals(1.0, subscribers());
+
+        emitter.timeOut();
+        hub.publish(event(AT), TO_ADMINS);
+
+        assertTrue(emitter.completed);
+        assertEquals(0.0, subscribers());
+        assertEquals(1.0, meterRegistry.counter("edusync.dashboard.sse.evictions", "reason", "timeout").count());
+        assertEquals(List.of(), emitter.ids());
+    }
+
+    @Test
+    void failedWriteDisconnectsTheSubscriber() {
+        hub.subscribe(7L, ADMIN, List::of);
+        RecordingEmitter emitter = emitters.get(0);
+
+        emitter.failWrites = true;
+        hub.publish(event(AT), TO_ADMINS);
+
+        assertTrue(emitter.completed);
+        assertEquals(0.0, subscribers());
+        assertEquals(1.0, meterRegistry.counter("edusync.dashboard.sse.evictions", "reason", "error").count());
+    }
+
+    @Test
+    void failingReplayStillOpensALiveStream() {
+        hub.subscribe(7L, ADMIN, () -> {
+            throw new IllegalStateException("database unavailable");
+        });
+        DashboardEventDTO live = event(AT);
+        hub.publish(live, TO_ADMINS);
+
+        assertEquals(List.of(live.id()), emitters.get(0).ids());
+    }
+
+    private double subscribers() {
+        return meterRegistry.get("edusync.dashboard.sse.subscribers").gauge().value();
+    }
+
+    private static DashboardEventDTO event(LocalDateTime createdAt) {
+        return new DashboardEventDTO(UUID.randomUUID(), "finance", "info", "Payment received", "Invoice paid",
+                null, false, null, createdAt);
+    }
+
+    /** Records frames and lifecycle callbacks the servlet container would otherwise drive. */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private static final Pattern ID = Pattern.compile("^id:(.+)$", Pattern.MULTILINE);
+        private static final Pattern NAME = Pattern.compile("^event:(.+)$", Pattern.MULTILINE);
+
+        private final List<String> frames = new CopyOnWriteArrayList<>();
+        private Runnable onTimeout = () -> { };
+        private Runnable onCompletion = () -> { };
+        private volatile boolean failWrites;
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failWrites) {
+                throw new IOException("broken pipe");
+            }
+            StringBuilder frame = new StringBuilder();
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof String text) {
+                    frame.append(text);
+                }
+            }
+            frames.add(frame.toString());
+        }
+
+        @Override
+        public synchronized void onTimeout(Runnable callback) {
+            onTimeout = callback;
+        }
+
+        @Override
+        public synchronized void onCompletion(Runnable callback) {
+            onCompletion = callback;
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+            onCompletion.run();
+        }
+
+        void timeOut() {
+            onTimeout.run();
+        }
+
+        List<UUID> ids() {
+            return frames.stream().map(ID::matcher).filter(Matcher::find)
+                    .map(m -> UUID.fromString(m.group(1))).toList();
+        }
+
+        List<String> names() {
+            return frames.stream().map(NAME::matcher).filter(Matcher::find).map(m -> m.group(1)).toList();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.project.edusync.dashboard.service;
+
+import com.project.edusync.dashboard.config.DashboardEventProperties;
+import com.project.edusync.dashboard.dto.DashboardEventDTO;
+import com.project.edusync.dashboard.model.DashboardAudience;
+import com.project.edusync.dashboard.model.DashboardEvent;
+import com.project.edusync.dashboard.model.DashboardEventRecipient;
+import com.project.edusync.dashboard.model.DashboardEventRoute;
+import com.project.edusync.dashboard.repository.DashboardEventRecipientRepository;
+import com.project.edusync.dashboard.repository.DashboardEventRepository;
+import com.project.edusync.dashboard.repository.DashboardUnreadCounterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DashboardEventServiceTest {
+
+    private static final Long USER_ID = 7L;
+    private static final LocalDateTime AT = LocalDateTime.of(2026, 10, 19, 9, 30);
+
+    private DashboardEventRepository repository;
+    private DashboardEventRecipientRepository recipientRepository;
+    private DashboardUnreadCounterRepository unreadCounterRepository;
+    private DashboardEventHub hub;
+    private DashboardEventService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(DashboardEventRepository.class);
+        when(repository.saveAndFlush(any())).thenAnswer(inv -> {
+            DashboardEvent event = inv.getArgument(0);
+            event.setId(UUID.randomUUID());
+            event.setCreatedAt(AT);
+            return event;
+        });
+        recipientRepository = mock(DashboardEventRecipientRepository.class);
+        unreadCounterRepository = mock(DashboardUnreadCounterRepository.class);
+        hub = mock(DashboardEventHub.class);
+        service = new DashboardEventService(repository, recipientRepository, unreadCounterRepository, hub,
+                new DashboardEventProperties());
+    }
+
+    @Test
+    void eventWithoutAnAudienceIsFannedOutToAdmins() {
+        when(recipientRepository.fanOutToRoles(any(), eq(AT), eq(DashboardAudience.ADMINS))).thenReturn(3);
+
+        DashboardEvent event = DashboardEvent.builder().type("system").title("Backup").message("done").build();
+        service.pushEvent(event);
+
+        verify(recipientRepository).fanOutToRoles(event.getId(), AT, DashboardAudience.ADMINS);
+        verify(recipientRepository, never()).fanOutToUser(any(), any(), anyLong());
+        verify(unreadCounterRepository).incrementForEvent(event.getId());
+        verify(hub).publish(any(), eq(new DashboardEventRoute(DashboardAudience.ADMINS, null)));
+    }
+
+    @Test
+    void roleAudienceIsFannedOutAsGiven() {
+        when(recipientRepository.fanOutToRoles(any(), eq(AT), eq(DashboardAudience.FINANCE))).thenReturn(2);
+
+        service.pushEvent(DashboardEvent.builder().type("finance").title("Payment").message("received")
+                .audienceRoles(DashboardAudience.FINANCE).build());
+
+        verify(recipientRepository).fanOutToRoles(any(), eq(AT), eq(DashboardAudience.FINANCE));
+        verify(hub).publish(any(), eq(new DashboardEventRoute(DashboardAudience.FINANCE, null)));
+    }
+
+    @Test
+    void userAudienceGoesToThatUserOnlyAndWinsOverRoles() {
+        when(recipientRepository.fanOutToUser(any(), eq(AT), eq(USER_ID))).thenReturn(1);
+
+        service.pushEvent(DashboardEvent.builder().type("hrms").title("Leave").message("approved")
+                .audienceUserId(USER_ID).audienceRoles(DashboardAudience.HRMS).build());
+
+        verify(recipientRepository).fanOutToUser(any(), eq(AT), eq(USER_ID));
+        verify(recipientRepository, never()).fanOutToRoles(any(), any(), any());
+        verify(hub).publish(any(), eq(new DashboardEventRoute(DashboardAudience.HRMS, USER_ID)));
+    }
+
+    @Test
+    void unreadCountersAreLeftAloneWhenNobodyReceivedTheEvent() {
+        when(recipientRepository.fanOutToRoles(any(), any(), any())).thenReturn(0);
+
+        service.pushEvent(DashboardEvent.builder().type("finance").title("Payment").message("received")
+                .audienceRoles(DashboardAudience.FINANCE).build());
+
+        verify(unreadCounterRepository, never()).incrementForEvent(any());
+    }
+
+    @Test
+    void eventPushedInATransactionIsPublishedOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.pushEvent(DashboardEvent.builder().type("system").title("Backup").message("done").build());
+            verify(hub, never()).publish(any(), any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(hub).publish(any(), any());
+    }
+
+    @Test
+    void markAsReadDecrementsTheBadgeByRowsThatWereUnread() {
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        when(recipientRepository.markRead(eq(USER_ID), eq(ids), any())).thenReturn(2);
+
+        service.markAsRead(USER_ID, ids);
+
+        verify(unreadCounterRepository).decrement(USER_ID, 2);
+    }
+
+    @Test
+    void markingAlreadyReadOrNoEventsLeavesTheBadgeAlone() {
+        when(recipientRepository.markRead(eq(USER_ID), any(), any())).thenReturn(0);
+
+        service.markAsRead(USER_ID, List.of(UUID.randomUUID()));
+        service.markAsRead(USER_ID, List.of());
+        service.markAsRead(USER_ID, null);
+
+        verify(recipientRepository).markRead(eq(USER_ID), any(), any());
+        verify(unreadCounterRepository, never()).decrement(anyLong(), anyInt());
+    }
+
+    @Test
+    void userWithoutACounterHasNoUnreadEvents() {
+        when(unreadCounterRepository.findUnreadCount(USER_ID)).thenReturn(Optional.empty());
+        when(unreadCounterRepository.findUnreadCount(8L)).thenReturn(Optional.of(4));
+
+        assertEquals(0, service.getUnreadCount(USER_ID));
+        assertEquals(4, service.getUnreadCount(8L));
+    }
+
+    @Test
+    void reconnectReplaysFromTheInboxRowOfTheLastEventSeen() {
+        DashboardEventRecipient last = inbox(41L, AT);
+        // Two events share the last one's timestamp; the keyset keeps both that sort after it.
+        List<DashboardEventRecipient> missed = List.of(inbox(42L, AT), inbox(43L, AT), inbox(44L, AT.plusSeconds(1)));
+        when(recipientRepository.findByUserIdAndEvent_Id(USER_ID, last.getEvent().getId()))
+                .thenReturn(Optional.of(last));
+        when(recipientRepository.findReplayAfter(USER_ID, AT, 41L, PageRequest.of(0, 100))).thenReturn(missed);
+
+        List<DashboardEventDTO> replayed = replay(last.getEvent().getId().toString());
+
+        assertEquals(missed.stream().map(r -> r.getEvent().getId()).toList(),
+                replayed.stream().map(DashboardEventDTO::id).toList());
+    }
+
+    @Test
+    void freshOrUnknownStreamsStartFromLiveEvents() {
+        assertEquals(List.of(), replay(null));
+        assertEquals(List.of(), replay("not-a-uuid"));
+        assertEquals(List.of(), replay(UUID.randomUUID().toString()));
+
+        verify(recipientRepository, never()).findReplayAfter(anyLong(), any(), anyLong(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<DashboardEventDTO> replay(String lastEventId) {
+        service.register(USER_ID, Set.of("ROLE_ADMIN"), lastEventId);
+        ArgumentCaptor<Supplier<List<DashboardEventDTO>>> replay = ArgumentCaptor.forClass(Supplier.class);
+        verify(hub, atLeastOnce()).subscribe(eq(USER_ID), any(), replay.capture());
+        return replay.getValue().get();
+    }
+
+    private static DashboardEventRecipient inbox(Long id, LocalDateTime createdAt) {
+        DashboardEvent event = DashboardEvent.builder()
+                .id(UUID.randomUUID()).type("finance").title("Payment received").message("Invoice paid")
+                .createdAt(createdAt)
+                .build();
+        return DashboardEventRecipient.builder().id(id).event(event).userId(USER_ID).createdAt(createdAt).build();
+    }
+}
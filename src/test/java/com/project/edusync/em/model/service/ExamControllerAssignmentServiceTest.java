@@ -2,6 +2,7 @@ package com.project.edusync.em.model.service;
 
 import com.project.edusync.common.exception.ResourceNotFoundException;
 import com.project.edusync.common.security.AuthUtil;
+import com.project.edusync.common.security.PermissionVersionService;
 import com.project.edusync.em.model.dto.request.ExamControllerAssignmentRequestDTO;
 import com.project.edusync.em.model.entity.Exam;
 import com.project.edusync.em.model.entity.ExamControllerAssignment;
@@ -45,6 +46,8 @@ class ExamControllerAssignmentServiceTest {
     private RoleRepository roleRepository;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private PermissionVersionService permissionVersionService;
 
     @InjectMocks
     private ExamControllerAssignmentService service;
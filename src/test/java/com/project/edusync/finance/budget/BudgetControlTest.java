@@ -0,0 +1,87 @@
+package com.project.edusync.finance.budget;
+
+import com.project.edusync.common.exception.EdusyncException;
+import com.project.edusync.finance.config.BudgetControlProperties;
+import com.project.edusync.finance.model.entity.Budget;
+import com.project.edusync.finance.model.entity.PurchaseOrder;
+import com.project.edusync.finance.model.enums.BudgetStatus;
+import com.project.edusync.finance.repository.BudgetRepository;
+import com.project.edusync.finance.repository.PurchaseOrderRepository;
+import com.project.edusync.finance.service.implementation.FinanceAuditServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BudgetControlTest {
+
+    private FinanceAuditServiceImpl auditService;
+    private BudgetControlProperties properties;
+    private BudgetControl control;
+    private Budget budget;
+
+    @BeforeEach
+    void setUp() {
+        BudgetRepository budgetRepository = mock(BudgetRepository.class);
+        PurchaseOrderRepository poRepository = mock(PurchaseOrderRepository.class);
+        auditService = mock(FinanceAuditServiceImpl.class);
+        properties = new BudgetControlProperties();
+        control = new BudgetControl(budgetRepository, poRepository, auditService, properties);
+
+        budget = new Budget();
+        budget.setId(7L);
+        budget.setStatus(BudgetStatus.APPROVED);
+        budget.setTotalAllocated(new BigDecimal("100000.00"));
+        budget.setTotalSpent(new BigDecimal("60000.00"));
+        when(budgetRepository.findByIdWithLock(7L)).thenReturn(Optional.of(budget));
+        when(poRepository.sumOpenCommitments(7L, 50L)).thenReturn(new BigDecimal("25000.00"));
+    }
+
+    @Test
+    void measuresHeadroomNetOfSpendAndOpenCommitments() {
+        BudgetCheckResult within = control.enforce(order("15000.00"));
+
+        assertEquals(new BigDecimal("15000.00"), within.available());
+        assertTrue(within.withinBudget());
+        verify(auditService, never()).logAction(anyString(), anyString(), anyLong(), anyString(), any());
+    }
+
+    @Test
+    void softModeRecordsOverrunAndHardModeRefusesIt() {
+        BudgetCheckResult over = control.enforce(order("15000.01"));
+
+        assertFalse(over.withinBudget());
+        assertEquals(new BigDecimal("0.01"), over.shortfall());
+        verify(auditService).logAction(eq("BUDGET_OVERRUN"), eq("PurchaseOrder"), eq(50L), anyString(), eq(1L));
+
+        properties.setMode(BudgetControlProperties.Mode.HARD);
+        assertThrows(EdusyncException.class, () -> control.enforce(order("15000.01")));
+
+        budget.setStatus(BudgetStatus.SUBMITTED);
+        assertThrows(EdusyncException.class, () -> control.enforce(order("1.00")));
+    }
+
+    private PurchaseOrder order(String total) {
+        PurchaseOrder po = new PurchaseOrder();
+        po.setId(50L);
+        po.setPoNumber("PO-2026-27-000050");
+        po.setSchoolId(1L);
+        po.setReferenceBudget(budget);
+        po.setTotalAmount(new BigDecimal(total));
+        return po;
+    }
+}
@@ -0,0 +1,163 @@
+package com.project.edusync.finance.budget;
+
+import com.project.edusync.finance.config.DocumentNumberingProperties;
+import com.project.edusync.finance.model.entity.Account;
+import com.project.edusync.finance.model.entity.JournalEntry;
+import com.project.edusync.finance.model.entity.JournalLine;
+import com.project.edusync.finance.model.enums.AccountType;
+import com.project.edusync.finance.repository.BudgetLineItemRepository;
+import com.project.edusync.finance.repository.BudgetRepository;
+import com.project.edusync.finance.repository.JournalLineRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BudgetLedgerTest {
+
+    private static final Long SCHOOL_ID = 1L;
+
+    private final Account expense = account(10L, AccountType.EXPENSE);
+    private final Account bank = account(20L, AccountType.ASSET);
+    private final Account income = account(30L, AccountType.INCOME);
+
+    private BudgetLineItemRepository lineItemRepository;
+    private BudgetRepository budgetRepository;
+    private JournalLineRepository journalLineRepository;
+    private BudgetLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        lineItemRepository = mock(BudgetLineItemRepository.class);
+        budgetRepository = mock(BudgetRepository.class);
+        journalLineRepository = mock(JournalLineRepository.class);
+        ledger = new BudgetLedger(lineItemRepository, budgetRepository, journalLineRepository,
+                new DocumentNumberingProperties());
+        when(lineItemRepository.addToActualAmount(anyLong(), eq(SCHOOL_ID), anyString(), any())).thenReturn(1);
+    }
+
+    @Test
+    void debitsIncreaseDebitNormalLinesAndCreditsIncreaseCreditNormalLines() {
+        ledger.record(entry(LocalDate.of(2026, 10, 19),
+                debit(expense, "5000.00"), credit(bank, "5000.00")));
+        ledger.record(entry(LocalDate.of(2026, 10, 19),
+                debit(bank, "3000.00"), credit(income, "3000.00")));
+
+        verify(lineItemRepository).addToActualAmount(10L, SCHOOL_ID, "2026-2027", new BigDecimal("5000.00"));
+        verify(lineItemRepository).addToActualAmount(20L, SCHOOL_ID, "2026-2027", new BigDecimal("-5000.00"));
+        verify(lineItemRepository).addToActualAmount(20L, SCHOOL_ID, "2026-2027", new BigDecimal("3000.00"));
+        verify(lineItemRepository).addToActualAmount(30L, SCHOOL_ID, "2026-2027", new BigDecimal("3000.00"));
+        verify(budgetRepository, times(2)).refreshTotalSpent(20L, SCHOOL_ID, "2026-2027");
+    }
+
+    @Test
+    void linesOnTheSameAccountAreNettedBeforeTheyReachTheBudget() {
+        ledger.record(entry(LocalDate.of(2026, 10, 19),
+                debit(expense, "700.00"), debit(expense, "300.00"), credit(expense, "250.00"),
+                credit(bank, "750.00")));
+
+        verify(lineItemRepository).addToActualAmount(10L, SCHOOL_ID, "2026-2027", new BigDecimal("750.00"));
+        verify(lineItemRepository, times(2)).addToActualAmount(anyLong(), anyLong(), anyString(), any());
+    }
+
+    @Test
+    void reversalNetsTheOriginalBackToZero() {
+        LocalDate date = LocalDate.of(2026, 10, 19);
+        ledger.record(entry(date, debit(expense, "1200.00"), credit(bank, "1200.00")));
+        ledger.record(entry(date, debit(bank, "1200.00"), credit(expense, "1200.00")));
+
+        ArgumentCaptor<Long> accounts = ArgumentCaptor.forClass(Long.class);
+        ArgumentCaptor<BigDecimal> deltas = ArgumentCaptor.forClass(BigDecimal.class);
+        verify(lineItemRepository, times(4))
+                .addToActualAmount(accounts.capture(), eq(SCHOOL_ID), eq("2026-2027"), deltas.capture());
+        Map<Long, BigDecimal> net = new HashMap<>();
+        for (int i = 0; i < accounts.getAllValues().size(); i++) {
+            net.merge(accounts.getAllValues().get(i), deltas.getAllValues().get(i), BigDecimal::add);
+        }
+        assertEquals(0, net.get(10L).signum());
+        assertEquals(0, net.get(20L).signum());
+    }
+
+    @Test
+    void entryInAnotherAcademicYearOnlyTouchesThatYearsBudgets() {
+        // Financial years start in April, so the last day of March belongs to the year before.
+        ledger.record(entry(LocalDate.of(2026, 3, 31), debit(expense, "400.00"), credit(bank, "400.00")));
+
+        verify(lineItemRepository).addToActualAmount(10L, SCHOOL_ID, "2025-2026", new BigDecimal("400.00"));
+        verify(lineItemRepository, never()).addToActualAmount(anyLong(), anyLong(), eq("2026-2027"), any());
+        verify(budgetRepository, never()).refreshTotalSpent(anyLong(), anyLong(), eq("2026-2027"));
+    }
+
+    @Test
+    void budgetTotalsAreLeftAloneWhenNoLineIsLinked() {
+        when(lineItemRepository.addToActualAmount(anyLong(), eq(SCHOOL_ID), anyString(), any())).thenReturn(0);
+
+        ledger.record(entry(LocalDate.of(2026, 10, 19), debit(expense, "90.00"), credit(bank, "90.00")));
+
+        verify(budgetRepository, never()).refreshTotalSpent(anyLong(), anyLong(), anyString());
+    }
+
+    @Test
+    void lineLinkedAfterTheFactIsSeededFromItsAcademicYearOnly() {
+        when(journalLineRepository.sumNetDebitsBetween(10L, LocalDate.of(2026, 4, 1), LocalDate.of(2027, 3, 31)))
+                .thenReturn(new BigDecimal("8200.00"));
+        when(journalLineRepository.sumNetDebitsBetween(30L, LocalDate.of(2026, 4, 1), LocalDate.of(2027, 3, 31)))
+                .thenReturn(new BigDecimal("-15000.00"));
+
+        assertEquals(new BigDecimal("8200.00"), ledger.actualToDate(expense, "2026-2027"));
+        assertEquals(new BigDecimal("15000.00"), ledger.actualToDate(income, "2026-2027"));
+    }
+
+    @Test
+    void unrecognisedAcademicYearSeedsZero() {
+        assertEquals(BigDecimal.ZERO, ledger.actualToDate(expense, "FY26"));
+        assertEquals(BigDecimal.ZERO, ledger.actualToDate(expense, null));
+        verify(journalLineRepository, never()).sumNetDebitsBetween(any(), any(), any());
+    }
+
+    private static JournalEntry entry(LocalDate date, JournalLine... lines) {
+        JournalEntry entry = new JournalEntry();
+        entry.setEntryNumber("JE-TEST");
+        entry.setEntryDate(date);
+        entry.setSchoolId(SCHOOL_ID);
+        List.of(lines).forEach(entry::addLine);
+        return entry;
+    }
+
+    private static JournalLine debit(Account account, String amount) {
+        JournalLine line = new JournalLine();
+        line.setAccount(account);
+        line.setDebitAmount(new BigDecimal(amount));
+        return line;
+    }
+
+    private static JournalLine credit(Account account, String amount) {
+        JournalLine line = new JournalLine();
+        line.setAccount(account);
+        line.setCreditAmount(new BigDecimal(amount));
+        return line;
+    }
+
+    private static Account account(Long id, AccountType type) {
+        Account account = new Account();
+        account.setId(id);
+        account.setAccountType(type);
+        return account;
+    }
+}
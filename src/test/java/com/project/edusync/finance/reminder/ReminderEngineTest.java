@@ -0,0 +1,137 @@
+package com.project.edusync.finance.reminder;
+
+import com.project.edusync.finance.config.ReminderProperties;
+import com.project.edusync.finance.dto.reminder.ReminderRunSummaryDTO;
+import com.project.edusync.finance.model.entity.ReminderLog;
+import com.project.edusync.finance.model.entity.ReminderTemplate;
+import com.project.edusync.finance.repository.ReminderScanRepository;
+import com.project.edusync.finance.repository.ReminderScanRepository.Cursor;
+import com.project.edusync.finance.repository.ReminderScanRepository.SentReminder;
+import com.project.edusync.finance.repository.ReminderTemplateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReminderEngineTest {
+
+    private static final LocalDate AS_OF = LocalDate.of(2026, 10, 19);
+
+    private ReminderTemplateRepository templateRepository;
+    private ReminderScanRepository scanRepository;
+    private ReminderProperties properties;
+    private final List<ReminderMessage> delivered = new ArrayList<>();
+    private ReminderEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        templateRepository = mock(ReminderTemplateRepository.class);
+        scanRepository = mock(ReminderScanRepository.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any(TransactionDefinition.class))).thenReturn(new SimpleTransactionStatus());
+        properties = new ReminderProperties();
+        properties.setPageSize(2);
+
+        ReminderChannelAdapter capture = new ReminderChannelAdapter() {
+            @Override
+            public Set<String> channels() {
+                return Set.of("EMAIL");
+            }
+
+            @Override
+            public Map<String, String> send(String channel, List<ReminderMessage> batch) {
+                delivered.addAll(batch);
+                return Map.of();
+            }
+        };
+        engine = new ReminderEngine(templateRepository, scanRepository, properties, List.of(capture), transactionManager);
+        when(templateRepository.findByIsActiveTrue()).thenReturn(List.of(
+                template(1L, "Due today", "ON_DUE", 0),
+                template(2L, "Three days late", "AFTER_DUE", 3)));
+    }
+
+    @Test
+    void sendsOneConsolidatedMessagePerGuardianAcrossPages() {
+        when(scanRepository.findCandidates(eq(AS_OF), eq(Cursor.START), anyInt())).thenReturn(List.of(
+                candidate(7L, "parent@example.com", 101L, "Asha", 5001L, AS_OF.minusDays(10)),
+                candidate(7L, "parent@example.com", 102L, "Ravi", 5002L, AS_OF.minusDays(1))));
+        when(scanRepository.findCandidates(eq(AS_OF), eq(new Cursor(7L, 5002L)), anyInt())).thenReturn(List.of(
+                candidate(8L, null, 103L, "Meera", 5003L, AS_OF)));
+
+        ReminderRunSummaryDTO summary = engine.run(AS_OF);
+
+        assertEquals(1, delivered.size());
+        ReminderMessage message = delivered.get(0);
+        assertEquals("Three days late", message.templateName());
+        assertEquals(2, message.items().size());
+        assertTrue(message.body().startsWith("Dear Guardian 7, 2 invoice(s) for Asha, Ravi"));
+        assertEquals(1, summary.messagesSent());
+        assertEquals(1, summary.skippedNoContact());
+        assertEquals(2, summary.guardiansMatched());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ReminderLog>> logs = ArgumentCaptor.forClass(List.class);
+        verify(scanRepository).insertLogs(logs.capture());
+        assertEquals(2, logs.getValue().size());
+        assertEquals(message.messageKey(), logs.getValue().get(1).getMessageKey());
+    }
+
+    @Test
+    void honoursDedupeWindowAndGuardianRateLimit() {
+        properties.setPageSize(10);
+        properties.setMaxPerGuardian(1);
+        when(scanRepository.findCandidates(eq(AS_OF), eq(Cursor.START), anyInt())).thenReturn(List.of(
+                candidate(7L, "a@example.com", 101L, "Asha", 5001L, AS_OF.minusDays(5)),
+                candidate(8L, "b@example.com", 102L, "Ravi", 5002L, AS_OF.minusDays(5)),
+                candidate(9L, "c@example.com", 103L, "Meera", 5003L, AS_OF.minusDays(5))));
+        LocalDateTime recently = LocalDateTime.now().minusHours(2);
+        when(scanRepository.findSent(any(), any())).thenReturn(List.of(
+                new SentReminder(7L, 2L, "m-1", LocalDateTime.now().minusDays(3)),
+                new SentReminder(8L, 1L, "m-2", recently)));
+
+        ReminderRunSummaryDTO summary = engine.run(AS_OF);
+
+        assertEquals(1, summary.skippedDuplicate());
+        assertEquals(1, summary.skippedRateLimited());
+        assertEquals(1, summary.messagesSent());
+        assertEquals(9L, delivered.get(0).guardianId());
+    }
+
+    private static ReminderTemplate template(Long id, String name, String triggerType, int days) {
+        return ReminderTemplate.builder()
+                .id(id)
+                .name(name)
+                .subject("Fee reminder: {{amountDue}}")
+                .body("Dear {{guardianName}}, {{invoiceCount}} invoice(s) for {{studentName}}:\n{{invoiceLines}}")
+                .channel("EMAIL")
+                .triggerType(triggerType)
+                .triggerDays(days)
+                .isActive(true)
+                .build();
+    }
+
+    private static ReminderCandidate candidate(Long guardianId, String email, Long studentId, String studentName,
+                                               Long invoiceId, LocalDate dueDate) {
+        return new ReminderCandidate(guardianId, "Guardian " + guardianId, email, "9800000000", "English",
+                studentId, studentName, invoiceId, "INV-" + invoiceId, dueDate, new BigDecimal("1500.00"));
+    }
+}
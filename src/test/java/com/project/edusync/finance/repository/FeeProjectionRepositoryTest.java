@@ -0,0 +1,189 @@
+package com.project.edusync.finance.repository;
+
+import com.project.edusync.support.PostgresTestSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Runs the fee projection refresh and rebuild against PostgreSQL; set {@code EDUSYNC_TEST_DB_URL} to enable. */
+@EnabledIfEnvironmentVariable(named = PostgresTestSchema.URL_VARIABLE, matches = ".+")
+class FeeProjectionRepositoryTest {
+
+    private static final Long SCHOOL_ID = 1L;
+
+    private PostgresTestSchema db;
+    private FeeProjectionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        db = PostgresTestSchema.create();
+        db.execute("""
+                CREATE TABLE sections (id BIGINT PRIMARY KEY, class_id BIGINT);
+                CREATE TABLE students (id BIGINT PRIMARY KEY, section_id BIGINT);
+                CREATE TABLE invoices (
+                    id BIGSERIAL PRIMARY KEY, student_id BIGINT NOT NULL, total_amount NUMERIC(14, 2) NOT NULL,
+                    paid_amount NUMERIC(14, 2) NOT NULL, status VARCHAR(20) NOT NULL, due_date DATE);
+                CREATE TABLE payments (
+                    student_id BIGINT NOT NULL, amount_paid NUMERIC(14, 2) NOT NULL, status VARCHAR(20) NOT NULL);
+                CREATE TABLE refund_records (
+                    student_id BIGINT NOT NULL, refund_amount NUMERIC(14, 2) NOT NULL, status VARCHAR(20) NOT NULL);
+                CREATE TABLE fee_student_balances (
+                    student_id BIGINT PRIMARY KEY, section_id BIGINT, class_id BIGINT,
+                    invoiced_amount NUMERIC(14, 2) NOT NULL DEFAULT 0,
+                    collected_amount NUMERIC(14, 2) NOT NULL DEFAULT 0,
+                    refunded_amount NUMERIC(14, 2) NOT NULL DEFAULT 0,
+                    outstanding_amount NUMERIC(14, 2) NOT NULL DEFAULT 0,
+                    overdue_amount NUMERIC(14, 2) NOT NULL DEFAULT 0, pending_invoices BIGINT NOT NULL DEFAULT 0,
+                    next_due_date DATE, updated_at TIMESTAMP NOT NULL);
+                CREATE TABLE fee_collection_totals (
+                    id BIGSERIAL PRIMARY KEY, scope VARCHAR(10) NOT NULL, scope_id BIGINT NOT NULL,
+                    invoiced_amount NUMERIC(16, 2) NOT NULL DEFAULT 0,
+                    collected_amount NUMERIC(16, 2) NOT NULL DEFAULT 0,
+                    refunded_amount NUMERIC(16, 2) NOT NULL DEFAULT 0,
+                    outstanding_amount NUMERIC(16, 2) NOT NULL DEFAULT 0,
+                    overdue_amount NUMERIC(16, 2) NOT NULL DEFAULT 0, pending_invoices BIGINT NOT NULL DEFAULT 0,
+                    updated_at TIMESTAMP NOT NULL, UNIQUE (scope, scope_id));
+                INSERT INTO sections VALUES (10, 100), (11, 100), (20, 200);
+                INSERT INTO students VALUES (1, 10), (2, 11), (3, 20), (4, NULL)
+                """);
+        repository = new FeeProjectionRepository(db.namedJdbc());
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.close();
+    }
+
+    @Test
+    void refreshAddsTheDifferenceFromThePreviousRowToEachScope() {
+        invoice(1L, "1000.00", "0.00", "PENDING");
+        refresh(1L, 2L);
+
+        assertEquals(new BigDecimal("1000.00"), total("SCHOOL", SCHOOL_ID, "outstanding_amount"));
+        assertEquals(new BigDecimal("1000.00"), total("CLASS", 100L, "outstanding_amount"));
+        assertEquals(new BigDecimal("1000.00"), total("SECTION", 10L, "outstanding_amount"));
+        assertEquals(new BigDecimal("0.00"), total("SECTION", 11L, "outstanding_amount"));
+
+        db.jdbc().update("UPDATE invoices SET paid_amount = 400 WHERE student_id = 1");
+        db.jdbc().update("INSERT INTO payments VALUES (1, 400, 'SUCCESS'), (1, 900, 'FAILED')");
+        refresh(1L);
+
+        assertEquals(new BigDecimal("1000.00"), total("SCHOOL", SCHOOL_ID, "invoiced_amount"),
+                "an unchanged amount must not be added twice");
+        assertEquals(new BigDecimal("400.00"), total("SCHOOL", SCHOOL_ID, "collected_amount"));
+        assertEquals(new BigDecimal("600.00"), total("SECTION", 10L, "outstanding_amount"));
+        assertEquals(new BigDecimal("600.00"), balance(1L, "outstanding_amount"));
+    }
+
+    @Test
+    void studentMovingSectionLeavesTheOldSectionsTotals() {
+        invoice(1L, "1000.00", "0.00", "OVERDUE");
+        invoice(2L, "300.00", "0.00", "PENDING");
+        refresh(1L, 2L);
+
+        db.jdbc().update("UPDATE students SET section_id = 11 WHERE id = 1");
+        refresh(1L);
+
+        assertEquals(new BigDecimal("0.00"), total("SECTION", 10L, "outstanding_amount"));
+        assertEquals(new BigDecimal("0.00"), total("SECTION", 10L, "overdue_amount"));
+        assertEquals(new BigDecimal("1300.00"), total("SECTION", 11L, "outstanding_amount"));
+        assertEquals(new BigDecimal("1300.00"), total("CLASS", 100L, "outstanding_amount"));
+        assertEquals(new BigDecimal("1300.00"), total("SCHOOL", SCHOOL_ID, "outstanding_amount"));
+        assertEquals(11L, db.jdbc().queryForObject(
+                "SELECT section_id FROM fee_student_balances WHERE student_id = 1", Long.class));
+    }
+
+    @Test
+    void rebuildMatchesIncrementalRefreshesAcrossEveryScope() {
+        invoice(1L, "1000.00", "250.00", "PENDING");
+        invoice(2L, "500.00", "0.00", "OVERDUE");
+        invoice(3L, "800.00", "800.00", "PAID");
+        invoice(4L, "120.00", "0.00", "PENDING");
+        db.jdbc().update("INSERT INTO payments VALUES (1, 250, 'SUCCESS'), (3, 800, 'SUCCESS')");
+        db.jdbc().update("INSERT INTO refund_records VALUES (3, 50, 'PROCESSED'), (3, 70, 'PENDING')");
+        refresh(1L, 2L, 3L, 4L);
+        Map<String, BigDecimal> incremental = totals();
+
+        db.jdbc().update("UPDATE fee_collection_totals SET outstanding_amount = 999999");
+        assertEquals(4, db.inTransaction(() -> repository.rebuild(SCHOOL_ID)));
+
+        assertEquals(incremental, totals());
+        assertEquals(new BigDecimal("1370.00"), total("SCHOOL", SCHOOL_ID, "outstanding_amount"));
+        assertEquals(new BigDecimal("1250.00"), total("CLASS", 100L, "outstanding_amount"));
+        assertEquals(new BigDecimal("50.00"), total("CLASS", 200L, "refunded_amount"));
+        assertEquals(2L, db.jdbc().queryForObject(
+                "SELECT pending_invoices FROM fee_collection_totals WHERE scope = 'SCHOOL'", Long.class));
+        assertEquals(6, db.jdbc().queryForObject("SELECT COUNT(*) FROM fee_collection_totals", Integer.class),
+                "one school, two classes and three sections; the student without a section counts only at school");
+    }
+
+    @Test
+    void rebuildDropsRowsOfStudentsThatNoLongerExist() {
+        invoice(1L, "1000.00", "0.00", "PENDING");
+        invoice(2L, "500.00", "0.00", "PENDING");
+        refresh(1L, 2L);
+
+        db.jdbc().update("DELETE FROM invoices WHERE student_id = 2");
+        db.jdbc().update("DELETE FROM students WHERE id = 2");
+        db.inTransaction(() -> repository.rebuild(SCHOOL_ID));
+
+        assertEquals(0, db.jdbc().queryForObject(
+                "SELECT COUNT(*) FROM fee_student_balances WHERE student_id = 2", Integer.class));
+        assertEquals(new BigDecimal("1000.00"), total("SCHOOL", SCHOOL_ID, "outstanding_amount"));
+        assertEquals(0, db.jdbc().queryForObject(
+                "SELECT COUNT(*) FROM fee_collection_totals WHERE scope = 'SECTION' AND scope_id = 11", Integer.class));
+    }
+
+    @Test
+    void refreshAcceptsMoreStudentsThanTheBindParameterLimit() {
+        invoice(1L, "1000.00", "0.00", "PENDING");
+        List<Long> ids = LongStream.rangeClosed(1, 40_000).boxed().toList();
+
+        db.inTransaction(() -> repository.refresh(ids, SCHOOL_ID));
+
+        assertEquals(4, db.jdbc().queryForObject("SELECT COUNT(*) FROM fee_student_balances", Integer.class));
+        assertEquals(new BigDecimal("1000.00"), total("SCHOOL", SCHOOL_ID, "outstanding_amount"));
+    }
+
+    private void refresh(Long... studentIds) {
+        db.inTransaction(() -> repository.refresh(List.of(studentIds), SCHOOL_ID));
+    }
+
+    private void invoice(Long studentId, String total, String paid, String status) {
+        db.jdbc().update("INSERT INTO invoices (student_id, total_amount, paid_amount, status, due_date) "
+                + "VALUES (?, ?, ?, ?, DATE '2026-11-01')",
+                studentId, new BigDecimal(total), new BigDecimal(paid), status);
+    }
+
+    private BigDecimal total(String scope, Long scopeId, String column) {
+        return db.jdbc().queryForObject(
+                "SELECT " + column + " FROM fee_collection_totals WHERE scope = ? AND scope_id = ?",
+                BigDecimal.class, scope, scopeId);
+    }
+
+    private BigDecimal balance(Long studentId, String column) {
+        return db.jdbc().queryForObject("SELECT " + column + " FROM fee_student_balances WHERE student_id = ?",
+                BigDecimal.class, studentId);
+    }
+
+    private Map<String, BigDecimal> totals() {
+        Map<String, BigDecimal> totals = new HashMap<>();
+        db.jdbc().query("SELECT * FROM fee_collection_totals", rs -> {
+            String key = rs.getString("scope") + ":" + rs.getLong("scope_id");
+            for (String column : List.of("invoiced_amount", "collected_amount", "refunded_amount",
+                    "outstanding_amount", "overdue_amount", "pending_invoices")) {
+                totals.put(key + ":" + column, rs.getBigDecimal(column));
+            }
+        });
+        return totals;
+    }
+}
@@ -0,0 +1,149 @@
+package com.project.edusync.finance.repository;
+
+import com.project.edusync.finance.model.enums.FineType;
+import com.project.edusync.finance.repository.LateFeeSweepRepository.Result;
+import com.project.edusync.support.PostgresTestSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Runs the late fee sweep against PostgreSQL; set {@code EDUSYNC_TEST_DB_URL} to enable. */
+@EnabledIfEnvironmentVariable(named = PostgresTestSchema.URL_VARIABLE, matches = ".+")
+class LateFeeSweepRepositoryTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+
+    private PostgresTestSchema db;
+    private LateFeeSweepRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        db = PostgresTestSchema.create();
+        db.execute("""
+                CREATE TABLE invoices (
+                    id BIGSERIAL PRIMARY KEY, student_id BIGINT NOT NULL, total_amount NUMERIC(12, 2) NOT NULL,
+                    paid_amount NUMERIC(12, 2) NOT NULL, late_fee_amount NUMERIC(12, 2) NOT NULL DEFAULT 0,
+                    status VARCHAR(20) NOT NULL, due_date DATE NOT NULL, updated_at TIMESTAMP, updated_by VARCHAR(100));
+                CREATE TABLE invoice_line_items (
+                    id BIGSERIAL PRIMARY KEY, invoice_id BIGINT NOT NULL, description VARCHAR(255) NOT NULL,
+                    amount NUMERIC(12, 2) NOT NULL);
+                CREATE TABLE late_fee_applications (
+                    id BIGSERIAL PRIMARY KEY, invoice_id BIGINT NOT NULL REFERENCES invoices (id),
+                    rule_id INTEGER NOT NULL, due_date DATE NOT NULL, amount NUMERIC(10, 2) NOT NULL,
+                    applied_on DATE NOT NULL, source VARCHAR(20) NOT NULL, created_at TIMESTAMP NOT NULL,
+                    UNIQUE (invoice_id, rule_id, due_date))
+                """);
+        repository = new LateFeeSweepRepository(db.jdbc());
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.close();
+    }
+
+    @Test
+    void chargesEachOpenOverdueInvoiceOncePerDueDate() {
+        long overdue = invoice(7L, "1000.00", "0.00", "PENDING", TODAY.minusDays(5));
+        long notYetDue = invoice(7L, "1000.00", "0.00", "PENDING", TODAY.plusDays(5));
+        long paid = invoice(8L, "1000.00", "1000.00", "PAID", TODAY.minusDays(5));
+
+        Result first = sweep();
+        Result again = sweep();
+
+        assertEquals(1, first.invoices());
+        assertEquals(List.of(7L), first.studentIds());
+        assertEquals(0, again.invoices());
+        assertEquals(new BigDecimal("1050.00"), amount(overdue, "total_amount"));
+        assertEquals("OVERDUE", status(overdue));
+        assertEquals(new BigDecimal("0.00"), amount(notYetDue, "late_fee_amount"));
+        assertEquals("PAID", status(paid));
+    }
+
+    @Test
+    void invoicePaidWhileTheSweepWaitsIsNotCharged() throws Exception {
+        long settling = invoice(7L, "1000.00", "0.00", "OVERDUE", TODAY.minusDays(5));
+        long open = invoice(8L, "1000.00", "0.00", "OVERDUE", TODAY.minusDays(5));
+
+        try (PostgresTestSchema payment = db.newSession(); PostgresTestSchema monitor = db.newSession()) {
+            // The payment locks and settles the invoice, then holds its transaction open.
+            CountDownLatch paid = new CountDownLatch(1);
+            CountDownLatch commitPayment = new CountDownLatch(1);
+            Thread payer = new Thread(() -> payment.inTransaction(() -> {
+                payment.jdbc().update("UPDATE invoices SET paid_amount = total_amount, status = 'PAID' WHERE id = ?",
+                        settling);
+                paid.countDown();
+                try {
+                    return commitPayment.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }));
+            payer.start();
+            assertTrue(paid.await(5, TimeUnit.SECONDS));
+
+            int sweepPid = db.backendPid();
+            AtomicReference<Result> result = new AtomicReference<>();
+            Thread sweeper = new Thread(() -> result.set(sweep()));
+            sweeper.start();
+            awaitLockWait(monitor, sweepPid);
+
+            commitPayment.countDown();
+            payer.join(5_000);
+            sweeper.join(5_000);
+
+            assertEquals(1, result.get().invoices());
+            assertEquals(List.of(8L), result.get().studentIds());
+        }
+        assertEquals("PAID", status(settling));
+        assertEquals(new BigDecimal("1000.00"), amount(settling, "total_amount"));
+        assertEquals(0, db.jdbc().queryForObject(
+                "SELECT COUNT(*) FROM late_fee_applications WHERE invoice_id = ?", Integer.class, settling));
+        assertEquals(new BigDecimal("1050.00"), amount(open, "total_amount"));
+    }
+
+    private Result sweep() {
+        return db.inTransaction(() -> repository.applyRule(1, FineType.FIXED, new BigDecimal("50"), null, TODAY,
+                TODAY, "Late Fee", "sweep"));
+    }
+
+    private long invoice(Long studentId, String total, String paid, String status, LocalDate due) {
+        return db.jdbc().queryForObject("INSERT INTO invoices (student_id, total_amount, paid_amount, status, "
+                        + "due_date) VALUES (?, ?, ?, ?, ?) RETURNING id", Long.class,
+                studentId, new BigDecimal(total), new BigDecimal(paid), status, Date.valueOf(due));
+    }
+
+    private BigDecimal amount(long invoiceId, String column) {
+        return db.jdbc().queryForObject("SELECT " + column + " FROM invoices WHERE id = ?", BigDecimal.class,
+                invoiceId);
+    }
+
+    private String status(long invoiceId) {
+        return db.jdbc().queryForObject("SELECT status FROM invoices WHERE id = ?", String.class, invoiceId);
+    }
+
+    private static void awaitLockWait(PostgresTestSchema monitor, int pid) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            Integer waiting = monitor.jdbc().queryForObject(
+                    "SELECT COUNT(*) FROM pg_locks WHERE pid = ? AND NOT granted", Integer.class, pid);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("sweep never waited on the payment's row lock");
+    }
+}
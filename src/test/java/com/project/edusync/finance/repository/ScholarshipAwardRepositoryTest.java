@@ -0,0 +1,120 @@
+package com.project.edusync.finance.repository;
+
+import com.project.edusync.finance.model.entity.ScholarshipType;
+import com.project.edusync.finance.repository.ScholarshipAwardRepository.RepriceResult;
+import com.project.edusync.support.PostgresTestSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Runs the bulk scholarship re-pricing against PostgreSQL; set {@code EDUSYNC_TEST_DB_URL} to enable. */
+@EnabledIfEnvironmentVariable(named = PostgresTestSchema.URL_VARIABLE, matches = ".+")
+class ScholarshipAwardRepositoryTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+
+    private final ScholarshipType merit = ScholarshipType.builder()
+            .id(9L).name("Merit").discountType("PERCENTAGE").discountValue(new BigDecimal("10"))
+            .build();
+
+    private PostgresTestSchema db;
+    private ScholarshipAwardRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        db = PostgresTestSchema.create();
+        db.execute("""
+                CREATE TABLE invoices (
+                    id BIGSERIAL PRIMARY KEY, student_id BIGINT NOT NULL, total_amount NUMERIC(12, 2) NOT NULL,
+                    paid_amount NUMERIC(12, 2) NOT NULL, late_fee_amount NUMERIC(12, 2) NOT NULL DEFAULT 0,
+                    status VARCHAR(20) NOT NULL, issue_date DATE NOT NULL, due_date DATE NOT NULL,
+                    updated_at TIMESTAMP, updated_by VARCHAR(100));
+                CREATE TABLE invoice_line_items (
+                    id BIGSERIAL PRIMARY KEY, invoice_id BIGINT NOT NULL, description VARCHAR(255) NOT NULL,
+                    amount NUMERIC(12, 2) NOT NULL)
+                """);
+        repository = new ScholarshipAwardRepository(db.namedJdbc());
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.close();
+    }
+
+    @Test
+    void awardMadeTodayRepricesAnOpenInvoiceIssuedLastMonth() {
+        long invoice = invoice(7L, "1000.00", "0.00", "PENDING", TODAY.minusMonths(1), TODAY.plusDays(10));
+
+        RepriceResult result = reprice(TODAY, 7L);
+
+        assertEquals(1, result.invoices());
+        assertEquals(new BigDecimal("100.00"), result.amount());
+        assertEquals(List.of(7L), result.studentIds());
+        assertEquals(new BigDecimal("900.00"), column(invoice, "total_amount"));
+        assertEquals(new BigDecimal("-100.00"), db.jdbc().queryForObject(
+                "SELECT amount FROM invoice_line_items WHERE invoice_id = ?", BigDecimal.class, invoice));
+    }
+
+    @Test
+    void invoicesThatFellDueBeforeTheAwardKeepTheirPrice() {
+        long overdue = invoice(7L, "1000.00", "0.00", "OVERDUE", TODAY.minusMonths(2), TODAY.minusDays(20));
+        long open = invoice(7L, "1000.00", "0.00", "PENDING", TODAY.minusMonths(1), TODAY.plusDays(10));
+
+        assertEquals(1, reprice(TODAY, 7L).invoices());
+        assertEquals(new BigDecimal("1000.00"), column(overdue, "total_amount"));
+        assertEquals(new BigDecimal("900.00"), column(open, "total_amount"));
+
+        // Backdated past the overdue invoice's due date, the award reaches it as well.
+        assertEquals(1, reprice(TODAY.minusMonths(1), 7L).invoices());
+        assertEquals(new BigDecimal("900.00"), column(overdue, "total_amount"));
+    }
+
+    @Test
+    void paidAndAlreadyDiscountedInvoicesAreLeftAlone() {
+        long paid = invoice(7L, "500.00", "500.00", "PAID", TODAY.minusMonths(1), TODAY.plusDays(10));
+        long discounted = invoice(8L, "900.00", "0.00", "PENDING", TODAY.minusMonths(1), TODAY.plusDays(10));
+        db.jdbc().update("INSERT INTO invoice_line_items (invoice_id, description, amount) "
+                + "VALUES (?, 'Scholarship Discount (Sports)', -100)", discounted);
+
+        RepriceResult result = reprice(TODAY, 7L, 8L);
+
+        assertEquals(0, result.invoices());
+        assertEquals(List.of(), result.studentIds());
+        assertEquals(new BigDecimal("500.00"), column(paid, "total_amount"));
+        assertEquals(new BigDecimal("900.00"), column(discounted, "total_amount"));
+    }
+
+    @Test
+    void discountThatCoversTheBalanceSettlesTheInvoice() {
+        long invoice = invoice(7L, "1000.00", "950.00", "PENDING", TODAY.minusMonths(1), TODAY.plusDays(10));
+
+        assertEquals(new BigDecimal("50.00"), reprice(TODAY, 7L).amount());
+        assertEquals(new BigDecimal("950.00"), column(invoice, "total_amount"));
+        assertEquals("PAID", db.jdbc().queryForObject(
+                "SELECT status FROM invoices WHERE id = ?", String.class, invoice));
+    }
+
+    private RepriceResult reprice(LocalDate effectiveFrom, Long... studentIds) {
+        return db.inTransaction(() -> repository.reprice(List.of(studentIds), merit, effectiveFrom, "bursar"));
+    }
+
+    private long invoice(Long studentId, String total, String paid, String status, LocalDate issued, LocalDate due) {
+        return db.jdbc().queryForObject("INSERT INTO invoices (student_id, total_amount, paid_amount, status, "
+                        + "issue_date, due_date) VALUES (?, ?, ?, ?, ?, ?) RETURNING id", Long.class,
+                studentId, new BigDecimal(total), new BigDecimal(paid), status, Date.valueOf(issued),
+                Date.valueOf(due));
+    }
+
+    private BigDecimal column(long invoiceId, String column) {
+        return db.jdbc().queryForObject("SELECT " + column + " FROM invoices WHERE id = ?", BigDecimal.class,
+                invoiceId);
+    }
+}
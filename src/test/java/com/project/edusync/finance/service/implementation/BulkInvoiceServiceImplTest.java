@@ -0,0 +1,172 @@
+package com.project.edusync.finance.service.implementation;
+
+import com.project.edusync.finance.dto.invoice.BulkInvoiceRunRequestDTO;
+import com.project.edusync.finance.model.entity.FeeParticular;
+import com.project.edusync.finance.model.entity.FeeStructure;
+import com.project.edusync.finance.model.entity.Invoice;
+import com.project.edusync.finance.model.entity.InvoiceGenerationRun;
+import com.project.edusync.finance.model.entity.ScholarshipAssignment;
+import com.project.edusync.finance.model.entity.ScholarshipType;
+import com.project.edusync.finance.model.enums.DocumentSeries;
+import com.project.edusync.finance.model.enums.InvoiceRunStatus;
+import com.project.edusync.finance.repository.FeeParticularRepository;
+import com.project.edusync.finance.repository.InvoiceBatchRepository;
+import com.project.edusync.finance.repository.InvoiceGenerationRunRepository;
+import com.project.edusync.finance.repository.InvoiceRepository;
+import com.project.edusync.finance.repository.ScholarshipAssignmentRepository;
+import com.project.edusync.finance.repository.ScholarshipTypeRepository;
+import com.project.edusync.finance.repository.StudentFeeMapRepository;
+import com.project.edusync.finance.repository.StudentFeeMapRepository.BillingTarget;
+import com.project.edusync.finance.service.DocumentNumberService;
+import com.project.edusync.finance.service.FeeProjectionService;
+import com.project.edusync.uis.model.entity.Student;
+import com.project.edusync.uis.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkInvoiceServiceImplTest {
+
+    private static final LocalDate ISSUE_DATE = LocalDate.of(2026, 4, 1);
+
+    @Mock
+    private InvoiceGenerationRunRepository runRepository;
+    @Mock
+    private StudentFeeMapRepository studentFeeMapRepository;
+    @Mock
+    private FeeParticularRepository feeParticularRepository;
+    @Mock
+    private ScholarshipAssignmentRepository scholarshipAssignmentRepository;
+    @Mock
+    private ScholarshipTypeRepository scholarshipTypeRepository;
+    @Mock
+    private InvoiceRepository invoiceRepository;
+    @Mock
+    private InvoiceBatchRepository invoiceBatchRepository;
+    @Mock
+    private StudentRepository studentRepository;
+    @Mock
+    private DocumentNumberService documentNumberService;
+    @Mock
+    private FeeProjectionService feeProjectionService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private BulkInvoiceServiceImpl service;
+
+    @Test
+    void billsChunkSkipsOpenInvoicesAndAggregatesScholarshipDeltas() {
+        ReflectionTestUtils.setField(service, "invoiceRunExecutor", (Executor) Runnable::run);
+        InvoiceGenerationRun[] saved = new InvoiceGenerationRun[1];
+        when(runRepository.save(any(InvoiceGenerationRun.class))).thenAnswer(invocation -> {
+            InvoiceGenerationRun run = invocation.getArgument(0);
+            run.setId(7L);
+            run.setUpdatedAt(LocalDateTime.now());
+            saved[0] = run;
+            return run;
+        });
+        when(runRepository.findById(7L)).thenAnswer(invocation -> Optional.of(saved[0]));
+        when(runRepository.findByIdForUpdate(7L)).thenAnswer(invocation -> Optional.of(saved[0]));
+        when(studentFeeMapRepository.countBillingTargets(eq(3L), isNull(), isNull())).thenReturn(3L);
+
+        ScholarshipType merit = ScholarshipType.builder().id(9L).name("Merit").build();
+        when(scholarshipAssignmentRepository.findActiveOn(ISSUE_DATE)).thenReturn(List.of(
+                scholarship(1L, merit, "PERCENTAGE", "10"),
+                scholarship(2L, merit, "FIXED", "50")));
+        when(studentFeeMapRepository.findBillingTargets(eq(3L), isNull(), isNull(), eq(0L), any()))
+                .thenReturn(List.of(target(1L, 100L), target(2L, 100L), target(3L, 100L)));
+        when(studentFeeMapRepository.findBillingTargets(eq(3L), isNull(), isNull(), eq(3L), any()))
+                .thenReturn(List.of());
+        FeeStructure structure = new FeeStructure();
+        structure.setId(100L);
+        when(feeParticularRepository.findByFeeStructureIds(anyCollection()))
+                .thenReturn(List.of(particular(structure, "Tuition", "600"), particular(structure, "Transport", "400")));
+        when(invoiceRepository.findStudentIdsWithStatusNotIn(anyCollection(), anyCollection())).thenReturn(List.of(3L));
+        when(documentNumberService.nextBlock(DocumentSeries.INVOICE, 1L, ISSUE_DATE, 2))
+                .thenReturn(List.of("INV-2026-27-000041", "INV-2026-27-000042"));
+        when(studentRepository.getReferenceById(anyLong())).thenAnswer(invocation -> {
+            Student student = new Student();
+            student.setId(invocation.getArgument(0));
+            return student;
+        });
+
+        service.startRun(new BulkInvoiceRunRequestDTO(3L, null, null, ISSUE_DATE, null));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Invoice>> invoices = ArgumentCaptor.forClass(List.class);
+        verify(invoiceBatchRepository).insertAll(invoices.capture(), any());
+        assertEquals(2, invoices.getValue().size());
+        assertEquals(0, new BigDecimal("900").compareTo(invoices.getValue().get(0).getTotalAmount()));
+        assertEquals(0, new BigDecimal("950").compareTo(invoices.getValue().get(1).getTotalAmount()));
+        assertEquals(ISSUE_DATE.plusDays(30), invoices.getValue().get(0).getDueDate());
+        assertEquals("INV-2026-27-000042", invoices.getValue().get(1).getInvoiceNumber());
+
+        ArgumentCaptor<BigDecimal> delta = ArgumentCaptor.forClass(BigDecimal.class);
+        verify(scholarshipTypeRepository).incrementTotalDiscountIssued(eq(9L), delta.capture());
+        assertEquals(0, new BigDecimal("150").compareTo(delta.getValue()));
+
+        InvoiceGenerationRun run = saved[0];
+        assertEquals(InvoiceRunStatus.COMPLETED, run.getStatus());
+        assertEquals(3L, run.getLastStudentId());
+        assertEquals(3, run.getProcessedStudents());
+        assertEquals(2, run.getInvoicesCreated());
+        assertEquals(1, run.getSkippedStudents());
+        assertEquals(0, new BigDecimal("1850").compareTo(run.getTotalBilled()));
+    }
+
+    private static ScholarshipAssignment scholarship(Long studentId, ScholarshipType type, String discountType, String value) {
+        return ScholarshipAssignment.builder()
+                .id(studentId)
+                .studentId(studentId)
+                .scholarshipType(type)
+                .discountType(discountType)
+                .discountValue(new BigDecimal(value))
+                .status("ACTIVE")
+                .build();
+    }
+
+    private static FeeParticular particular(FeeStructure structure, String name, String amount) {
+        FeeParticular particular = new FeeParticular();
+        particular.setFeeStructure(structure);
+        particular.setName(name);
+        particular.setAmount(new BigDecimal(amount));
+        return particular;
+    }
+
+    private static BillingTarget target(Long studentId, Long structureId) {
+        return new BillingTarget() {
+            @Override
+            public Long getStudentId() {
+                return studentId;
+            }
+
+            @Override
+            public Long getStructureId() {
+                return structureId;
+            }
+        };
+    }
+}
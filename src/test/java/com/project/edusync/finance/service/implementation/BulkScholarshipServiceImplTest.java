@@ -0,0 +1,133 @@
+package com.project.edusync.finance.service.implementation;
+
+import com.project.edusync.finance.dto.scholarship.BulkScholarshipAssignmentRequestDTO;
+import com.project.edusync.finance.dto.scholarship.ScholarshipAwardRunDTO;
+import com.project.edusync.finance.model.entity.ScholarshipAwardRun;
+import com.project.edusync.finance.model.entity.ScholarshipType;
+import com.project.edusync.finance.model.enums.InvoiceRunStatus;
+import com.project.edusync.finance.repository.ScholarshipAwardRepository;
+import com.project.edusync.finance.repository.ScholarshipAwardRepository.RepriceResult;
+import com.project.edusync.finance.repository.ScholarshipAwardRunRepository;
+import com.project.edusync.finance.repository.ScholarshipTypeRepository;
+import com.project.edusync.finance.service.FeeProjectionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkScholarshipServiceImplTest {
+
+    @Mock
+    private ScholarshipAwardRunRepository runRepository;
+    @Mock
+    private ScholarshipAwardRepository awardRepository;
+    @Mock
+    private ScholarshipTypeRepository typeRepository;
+    @Mock
+    private FeeProjectionService feeProjectionService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private BulkScholarshipServiceImpl service;
+
+    private final ScholarshipAwardRun[] saved = new ScholarshipAwardRun[1];
+
+    @Test
+    void assignsWithinCapacityAndRepricesTheNewRecipientsInvoices() {
+        ScholarshipType merit = stubRun(LocalDate.now());
+        when(awardRepository.reprice(eq(List.of(11L, 12L)), eq(merit), eq(LocalDate.now()), any()))
+                .thenReturn(new RepriceResult(2, new BigDecimal("150.00"), List.of(11L, 12L)));
+
+        ScholarshipAwardRunDTO started = service.startRun(new BulkScholarshipAssignmentRequestDTO(
+                9L, "Term 1 merit", 3L, null, null, null, null, null));
+
+        assertEquals(3, started.getTotalStudents());
+        verify(feeProjectionService).refresh(List.of(11L, 12L));
+        assertEquals(3, merit.getActiveCount());
+        assertEquals(0, new BigDecimal("190.00").compareTo(merit.getTotalDiscountIssued()));
+
+        ScholarshipAwardRun run = saved[0];
+        assertEquals(InvoiceRunStatus.COMPLETED, run.getStatus());
+        assertEquals(13L, run.getLastStudentId());
+        assertEquals(3, run.getProcessedStudents());
+        assertEquals(2, run.getAssignmentsCreated());
+        assertEquals(1, run.getSkippedStudents());
+        assertEquals(2, run.getInvoicesRepriced());
+        assertEquals(0, new BigDecimal("150.00").compareTo(run.getTotalDiscount()));
+    }
+
+    @Test
+    void backdatedAwardRepricesFromItsEffectiveDate() {
+        LocalDate effectiveFrom = LocalDate.now().minusMonths(2);
+        ScholarshipType merit = stubRun(effectiveFrom);
+        when(awardRepository.reprice(eq(List.of(11L, 12L)), eq(merit), eq(effectiveFrom), any()))
+                .thenReturn(new RepriceResult(1, new BigDecimal("80.00"), List.of(12L)));
+
+        service.startRun(new BulkScholarshipAssignmentRequestDTO(
+                9L, "Term 1 merit", 3L, null, null, null, effectiveFrom, null));
+
+        verify(awardRepository).reprice(eq(List.of(11L, 12L)), eq(merit), eq(effectiveFrom), any());
+        verify(feeProjectionService).refresh(List.of(12L));
+        assertEquals(1, saved[0].getInvoicesRepriced());
+        assertEquals(0, new BigDecimal("80.00").compareTo(saved[0].getTotalDiscount()));
+    }
+
+    @Test
+    void futureAwardLeavesOpenInvoicesAlone() {
+        LocalDate effectiveFrom = LocalDate.now().plusDays(1);
+        ScholarshipType merit = stubRun(effectiveFrom);
+
+        service.startRun(new BulkScholarshipAssignmentRequestDTO(
+                9L, "Term 1 merit", 3L, null, null, null, effectiveFrom, null));
+
+        verify(awardRepository, never()).reprice(any(), any(), any(), any());
+        assertEquals(3, merit.getActiveCount());
+        assertEquals(0, saved[0].getInvoicesRepriced());
+    }
+
+    /** A run over students 11-13 of which 11 and 12 fit the type's remaining capacity. */
+    private ScholarshipType stubRun(LocalDate effectiveFrom) {
+        ReflectionTestUtils.setField(service, "scholarshipRunExecutor", (Executor) Runnable::run);
+        when(runRepository.saveAndFlush(any(ScholarshipAwardRun.class))).thenAnswer(invocation -> {
+            ScholarshipAwardRun run = invocation.getArgument(0);
+            run.setId(4L);
+            run.setUpdatedAt(LocalDateTime.now());
+            saved[0] = run;
+            return run;
+        });
+        when(runRepository.findByIdForUpdate(4L)).thenAnswer(invocation -> Optional.of(saved[0]));
+
+        ScholarshipType merit = ScholarshipType.builder()
+                .id(9L).name("Merit").discountType("PERCENTAGE").discountValue(new BigDecimal("10"))
+                .maxRecipients(3).activeCount(1).totalDiscountIssued(new BigDecimal("40.00"))
+                .build();
+        when(typeRepository.findById(9L)).thenReturn(Optional.of(merit));
+        when(typeRepository.findByIdForUpdate(9L)).thenReturn(Optional.of(merit));
+        when(awardRepository.countTargets(any())).thenReturn(3L);
+        when(awardRepository.findNextTargets(any(), eq(0L), anyInt())).thenReturn(List.of(11L, 12L, 13L));
+        when(awardRepository.findNextTargets(any(), eq(13L), anyInt())).thenReturn(List.of());
+        when(awardRepository.assign(eq(List.of(11L, 12L, 13L)), eq(merit), eq(effectiveFrom), eq("Term 1 merit"),
+                eq(2L))).thenReturn(List.of(11L, 12L));
+        return merit;
+    }
+}
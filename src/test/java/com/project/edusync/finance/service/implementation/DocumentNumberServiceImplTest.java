@@ -0,0 +1,82 @@
+package com.project.edusync.finance.service.implementation;
+
+import com.project.edusync.finance.config.DocumentNumberingProperties;
+import com.project.edusync.finance.model.enums.DocumentSeries;
+import com.project.edusync.finance.repository.DocumentSequenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DocumentNumberServiceImplTest {
+
+    private DocumentSequenceRepository repository;
+    private DocumentNumberingProperties properties;
+    private DocumentNumberServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(DocumentSequenceRepository.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any(TransactionDefinition.class))).thenReturn(new SimpleTransactionStatus());
+        properties = new DocumentNumberingProperties();
+        properties.setDefaultBlockSize(3);
+        service = new DocumentNumberServiceImpl(repository, properties, transactionManager);
+    }
+
+    @Test
+    void servesNumbersFromReservedBlocksPerFinancialYear() {
+        when(repository.reserve(1L, DocumentSeries.JOURNAL, 2026, 3)).thenReturn(1L, 4L);
+        when(repository.reserve(1L, DocumentSeries.JOURNAL, 2025, 3)).thenReturn(90L);
+
+        LocalDate october = LocalDate.of(2026, 10, 19);
+        List<String> numbers = List.of(
+                service.next(DocumentSeries.JOURNAL, 1L, october),
+                service.next(DocumentSeries.JOURNAL, 1L, october),
+                service.next(DocumentSeries.JOURNAL, 1L, october),
+                service.next(DocumentSeries.JOURNAL, 1L, october),
+                service.next(DocumentSeries.JOURNAL, 1L, LocalDate.of(2026, 3, 31)));
+
+        assertEquals(List.of("JE-2026-27-000001", "JE-2026-27-000002", "JE-2026-27-000003",
+                "JE-2026-27-000004", "JE-2025-26-000090"), numbers);
+        verify(repository, times(2)).reserve(1L, DocumentSeries.JOURNAL, 2026, 3);
+    }
+
+    @Test
+    void gaplessSeriesReservesOneNumberPerCall() {
+        DocumentNumberingProperties.Series statutory = new DocumentNumberingProperties.Series();
+        statutory.setGapless(true);
+        properties.getSeries().put(DocumentSeries.INVOICE, statutory);
+        when(repository.reserve(1L, DocumentSeries.INVOICE, 2026, 1)).thenReturn(7L, 8L);
+
+        service.next(DocumentSeries.INVOICE, 1L, LocalDate.of(2026, 4, 1));
+        String second = service.next(DocumentSeries.INVOICE, 1L, LocalDate.of(2026, 4, 1));
+
+        assertEquals("INV-2026-27-000008", second);
+        verify(repository, times(2)).reserve(1L, DocumentSeries.INVOICE, 2026, 1);
+    }
+
+    @Test
+    void otherSchoolsAndCalendarYearsChangeTheFormat() {
+        properties.setFinancialYearStart(Month.JANUARY);
+        when(repository.reserve(2L, DocumentSeries.PURCHASE_ORDER, 2026, 5)).thenReturn(11L);
+
+        List<String> numbers = service.nextBlock(DocumentSeries.PURCHASE_ORDER, 2L, LocalDate.of(2026, 2, 1), 5);
+
+        assertEquals(5, numbers.size());
+        assertEquals("PO-S2-2026-000011", numbers.get(0));
+        assertEquals("PO-S2-2026-000015", numbers.get(4));
+    }
+}
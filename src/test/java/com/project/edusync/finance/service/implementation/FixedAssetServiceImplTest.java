@@ -0,0 +1,131 @@
+package com.project.edusync.finance.service.implementation;
+
+import com.project.edusync.common.exception.EdusyncException;
+import com.project.edusync.finance.dto.asset.DepreciationRunResultDTO;
+import com.project.edusync.finance.model.entity.Account;
+import com.project.edusync.finance.model.entity.DepreciationRun;
+import com.project.edusync.finance.model.entity.JournalEntry;
+import com.project.edusync.finance.model.entity.JournalLine;
+import com.project.edusync.finance.model.enums.DepreciationMethod;
+import com.project.edusync.finance.model.enums.JournalReferenceType;
+import com.project.edusync.finance.repository.AccountRepository;
+import com.project.edusync.finance.repository.DepreciationBatchRepository;
+import com.project.edusync.finance.repository.DepreciationBatchRepository.Charge;
+import com.project.edusync.finance.repository.DepreciationBatchRepository.DepreciableAsset;
+import com.project.edusync.finance.repository.DepreciationEntryRepository;
+import com.project.edusync.finance.repository.DepreciationRunRepository;
+import com.project.edusync.finance.repository.FixedAssetRepository;
+import com.project.edusync.finance.repository.VendorRepository;
+import com.project.edusync.finance.service.GeneralLedgerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class FixedAssetServiceImplTest {
+
+    private static final Long SCHOOL = 1L;
+    private static final String FY = "2026-2027";
+
+    private AccountRepository accountRepository;
+    private GeneralLedgerService glService;
+    private DepreciationBatchRepository batchRepository;
+    private DepreciationRunRepository runRepository;
+    private FixedAssetServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = mock(AccountRepository.class);
+        glService = mock(GeneralLedgerService.class);
+        batchRepository = mock(DepreciationBatchRepository.class);
+        runRepository = mock(DepreciationRunRepository.class);
+        service = new FixedAssetServiceImpl(mock(FixedAssetRepository.class), mock(DepreciationEntryRepository.class),
+                mock(VendorRepository.class), accountRepository, glService, batchRepository, runRepository);
+
+        when(batchRepository.findEligible(eq(SCHOOL), eq(FY), any(), any(Boolean.class))).thenReturn(List.of(
+                asset(1L, "Furniture", DepreciationMethod.STRAIGHT_LINE, "10000.00", "1000.00", 10, null, "10000.00"),
+                asset(2L, "IT Equipment", DepreciationMethod.WRITTEN_DOWN_VALUE, "60000.00", "0.00", 3, "40.000", "50000.00"),
+                asset(3L, "Furniture", DepreciationMethod.STRAIGHT_LINE, "5000.00", "500.00", 5, null, "800.00")));
+    }
+
+    @Test
+    void dryRunPreviewsChargesPerCategoryWithoutWriting() {
+        DepreciationRunResultDTO result = service.runDepreciationBatch(FY, SCHOOL, true);
+
+        assertEquals(3, result.assetCount());
+        assertEquals(new BigDecimal("21200.00"), result.totalAmount());
+        DepreciationRunResultDTO.CategoryTotal furniture = result.categories().get(0);
+        assertEquals("Furniture", furniture.assetCategory());
+        // 900.00 straight line, and 900.00 capped at the 300.00 left above salvage.
+        assertEquals(new BigDecimal("1200.00"), furniture.totalAmount());
+        assertNull(furniture.journalEntryId());
+        assertEquals(new BigDecimal("20000.00"), result.categories().get(1).totalAmount());
+
+        verify(batchRepository).findEligible(SCHOOL, FY, null, false);
+        verify(batchRepository, never()).insertEntries(any(), any(), any(), any(), any(), anyList());
+        verifyNoInteractions(glService, runRepository);
+    }
+
+    @Test
+    void postsOneBalancedJournalPerCategory() {
+        when(accountRepository.findByCodeAndSchoolId("5310", SCHOOL)).thenReturn(Optional.of(new Account()));
+        when(accountRepository.findByCodeAndSchoolId("1399", SCHOOL)).thenReturn(Optional.of(new Account()));
+        when(runRepository.save(any())).thenAnswer(call -> {
+            DepreciationRun run = call.getArgument(0);
+            run.setId(run.getAssetCategory().length() * 10L);
+            return run;
+        });
+        when(glService.createJournalEntry(any(), any(), eq(JournalReferenceType.DEPRECIATION), any(), anyList(), eq(SCHOOL)))
+                .thenAnswer(call -> {
+                    JournalEntry entry = new JournalEntry();
+                    entry.setId(call.<Long>getArgument(3) + 1000);
+                    return entry;
+                });
+
+        DepreciationRunResultDTO result = service.runDepreciationBatch(FY, SCHOOL, false);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<JournalLine>> lines = ArgumentCaptor.forClass(List.class);
+        verify(glService, times(2)).createJournalEntry(any(), any(), any(), any(), lines.capture(), any());
+        assertEquals(new BigDecimal("1200.00"), lines.getAllValues().get(0).get(0).getDebitAmount());
+        assertEquals(new BigDecimal("1200.00"), lines.getAllValues().get(0).get(1).getCreditAmount());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Charge>> rows = ArgumentCaptor.forClass(List.class);
+        verify(batchRepository).insertEntries(eq(FY), any(), eq(SCHOOL), eq(1090L), any(), rows.capture());
+        assertEquals(List.of(1L, 3L), rows.getValue().stream().map(Charge::assetId).toList());
+        verify(batchRepository).findEligible(SCHOOL, FY, null, true);
+        assertEquals(1090L, result.categories().get(0).journalEntryId());
+    }
+
+    @Test
+    void missingAccountsAbortTheWholeRun() {
+        when(accountRepository.findByCodeAndSchoolId(any(), eq(SCHOOL))).thenReturn(Optional.empty());
+
+        assertThrows(EdusyncException.class, () -> service.runDepreciationBatch(FY, SCHOOL, false));
+        verifyNoInteractions(glService, runRepository);
+        verify(batchRepository, never()).updateBookValues(any(), any(), anyList());
+    }
+
+    private static DepreciableAsset asset(Long id, String category, DepreciationMethod method, String cost,
+                                          String salvage, int life, String rate, String bookValue) {
+        return new DepreciableAsset(id, "ASSET-" + id, "Asset " + id, category, method, new BigDecimal(cost),
+                new BigDecimal(salvage), life, rate == null ? null : new BigDecimal(rate), new BigDecimal(bookValue));
+    }
+}
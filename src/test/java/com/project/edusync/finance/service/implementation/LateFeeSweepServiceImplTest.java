@@ -0,0 +1,103 @@
+package com.project.edusync.finance.service.implementation;
+
+import com.project.edusync.common.scheduling.ScheduledJobCoordinator;
+import com.project.edusync.finance.dto.configuration.LateFeeSweepSummaryDTO;
+import com.project.edusync.finance.model.entity.LateFeeRule;
+import com.project.edusync.finance.model.enums.FineType;
+import com.project.edusync.finance.repository.LateFeeRuleRepository;
+import com.project.edusync.finance.repository.LateFeeSweepRepository;
+import com.project.edusync.finance.service.FeeProjectionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LateFeeSweepServiceImplTest {
+
+    private LateFeeRuleRepository ruleRepository;
+    private LateFeeSweepRepository sweepRepository;
+    private FeeProjectionService feeProjectionService;
+    private PlatformTransactionManager transactionManager;
+    private LateFeeSweepServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        ruleRepository = mock(LateFeeRuleRepository.class);
+        sweepRepository = mock(LateFeeSweepRepository.class);
+        feeProjectionService = mock(FeeProjectionService.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        service = new LateFeeSweepServiceImpl(ruleRepository, sweepRepository, feeProjectionService,
+                mock(ScheduledJobCoordinator.class), new SimpleMeterRegistry(), transactionManager);
+    }
+
+    @Test
+    void chargesEachActiveRuleFromItsOwnCutoffAndSumsTheRun() {
+        LateFeeRule monthly = new LateFeeRule(2, "30 days", 30, FineType.PERCENTAGE, new BigDecimal("2.00"), true, null);
+        LateFeeRule weekly = new LateFeeRule(1, "7 days", 7, FineType.FIXED, new BigDecimal("250.00"), true, null);
+        when(ruleRepository.findByIsActive(true)).thenReturn(List.of(monthly, weekly));
+        when(sweepRepository.applyRule(eq(1), eq(FineType.FIXED), any(), isNull(), eq(LocalDate.of(2026, 10, 12)),
+                eq(LocalDate.of(2026, 10, 19)), eq("Late Payment Fee (7 days)"), any()))
+                .thenReturn(new LateFeeSweepRepository.Result(40, new BigDecimal("10000.00"), List.of(11L, 12L)));
+        when(sweepRepository.applyRule(eq(2), eq(FineType.PERCENTAGE), any(), isNull(), eq(LocalDate.of(2026, 9, 19)),
+                eq(LocalDate.of(2026, 10, 19)), any(), any()))
+                .thenReturn(new LateFeeSweepRepository.Result(3, new BigDecimal("321.50"), List.of(12L, 13L)));
+
+        LateFeeSweepSummaryDTO summary = service.sweep(LocalDate.of(2026, 10, 19));
+
+        assertEquals(43, summary.invoicesCharged());
+        assertEquals(new BigDecimal("10321.50"), summary.totalCharged());
+        assertEquals(List.of(1, 2), summary.rules().stream().map(LateFeeSweepSummaryDTO.RuleResult::ruleId).toList());
+        verify(feeProjectionService).refresh(List.of(11L, 12L));
+        verify(feeProjectionService).refresh(List.of(12L, 13L));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void failingRuleRollsBackAloneAndKeepsEarlierRulesCharged() {
+        LateFeeRule weekly = new LateFeeRule(1, "7 days", 7, FineType.FIXED, new BigDecimal("250.00"), true, null);
+        LateFeeRule monthly = new LateFeeRule(2, "30 days", 30, FineType.PERCENTAGE, new BigDecimal("2.00"), true, null);
+        when(ruleRepository.findByIsActive(true)).thenReturn(List.of(weekly, monthly));
+        when(sweepRepository.applyRule(eq(1), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(new LateFeeSweepRepository.Result(2, new BigDecimal("500.00"), List.of(21L)));
+        when(sweepRepository.applyRule(eq(2), any(), any(), any(), any(), any(), any(), any()))
+                .thenThrow(new IllegalStateException("deadlock detected"));
+
+        assertThrows(IllegalStateException.class, () -> service.sweep(LocalDate.of(2026, 10, 19)));
+
+        verify(feeProjectionService).refresh(List.of(21L));
+        verify(transactionManager).commit(any());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void catchUpRunUsesTheMissedNightAndSkipsIncompleteRules() {
+        LateFeeRule broken = new LateFeeRule(3, "No amount", 5, FineType.FIXED, BigDecimal.ZERO, true, null);
+        LateFeeRule weekly = new LateFeeRule(1, "7 days", 7, FineType.FIXED, new BigDecimal("250.00"), true, null);
+        when(ruleRepository.findByIsActive(true)).thenReturn(List.of(broken, weekly));
+        when(sweepRepository.applyRule(eq(1), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(new LateFeeSweepRepository.Result(2, new BigDecimal("500.00"), List.of(21L)));
+
+        int charged = service.execute(LocalDateTime.of(2026, 10, 17, 1, 30));
+
+        assertEquals(2, charged);
+        verify(sweepRepository).applyRule(eq(1), any(), any(), any(), eq(LocalDate.of(2026, 10, 10)),
+                eq(LocalDate.of(2026, 10, 17)), any(), any());
+        verify(sweepRepository, never()).applyRule(eq(3), any(), any(), any(), any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,126 @@
+package com.project.edusync.finance.service.implementation;
+
+import com.project.edusync.finance.dto.payment.VerifyPaymentRequestDTO;
+import com.project.edusync.finance.gateway.GatewayEventInbox;
+import com.project.edusync.finance.mapper.PaymentMapper;
+import com.project.edusync.finance.model.entity.Invoice;
+import com.project.edusync.finance.model.entity.Payment;
+import com.project.edusync.finance.model.entity.PaymentGatewayEvent;
+import com.project.edusync.finance.model.enums.PaymentMethod;
+import com.project.edusync.finance.model.enums.PaymentStatus;
+import com.project.edusync.finance.repository.PaymentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentServiceImplTest {
+
+    private static final String KEY_SECRET = "rzp_secret_test";
+
+    @Mock
+    private PaymentRepository paymentRepository;
+    @Mock
+    private PaymentMapper paymentMapper;
+    @Mock
+    private GatewayEventInbox gatewayEventInbox;
+
+    @InjectMocks
+    private PaymentServiceImpl service;
+
+    private Payment payment;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "razorpayKeySecret", KEY_SECRET);
+        Invoice invoice = new Invoice();
+        invoice.setId(5001L);
+        payment = new Payment();
+        payment.setPaymentId(77);
+        payment.setInvoice(invoice);
+        payment.setTransactionId("order_1");
+        payment.setPaymentMethod(PaymentMethod.ONLINE);
+        payment.setAmountPaid(new BigDecimal("1500.00"));
+        payment.setStatus(PaymentStatus.PENDING);
+    }
+
+    @Test
+    void retryAfterFailedAttemptIsVerifiedAndQueuedForSettlement() throws Exception {
+        when(paymentRepository.findByTransactionIdForUpdate("order_1")).thenReturn(Optional.of(payment));
+        assertTrue(service.failOnlinePayment("order_1", "pay_declined"));
+        assertEquals(PaymentStatus.FAILED, payment.getStatus());
+
+        when(paymentRepository.findByTransactionId("order_1")).thenReturn(Optional.of(payment));
+        service.verifyOnlinePayment(new VerifyPaymentRequestDTO("pay_retry", "order_1", sign("order_1", "pay_retry")));
+
+        assertEquals(PaymentStatus.PENDING, payment.getStatus());
+        ArgumentCaptor<PaymentGatewayEvent> event = ArgumentCaptor.forClass(PaymentGatewayEvent.class);
+        verify(gatewayEventInbox).record(event.capture());
+        assertEquals("checkout:pay_retry", event.getValue().getIdempotencyKey());
+        assertEquals(PaymentGatewayEvent.SOURCE_CHECKOUT, event.getValue().getSource());
+        assertEquals("pay_retry", event.getValue().getGatewayPaymentId());
+        assertEquals(5001L, event.getValue().getInvoiceId());
+        verify(paymentMapper).toDto(payment);
+    }
+
+    @Test
+    void badSignatureOnFailedPaymentIsRejected() {
+        payment.setStatus(PaymentStatus.FAILED);
+        when(paymentRepository.findByTransactionId("order_1")).thenReturn(Optional.of(payment));
+
+        assertThrows(SecurityException.class, () -> service.verifyOnlinePayment(
+                new VerifyPaymentRequestDTO("pay_retry", "order_1", sign("order_1", "pay_other"))));
+
+        assertEquals(PaymentStatus.FAILED, payment.getStatus());
+        verify(gatewayEventInbox, never()).record(any());
+    }
+
+    @Test
+    void settledPaymentIsReturnedWithoutReverifying() throws Exception {
+        payment.setStatus(PaymentStatus.SUCCESS);
+        payment.setTransactionId("pay_1");
+        when(paymentRepository.findByTransactionId("order_1")).thenReturn(Optional.empty());
+        when(paymentRepository.findByTransactionId("pay_1")).thenReturn(Optional.of(payment));
+
+        service.verifyOnlinePayment(new VerifyPaymentRequestDTO("pay_1", "order_1", "not-checked"));
+
+        verify(gatewayEventInbox, never()).record(any());
+        verify(paymentMapper).toDto(payment);
+    }
+
+    @Test
+    void failedWebhookIgnoresNonPendingPayments() {
+        payment.setStatus(PaymentStatus.SUCCESS);
+        when(paymentRepository.findByTransactionIdForUpdate("order_1")).thenReturn(Optional.of(payment));
+
+        assertFalse(service.failOnlinePayment("order_1", "pay_1"));
+        assertEquals(PaymentStatus.SUCCESS, payment.getStatus());
+    }
+
+    private static String sign(String orderId, String paymentId) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(KEY_SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal((orderId + "|" + paymentId).getBytes(StandardCharsets.UTF_8)));
+    }
+}
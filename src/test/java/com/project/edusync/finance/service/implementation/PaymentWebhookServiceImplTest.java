@@ -0,0 +1,97 @@
+package com.project.edusync.finance.service.implementation;
+
+import com.project.edusync.common.exception.EdusyncException;
+import com.project.edusync.finance.config.RazorpayGatewayProperties;
+import com.project.edusync.finance.gateway.GatewayEventInbox;
+import com.project.edusync.finance.model.entity.PaymentGatewayEvent;
+import com.project.edusync.finance.repository.PaymentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PaymentWebhookServiceImplTest {
+
+    private static final String SECRET = "whsec_test";
+
+    private static final String CAPTURED = """
+            {"event":"payment.captured","payload":{"payment":{"entity":\
+            {"id":"pay_1","order_id":"order_1","amount":150000,"status":"captured"}}}}""";
+
+    private GatewayEventInbox eventInbox;
+    private PaymentRepository paymentRepository;
+    private RazorpayGatewayProperties properties;
+    private PaymentWebhookServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        eventInbox = mock(GatewayEventInbox.class);
+        paymentRepository = mock(PaymentRepository.class);
+        properties = new RazorpayGatewayProperties();
+        properties.getWebhook().setSecret(SECRET);
+        service = new PaymentWebhookServiceImpl(eventInbox, paymentRepository, properties);
+    }
+
+    @Test
+    void recordsSignedEventKeyedByDeliveryId() throws Exception {
+        when(paymentRepository.findInvoiceIdByTransactionId("order_1")).thenReturn(Optional.of(5001L));
+        when(eventInbox.record(any())).thenReturn(true);
+
+        assertTrue(service.receiveRazorpayEvent(CAPTURED, sign(CAPTURED), "evt_9"));
+
+        ArgumentCaptor<PaymentGatewayEvent> event = ArgumentCaptor.forClass(PaymentGatewayEvent.class);
+        verify(eventInbox).record(event.capture());
+        assertEquals("evt_9", event.getValue().getIdempotencyKey());
+        assertEquals("order_1", event.getValue().getGatewayOrderId());
+        assertEquals("pay_1", event.getValue().getGatewayPaymentId());
+        assertEquals(150000L, event.getValue().getAmountMinor());
+        assertEquals(5001L, event.getValue().getInvoiceId());
+    }
+
+    @Test
+    void acknowledgesRedeliveryWithoutRecordingAgain() throws Exception {
+        when(paymentRepository.findInvoiceIdByTransactionId(any())).thenReturn(Optional.empty());
+        when(eventInbox.record(any())).thenReturn(false);
+
+        assertFalse(service.receiveRazorpayEvent(CAPTURED, sign(CAPTURED), null));
+
+        ArgumentCaptor<PaymentGatewayEvent> event = ArgumentCaptor.forClass(PaymentGatewayEvent.class);
+        verify(eventInbox).record(event.capture());
+        assertEquals("payment.captured:pay_1", event.getValue().getIdempotencyKey());
+    }
+
+    @Test
+    void rejectsBadSignatureAndUnconfiguredSecret() {
+        EdusyncException invalid = assertThrows(EdusyncException.class,
+                () -> service.receiveRazorpayEvent(CAPTURED, "deadbeef", "evt_9"));
+        assertEquals(HttpStatus.UNAUTHORIZED, invalid.getHttpStatus());
+
+        properties.getWebhook().setSecret("");
+        EdusyncException unconfigured = assertThrows(EdusyncException.class,
+                () -> service.receiveRazorpayEvent(CAPTURED, sign(CAPTURED), "evt_9"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, unconfigured.getHttpStatus());
+        verify(eventInbox, never()).record(any());
+    }
+
+    private static String sign(String payload) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+    }
+}
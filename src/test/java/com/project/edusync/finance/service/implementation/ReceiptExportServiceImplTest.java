@@ -0,0 +1,121 @@
+package com.project.edusync.finance.service.implementation;
+
+import com.project.edusync.common.exception.EdusyncException;
+import com.project.edusync.finance.config.ReceiptExportProperties;
+import com.project.edusync.finance.dto.payment.ReceiptExportRequestDTO;
+import com.project.edusync.finance.model.entity.Payment;
+import com.project.edusync.finance.receipt.ReceiptBranding;
+import com.project.edusync.finance.receipt.ReceiptDocumentAssembler;
+import com.project.edusync.finance.repository.InvoiceRepository;
+import com.project.edusync.finance.repository.PaymentRepository;
+import com.project.edusync.finance.service.PdfGenerationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReceiptExportServiceImplTest {
+
+    private PaymentRepository paymentRepository;
+    private ReceiptDocumentAssembler assembler;
+    private ReceiptExportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        paymentRepository = mock(PaymentRepository.class);
+        assembler = mock(ReceiptDocumentAssembler.class);
+        PdfGenerationService pdfGenerationService = mock(PdfGenerationService.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any(TransactionDefinition.class))).thenReturn(new SimpleTransactionStatus());
+
+        ReceiptExportProperties properties = new ReceiptExportProperties();
+        properties.setPageSize(2);
+        properties.setRenderThreads(2);
+        properties.setMaxDocuments(10);
+
+        when(assembler.branding()).thenReturn(new ReceiptBranding("School", "", "", "", "", "", "", "Bank", "2026-2027"));
+        when(assembler.paymentReceipt(any(), any())).thenAnswer(call -> {
+            Map<String, Object> data = new HashMap<>();
+            data.put("receiptNo", call.<Payment>getArgument(0).getPaymentId().toString());
+            return data;
+        });
+        when(pdfGenerationService.generatePdfFromHtml(eq(ReceiptDocumentAssembler.TEMPLATE), anyMap()))
+                .thenAnswer(call -> ("pdf-" + call.<Map<String, Object>>getArgument(1).get("receiptNo"))
+                        .getBytes(StandardCharsets.UTF_8));
+
+        service = new ReceiptExportServiceImpl(paymentRepository, mock(InvoiceRepository.class), assembler,
+                pdfGenerationService, properties, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void streamsEveryPageIntoTheZipInOrderAndResolvesBrandingOnce() throws Exception {
+        when(paymentRepository.findReceiptPage(any(), any(), any(), any(), any(), eq(0), any()))
+                .thenReturn(List.of(payment(11), payment(12)));
+        when(paymentRepository.findReceiptPage(any(), any(), any(), any(), any(), eq(12), any()))
+                .thenReturn(List.of(payment(15)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.exportReceipts(request(), out);
+
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                names.add(entry.getName());
+                if (names.size() == 3) {
+                    assertArrayEquals("pdf-15".getBytes(StandardCharsets.UTF_8), zip.readAllBytes());
+                }
+            }
+        }
+        assertEquals(List.of("payment-receipt-11.pdf", "payment-receipt-12.pdf", "payment-receipt-15.pdf"), names);
+        verify(assembler, times(1)).branding();
+    }
+
+    @Test
+    void refusesExportsAboveTheDocumentLimit() {
+        when(paymentRepository.countReceipts(any(), any(), any(), any(), any())).thenReturn(11L);
+
+        EdusyncException ex = assertThrows(EdusyncException.class, () -> service.countReceipts(request()));
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getHttpStatus());
+    }
+
+    private static ReceiptExportRequestDTO request() {
+        ReceiptExportRequestDTO request = new ReceiptExportRequestDTO();
+        request.setClassId(4L);
+        return request;
+    }
+
+    private static Payment payment(int id) {
+        Payment payment = new Payment();
+        payment.setPaymentId(id);
+        return payment;
+    }
+}
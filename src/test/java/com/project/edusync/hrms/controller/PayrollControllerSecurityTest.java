@@ -3,6 +3,7 @@ package com.project.edusync.hrms.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.project.edusync.common.security.AuthUtil;
 import com.project.edusync.common.security.CustomUserDetailService;
+import com.project.edusync.common.security.StatelessPrincipalResolver;
 import com.project.edusync.common.utils.RequestUtil;
 import com.project.edusync.hrms.dto.payroll.PayrollRunCreateDTO;
 import com.project.edusync.hrms.dto.payroll.PayrollRunResponseDTO;
@@ -95,6 +96,11 @@ class PayrollControllerSecurityTest {
         CustomUserDetailService customUserDetailService() {
             return Mockito.mock(CustomUserDetailService.class);
         }
+
+        @Bean
+        StatelessPrincipalResolver statelessPrincipalResolver() {
+            return Mockito.mock(StatelessPrincipalResolver.class);
+        }
     }
 
     @Test
@@ -2,6 +2,7 @@ package com.project.edusync.hrms.controller;
 
 import com.project.edusync.common.security.AuthUtil;
 import com.project.edusync.common.security.CustomUserDetailService;
+import com.project.edusync.common.security.StatelessPrincipalResolver;
 import com.project.edusync.common.utils.RequestUtil;
 import com.project.edusync.hrms.service.PayrollService;
 import com.project.edusync.superadmin.audit.service.AuditLogService;
@@ -85,6 +86,11 @@ class PayrollPayslipControllerSecurityTest {
         CustomUserDetailService customUserDetailService() {
             return Mockito.mock(CustomUserDetailService.class);
         }
+
+        @Bean
+        StatelessPrincipalResolver statelessPrincipalResolver() {
+            return Mockito.mock(StatelessPrincipalResolver.class);
+        }
     }
 
     @Test
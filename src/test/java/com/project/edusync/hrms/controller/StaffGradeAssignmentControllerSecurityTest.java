@@ -3,6 +3,7 @@ package com.project.edusync.hrms.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.project.edusync.common.security.AuthUtil;
 import com.project.edusync.common.security.CustomUserDetailService;
+import com.project.edusync.common.security.StatelessPrincipalResolver;
 import com.project.edusync.common.utils.RequestUtil;
 import com.project.edusync.hrms.dto.grade.StaffGradeAssignmentCreateDTO;
 import com.project.edusync.hrms.dto.grade.StaffGradeAssignmentResponseDTO;
@@ -93,6 +94,11 @@ class StaffGradeAssignmentControllerSecurityTest {
         CustomUserDetailService customUserDetailService() {
             return Mockito.mock(CustomUserDetailService.class);
         }
+
+        @Bean
+        StatelessPrincipalResolver statelessPrincipalResolver() {
+            return Mockito.mock(StatelessPrincipalResolver.class);
+        }
     }
 
     @Test
@@ -1,6 +1,7 @@
 package com.project.edusync.hrms.service.impl;
 
 import com.project.edusync.common.exception.EdusyncException;
+import com.project.edusync.common.cache.CacheTagIndex;
 import com.project.edusync.common.security.AuthUtil;
 import com.project.edusync.hrms.dto.leave.LeaveApplicationCreateDTO;
 import com.project.edusync.hrms.dto.leave.LeaveApplicationResponseDTO;
@@ -22,6 +23,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -44,6 +46,8 @@ class LeaveManagementLifecycleFlowTest {
     @Mock private AcademicCalendarEventRepository academicCalendarEventRepository;
     @Mock private StaffRepository staffRepository;
     @Mock private AuthUtil authUtil;
+    @Mock private CacheTagIndex cacheTagIndex;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private LeaveManagementServiceImpl service;
@@ -1,6 +1,7 @@
 package com.project.edusync.hrms.service.impl;
 
 import com.project.edusync.common.exception.EdusyncException;
+import com.project.edusync.common.cache.CacheTagIndex;
 import com.project.edusync.common.security.AuthUtil;
 import com.project.edusync.hrms.dto.leave.LeaveApplicationCreateDTO;
 import com.project.edusync.hrms.dto.leave.LeaveApplicationResponseDTO;
@@ -23,6 +24,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -60,6 +62,10 @@ class LeaveManagementServiceImplTest {
     private StaffRepository staffRepository;
     @Mock
     private AuthUtil authUtil;
+    @Mock
+    private CacheTagIndex cacheTagIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private LeaveManagementServiceImpl service;
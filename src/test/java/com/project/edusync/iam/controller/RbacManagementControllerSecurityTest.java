@@ -2,6 +2,7 @@ package com.project.edusync.iam.controller;
 
 import com.project.edusync.common.security.AuthUtil;
 import com.project.edusync.common.security.CustomUserDetailService;
+import com.project.edusync.common.security.StatelessPrincipalResolver;
 import com.project.edusync.iam.model.dto.rbac.PermissionResponseDTO;
 import com.project.edusync.iam.model.dto.rbac.RoleSummaryDTO;
 import com.project.edusync.iam.service.RbacManagementService;
@@ -79,6 +80,11 @@ class RbacManagementControllerSecurityTest {
         CustomUserDetailService customUserDetailService() {
             return Mockito.mock(CustomUserDetailService.class);
         }
+
+        @Bean
+        StatelessPrincipalResolver statelessPrincipalResolver() {
+            return Mockito.mock(StatelessPrincipalResolver.class);
+        }
     }
 
     @Test
@@ -1,6 +1,7 @@
 package com.project.edusync.iam.service.impl;
 
 import com.project.edusync.common.exception.EdusyncException;
+import com.project.edusync.common.security.PermissionVersionService;
 import com.project.edusync.iam.model.dto.rbac.PermissionResponseDTO;
 import com.project.edusync.iam.model.dto.rbac.RolePermissionLinkResponseDTO;
 import com.project.edusync.iam.model.dto.rbac.RoleSummaryDTO;
@@ -33,6 +34,9 @@ class RbacManagementServiceImplTest {
     @Mock
     private RoleRepository roleRepository;
 
+    @Mock
+    private PermissionVersionService permissionVersionService;
+
     @InjectMocks
     private RbacManagementServiceImpl rbacManagementService;
 
@@ -0,0 +1,133 @@
+package com.project.edusync.notifications.outbox;
+
+import com.project.edusync.common.scheduling.ScheduledJobCoordinator;
+import com.project.edusync.notifications.config.NotificationSnsProperties;
+import com.project.edusync.notifications.model.NotificationOutboxEntry;
+import com.project.edusync.notifications.model.OutboxStatus;
+import com.project.edusync.notifications.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sns.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequest;
+import software.amazon.awssdk.services.sns.model.PublishBatchResponse;
+import software.amazon.awssdk.services.sns.model.PublishBatchResultEntry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationOutboxDispatcherTest {
+
+    private NotificationOutboxRepository repository;
+    private SnsClient snsClient;
+    private NotificationSnsProperties properties;
+    private NotificationOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(NotificationOutboxRepository.class);
+        snsClient = mock(SnsClient.class);
+        properties = new NotificationSnsProperties();
+        dispatcher = new NotificationOutboxDispatcher(repository, snsClient, properties,
+                mock(PlatformTransactionManager.class), mock(ScheduledJobCoordinator.class), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void publishesInBatchesOfTenAndClassifiesFailures() {
+        List<NotificationOutboxEntry> claimed = entries(12, 1);
+        when(snsClient.publishBatch(any(PublishBatchRequest.class)))
+                .thenReturn(PublishBatchResponse.builder()
+                        .successful(LongStream.rangeClosed(1, 8).mapToObj(NotificationOutboxDispatcherTest::ok).toList())
+                        .failed(error(9, true), error(10, false))
+                        .build())
+                .thenReturn(PublishBatchResponse.builder()
+                        .successful(ok(11), ok(12))
+                        .build());
+
+        dispatcher.publish(claimed);
+
+        ArgumentCaptor<PublishBatchRequest> requests = ArgumentCaptor.forClass(PublishBatchRequest.class);
+        verify(snsClient, times(2)).publishBatch(requests.capture());
+        assertEquals(10, requests.getAllValues().get(0).publishBatchRequestEntries().size());
+        assertEquals(2, requests.getAllValues().get(1).publishBatchRequestEntries().size());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> sent = ArgumentCaptor.forClass(Collection.class);
+        verify(repository).markSent(sent.capture(), any(LocalDateTime.class));
+        assertEquals(10, sent.getValue().size());
+        verify(repository).markDead(eq(9L), anyString());
+        verify(repository).markRetry(eq(10L), any(LocalDateTime.class), anyString());
+    }
+
+    @Test
+    void deadLettersWhenAttemptsAreExhausted() {
+        properties.getOutbox().setMaxAttempts(3);
+        List<NotificationOutboxEntry> claimed = entries(2, 3);
+        when(snsClient.publishBatch(any(PublishBatchRequest.class)))
+                .thenThrow(SdkClientException.create("connection refused"));
+
+        dispatcher.publish(claimed);
+
+        verify(repository, never()).markSent(any(), any());
+        verify(repository).markDead(eq(1L), anyString());
+        verify(repository).markDead(eq(2L), anyString());
+    }
+
+    @Test
+    void backoffGrowsExponentiallyUpToTheCap() {
+        properties.getOutbox().setInitialBackoff(Duration.ofSeconds(5));
+        properties.getOutbox().setMaxBackoff(Duration.ofMinutes(1));
+
+        Duration first = dispatcher.backoff(1);
+        Duration third = dispatcher.backoff(3);
+        Duration capped = dispatcher.backoff(12);
+
+        assertTrue(first.compareTo(Duration.ofSeconds(5)) >= 0 && first.compareTo(Duration.ofSeconds(6)) <= 0);
+        assertTrue(third.compareTo(Duration.ofSeconds(20)) >= 0 && third.compareTo(Duration.ofSeconds(24)) <= 0);
+        assertTrue(capped.compareTo(Duration.ofMinutes(1)) >= 0 && capped.compareTo(Duration.ofSeconds(72)) <= 0);
+    }
+
+    private static List<NotificationOutboxEntry> entries(int count, int attempts) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> NotificationOutboxEntry.builder()
+                        .id(id)
+                        .topicArn("arn:aws:sns:us-east-1:000000000000:notification-topic")
+                        .eventType("STUDENT_CREATED")
+                        .payload("{\"event\":\"STUDENT_CREATED\"}")
+                        .status(OutboxStatus.PENDING)
+                        .attempts(attempts)
+                        .build())
+                .toList();
+    }
+
+    private static PublishBatchResultEntry ok(long id) {
+        return PublishBatchResultEntry.builder().id(String.valueOf(id)).messageId("m-" + id).build();
+    }
+
+    private static BatchResultErrorEntry error(long id, boolean senderFault) {
+        return BatchResultErrorEntry.builder()
+                .id(String.valueOf(id))
+                .code(senderFault ? "InvalidParameter" : "InternalError")
+                .message("rejected")
+                .senderFault(senderFault)
+                .build();
+    }
+}
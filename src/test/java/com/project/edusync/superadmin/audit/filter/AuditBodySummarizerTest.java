@@ -0,0 +1,59 @@
+package com.project.edusync.superadmin.audit.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.edusync.superadmin.audit.config.AuditCaptureProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditBodySummarizerTest {
+
+    private final AuditCaptureProperties properties = new AuditCaptureProperties();
+    private final AuditBodySummarizer summarizer = new AuditBodySummarizer(new ObjectMapper(), properties);
+
+    @Test
+    void redactsNestedSecretsAndExtractsTopLevelFields() throws Exception {
+        DigestingRequestWrapper request = read(
+                "{\"username\":\"alice\",\"password\":\"p\",\"profile\":{\"pin\":\"1234\",\"city\":\"Pune\"}}", 1024);
+
+        AuditBodySummary summary = summarizer.summarize(request, Set.of("username"));
+
+        assertEquals("alice", summary.fields().get("username"));
+        assertFalse(summary.truncated());
+        assertFalse(summary.preview().contains("1234"));
+        assertFalse(summary.preview().contains("\"p\""));
+        assertTrue(summary.preview().contains("Pune"));
+        assertNotNull(summary.sha256());
+    }
+
+    @Test
+    void hashesWholeBodyButKeepsOnlyTheHead() throws Exception {
+        String body = "{\"note\":\"" + "x".repeat(4096) + "\"}";
+        DigestingRequestWrapper bounded = read(body, 64);
+        DigestingRequestWrapper full = read(body, 8192);
+
+        AuditBodySummary summary = summarizer.summarize(bounded, Set.of());
+
+        assertTrue(summary.truncated());
+        assertEquals(body.length(), summary.bytes());
+        assertEquals(64, bounded.head().length);
+        assertEquals(full.sha256(), summary.sha256());
+        assertTrue(summary.preview().endsWith("…"));
+    }
+
+    private static DigestingRequestWrapper read(String body, int maxBytes) throws Exception {
+        MockHttpServletRequest raw = new MockHttpServletRequest("POST", "/api/v1/test");
+        raw.setContentType("application/json");
+        raw.setContent(body.getBytes(StandardCharsets.UTF_8));
+        DigestingRequestWrapper request = new DigestingRequestWrapper(raw, maxBytes);
+        request.getInputStream().readAllBytes();
+        return request;
+    }
+}
@@ -0,0 +1,91 @@
+package com.project.edusync.superadmin.audit.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuditLogSearchRepositoryTest {
+
+    private static final AuditLogSearchRepository.Filter NO_FILTER =
+            new AuditLogSearchRepository.Filter(null, null, null, null, null);
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private AuditLogSearchRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        repository = new AuditLogSearchRepository(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void cursorContinuesStrictlyAfterTheLastTimestampAndIdPair() {
+        Instant tied = Instant.parse("2026-10-01T10:00:00.123456Z");
+
+        repository.findPage(NO_FILTER, new AuditLogSearchRepository.Cursor(tied, 42L), 51);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).query(sql.capture(), params.capture(), any(RowMapper.class));
+        // A row-value comparison, so rows sharing the cursor's timestamp continue by id instead of being skipped.
+        assertTrue(sql.getValue().contains("(event_timestamp, id) < (:cursorTs, :cursorId)"));
+        assertTrue(sql.getValue().endsWith("ORDER BY event_timestamp DESC, id DESC LIMIT :limit"));
+        assertEquals(Timestamp.from(tied), params.getValue().getValue("cursorTs"));
+        assertEquals(42L, params.getValue().getValue("cursorId"));
+        assertEquals(51, params.getValue().getValue("limit"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void firstPageHasNoCursorPredicate() {
+        repository.findPage(NO_FILTER, null, 51);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).query(sql.capture(), params.capture(), any(RowMapper.class));
+        assertFalse(sql.getValue().contains(":cursorTs"));
+        assertFalse(params.getValue().hasValue("cursorTs"));
+    }
+
+    @Test
+    void countStopsAtTheCap() {
+        when(jdbcTemplate.queryForObject(anyString(), any(MapSqlParameterSource.class), eq(Long.class)))
+                .thenReturn(10_000L);
+
+        long total = repository.countUpTo(new AuditLogSearchRepository.Filter("Admin_", "UPDATE", null,
+                Instant.parse("2026-09-01T00:00:00Z"), null), 10_000);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).queryForObject(sql.capture(), params.capture(), eq(Long.class));
+        assertEquals(10_000L, total);
+        assertTrue(sql.getValue().startsWith("SELECT count(*) FROM (SELECT 1 FROM audit_logs WHERE "));
+        assertTrue(sql.getValue().endsWith(" LIMIT :cap) capped"));
+        assertEquals(10_000, params.getValue().getValue("cap"));
+        assertEquals("admin\\_%", params.getValue().getValue("actor"));
+        assertEquals("UPDATE", params.getValue().getValue("action"));
+        assertEquals(Timestamp.from(Instant.parse("2026-09-01T00:00:00Z")), params.getValue().getValue("from"));
+    }
+
+    @Test
+    void nullCountIsReportedAsZero() {
+        assertEquals(0L, repository.countUpTo(NO_FILTER, 10));
+    }
+}
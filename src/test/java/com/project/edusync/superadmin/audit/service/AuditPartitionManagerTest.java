@@ -0,0 +1,133 @@
+package com.project.edusync.superadmin.audit.service;
+
+import com.project.edusync.common.scheduling.ScheduledJobCoordinator;
+import com.project.edusync.superadmin.audit.config.AuditStorageProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuditPartitionManagerTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private AuditStorageProperties properties;
+    private AuditPartitionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        properties = new AuditStorageProperties();
+        properties.setPremakeMonths(3);
+        manager = new AuditPartitionManager(jdbcTemplate, mock(PlatformTransactionManager.class), properties,
+                mock(ScheduledJobCoordinator.class));
+        // Last second of October: the current month's partition is still October's.
+        ReflectionTestUtils.setField(manager, "clock",
+                Clock.fixed(Instant.parse("2026-10-31T23:59:59Z"), ZoneOffset.UTC));
+        partitioned(true);
+    }
+
+    @Test
+    void createsOnlyMissingPartitionsThroughPremakeHorizon() {
+        existing("audit_logs_y2026m10", "audit_logs_y2026m11");
+
+        int touched = manager.execute(LocalDateTime.of(2026, 11, 1, 5, 5));
+
+        assertEquals(2, touched);
+        assertEquals(List.of(
+                "CREATE TABLE IF NOT EXISTS audit_logs_y2026m12 PARTITION OF audit_logs FOR VALUES "
+                        + "FROM ('2026-12-01 00:00:00+00') TO ('2027-01-01 00:00:00+00')",
+                "CREATE TABLE IF NOT EXISTS audit_logs_y2027m01 PARTITION OF audit_logs FOR VALUES "
+                        + "FROM ('2027-01-01 00:00:00+00') TO ('2027-02-01 00:00:00+00')"),
+                executed());
+    }
+
+    @Test
+    void emptyTableGetsCurrentMonthPlusPremake() {
+        existing();
+
+        assertEquals(4, manager.execute(LocalDateTime.of(2026, 11, 1, 5, 5)));
+        List<String> statements = executed();
+        assertTrue(statements.get(0).startsWith("CREATE TABLE IF NOT EXISTS audit_logs_y2026m10 "));
+        assertTrue(statements.get(3).startsWith("CREATE TABLE IF NOT EXISTS audit_logs_y2027m01 "));
+    }
+
+    @Test
+    void dropsOnlyPartitionsOlderThanRetention() {
+        properties.setRetentionMonths(12);
+        existing("audit_logs_y2025m09", "audit_logs_y2025m10", "audit_logs_y2026m10", "audit_logs_y2026m11",
+                "audit_logs_y2026m12", "audit_logs_y2027m01", "audit_logs_default");
+
+        int touched = manager.execute(LocalDateTime.of(2026, 11, 1, 5, 5));
+
+        assertEquals(1, touched);
+        assertEquals(List.of("DROP TABLE IF EXISTS audit_logs_y2025m09"), executed());
+    }
+
+    @Test
+    void zeroRetentionKeepsEveryPartition() {
+        properties.setRetentionMonths(0);
+        existing("audit_logs_y2019m01", "audit_logs_y2026m10", "audit_logs_y2026m11", "audit_logs_y2026m12",
+                "audit_logs_y2027m01");
+
+        int touched = manager.execute(LocalDateTime.of(2026, 11, 1, 5, 5));
+
+        assertEquals(0, touched);
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void unpartitionedTableDeletesRowsBeforeRetentionBoundary() {
+        partitioned(false);
+        properties.setRetentionMonths(12);
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(7);
+
+        int touched = manager.execute(LocalDateTime.of(2026, 11, 1, 5, 5));
+
+        assertEquals(7, touched);
+        verify(jdbcTemplate).update("DELETE FROM audit_logs WHERE event_timestamp < ?",
+                Timestamp.from(Instant.parse("2025-10-01T00:00:00Z")));
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void unpartitionedTableWithZeroRetentionDeletesNothing() {
+        partitioned(false);
+
+        assertEquals(0, manager.execute(LocalDateTime.of(2026, 11, 1, 5, 5)));
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    private void partitioned(boolean partitioned) {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class))).thenReturn(partitioned);
+    }
+
+    private void existing(String... partitions) {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(partitions));
+    }
+
+    private List<String> executed() {
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, atLeast(0)).execute(statements.capture());
+        return statements.getAllValues();
+    }
+}
@@ -0,0 +1,76 @@
+package com.project.edusync.superadmin.audit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.edusync.superadmin.audit.config.AuditSinkProperties;
+import com.project.edusync.superadmin.audit.model.entity.AuditLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditSpoolTest {
+
+    @TempDir
+    Path directory;
+
+    private AuditSpool spool;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        AuditSinkProperties properties = new AuditSinkProperties();
+        properties.setSpoolDirectory(directory.toString());
+        spool = new AuditSpool(properties, new ObjectMapper().findAndRegisterModules());
+        spool.init();
+    }
+
+    @Test
+    void replaysSpooledRowsAndEmptiesTheSpool() {
+        assertTrue(spool.append(entries(0, 5)));
+        assertTrue(spool.hasPending());
+
+        List<String> seen = new ArrayList<>();
+        int replayed = spool.replay(batch -> batch.forEach(e -> seen.add(e.getEntityId())), 2, 10);
+
+        assertEquals(5, replayed);
+        assertEquals(List.of("0", "1", "2", "3", "4"), seen);
+        assertFalse(spool.hasPending());
+    }
+
+    @Test
+    void failedBatchIsRetriedWithoutResendingEarlierOnes() {
+        spool.append(entries(0, 4));
+
+        List<String> seen = new ArrayList<>();
+        assertThrows(IllegalStateException.class, () -> spool.replay(batch -> {
+            if (!seen.isEmpty()) {
+                throw new IllegalStateException("database down");
+            }
+            batch.forEach(e -> seen.add(e.getEntityId()));
+        }, 2, 10));
+
+        spool.replay(batch -> batch.forEach(e -> seen.add(e.getEntityId())), 2, 10);
+
+        assertEquals(List.of("0", "1", "2", "3"), seen);
+        assertFalse(spool.hasPending());
+    }
+
+    private static List<AuditLog> entries(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> {
+            AuditLog entry = new AuditLog();
+            entry.setAction("UPDATE");
+            entry.setEntityId(String.valueOf(i));
+            entry.setTimestamp(Instant.parse("2026-01-01T00:00:00Z"));
+            return entry;
+        }).toList();
+    }
+}
@@ -0,0 +1,121 @@
+package com.project.edusync.superadmin.audit.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.edusync.superadmin.audit.config.AuditStorageProperties;
+import com.project.edusync.superadmin.audit.model.dto.AuditLogResponseDto;
+import com.project.edusync.superadmin.audit.model.dto.AuditLogSliceDto;
+import com.project.edusync.superadmin.audit.model.entity.AuditLog;
+import com.project.edusync.superadmin.audit.repository.AuditLogSearchRepository;
+import com.project.edusync.superadmin.audit.service.AuditAsyncWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuditLogServiceImplSearchTest {
+
+    private static final Comparator<AuditLog> NEWEST_FIRST =
+            Comparator.comparing(AuditLog::getTimestamp).thenComparing(AuditLog::getId).reversed();
+
+    private final List<AuditLog> rows = new ArrayList<>();
+    private final List<AuditLogSearchRepository.Cursor> cursorsSeen = new ArrayList<>();
+    private AuditStorageProperties storageProperties;
+    private AuditLogServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        Instant tied = Instant.parse("2026-10-01T10:00:00.123456Z");
+        rows.add(row(1L, Instant.parse("2026-10-01T09:00:00Z")));
+        rows.add(row(2L, tied));
+        rows.add(row(3L, tied));
+        rows.add(row(4L, tied));
+        rows.add(row(5L, tied.plusNanos(1_000)));
+
+        // Keyset semantics of AuditLogSearchRepository: (event_timestamp, id) < cursor, newest first.
+        AuditLogSearchRepository repository = mock(AuditLogSearchRepository.class);
+        when(repository.findPage(any(), any(), anyInt())).thenAnswer(inv -> {
+            AuditLogSearchRepository.Cursor after = inv.getArgument(1);
+            cursorsSeen.add(after);
+            return rows.stream()
+                    .filter(r -> after == null || r.getTimestamp().isBefore(after.timestamp())
+                            || (r.getTimestamp().equals(after.timestamp()) && r.getId() < after.id()))
+                    .sorted(NEWEST_FIRST)
+                    .limit((int) inv.getArgument(2))
+                    .toList();
+        });
+        when(repository.countUpTo(any(), anyInt()))
+                .thenAnswer(inv -> Math.min(rows.size(), (long) (int) inv.getArgument(1)));
+
+        storageProperties = new AuditStorageProperties();
+        service = new AuditLogServiceImpl(repository, storageProperties, mock(AuditAsyncWriter.class), new ObjectMapper());
+    }
+
+    @Test
+    void cursorWalksRowsSharingATimestampWithoutSkipsOrRepeats() {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            AuditLogSliceDto slice = service.search(null, null, null, null, null, cursor, 2);
+            slice.content().stream().map(AuditLogResponseDto::id).forEach(seen::add);
+            cursor = slice.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(List.of(5L, 4L, 3L, 2L, 1L), seen);
+        assertEquals(3, pages);
+        // The cursor keeps sub-second precision and the id, so the tie at "tied" resumes at id 3.
+        assertEquals(new AuditLogSearchRepository.Cursor(Instant.parse("2026-10-01T10:00:00.123456Z"), 4L),
+                cursorsSeen.get(1));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        AuditLogSliceDto slice = service.search(null, null, null, null, null, null, 5);
+
+        assertEquals(5, slice.size());
+        assertNull(slice.nextCursor());
+    }
+
+    @Test
+    void totalIsExactBelowTheCap() {
+        storageProperties.setCountCap(10);
+
+        AuditLogSliceDto slice = service.search(null, null, null, null, null, null, 2);
+
+        assertNotNull(slice.nextCursor());
+        assertEquals(5, slice.total());
+        assertTrue(slice.totalExact());
+    }
+
+    @Test
+    void totalAtTheCapIsALowerBound() {
+        storageProperties.setCountCap(5);
+
+        AuditLogSliceDto slice = service.search(null, null, null, null, null, null, 2);
+
+        assertEquals(5, slice.total());
+        assertFalse(slice.totalExact());
+    }
+
+    private static AuditLog row(Long id, Instant timestamp) {
+        AuditLog entry = new AuditLog();
+        entry.setId(id);
+        entry.setTimestamp(timestamp);
+        entry.setChangePayload("{}");
+        return entry;
+    }
+}
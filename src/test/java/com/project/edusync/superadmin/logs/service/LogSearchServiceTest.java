@@ -0,0 +1,114 @@
+package com.project.edusync.superadmin.logs.service;
+
+import com.project.edusync.common.exception.EdusyncException;
+import com.project.edusync.superadmin.logs.config.LogIndexProperties;
+import com.project.edusync.superadmin.model.dto.LogSearchResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogSearchServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private Path activeFile;
+    private LogSegmentIndexer indexer;
+    private LogSearchService service;
+
+    @BeforeEach
+    void setUp() {
+        LogIndexProperties properties = new LogIndexProperties();
+        properties.setSegmentBytes(2048);
+        properties.setSettleTime(Duration.ZERO);
+        activeFile = directory.resolve("edusync.log");
+        indexer = new LogSegmentIndexer(properties, activeFile.toString());
+        service = new LogSearchService(indexer, properties);
+    }
+
+    @Test
+    void findsRequestAcrossGzippedRotatedAndActiveFiles() throws IOException {
+        List<String> yesterday = noise("2026-10-18", 200);
+        yesterday.add(100, line("2026-10-18 14:00:00.000", "ERROR", "abc12345", "Fee posting failed"));
+        yesterday.add(101, "java.lang.IllegalStateException: boom");
+        yesterday.add(102, "\tat com.project.edusync.Foo.bar(Foo.java:1)");
+        writeGzip(directory.resolve("edusync.log.2026-10-18.0.log.gz"), yesterday);
+
+        List<String> today = noise("2026-10-19", 50);
+        today.add(line("2026-10-19 09:00:00.000", "INFO", "abc12345", "Retried"));
+        Files.write(activeFile, today);
+
+        indexer.refresh();
+        LogSearchResponseDto response = service.search("abc12345", null, null, null, null, null);
+
+        assertEquals(2, response.totalLinesReturned());
+        assertEquals("Fee posting failed\njava.lang.IllegalStateException: boom\n\tat com.project.edusync.Foo.bar(Foo.java:1)",
+                response.entries().get(0).message());
+        assertEquals("Retried", response.entries().get(1).message());
+        assertTrue(response.segmentsScanned() < response.segmentsIndexed());
+    }
+
+    @Test
+    void picksUpLinesAppendedToTheActiveFile() throws IOException {
+        Files.write(activeFile, noise("2026-10-19", 10));
+        indexer.refresh();
+
+        Files.writeString(activeFile, line("2026-10-19 11:00:00.000", "WARN", "feedbeef", "Slow query") + "\n",
+                StandardOpenOption.APPEND);
+        indexer.refresh();
+
+        LogSearchResponseDto response = service.search(null, "WARN", null,
+                LocalDateTime.of(2026, 10, 19, 10, 0), null, null);
+
+        assertEquals(1, response.totalLinesReturned());
+        assertEquals("feedbeef", response.entries().get(0).thread());
+    }
+
+    @Test
+    void rejectsUnboundedSearch() {
+        EdusyncException ex = assertThrows(EdusyncException.class,
+                () -> service.search(" ", null, null, null, null, null));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getHttpStatus());
+    }
+
+    private static List<String> noise(String date, int count) {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            lines.add(line(date + String.format(" %02d:%02d:00.000", 8 + i / 60, i % 60), "INFO",
+                    String.format("%08x", i), "Request completed"));
+        }
+        return lines;
+    }
+
+    private static String line(String timestamp, String level, String requestId, String message) {
+        return timestamp + " " + level + " [NO_TRACE] [" + requestId + "] GET /api/v1/test 200 5ms c.p.e.c.f.RequestLoggingFilter - "
+                + message;
+    }
+
+    private static void writeGzip(Path file, List<String> lines) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write((String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minusSeconds(60)));
+    }
+}
@@ -0,0 +1,100 @@
+package com.project.edusync.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Throwaway PostgreSQL schema for tests of native set-based SQL, which mocks cannot exercise. Tests using it are
+ * gated on {@value #URL_VARIABLE} (plus optional {@code EDUSYNC_TEST_DB_USERNAME} / {@code EDUSYNC_TEST_DB_PASSWORD})
+ * and skip when it is unset. Everything runs on one connection whose {@code search_path} is the new schema, which
+ * is dropped on {@link #close()}.
+ */
+public final class PostgresTestSchema implements AutoCloseable {
+
+    public static final String URL_VARIABLE = "EDUSYNC_TEST_DB_URL";
+
+    private final SingleConnectionDataSource dataSource;
+    private final String schema;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final boolean owner;
+
+    private PostgresTestSchema(SingleConnectionDataSource dataSource, String schema, boolean owner) {
+        this.dataSource = dataSource;
+        this.schema = schema;
+        this.owner = owner;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public static PostgresTestSchema create() {
+        String schema = "edusync_test_" + UUID.randomUUID().toString().replace("-", "");
+        PostgresTestSchema test = new PostgresTestSchema(connect(), schema, true);
+        test.jdbcTemplate.execute("CREATE SCHEMA " + schema);
+        test.jdbcTemplate.execute("SET search_path TO " + schema);
+        return test;
+    }
+
+    /**
+     * A second connection on the same schema, for tests that race two transactions. Closing it leaves the schema
+     * in place.
+     */
+    public PostgresTestSchema newSession() {
+        PostgresTestSchema session = new PostgresTestSchema(connect(), schema, false);
+        session.jdbcTemplate.execute("SET search_path TO " + schema);
+        return session;
+    }
+
+    /** Backend process id of this connection, as {@code pg_locks.pid} reports it. */
+    public int backendPid() {
+        Integer pid = jdbcTemplate.queryForObject("SELECT pg_backend_pid()", Integer.class);
+        return pid != null ? pid : 0;
+    }
+
+    public JdbcTemplate jdbc() {
+        return jdbcTemplate;
+    }
+
+    public NamedParameterJdbcTemplate namedJdbc() {
+        return namedJdbcTemplate;
+    }
+
+    /** Runs the work in one transaction, for statements such as {@code LOCK TABLE} that need one. */
+    public <T> T inTransaction(Supplier<T> work) {
+        return new TransactionTemplate(new DataSourceTransactionManager(dataSource)).execute(status -> work.get());
+    }
+
+    /** Runs each statement of a DDL/DML script separated by {@code ;}. */
+    public void execute(String script) {
+        for (String statement : script.split(";")) {
+            if (!statement.isBlank()) {
+                jdbcTemplate.execute(statement);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (owner) {
+                jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+            }
+        } finally {
+            dataSource.destroy();
+        }
+    }
+
+    private static SingleConnectionDataSource connect() {
+        return new SingleConnectionDataSource(
+                System.getenv(URL_VARIABLE),
+                System.getenv().getOrDefault("EDUSYNC_TEST_DB_USERNAME", "postgres"),
+                System.getenv().getOrDefault("EDUSYNC_TEST_DB_PASSWORD", ""),
+                true);
+    }
+}
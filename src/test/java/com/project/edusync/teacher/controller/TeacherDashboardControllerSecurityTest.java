@@ -2,6 +2,7 @@ package com.project.edusync.teacher.controller;
 
 import com.project.edusync.common.security.AuthUtil;
 import com.project.edusync.common.security.CustomUserDetailService;
+import com.project.edusync.common.security.StatelessPrincipalResolver;
 import com.project.edusync.common.utils.RequestUtil;
 import com.project.edusync.superadmin.audit.service.AuditLogService;
 import com.project.edusync.teacher.model.dto.TeacherDashboardSummaryResponseDto;
@@ -57,6 +58,9 @@ class TeacherDashboardControllerSecurityTest {
     @MockitoBean
     private CustomUserDetailService customUserDetailService;
 
+    @MockitoBean
+    private StatelessPrincipalResolver statelessPrincipalResolver;
+
     @MockitoBean
     private AuditLogService auditLogService;
 
@@ -0,0 +1,283 @@
+package com.project.edusync.teacher.service;
+
+import com.project.edusync.adm.repository.ScheduleRepository;
+import com.project.edusync.ams.model.repository.StaffDailyAttendanceRepository;
+import com.project.edusync.hrms.repository.AcademicCalendarEventRepository;
+import com.project.edusync.hrms.repository.LeaveApplicationRepository;
+import com.project.edusync.hrms.service.event.StaffAvailabilityChangedEvent;
+import com.project.edusync.teacher.model.enums.ProxyRequestStatus;
+import com.project.edusync.teacher.repository.ProxyRequestRepository;
+import com.project.edusync.teacher.service.event.ProxyAssignmentChangedEvent;
+import com.project.edusync.uis.model.enums.StaffCategory;
+import com.project.edusync.uis.repository.StaffRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyShort;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProxyAvailabilityIndexTest {
+
+    /** A Wednesday, so the day before and after fall in the same week. */
+    private static final LocalDate DATE = LocalDate.of(2026, 10, 21);
+    private static final Instant BUILT_AT = Instant.parse("2026-10-21T02:00:00Z");
+
+    private ScheduleRepository scheduleRepository;
+    private StaffRepository staffRepository;
+    private StaffDailyAttendanceRepository attendanceRepository;
+    private LeaveApplicationRepository leaveApplicationRepository;
+    private ProxyRequestRepository proxyRequestRepository;
+    private ProxyAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        scheduleRepository = mock(ScheduleRepository.class);
+        staffRepository = mock(StaffRepository.class);
+        attendanceRepository = mock(StaffDailyAttendanceRepository.class);
+        leaveApplicationRepository = mock(LeaveApplicationRepository.class);
+        proxyRequestRepository = mock(ProxyRequestRepository.class);
+        AcademicCalendarEventRepository calendarEventRepository = mock(AcademicCalendarEventRepository.class);
+
+        index = new ProxyAvailabilityIndex(scheduleRepository, staffRepository, attendanceRepository,
+                leaveApplicationRepository, proxyRequestRepository, calendarEventRepository);
+        at(BUILT_AT);
+
+        teachers(List.of(candidate(1L, 101L), candidate(2L, 102L), candidate(3L, 103L)));
+        List<ScheduleRepository.TeacherTimeslotProjection> slots = List.of(slot(1L, 50L));
+        when(scheduleRepository.findTeacherTimeslotsByDayOfWeek(anyShort())).thenReturn(slots);
+        when(attendanceRepository.findDistinctAbsentStaffIdsByDate(DATE)).thenReturn(List.of());
+        when(leaveApplicationRepository.findDistinctStaffIdsOnApprovedLeave(DATE)).thenReturn(List.of());
+        loads(Map.of(102L, 1L, 103L, 2L));
+        covered(List.of());
+    }
+
+    @Test
+    void picksLeastLoadedPresentTeacherWithoutAClassInTheSlot() {
+        assertEquals(1L, index.findBestProxy(DATE, 9L, 60L).orElseThrow().staffId());
+        assertEquals(2L, index.findBestProxy(DATE, 9L, 50L).orElseThrow().staffId(),
+                "staff 1 teaches in slot 50");
+    }
+
+    @Test
+    void staffAvailabilityEventReloadsAbsentSet() {
+        assertFalse(index.isAbsent(DATE, 1L));
+
+        when(attendanceRepository.findDistinctAbsentStaffIdsByDate(DATE)).thenReturn(List.of(1L));
+        when(leaveApplicationRepository.findDistinctStaffIdsOnApprovedLeave(DATE)).thenReturn(List.of(2L));
+        index.onStaffAvailabilityChanged(StaffAvailabilityChangedEvent.on(DATE));
+
+        assertTrue(index.isAbsent(DATE, 1L));
+        assertTrue(index.isAbsent(DATE, 2L));
+        assertEquals(3L, index.findBestProxy(DATE, 9L, 60L).orElseThrow().staffId());
+    }
+
+    @Test
+    void staffAvailabilityEventForAnotherDayIsIgnored() {
+        index.isAbsent(DATE, 1L);
+
+        when(attendanceRepository.findDistinctAbsentStaffIdsByDate(DATE)).thenReturn(List.of(1L));
+        index.onStaffAvailabilityChanged(StaffAvailabilityChangedEvent.on(DATE.plusDays(1)));
+
+        assertFalse(index.isAbsent(DATE, 1L));
+    }
+
+    @Test
+    void proxyAssignmentEventReloadsWeeklyLoadAndCover() {
+        assertFalse(index.isCovered(DATE, 900L));
+
+        loads(Map.of(101L, 5L, 102L, 1L, 103L, 2L));
+        covered(List.of(900L));
+        index.onProxyAssignmentChanged(new ProxyAssignmentChangedEvent(DATE.minusDays(1)));
+
+        assertTrue(index.isCovered(DATE, 900L));
+        assertEquals(5L, index.candidate(DATE, 1L).orElseThrow().weeklyLoad());
+        assertEquals(2L, index.findBestProxy(DATE, 9L, 60L).orElseThrow().staffId());
+    }
+
+    @Test
+    void proxyAssignmentEventInAnotherWeekIsIgnored() {
+        index.isCovered(DATE, 900L);
+
+        covered(List.of(900L));
+        index.onProxyAssignmentChanged(new ProxyAssignmentChangedEvent(DATE.plusWeeks(1)));
+
+        assertFalse(index.isCovered(DATE, 900L));
+    }
+
+    @Test
+    void recordedAssignmentIsVisibleBeforeTheEventArrives() {
+        index.findBestProxy(DATE, 9L, 60L);
+
+        index.recordAssignment(DATE, 900L, 1L);
+
+        assertTrue(index.isCovered(DATE, 900L));
+        assertEquals(1L, index.candidate(DATE, 1L).orElseThrow().weeklyLoad());
+        assertEquals(1L, index.findBestProxy(DATE, 9L, 60L).orElseThrow().staffId(),
+                "ties on load break by staff id");
+    }
+
+    @Test
+    void assignmentInsideATransactionAppliesOnlyOnCommit() {
+        index.findBestProxy(DATE, 9L, 60L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.recordAssignment(DATE, 900L, 1L);
+            assertFalse(index.isCovered(DATE, 900L), "nothing is visible before the commit");
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(index.isCovered(DATE, 900L));
+        assertEquals(1L, index.candidate(DATE, 1L).orElseThrow().weeklyLoad());
+    }
+
+    @Test
+    void rolledBackAssignmentLeavesNoPhantomCover() {
+        index.findBestProxy(DATE, 9L, 60L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.recordAssignment(DATE, 900L, 1L);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertFalse(index.isCovered(DATE, 900L));
+        assertEquals(0L, index.candidate(DATE, 1L).orElseThrow().weeklyLoad());
+    }
+
+    @Test
+    void reloadAbsentPicksUpAnAbsenceWhoseEventWentToAnotherNode() {
+        assertFalse(index.isAbsent(DATE, 1L));
+
+        when(attendanceRepository.findDistinctAbsentStaffIdsByDate(DATE)).thenReturn(List.of(1L));
+        index.reloadAbsent(DATE);
+
+        assertTrue(index.isAbsent(DATE, 1L));
+        assertEquals(2L, index.findBestProxy(DATE, 9L, 60L).orElseThrow().staffId());
+        verify(staffRepository, times(1)).findActiveWithUserByCategory(StaffCategory.TEACHING);
+    }
+
+    @Test
+    void snapshotIsReusedUntilTheRebuildInterval() {
+        index.isWorkingDay(DATE);
+        at(BUILT_AT.plus(Duration.ofMinutes(29)));
+        index.isWorkingDay(DATE);
+        verify(staffRepository, times(1)).findActiveWithUserByCategory(StaffCategory.TEACHING);
+
+        teachers(List.of(candidate(1L, 101L), candidate(4L, 104L)));
+        at(BUILT_AT.plus(Duration.ofMinutes(31)));
+
+        assertTrue(index.candidate(DATE, 4L).isPresent());
+        assertFalse(index.candidate(DATE, 2L).isPresent());
+        verify(staffRepository, times(2)).findActiveWithUserByCategory(StaffCategory.TEACHING);
+    }
+
+    @Test
+    void periodicRebuildDoesNotLoseAnEventThatArrivesMidBuild() throws Exception {
+        index.isWorkingDay(DATE);
+        at(BUILT_AT.plus(Duration.ofMinutes(31)));
+
+        // The rebuild reads weekly load, then stalls before reading the absent set.
+        CountDownLatch rebuildStalled = new CountDownLatch(1);
+        CountDownLatch releaseRebuild = new CountDownLatch(1);
+        when(attendanceRepository.findDistinctAbsentStaffIdsByDate(DATE)).thenAnswer(inv -> {
+            rebuildStalled.countDown();
+            assertTrue(releaseRebuild.await(5, TimeUnit.SECONDS));
+            return List.of();
+        });
+        Thread rebuild = new Thread(() -> index.isWorkingDay(DATE));
+        rebuild.start();
+        assertTrue(rebuildStalled.await(5, TimeUnit.SECONDS));
+
+        // A proxy commits after the rebuild read the old load; its event must wait for the rebuild.
+        loads(Map.of(101L, 4L, 102L, 1L, 103L, 2L));
+        covered(List.of(900L));
+        Thread event = new Thread(() -> index.onProxyAssignmentChanged(new ProxyAssignmentChangedEvent(DATE)));
+        event.start();
+        awaitBlocked(event);
+
+        releaseRebuild.countDown();
+        rebuild.join(5_000);
+        event.join(5_000);
+
+        assertEquals(4L, index.candidate(DATE, 1L).orElseThrow().weeklyLoad());
+        assertTrue(index.isCovered(DATE, 900L));
+        assertEquals(2L, index.findBestProxy(DATE, 9L, 60L).orElseThrow().staffId());
+    }
+
+    private void at(Instant instant) {
+        ReflectionTestUtils.setField(index, "clock", Clock.fixed(instant, ZoneOffset.UTC));
+    }
+
+    private void teachers(List<StaffRepository.ProxyCandidateProjection> rows) {
+        when(staffRepository.findActiveWithUserByCategory(StaffCategory.TEACHING)).thenReturn(rows);
+    }
+
+    private void loads(Map<Long, Long> byUser) {
+        List<ProxyRequestRepository.UserProxyCountProjection> rows = byUser.entrySet().stream()
+                .map(e -> {
+                    ProxyRequestRepository.UserProxyCountProjection row =
+                            mock(ProxyRequestRepository.UserProxyCountProjection.class);
+                    when(row.getUserId()).thenReturn(e.getKey());
+                    when(row.getTotal()).thenReturn(e.getValue());
+                    return row;
+                })
+                .toList();
+        when(proxyRequestRepository.countAcceptedProxiesByUserBetween(any(), any())).thenReturn(rows);
+    }
+
+    private void covered(List<Long> requesterIds) {
+        when(proxyRequestRepository.findRequesterIdsByPeriodDateAndStatusNot(DATE, ProxyRequestStatus.CANCELLED))
+                .thenReturn(requesterIds);
+    }
+
+    private static StaffRepository.ProxyCandidateProjection candidate(Long staffId, Long userId) {
+        StaffRepository.ProxyCandidateProjection row = mock(StaffRepository.ProxyCandidateProjection.class);
+        when(row.getStaffId()).thenReturn(staffId);
+        when(row.getUserId()).thenReturn(userId);
+        when(row.getUserUuid()).thenReturn(UUID.randomUUID());
+        return row;
+    }
+
+    private static ScheduleRepository.TeacherTimeslotProjection slot(Long staffId, Long timeslotId) {
+        ScheduleRepository.TeacherTimeslotProjection row = mock(ScheduleRepository.TeacherTimeslotProjection.class);
+        when(row.getStaffId()).thenReturn(staffId);
+        when(row.getTimeslotId()).thenReturn(timeslotId);
+        return row;
+    }
+
+    private static void awaitBlocked(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.BLOCKED && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(Thread.State.BLOCKED, thread.getState());
+    }
+}
@@ -0,0 +1,204 @@
+package com.project.edusync.teacher.service.impl;
+
+import com.project.edusync.adm.model.entity.AcademicClass;
+import com.project.edusync.adm.model.entity.Section;
+import com.project.edusync.adm.repository.SectionRepository;
+import com.project.edusync.ams.model.entity.AttendanceType;
+import com.project.edusync.ams.model.entity.StudentAttendanceStats;
+import com.project.edusync.ams.model.entity.StudentDailyAttendance;
+import com.project.edusync.ams.model.repository.StudentDailyAttendanceRepository;
+import com.project.edusync.ams.model.repository.StudentDailyAttendanceRepository.StudentAttendanceAggregateProjection;
+import com.project.edusync.ams.model.service.StudentAttendanceStatsService;
+import com.project.edusync.teacher.model.dto.TeacherHomeroomResponseDto;
+import com.project.edusync.uis.model.entity.Staff;
+import com.project.edusync.uis.model.entity.Student;
+import com.project.edusync.uis.model.entity.UserProfile;
+import com.project.edusync.uis.repository.StaffRepository;
+import com.project.edusync.uis.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TeacherDashboardServiceImplTest {
+
+    private static final LocalDate TARGET = LocalDate.of(2026, 10, 16);
+
+    @Mock
+    private StudentDailyAttendanceRepository studentDailyAttendanceRepository;
+    @Mock
+    private SectionRepository sectionRepository;
+    @Mock
+    private StudentRepository studentRepository;
+    @Mock
+    private StaffRepository staffRepository;
+    @Mock
+    private StudentAttendanceStatsService attendanceStatsService;
+
+    @InjectMocks
+    private TeacherDashboardServiceImpl service;
+
+    private Student withStats;
+    private Student withoutStats;
+    private Student healthy;
+
+    @BeforeEach
+    void setUp() {
+        Staff staff = new Staff();
+        staff.setId(30L);
+        AcademicClass academicClass = new AcademicClass();
+        academicClass.setName("Grade 8");
+        Section homeroom = new Section();
+        homeroom.setId(40L);
+        homeroom.setSectionName("A");
+        homeroom.setAcademicClass(academicClass);
+
+        withStats = student(1L, "Asha");
+        withoutStats = student(2L, "Bilal");
+        healthy = student(3L, "Chen");
+
+        when(staffRepository.findByUserProfile_User_Id(300L)).thenReturn(Optional.of(staff));
+        when(sectionRepository.findActiveHomeroomByClassTeacherId(30L)).thenReturn(List.of(homeroom));
+        when(studentRepository.findAllBySectionIdWithDetails(40L))
+                .thenReturn(List.of(withStats, withoutStats, healthy));
+        when(studentDailyAttendanceRepository.summarizeAttendanceForStudents(List.of(1L, 2L, 3L), TARGET, TARGET))
+                .thenReturn(List.of());
+    }
+
+    @Test
+    void studentsWithoutACurrentStatsRowAreAggregatedLive() {
+        when(attendanceStatsService.findCurrent(List.of(1L, 2L, 3L), TARGET)).thenReturn(Map.of(
+                1L, stats(1L, 0, 12, 20, 60, 100),
+                3L, stats(3L, 0, 19, 20, 95, 100)));
+        when(studentDailyAttendanceRepository.summarizeAttendanceForStudents(
+                List.of(2L), LocalDate.of(2026, 1, 1), TARGET))
+                .thenReturn(List.of(aggregate(2L, 6, 10)));
+        when(studentDailyAttendanceRepository.summarizeAttendanceForStudents(List.of(2L), TARGET.minusDays(29), TARGET))
+                .thenReturn(List.of(aggregate(2L, 3, 5)));
+        when(studentDailyAttendanceRepository.findByStudentIdOrderByAttendanceDateDesc(eq(2L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(mark(true), mark(true), mark(true), mark(false), mark(true))));
+
+        TeacherHomeroomResponseDto homeroom = service.getMyHomeroom(300L, TARGET);
+
+        List<TeacherHomeroomResponseDto.AtRiskStudent> atRisk = homeroom.getAtRiskStudents();
+        assertEquals(List.of(withoutStats.getUuid(), withStats.getUuid()),
+                atRisk.stream().map(TeacherHomeroomResponseDto.AtRiskStudent::getStudentUuid).toList());
+        TeacherHomeroomResponseDto.AtRiskStudent live = atRisk.get(0);
+        assertEquals(new BigDecimal("60.0"), live.getAttendancePercentage());
+        assertEquals(new BigDecimal("60.0"), live.getRecentAttendancePercentage());
+        assertEquals(3L, live.getConsecutiveAbsences());
+        verify(studentDailyAttendanceRepository, never()).findByStudentIdOrderByAttendanceDateDesc(eq(1L), any());
+        verify(studentDailyAttendanceRepository, never()).findByStudentIdOrderByAttendanceDateDesc(eq(3L), any());
+    }
+
+    @Test
+    void currentStatsRowsSkipLiveAggregation() {
+        when(attendanceStatsService.findCurrent(List.of(1L, 2L, 3L), TARGET)).thenReturn(Map.of(
+                1L, stats(1L, 0, 12, 20, 60, 100),
+                2L, stats(2L, 4, 18, 20, 90, 100),
+                3L, stats(3L, 0, 19, 20, 95, 100)));
+
+        TeacherHomeroomResponseDto homeroom = service.getMyHomeroom(300L, TARGET);
+
+        assertEquals(List.of(withStats.getUuid(), withoutStats.getUuid()), homeroom.getAtRiskStudents().stream()
+                .map(TeacherHomeroomResponseDto.AtRiskStudent::getStudentUuid).toList());
+        assertEquals(4L, homeroom.getAtRiskStudents().get(1).getConsecutiveAbsences());
+        verify(studentDailyAttendanceRepository, never()).findByStudentIdOrderByAttendanceDateDesc(any(), any());
+        verify(studentDailyAttendanceRepository, never())
+                .summarizeAttendanceForStudents(any(), eq(LocalDate.of(2026, 1, 1)), any());
+    }
+
+    @Test
+    void studentWithNoMarksAtAllFallsBackToZeroes() {
+        when(attendanceStatsService.findCurrent(List.of(1L, 2L, 3L), TARGET)).thenReturn(Map.of(
+                1L, stats(1L, 0, 19, 20, 95, 100),
+                3L, stats(3L, 0, 19, 20, 95, 100)));
+        when(studentDailyAttendanceRepository.summarizeAttendanceForStudents(eq(List.of(2L)), any(), eq(TARGET)))
+                .thenReturn(List.of());
+        when(studentDailyAttendanceRepository.findByStudentIdOrderByAttendanceDateDesc(eq(2L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of()));
+
+        TeacherHomeroomResponseDto homeroom = service.getMyHomeroom(300L, TARGET);
+
+        // No history reads as 0%, which is below the at-risk threshold.
+        assertEquals(1, homeroom.getAtRiskStudents().size());
+        TeacherHomeroomResponseDto.AtRiskStudent unmarked = homeroom.getAtRiskStudents().get(0);
+        assertEquals(withoutStats.getUuid(), unmarked.getStudentUuid());
+        assertEquals(BigDecimal.ZERO, unmarked.getAttendancePercentage());
+        assertEquals(0L, unmarked.getConsecutiveAbsences());
+    }
+
+    private static Student student(Long id, String firstName) {
+        UserProfile profile = new UserProfile();
+        profile.setFirstName(firstName);
+        profile.setLastName("Test");
+        Student student = new Student();
+        student.setId(id);
+        student.setUuid(UUID.randomUUID());
+        student.setUserProfile(profile);
+        return student;
+    }
+
+    private static StudentAttendanceStats stats(Long studentId, int streak, int windowPresent, int windowTotal,
+                                                int yearPresent, int yearTotal) {
+        return new StudentAttendanceStats(studentId, streak, TARGET, TARGET, windowPresent, windowTotal,
+                yearPresent, yearTotal, null);
+    }
+
+    private static StudentDailyAttendance mark(boolean absent) {
+        AttendanceType type = new AttendanceType();
+        type.setAbsenceMark(absent);
+        type.setPresentMark(!absent);
+        StudentDailyAttendance attendance = new StudentDailyAttendance();
+        attendance.setAttendanceType(type);
+        return attendance;
+    }
+
+    private static StudentAttendanceAggregateProjection aggregate(Long studentId, long present, long total) {
+        return new StudentAttendanceAggregateProjection() {
+            @Override
+            public Long getStudentId() {
+                return studentId;
+            }
+
+            @Override
+            public Long getPresentCount() {
+                return present;
+            }
+
+            @Override
+            public Long getAbsentCount() {
+                return total - present;
+            }
+
+            @Override
+            public Long getLateCount() {
+                return 0L;
+            }
+
+            @Override
+            public Long getTotalCount() {
+                return total;
+            }
+        };
+    }
+}